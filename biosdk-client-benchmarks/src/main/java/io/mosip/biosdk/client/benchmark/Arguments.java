@@ -0,0 +1,69 @@
+package io.mosip.biosdk.client.benchmark;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command line options of the form {@code --name value} or
+ * {@code --name=value}; an option may be repeated.
+ */
+class Arguments {
+
+	private final Map<String, List<String>> options = new LinkedHashMap<>();
+
+	Arguments(String[] args) {
+		for (int i = 0; i < args.length; i++) {
+			String arg = args[i];
+			if (!arg.startsWith("--")) {
+				throw new IllegalArgumentException("Unexpected argument: " + arg);
+			}
+			String name = arg.substring(2);
+			String value;
+			int separator = name.indexOf('=');
+			if (separator >= 0) {
+				value = name.substring(separator + 1);
+				name = name.substring(0, separator);
+			} else if (i + 1 < args.length) {
+				value = args[++i];
+			} else {
+				throw new IllegalArgumentException("Missing value of --" + name);
+			}
+			options.computeIfAbsent(name, key -> new ArrayList<>()).add(value);
+		}
+	}
+
+	String get(String name, String defaultValue) {
+		List<String> values = options.get(name);
+		return values != null ? values.get(values.size() - 1) : defaultValue;
+	}
+
+	List<String> getAll(String name) {
+		return options.getOrDefault(name, List.of());
+	}
+
+	int getInt(String name, int defaultValue) {
+		String value = get(name, null);
+		return value != null ? Integer.parseInt(value) : defaultValue;
+	}
+
+	double getDouble(String name, double defaultValue) {
+		String value = get(name, null);
+		return value != null ? Double.parseDouble(value) : defaultValue;
+	}
+
+	/**
+	 * @return the options whose name starts with the prefix, keyed by the rest
+	 *         of the name
+	 */
+	Map<String, String> getWithPrefix(String prefix) {
+		Map<String, String> values = new LinkedHashMap<>();
+		options.forEach((name, value) -> {
+			if (name.startsWith(prefix)) {
+				values.put(name.substring(prefix.length()), value.get(value.size() - 1));
+			}
+		});
+		return values;
+	}
+}
@@ -0,0 +1,84 @@
+package io.mosip.biosdk.client.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import io.mosip.kernel.biometrics.constant.BiometricType;
+import io.mosip.kernel.biometrics.entities.BDBInfo;
+import io.mosip.kernel.biometrics.entities.BIR;
+import io.mosip.kernel.biometrics.entities.BiometricRecord;
+
+/**
+ * Synthetic biometric records of realistic sizes. Captured samples carry image
+ * sized BDBs (a 10 print finger slap, both irises or a face), gallery entries
+ * carry template sized BDBs. Contents are random but reproducible.
+ */
+public final class BiometricRecords {
+
+	public enum Modality {
+		/** ISO 19794-4 finger images of ~16 KB, minutiae templates of ~1 KB. */
+		FINGER(BiometricType.FINGER, 16 * 1024, 1024,
+				List.of("Left IndexFinger", "Left MiddleFinger", "Left RingFinger", "Left LittleFinger",
+						"Left Thumb", "Right IndexFinger", "Right MiddleFinger", "Right RingFinger",
+						"Right LittleFinger", "Right Thumb")),
+		/** ISO 19794-6 iris images of ~32 KB, templates of ~2 KB. */
+		IRIS(BiometricType.IRIS, 32 * 1024, 2 * 1024, List.of("Left", "Right")),
+		/** ISO 19794-5 face image of ~96 KB, template of ~4 KB. */
+		FACE(BiometricType.FACE, 96 * 1024, 4 * 1024, List.of(""));
+
+		private final BiometricType biometricType;
+		private final int imageBytes;
+		private final int templateBytes;
+		private final List<String> subtypes;
+
+		Modality(BiometricType biometricType, int imageBytes, int templateBytes, List<String> subtypes) {
+			this.biometricType = biometricType;
+			this.imageBytes = imageBytes;
+			this.templateBytes = templateBytes;
+			this.subtypes = subtypes;
+		}
+
+		public BiometricType getBiometricType() {
+			return biometricType;
+		}
+	}
+
+	private BiometricRecords() {
+		throw new IllegalStateException("BiometricRecords class");
+	}
+
+	/**
+	 * @return a captured sample with one image sized segment per subtype of the
+	 *         modality
+	 */
+	public static BiometricRecord sample(Modality modality) {
+		return record(modality, modality.imageBytes, new Random(modality.ordinal()));
+	}
+
+	/**
+	 * @return a gallery of template sized records; entry {@code i} is built
+	 *         from seed {@code i}
+	 */
+	public static BiometricRecord[] gallery(Modality modality, int size) {
+		BiometricRecord[] gallery = new BiometricRecord[size];
+		for (int i = 0; i < size; i++) {
+			gallery[i] = record(modality, modality.templateBytes, new Random(i));
+		}
+		return gallery;
+	}
+
+	private static BiometricRecord record(Modality modality, int bdbBytes, Random random) {
+		List<BIR> segments = new ArrayList<>(modality.subtypes.size());
+		for (String subtype : modality.subtypes) {
+			byte[] bdb = new byte[bdbBytes];
+			random.nextBytes(bdb);
+			BDBInfo bdbInfo = new BDBInfo.BDBInfoBuilder().withType(List.of(modality.biometricType))
+					.withSubtype(subtype.isEmpty() ? List.of() : List.of(subtype.split(" "))).build();
+			segments.add(new BIR.BIRBuilder().withBdbInfo(bdbInfo).withBdb(bdb).build());
+		}
+		BiometricRecord biometricRecord = new BiometricRecord();
+		biometricRecord.setSegments(segments);
+		return biometricRecord;
+	}
+}
@@ -0,0 +1,122 @@
+package io.mosip.biosdk.client.benchmark;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.mosip.biosdk.client.benchmark.BiometricRecords.Modality;
+import io.mosip.biosdk.client.impl.spec_1_0.Client_V_1_0;
+import io.mosip.kernel.biometrics.entities.BiometricRecord;
+import io.mosip.kernel.biometrics.model.MatchDecision;
+import io.mosip.kernel.biometrics.model.QualityCheck;
+import io.mosip.kernel.biometrics.model.Response;
+
+/**
+ * Whole client calls over HTTP against an in-process {@link StubSdkServer}:
+ * encoding, connection handling, the stub's own decoding and encoding, and
+ * response decoding. As the stub does no biometric work, this is the overhead
+ * the client and the transport add to each SDK call.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(4)
+@Fork(value = 1, jvmArgsAppend = { "--add-opens=java.base/java.time=ALL-UNNAMED", "--enable-preview" })
+public class EndToEndBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class ClientState {
+
+		@Param({ "json", "base64" })
+		private String binaryEncoding;
+
+		private StubSdkServer server;
+
+		private Client_V_1_0 client;
+
+		@Setup(Level.Trial)
+		public void setUp() throws IOException {
+			server = StubSdkServer.start(0);
+			client = new Client_V_1_0();
+			Map<String, String> initParams = new HashMap<>();
+			initParams.put("format.url.default", server.getUrl());
+			initParams.put("biosdk.client.binary-encoding", binaryEncoding);
+			client.init(initParams);
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown() {
+			server.close();
+		}
+	}
+
+	@State(Scope.Benchmark)
+	public static class MatchInput {
+
+		@Param({ "FINGER", "IRIS", "FACE" })
+		private Modality modality;
+
+		@Param({ "1", "100", "1000", "10000" })
+		private int gallerySize;
+
+		private BiometricRecord sample;
+
+		private BiometricRecord[] gallery;
+
+		@Setup(Level.Trial)
+		public void setUp() {
+			sample = BiometricRecords.sample(modality);
+			gallery = BiometricRecords.gallery(modality, gallerySize);
+		}
+	}
+
+	@State(Scope.Benchmark)
+	public static class SampleInput {
+
+		@Param({ "FINGER", "IRIS", "FACE" })
+		private Modality modality;
+
+		private BiometricRecord sample;
+
+		@Setup(Level.Trial)
+		public void setUp() {
+			sample = BiometricRecords.sample(modality);
+		}
+	}
+
+	@Benchmark
+	public Response<MatchDecision[]> match(ClientState state, MatchInput input) {
+		return state.client.match(input.sample, input.gallery, List.of(input.modality.getBiometricType()),
+				new HashMap<>());
+	}
+
+	@Benchmark
+	public Response<BiometricRecord> extractTemplate(ClientState state, SampleInput input) {
+		return state.client.extractTemplate(input.sample, List.of(input.modality.getBiometricType()),
+				new HashMap<>());
+	}
+
+	@Benchmark
+	public Response<QualityCheck> checkQuality(ClientState state, SampleInput input) {
+		return state.client.checkQuality(input.sample, List.of(input.modality.getBiometricType()),
+				new HashMap<>());
+	}
+}
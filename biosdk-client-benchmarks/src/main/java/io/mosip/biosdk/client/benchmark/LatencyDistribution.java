@@ -0,0 +1,63 @@
+package io.mosip.biosdk.client.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Service time of the {@link StubSdkServer}, drawn per request.
+ */
+@FunctionalInterface
+public interface LatencyDistribution {
+
+	LatencyDistribution NONE = () -> 0;
+
+	/**
+	 * @return the time to wait before answering, in milliseconds
+	 */
+	long nextMillis();
+
+	static LatencyDistribution fixed(long millis) {
+		return () -> millis;
+	}
+
+	static LatencyDistribution uniform(long minMillis, long maxMillis) {
+		return () -> ThreadLocalRandom.current().nextLong(minMillis, maxMillis + 1);
+	}
+
+	/**
+	 * Log-normal distribution with the given median and 99th percentile, the
+	 * usual shape of service times with a long tail.
+	 */
+	static LatencyDistribution logNormal(double medianMillis, double p99Millis) {
+		double mu = Math.log(medianMillis);
+		// 2.326 is the 99th percentile of the standard normal distribution
+		double sigma = Math.log(p99Millis / medianMillis) / 2.326;
+		return () -> Math.round(Math.exp(mu + sigma * ThreadLocalRandom.current().nextGaussian()));
+	}
+
+	/**
+	 * Parses {@code none}, {@code fixed:<ms>}, {@code uniform:<min>-<max>} or
+	 * {@code lognormal:<median>,<p99>}.
+	 */
+	static LatencyDistribution parse(String value) {
+		String[] parts = value.trim().split(":", 2);
+		try {
+			switch (parts[0].toLowerCase()) {
+			case "none":
+				return NONE;
+			case "fixed":
+				return fixed(Long.parseLong(parts[1].trim()));
+			case "uniform":
+				String[] range = parts[1].split("-");
+				return uniform(Long.parseLong(range[0].trim()), Long.parseLong(range[1].trim()));
+			case "lognormal":
+				String[] percentiles = parts[1].split(",");
+				return logNormal(Double.parseDouble(percentiles[0].trim()), Double.parseDouble(percentiles[1].trim()));
+			default:
+				break;
+			}
+		} catch (RuntimeException e) {
+			throw new IllegalArgumentException("Invalid latency distribution: " + value, e);
+		}
+		throw new IllegalArgumentException("Invalid latency distribution: " + value);
+	}
+}
@@ -0,0 +1,204 @@
+package io.mosip.biosdk.client.benchmark;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import io.mosip.biosdk.client.benchmark.BiometricRecords.Modality;
+import io.mosip.biosdk.client.impl.spec_1_0.Client_V_1_0;
+import io.mosip.biosdk.client.metrics.ConnectionPoolStats;
+import io.mosip.biosdk.client.metrics.SimpleBioSdkMetrics;
+import io.mosip.biosdk.client.metrics.SimpleBioSdkMetrics.OperationSnapshot;
+import io.mosip.kernel.biometrics.constant.BiometricType;
+import io.mosip.kernel.biometrics.entities.BiometricRecord;
+import io.mosip.kernel.biometrics.model.Response;
+
+/**
+ * Drives {@link Client_V_1_0} at a fixed concurrency and reports throughput
+ * and latency percentiles, for capacity testing of the client together with
+ * an SDK service. Each of the {@code --concurrency} threads sends its next
+ * request as soon as the previous one completes (closed loop).
+ * <p>
+ * Without {@code --url} the requests go to an embedded {@link StubSdkServer},
+ * which takes the latency and error injection options of
+ * {@link StubSdkServer#main(String[])}.
+ *
+ * <pre>
+ * --url http://host:port/biosdk-service  (embedded stub)
+ * --operation match                      (match, check-quality, extract-template, segment)
+ * --modality FINGER                      (FINGER, IRIS, FACE)
+ * --gallery-size 100
+ * --concurrency 32
+ * --warmup-s 5
+ * --duration-s 30
+ * --param key=value                      (client initParams, repeatable)
+ * </pre>
+ */
+public class LoadGenerator {
+
+	private static final double[] PERCENTILES = { 50, 90, 99, 99.9 };
+
+	private final Client_V_1_0 client;
+
+	private final Supplier<Response<?>> call;
+
+	private final Map<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+
+	private final LongAdder exceptionCount = new LongAdder();
+
+	private volatile boolean recording;
+
+	private volatile boolean running = true;
+
+	private LoadGenerator(Client_V_1_0 client, String operation, Modality modality, int gallerySize) {
+		this.client = client;
+		BiometricRecord sample = BiometricRecords.sample(modality);
+		BiometricRecord[] gallery = BiometricRecords.gallery(modality, gallerySize);
+		List<BiometricType> modalities = List.of(modality.getBiometricType());
+		this.call = switch (operation) {
+		case "match" -> () -> client.match(sample, gallery, modalities, new HashMap<>());
+		case "check-quality" -> () -> client.checkQuality(sample, modalities, new HashMap<>());
+		case "extract-template" -> () -> client.extractTemplate(sample, modalities, new HashMap<>());
+		case "segment" -> () -> client.segment(sample, modalities, new HashMap<>());
+		default -> throw new IllegalArgumentException("Unsupported operation: " + operation);
+		};
+	}
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		Arguments arguments = new Arguments(args);
+		StubSdkServer stubSdkServer = null;
+		String url = arguments.get("url", null);
+		if (url == null) {
+			stubSdkServer = StubSdkServer.start(0);
+			stubSdkServer.configure(arguments);
+			url = stubSdkServer.getUrl();
+		}
+		try {
+			Map<String, String> initParams = new HashMap<>();
+			initParams.put("format.url.default", url);
+			for (String param : arguments.getAll("param")) {
+				int separator = param.indexOf('=');
+				if (separator < 0) {
+					throw new IllegalArgumentException("Expected key=value but was " + param);
+				}
+				initParams.put(param.substring(0, separator), param.substring(separator + 1));
+			}
+			Client_V_1_0 client = new Client_V_1_0();
+			client.init(initParams);
+			LoadGenerator loadGenerator = new LoadGenerator(client, arguments.get("operation", "match"),
+					Modality.valueOf(arguments.get("modality", "FINGER")), arguments.getInt("gallery-size", 100));
+			loadGenerator.run(arguments.getInt("concurrency", 32), arguments.getInt("warmup-s", 5),
+					arguments.getInt("duration-s", 30));
+		} finally {
+			if (stubSdkServer != null) {
+				stubSdkServer.close();
+			}
+		}
+	}
+
+	private void run(int concurrency, int warmupSeconds, int durationSeconds) throws InterruptedException {
+		List<Worker> workers = new ArrayList<>();
+		List<Thread> threads = new ArrayList<>();
+		for (int i = 0; i < concurrency; i++) {
+			Worker worker = new Worker();
+			workers.add(worker);
+			threads.add(Thread.ofPlatform().name("load-", i).daemon().start(worker));
+		}
+		TimeUnit.SECONDS.sleep(warmupSeconds);
+		// Drop what the client recorded during the warmup
+		SimpleBioSdkMetrics metrics = new SimpleBioSdkMetrics();
+		client.setMetrics(metrics);
+		long start = System.nanoTime();
+		recording = true;
+		TimeUnit.SECONDS.sleep(durationSeconds);
+		recording = false;
+		long elapsedNanos = System.nanoTime() - start;
+		ConnectionPoolStats connectionPoolStats = metrics.getConnectionPoolStats();
+		running = false;
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		report(workers, elapsedNanos, metrics, connectionPoolStats);
+	}
+
+	private void report(List<Worker> workers, long elapsedNanos, SimpleBioSdkMetrics metrics,
+			ConnectionPoolStats connectionPoolStats) {
+		long[] latencies = workers.stream().flatMapToLong(worker -> Arrays.stream(worker.getLatencies()))
+				.sorted().toArray();
+		double seconds = elapsedNanos / 1e9;
+		System.out.printf("requests:    %d in %.1f s%n", latencies.length, seconds);
+		System.out.printf("throughput:  %.1f req/s%n", latencies.length / seconds);
+		if (latencies.length > 0) {
+			StringBuilder line = new StringBuilder("latency ms: ");
+			for (double percentile : PERCENTILES) {
+				int index = (int) Math.min(latencies.length - 1, Math.ceil(percentile / 100 * latencies.length) - 1);
+				line.append(String.format(" p%s=%.2f", formatPercentile(percentile), latencies[index] / 1e6));
+			}
+			line.append(String.format(" max=%.2f", latencies[latencies.length - 1] / 1e6));
+			System.out.println(line);
+		}
+		Map<Integer, Long> statuses = new TreeMap<>();
+		statusCounts.forEach((status, count) -> statuses.put(status, count.sum()));
+		System.out.println("statuses:    " + statuses + ", exceptions: " + exceptionCount.sum());
+		for (OperationSnapshot snapshot : metrics.getSnapshot()) {
+			System.out.printf("client %s %s: count=%d errors=%d p99<=%d ms request=%d B response=%d B%n",
+					snapshot.operation(), snapshot.sdkUrl(), snapshot.count(), snapshot.errorCount(),
+					snapshot.latencyPercentileMs(99), snapshot.requestBytes(), snapshot.responseBytes());
+		}
+		if (connectionPoolStats != null) {
+			System.out.println("connection pool: " + connectionPoolStats);
+		}
+		if (metrics.getBufferPoolStats() != null) {
+			System.out.println("buffer pool:     " + metrics.getBufferPoolStats());
+		}
+	}
+
+	private static String formatPercentile(double percentile) {
+		return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+	}
+
+	private class Worker implements Runnable {
+
+		private long[] latencies = new long[1024];
+
+		private int size;
+
+		@Override
+		public void run() {
+			while (running) {
+				long start = System.nanoTime();
+				int status;
+				try {
+					Response<?> response = call.get();
+					status = response.getStatusCode() == null ? -1 : response.getStatusCode();
+				} catch (RuntimeException e) {
+					status = -1;
+				}
+				long durationNanos = System.nanoTime() - start;
+				if (recording) {
+					if (status < 0) {
+						exceptionCount.increment();
+					} else {
+						statusCounts.computeIfAbsent(status, key -> new LongAdder()).increment();
+					}
+					if (size == latencies.length) {
+						latencies = Arrays.copyOf(latencies, size * 2);
+					}
+					latencies[size++] = durationNanos;
+				}
+			}
+		}
+
+		long[] getLatencies() {
+			return Arrays.copyOf(latencies, size);
+		}
+	}
+}
@@ -0,0 +1,411 @@
+package io.mosip.biosdk.client.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.github.luben.zstd.ZstdInputStream;
+import com.github.luben.zstd.ZstdOutputStream;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import io.mosip.biosdk.client.dto.CheckQualityRequestDto;
+import io.mosip.biosdk.client.dto.ConvertFormatRequestDto;
+import io.mosip.biosdk.client.dto.ErrorDto;
+import io.mosip.biosdk.client.dto.ExtractTemplateRequestDto;
+import io.mosip.biosdk.client.dto.InitRequestDto;
+import io.mosip.biosdk.client.dto.MatchRequestDto;
+import io.mosip.biosdk.client.dto.RequestDto;
+import io.mosip.biosdk.client.dto.ResponseDto;
+import io.mosip.biosdk.client.dto.SegmentRequestDto;
+import io.mosip.biosdk.client.utils.Base64ByteArrayTypeAdapter;
+import io.mosip.kernel.biometrics.constant.BiometricType;
+import io.mosip.kernel.biometrics.constant.Match;
+import io.mosip.kernel.biometrics.entities.BIR;
+import io.mosip.kernel.biometrics.entities.BiometricRecord;
+import io.mosip.kernel.biometrics.model.Decision;
+import io.mosip.kernel.biometrics.model.MatchDecision;
+import io.mosip.kernel.biometrics.model.QualityCheck;
+import io.mosip.kernel.biometrics.model.QualityScore;
+import io.mosip.kernel.biometrics.model.Response;
+import io.mosip.kernel.biometrics.model.SDKInfo;
+
+/**
+ * In-process stand-in for a Bio-SDK service, built on the JDK
+ * {@link HttpServer}. It decodes the base64 request envelope like the real
+ * service and answers every operation without doing any biometric work.
+ * Operations are recognized by the last segment of the request path, so any
+ * url under the server, e.g. one per format, reaches the same stub:
+ * {@code match} reports a gallery entry as matched when its first BDB equals
+ * the sample's, {@code check-quality} scores every modality 90, and the other
+ * operations return the sample.
+ * <p>
+ * To mimic a real service under load, each operation can be given a latency
+ * distribution, and a share of the requests can fail with an HTTP error
+ * status, with errors in the response envelope, or by closing the connection
+ * without an answer. {@link #main(String[])} runs it as a standalone service.
+ */
+public class StubSdkServer implements AutoCloseable {
+
+	public static final String CONTEXT_PATH = "/biosdk-service";
+
+	private final Map<String, HttpHandler> handlers = new HashMap<>();
+
+	private final Map<String, LatencyDistribution> latencies = new ConcurrentHashMap<>();
+
+	private final Map<String, LongAdder> requestCounts = new ConcurrentHashMap<>();
+
+	private volatile LatencyDistribution defaultLatency = LatencyDistribution.NONE;
+
+	private volatile double httpErrorRate;
+
+	private volatile int httpErrorStatus = 503;
+
+	private volatile double sdkErrorRate;
+
+	private volatile String sdkErrorCode = "BIO_SDK_STUB_ERROR";
+
+	private volatile double dropRate;
+
+	private volatile boolean compressResponses;
+
+	private volatile boolean available = true;
+
+	private static final String VERSION = "1.0";
+
+	private static final String BINARY_ENCODING_HEADER = "X-BioSDK-Binary-Encoding";
+
+	/** Read by the JDK server once, when the first server is created. */
+	private static final String NODELAY_PROPERTY = "sun.net.httpserver.nodelay";
+
+	private final Gson gson = createGson(false);
+
+	private final Gson compactGson = createGson(true);
+
+	private final HttpServer server;
+
+	private StubSdkServer(HttpServer server) {
+		this.server = server;
+		handle("/init", InitRequestDto.class, request -> getSdkInfo());
+		handle("/check-quality", CheckQualityRequestDto.class,
+				request -> success(checkQuality(request.getModalitiesToCheck())));
+		handle("/match", MatchRequestDto.class, request -> success(match(request)));
+		handle("/extract-template", ExtractTemplateRequestDto.class, request -> success(request.getSample()));
+		handle("/segment", SegmentRequestDto.class, request -> success(request.getSample()));
+		handle("/convert-format", ConvertFormatRequestDto.class, request -> success(request.getSample()));
+		server.createContext("/", exchange -> {
+			String path = exchange.getRequestURI().getPath();
+			String operation = path.substring(path.lastIndexOf('/'));
+			HttpHandler handler = handlers.get(operation);
+			if (!available) {
+				requestCounts.computeIfAbsent(operation, key -> new LongAdder()).increment();
+				exchange.sendResponseHeaders(503, -1);
+				exchange.close();
+			} else if (handler != null) {
+				handler.handle(exchange);
+			} else if (operation.equals("/") && exchange.getRequestMethod().equals("GET")) {
+				// Status page of the service, used as health check
+				requestCounts.computeIfAbsent(operation, key -> new LongAdder()).increment();
+				byte[] status = "Service is running...".getBytes(StandardCharsets.UTF_8);
+				exchange.sendResponseHeaders(200, status.length);
+				try (exchange) {
+					exchange.getResponseBody().write(status);
+				}
+			} else {
+				exchange.sendResponseHeaders(404, -1);
+				exchange.close();
+			}
+		});
+	}
+
+	/**
+	 * Starts a server on the given port, 0 for any free port. Requests are
+	 * handled on platform threads: the JDK server reads request bodies while
+	 * holding a monitor, which would pin virtual threads and, on few cores,
+	 * starve the client's virtual threads in the same process.
+	 */
+	public static StubSdkServer start(int port) throws IOException {
+		if (System.getProperty(NODELAY_PROPERTY) == null) {
+			// Without it, small responses wait for the client's delayed ACK, adding about 40 ms each
+			System.setProperty(NODELAY_PROPERTY, "true");
+		}
+		HttpServer server = HttpServer.create(new InetSocketAddress(port), 0);
+		server.setExecutor(Executors.newCachedThreadPool(runnable -> {
+			Thread thread = new Thread(runnable, "stub-sdk-server");
+			thread.setDaemon(true);
+			return thread;
+		}));
+		StubSdkServer stubSdkServer = new StubSdkServer(server);
+		server.start();
+		return stubSdkServer;
+	}
+
+	/**
+	 * @return the SDK service url to configure in the client
+	 */
+	public String getUrl() {
+		return "http://localhost:" + server.getAddress().getPort() + CONTEXT_PATH;
+	}
+
+	/**
+	 * Sets the latency of all operations without one of their own.
+	 */
+	public StubSdkServer setLatency(LatencyDistribution latency) {
+		this.defaultLatency = latency;
+		return this;
+	}
+
+	/**
+	 * While not available, every request including the status page is answered
+	 * with 503, as by a service that is down behind a load balancer.
+	 */
+	public StubSdkServer setAvailable(boolean available) {
+		this.available = available;
+		return this;
+	}
+
+	/**
+	 * @param operation the operation path, e.g. {@code /match}, or {@code /}
+	 *                  for the status page
+	 */
+	public StubSdkServer setLatency(String operation, LatencyDistribution latency) {
+		latencies.put(operation, latency);
+		return this;
+	}
+
+	/**
+	 * Fails the given share of the requests with the HTTP status.
+	 */
+	public StubSdkServer setHttpErrorRate(double rate, int status) {
+		this.httpErrorRate = rate;
+		this.httpErrorStatus = status;
+		return this;
+	}
+
+	/**
+	 * Answers the given share of the requests with an error of the given code
+	 * in the response envelope.
+	 */
+	public StubSdkServer setSdkErrorRate(double rate, String code) {
+		this.sdkErrorRate = rate;
+		this.sdkErrorCode = code;
+		return this;
+	}
+
+	/**
+	 * Closes the connection without answering for the given share of the
+	 * requests, like a service instance going down.
+	 */
+	public StubSdkServer setDropRate(double rate) {
+		this.dropRate = rate;
+		return this;
+	}
+
+	/**
+	 * Compresses the responses with zstd or gzip when the client accepts it.
+	 * Compressed requests are always accepted.
+	 */
+	public StubSdkServer setCompressResponses(boolean compressResponses) {
+		this.compressResponses = compressResponses;
+		return this;
+	}
+
+	/**
+	 * @param operation the operation path, e.g. {@code /match}
+	 * @return the number of requests received for the operation
+	 */
+	public long getRequestCount(String operation) {
+		LongAdder count = requestCounts.get(operation);
+		return count != null ? count.sum() : 0;
+	}
+
+	@Override
+	public void close() {
+		server.stop(0);
+	}
+
+	/**
+	 * Runs the stub as a standalone service until killed.
+	 *
+	 * <pre>
+	 * --port 9099
+	 * --latency lognormal:20,200        (none, fixed:ms, uniform:min-max, lognormal:median,p99)
+	 * --latency./match uniform:50-500   (per operation)
+	 * --http-error-rate 0.01 --http-error-status 503
+	 * --sdk-error-rate 0.01 --sdk-error-code BIO_SDK_STUB_ERROR
+	 * --drop-rate 0.001
+	 * --compress-responses false
+	 * </pre>
+	 */
+	public static void main(String[] args) throws IOException {
+		Arguments arguments = new Arguments(args);
+		StubSdkServer stubSdkServer = start(arguments.getInt("port", 9099));
+		stubSdkServer.configure(arguments);
+		System.out.println("Stub SDK service listening on " + stubSdkServer.getUrl());
+	}
+
+	/**
+	 * Applies the latency and error injection options described in
+	 * {@link #main(String[])}.
+	 */
+	void configure(Arguments arguments) {
+		setLatency(LatencyDistribution.parse(arguments.get("latency", "none")));
+		arguments.getWithPrefix("latency.")
+				.forEach((operation, latency) -> setLatency(operation, LatencyDistribution.parse(latency)));
+		setHttpErrorRate(arguments.getDouble("http-error-rate", 0), arguments.getInt("http-error-status", 503));
+		setSdkErrorRate(arguments.getDouble("sdk-error-rate", 0),
+				arguments.get("sdk-error-code", "BIO_SDK_STUB_ERROR"));
+		setDropRate(arguments.getDouble("drop-rate", 0));
+		setCompressResponses(Boolean.parseBoolean(arguments.get("compress-responses", "false")));
+	}
+
+	private <T> void handle(String path, Class<T> requestType, Function<T, Object> operation) {
+		handlers.put(path, exchange -> {
+			try (exchange) {
+				requestCounts.computeIfAbsent(path, key -> new LongAdder()).increment();
+				RequestDto requestDto = gson.fromJson(
+						new InputStreamReader(decode(exchange), StandardCharsets.UTF_8), RequestDto.class);
+				T request = gson.fromJson(
+						new String(Base64.getDecoder().decode(requestDto.getRequest()), StandardCharsets.UTF_8),
+						requestType);
+				ThreadLocalRandom random = ThreadLocalRandom.current();
+				if (random.nextDouble() < dropRate) {
+					return;
+				}
+				long latency = latencies.getOrDefault(path, defaultLatency).nextMillis();
+				if (latency > 0) {
+					Thread.sleep(latency);
+				}
+				if (random.nextDouble() < httpErrorRate) {
+					exchange.sendResponseHeaders(httpErrorStatus, -1);
+				} else if (random.nextDouble() < sdkErrorRate) {
+					respond(exchange, 200, null, List.of(new ErrorDto(sdkErrorCode, "Injected error")));
+				} else {
+					respond(exchange, 200, operation.apply(request), null);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} catch (RuntimeException e) {
+				respond(exchange, 500, null, List.of(new ErrorDto("UNKNOWN_ERROR", e.getMessage())));
+			}
+		});
+	}
+
+	private void respond(HttpExchange exchange, int httpStatus, Object payload, List<ErrorDto> errors)
+			throws IOException {
+		ResponseDto<Object> responseDto = new ResponseDto<>();
+		responseDto.setVersion(VERSION);
+		responseDto.setResponse(payload);
+		responseDto.setErrors(errors);
+		boolean compact = "base64".equalsIgnoreCase(exchange.getRequestHeaders().getFirst(BINARY_ENCODING_HEADER));
+		exchange.getResponseHeaders().set("Content-Type", "application/json");
+		String accepted = String.valueOf(exchange.getRequestHeaders().getFirst("Accept-Encoding"));
+		String contentEncoding = !compressResponses ? null
+				: accepted.contains("zstd") ? "zstd"
+						: accepted.contains("gzip") ? "gzip" : null;
+		if (contentEncoding != null) {
+			exchange.getResponseHeaders().set("Content-Encoding", contentEncoding);
+		}
+		exchange.sendResponseHeaders(httpStatus, 0);
+		OutputStream out = exchange.getResponseBody();
+		if ("zstd".equals(contentEncoding)) {
+			out = new ZstdOutputStream(out);
+		} else if ("gzip".equals(contentEncoding)) {
+			out = new GZIPOutputStream(out);
+		}
+		try (Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8)) {
+			(compact ? compactGson : gson).toJson(responseDto, writer);
+		}
+	}
+
+	private static InputStream decode(HttpExchange exchange) throws IOException {
+		String contentEncoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+		if ("zstd".equalsIgnoreCase(contentEncoding)) {
+			return new ZstdInputStream(exchange.getRequestBody());
+		}
+		if ("gzip".equalsIgnoreCase(contentEncoding)) {
+			return new GZIPInputStream(exchange.getRequestBody());
+		}
+		return exchange.getRequestBody();
+	}
+
+	private static Gson createGson(boolean compactBinary) {
+		return new GsonBuilder().serializeNulls()
+				.registerTypeAdapter(byte[].class, new Base64ByteArrayTypeAdapter(compactBinary)).create();
+	}
+
+	private static <T> Response<T> success(T payload) {
+		Response<T> response = new Response<>();
+		response.setStatusCode(200);
+		response.setStatusMessage("OK");
+		response.setResponse(payload);
+		return response;
+	}
+
+	private static SDKInfo getSdkInfo() {
+		SDKInfo sdkInfo = new SDKInfo("0.9", "1.0", "MOSIP", "stub");
+		sdkInfo.setSupportedModalities(
+				new ArrayList<>(List.of(BiometricType.FINGER, BiometricType.IRIS, BiometricType.FACE)));
+		return sdkInfo;
+	}
+
+	private static QualityCheck checkQuality(List<BiometricType> modalities) {
+		Map<BiometricType, QualityScore> scores = new HashMap<>();
+		for (BiometricType modality : modalities) {
+			QualityScore qualityScore = new QualityScore();
+			qualityScore.setScore(90);
+			scores.put(modality, qualityScore);
+		}
+		QualityCheck qualityCheck = new QualityCheck();
+		qualityCheck.setScores(scores);
+		return qualityCheck;
+	}
+
+	private static MatchDecision[] match(MatchRequestDto request) {
+		BiometricRecord[] gallery = request.getGallery();
+		byte[] sampleBdb = getFirstBdb(request.getSample());
+		MatchDecision[] matchDecisions = new MatchDecision[gallery.length];
+		for (int i = 0; i < gallery.length; i++) {
+			Decision decision = new Decision();
+			decision.setMatch(sampleBdb != null && Arrays.equals(sampleBdb, getFirstBdb(gallery[i])) ? Match.MATCHED
+					: Match.NOT_MATCHED);
+			Map<BiometricType, Decision> decisions = new HashMap<>();
+			for (BiometricType modality : request.getModalitiesToMatch()) {
+				decisions.put(modality, decision);
+			}
+			matchDecisions[i] = new MatchDecision(i);
+			matchDecisions[i].setDecisions(decisions);
+		}
+		return matchDecisions;
+	}
+
+	private static byte[] getFirstBdb(BiometricRecord biometricRecord) {
+		if (biometricRecord == null || biometricRecord.getSegments() == null
+				|| biometricRecord.getSegments().isEmpty()) {
+			return null;
+		}
+		BIR bir = biometricRecord.getSegments().get(0);
+		return bir != null ? bir.getBdb() : null;
+	}
+}
@@ -0,0 +1,116 @@
+package io.mosip.biosdk.client.impl.spec_1_0;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.mosip.biosdk.client.benchmark.BiometricRecords;
+import io.mosip.biosdk.client.benchmark.BiometricRecords.Modality;
+import io.mosip.biosdk.client.benchmark.StubSdkServer;
+import io.mosip.biosdk.client.dto.ExtractTemplateRequestDto;
+import io.mosip.biosdk.client.dto.MatchRequestDto;
+
+/**
+ * Cost of {@link Client_V_1_0#generateNewRequestDto(Object)}: serializing a
+ * request into the base64 envelope. The body is written to a discarding
+ * stream, so only the encoding is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "--add-opens=java.base/java.time=ALL-UNNAMED", "--enable-preview" })
+public class RequestEncodingBenchmark {
+
+	@Param({ "FINGER", "IRIS", "FACE" })
+	private Modality modality;
+
+	@Param({ "1", "100", "1000", "10000" })
+	private int gallerySize;
+
+	@Param({ "json", "base64" })
+	private String binaryEncoding;
+
+	private StubSdkServer server;
+
+	private Client_V_1_0 client;
+
+	private MatchRequestDto matchRequestDto;
+
+	private ExtractTemplateRequestDto extractTemplateRequestDto;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		server = StubSdkServer.start(0);
+		client = new Client_V_1_0();
+		Map<String, String> initParams = new HashMap<>();
+		initParams.put("format.url.default", server.getUrl());
+		initParams.put("biosdk.client.binary-encoding", binaryEncoding);
+		client.init(initParams);
+
+		matchRequestDto = new MatchRequestDto();
+		matchRequestDto.setSample(BiometricRecords.sample(modality));
+		matchRequestDto.setGallery(BiometricRecords.gallery(modality, gallerySize));
+		matchRequestDto.setModalitiesToMatch(List.of(modality.getBiometricType()));
+		matchRequestDto.setFlags(Map.of());
+
+		extractTemplateRequestDto = new ExtractTemplateRequestDto();
+		extractTemplateRequestDto.setSample(BiometricRecords.sample(modality));
+		extractTemplateRequestDto.setModalitiesToExtract(List.of(modality.getBiometricType()));
+		extractTemplateRequestDto.setFlags(Map.of());
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		server.close();
+	}
+
+	@Benchmark
+	public void encodeMatchRequest(Blackhole blackhole) throws IOException {
+		client.generateNewRequestDto(matchRequestDto).writeTo(new BlackholeOutputStream(blackhole));
+	}
+
+	@Benchmark
+	public void encodeExtractTemplateRequest(Blackhole blackhole) throws IOException {
+		client.generateNewRequestDto(extractTemplateRequestDto).writeTo(new BlackholeOutputStream(blackhole));
+	}
+
+	private static class BlackholeOutputStream extends OutputStream {
+
+		private final Blackhole blackhole;
+
+		BlackholeOutputStream(Blackhole blackhole) {
+			this.blackhole = blackhole;
+		}
+
+		@Override
+		public void write(int b) {
+			blackhole.consume(b);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			blackhole.consume(b);
+			blackhole.consume(len);
+		}
+	}
+}
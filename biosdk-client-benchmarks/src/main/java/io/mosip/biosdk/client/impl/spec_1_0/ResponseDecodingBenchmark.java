@@ -0,0 +1,134 @@
+package io.mosip.biosdk.client.impl.spec_1_0;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+
+import io.mosip.biosdk.client.benchmark.BiometricRecords;
+import io.mosip.biosdk.client.benchmark.BiometricRecords.Modality;
+import io.mosip.biosdk.client.dto.ResponseDto;
+import io.mosip.kernel.biometrics.constant.BiometricType;
+import io.mosip.kernel.biometrics.constant.Match;
+import io.mosip.kernel.biometrics.entities.BiometricRecord;
+import io.mosip.kernel.biometrics.model.Decision;
+import io.mosip.kernel.biometrics.model.MatchDecision;
+import io.mosip.kernel.biometrics.model.Response;
+
+/**
+ * Cost of decoding SDK responses the way the client does: binding the
+ * response stream to the typed envelope with the client's Gson, then
+ * {@link Client_V_1_0#convertAndSetResponseObject(Response, ResponseDto)}.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "--add-opens=java.base/java.time=ALL-UNNAMED", "--enable-preview" })
+public class ResponseDecodingBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class MatchResponse {
+
+		@Param({ "1", "100", "1000", "10000" })
+		private int gallerySize;
+
+		private final Client_V_1_0 client = new Client_V_1_0();
+
+		private final Gson gson = Client_V_1_0.createGson(false);
+
+		private final Type type = Client_V_1_0
+				.responseDtoType(Client_V_1_0.responseType(MatchDecision[].class));
+
+		private byte[] body;
+
+		@Setup(Level.Trial)
+		public void setUp() {
+			MatchDecision[] matchDecisions = new MatchDecision[gallerySize];
+			for (int i = 0; i < gallerySize; i++) {
+				Decision decision = new Decision();
+				decision.setMatch(i == 0 ? Match.MATCHED : Match.NOT_MATCHED);
+				matchDecisions[i] = new MatchDecision(i);
+				matchDecisions[i].setDecisions(Map.of(BiometricType.FINGER, decision));
+			}
+			body = encode(gson, matchDecisions, type);
+		}
+	}
+
+	@State(Scope.Benchmark)
+	public static class TemplateResponse {
+
+		@Param({ "FINGER", "IRIS", "FACE" })
+		private Modality modality;
+
+		@Param({ "false", "true" })
+		private boolean compactBinary;
+
+		private final Client_V_1_0 client = new Client_V_1_0();
+
+		private final Gson gson = Client_V_1_0.createGson(false);
+
+		private final Type type = Client_V_1_0
+				.responseDtoType(Client_V_1_0.responseType(BiometricRecord.class));
+
+		private byte[] body;
+
+		@Setup(Level.Trial)
+		public void setUp() {
+			body = encode(Client_V_1_0.createGson(compactBinary), BiometricRecords.sample(modality), type);
+		}
+	}
+
+	@Benchmark
+	public Response<MatchDecision[]> decodeMatchResponse(MatchResponse state) throws IOException {
+		ResponseDto<Response<MatchDecision[]>> responseDto = decode(state.gson, state.body, state.type);
+		Response<MatchDecision[]> response = new Response<>();
+		state.client.convertAndSetResponseObject(response, responseDto);
+		return response;
+	}
+
+	@Benchmark
+	public Response<BiometricRecord> decodeTemplateResponse(TemplateResponse state) throws IOException {
+		ResponseDto<Response<BiometricRecord>> responseDto = decode(state.gson, state.body, state.type);
+		Response<BiometricRecord> response = new Response<>();
+		state.client.convertAndSetResponseObject(response, responseDto);
+		return response;
+	}
+
+	private static <T> T decode(Gson gson, byte[] body, Type type) throws IOException {
+		try (JsonReader reader = new JsonReader(
+				new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8))) {
+			return gson.fromJson(reader, type);
+		}
+	}
+
+	private static <T> byte[] encode(Gson gson, T payload, Type type) {
+		Response<T> response = new Response<>();
+		response.setStatusCode(200);
+		response.setStatusMessage("OK");
+		response.setResponse(payload);
+		ResponseDto<Response<T>> responseDto = new ResponseDto<>();
+		responseDto.setVersion("1.0");
+		responseDto.setResponse(response);
+		return gson.toJson(responseDto, type).getBytes(StandardCharsets.UTF_8);
+	}
+}
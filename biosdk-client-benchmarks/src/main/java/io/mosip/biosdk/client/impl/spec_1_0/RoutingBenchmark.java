@@ -0,0 +1,85 @@
+package io.mosip.biosdk.client.impl.spec_1_0;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.mosip.biosdk.client.benchmark.StubSdkServer;
+import io.mosip.kernel.biometrics.constant.BiometricType;
+
+/**
+ * Cost of {@link Client_V_1_0#getSdkServiceUrl(BiometricType, Map)}, which
+ * runs on every call, for a format given in the flags among a number of
+ * configured format urls.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "--add-opens=java.base/java.time=ALL-UNNAMED", "--enable-preview" })
+public class RoutingBenchmark {
+
+	@Param({ "1", "10", "50" })
+	private int formats;
+
+	@Param({ "4", "16" })
+	private int flags;
+
+	private StubSdkServer server;
+
+	private Client_V_1_0 client;
+
+	private Map<String, String> flagsWithFormat;
+
+	private Map<String, String> flagsWithoutFormat;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		server = StubSdkServer.start(0);
+		client = new Client_V_1_0();
+		Map<String, String> initParams = new HashMap<>();
+		initParams.put("format.url.default", server.getUrl());
+		for (int i = 0; i < formats; i++) {
+			initParams.put("format.url.format-" + i, server.getUrl() + "/format-" + i);
+		}
+		client.init(initParams);
+
+		flagsWithoutFormat = new HashMap<>();
+		for (int i = 0; i < flags - 1; i++) {
+			flagsWithoutFormat.put("flag-" + i, "value-" + i);
+		}
+		flagsWithFormat = new HashMap<>(flagsWithoutFormat);
+		flagsWithFormat.put("finger.format", "format-" + (formats - 1));
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		server.close();
+	}
+
+	@Benchmark
+	public String formatFromFlags() {
+		return client.getSdkServiceUrl(BiometricType.FINGER, flagsWithFormat);
+	}
+
+	@Benchmark
+	public String defaultFormat() {
+		return client.getSdkServiceUrl(BiometricType.FINGER, flagsWithoutFormat);
+	}
+}
@@ -0,0 +1,141 @@
+package io.mosip.biosdk.client.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import io.mosip.biosdk.client.constant.ResponseStatus;
+import io.mosip.biosdk.client.exception.BioSdkClientException;
+import io.mosip.biosdk.client.resilience.Deadline;
+
+/**
+ * Lets identical concurrent calls share one execution. The first caller for a
+ * key (see {@link io.mosip.biosdk.client.utils.ContentHash}) runs the call;
+ * callers arriving while it runs wait for its outcome, success or failure,
+ * instead of running it again. Nothing is kept once the call completes, so a
+ * later caller runs it anew.
+ * <p>
+ * The result is handed over to the waiting callers in serialized form, each
+ * restoring a copy of its own, so that no two callers share a mutable result;
+ * the first caller keeps the result itself, which nobody else sees. It is only
+ * serialized when callers are waiting for it.
+ */
+public class SingleFlight {
+
+	private final ConcurrentHashMap<String, Flight> inFlight = new ConcurrentHashMap<>();
+
+	private final LongAdder executions = new LongAdder();
+
+	private final LongAdder coalesced = new LongAdder();
+
+	/**
+	 * Runs the call, or waits for the identical one in flight.
+	 *
+	 * @param deadline     bounds the wait of a caller joining a call in flight;
+	 *                     the call itself runs with the deadline of the first
+	 *                     caller
+	 * @param serializer   turns the result into the bytes handed to the
+	 *                     joining callers
+	 * @param deserializer restores a copy of the result from these bytes
+	 */
+	public <T> T execute(String key, String operation, Deadline deadline, Supplier<T> call,
+			Function<T, byte[]> serializer, Function<byte[], T> deserializer) {
+		while (true) {
+			Flight flight = new Flight();
+			Flight existing = inFlight.putIfAbsent(key, flight);
+			if (existing == null) {
+				return lead(key, flight, call, serializer);
+			}
+			if (existing.join()) {
+				coalesced.increment();
+				return deserializer.apply(await(existing, operation, deadline));
+			}
+			// The call found completed meanwhile without waiting for more callers
+		}
+	}
+
+	private <T> T lead(String key, Flight flight, Supplier<T> call, Function<T, byte[]> serializer) {
+		executions.increment();
+		T result;
+		try {
+			result = call.get();
+		} catch (RuntimeException | Error e) {
+			inFlight.remove(key, flight);
+			flight.seal();
+			flight.result.completeExceptionally(e);
+			throw e;
+		}
+		inFlight.remove(key, flight);
+		if (flight.seal() > 0) {
+			try {
+				flight.result.complete(serializer.apply(result));
+			} catch (RuntimeException e) {
+				flight.result.completeExceptionally(e);
+			}
+		}
+		return result;
+	}
+
+	private static byte[] await(Flight flight, String operation, Deadline deadline) {
+		try {
+			return flight.result.get(deadline.remainingMillis(), TimeUnit.MILLISECONDS);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			throw new BioSdkClientException(ResponseStatus.UNKNOWN_ERROR.getStatusCode() + "",
+					e.getCause().getLocalizedMessage(), e.getCause());
+		} catch (TimeoutException e) {
+			throw Deadline.exceeded(operation);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new BioSdkClientException(ResponseStatus.UNKNOWN_ERROR.getStatusCode() + "",
+					operation + " interrupted", e);
+		}
+	}
+
+	public Stats getStats() {
+		return new Stats(executions.sum(), coalesced.sum(), inFlight.size());
+	}
+
+	/**
+	 * Point-in-time statistics: calls run, calls that joined one in flight
+	 * instead, and calls in flight now.
+	 */
+	public record Stats(long executions, long coalesced, int inFlight) {
+	}
+
+	/**
+	 * A call in flight. Once it completes it is sealed: callers still finding
+	 * it can no longer join, and the result is serialized only if some did.
+	 */
+	private static final class Flight {
+
+		private final CompletableFuture<byte[]> result = new CompletableFuture<>();
+
+		private int joiners;
+
+		private boolean sealed;
+
+		synchronized boolean join() {
+			if (sealed) {
+				return false;
+			}
+			joiners++;
+			return true;
+		}
+
+		/**
+		 * @return the callers that joined
+		 */
+		synchronized int seal() {
+			sealed = true;
+			return joiners;
+		}
+	}
+}
@@ -0,0 +1,103 @@
+package io.mosip.biosdk.client.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * In-memory LRU cache of serialized extraction results, keyed by content hash
+ * (see {@link io.mosip.biosdk.client.utils.ContentHash}).
+ * <p>
+ * The cache is bounded by the total size of the stored values rather than the
+ * number of entries, as template sizes vary widely between modalities. Entries
+ * may optionally expire after a fixed time since they were stored.
+ */
+public class TemplateCache {
+
+	private final long maxBytes;
+
+	private final long ttlMillis;
+
+	private final LinkedHashMap<String, CacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+	private long currentBytes;
+
+	private long hits;
+
+	private long misses;
+
+	private long evictions;
+
+	/**
+	 * @param maxBytes  upper bound of the total size of the cached values
+	 * @param ttlMillis time after which an entry expires, 0 for no expiry
+	 */
+	public TemplateCache(long maxBytes, long ttlMillis) {
+		this.maxBytes = maxBytes;
+		this.ttlMillis = ttlMillis;
+	}
+
+	public synchronized byte[] get(String key) {
+		CacheEntry entry = entries.get(key);
+		if (entry != null && isExpired(entry)) {
+			remove(key);
+			entry = null;
+		}
+		if (entry == null) {
+			misses++;
+			return null;
+		}
+		hits++;
+		return entry.value;
+	}
+
+	public synchronized void put(String key, byte[] value) {
+		// An older value of the key is dropped even if the new one is too large to be cached
+		remove(key);
+		if (value.length > maxBytes) {
+			return;
+		}
+		entries.put(key, new CacheEntry(value, System.currentTimeMillis()));
+		currentBytes += value.length;
+		Iterator<Map.Entry<String, CacheEntry>> iterator = entries.entrySet().iterator();
+		while (currentBytes > maxBytes && iterator.hasNext()) {
+			currentBytes -= iterator.next().getValue().value.length;
+			iterator.remove();
+			evictions++;
+		}
+	}
+
+	public synchronized void clear() {
+		entries.clear();
+		currentBytes = 0;
+	}
+
+	public synchronized Stats getStats() {
+		return new Stats(hits, misses, evictions, entries.size(), currentBytes);
+	}
+
+	private void remove(String key) {
+		CacheEntry removed = entries.remove(key);
+		if (removed != null) {
+			currentBytes -= removed.value.length;
+		}
+	}
+
+	private boolean isExpired(CacheEntry entry) {
+		return ttlMillis > 0 && System.currentTimeMillis() - entry.createdAt > ttlMillis;
+	}
+
+	private record CacheEntry(byte[] value, long createdAt) {
+	}
+
+	/**
+	 * Point-in-time statistics of the cache.
+	 */
+	public record Stats(long hits, long misses, long evictions, long entries, long bytes) {
+
+		public double hitRatio() {
+			long requests = hits + misses;
+			return requests == 0 ? 0 : (double) hits / requests;
+		}
+	}
+}
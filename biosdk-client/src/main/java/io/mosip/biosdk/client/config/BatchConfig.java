@@ -0,0 +1,37 @@
+package io.mosip.biosdk.client.config;
+
+import java.util.Map;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Settings of the batch operations, read from the {@code initParams} passed to
+ * {@code init}.
+ *
+ * <pre>
+ * biosdk.client.batch.concurrency -> 8 (requests in flight per batch call)
+ * </pre>
+ */
+@Getter
+@ToString
+public class BatchConfig {
+
+	public static final String BATCH_PARAM_PREFIX = "biosdk.client.batch.";
+
+	public static final String CONCURRENCY = BATCH_PARAM_PREFIX + "concurrency";
+
+	private final int concurrency;
+
+	private BatchConfig(Map<String, String> params) {
+		this.concurrency = Math.max(1, (int) HttpClientConfig.getLong(params, CONCURRENCY, 8));
+	}
+
+	public static BatchConfig fromInitParams(Map<String, String> initParams) {
+		return new BatchConfig(initParams);
+	}
+
+	public static BatchConfig defaults() {
+		return new BatchConfig(null);
+	}
+}
@@ -0,0 +1,45 @@
+package io.mosip.biosdk.client.config;
+
+import java.util.Map;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Settings of the pool of reusable payload buffers, read from the
+ * {@code initParams} passed to {@code init}. Request bodies are encoded
+ * through a pooled buffer, and binary fields of responses sent as JSON number
+ * arrays are read into pooled buffers before being copied once to their
+ * final size. Buffers are {@code biosdk.client.http.request-buffer-bytes}
+ * large; the pool keeps at most the given number of idle ones.
+ *
+ * <pre>
+ * biosdk.client.buffer-pool.max-buffers -> 64 (0 disables pooling)
+ * </pre>
+ */
+@Getter
+@ToString
+public class BufferPoolConfig {
+
+	public static final String BUFFER_POOL_PARAM_PREFIX = "biosdk.client.buffer-pool.";
+
+	public static final String MAX_BUFFERS = BUFFER_POOL_PARAM_PREFIX + "max-buffers";
+
+	private final int maxBuffers;
+
+	private BufferPoolConfig(Map<String, String> params) {
+		this.maxBuffers = (int) HttpClientConfig.getLong(params, MAX_BUFFERS, 64);
+	}
+
+	public static BufferPoolConfig fromInitParams(Map<String, String> initParams) {
+		return new BufferPoolConfig(initParams);
+	}
+
+	public static BufferPoolConfig defaults() {
+		return new BufferPoolConfig(null);
+	}
+
+	public boolean isEnabled() {
+		return maxBuffers > 0;
+	}
+}
@@ -0,0 +1,74 @@
+package io.mosip.biosdk.client.config;
+
+import java.util.Map;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Settings of the per format bulkheads, read from the {@code initParams}
+ * passed to {@code init}. Each configured SDK service url (one format, or
+ * several formats sharing the url) gets its own limit of requests in flight,
+ * so overload of one SDK service cannot take the connections and threads of
+ * the others. Requests over the limit wait in a bounded queue; they are
+ * rejected with status 429 when the queue is full or the queue timeout
+ * passes.
+ * <p>
+ * When adaptive, the limit moves between the minimum and the maximum. It is
+ * revised after each round of as many requests as the limit: cut by a tenth
+ * if a request of the round failed with an overload error (retryable as per
+ * {@link RetryConfig}, or past its deadline) or their average latency is over
+ * the tolerance, in percent of the lowest recent latency; raised by one
+ * otherwise, if the limit was reached.
+ *
+ * <pre>
+ * biosdk.client.bulkhead.max-concurrent    -> 0 (bulkheads disabled)
+ * biosdk.client.bulkhead.max-queue         -> 100
+ * biosdk.client.bulkhead.queue-timeout-ms  -> 1000
+ * biosdk.client.bulkhead.adaptive          -> false
+ * biosdk.client.bulkhead.min-concurrent    -> 1
+ * biosdk.client.bulkhead.latency-tolerance -> 200
+ * </pre>
+ */
+@Getter
+@ToString
+public class BulkheadConfig {
+
+	public static final String BULKHEAD_PARAM_PREFIX = "biosdk.client.bulkhead.";
+
+	public static final String MAX_CONCURRENT = BULKHEAD_PARAM_PREFIX + "max-concurrent";
+	public static final String MAX_QUEUE = BULKHEAD_PARAM_PREFIX + "max-queue";
+	public static final String QUEUE_TIMEOUT_MS = BULKHEAD_PARAM_PREFIX + "queue-timeout-ms";
+	public static final String ADAPTIVE = BULKHEAD_PARAM_PREFIX + "adaptive";
+	public static final String MIN_CONCURRENT = BULKHEAD_PARAM_PREFIX + "min-concurrent";
+	public static final String LATENCY_TOLERANCE = BULKHEAD_PARAM_PREFIX + "latency-tolerance";
+
+	private final int maxConcurrent;
+	private final int maxQueue;
+	private final long queueTimeoutMs;
+	private final boolean adaptive;
+	private final int minConcurrent;
+	private final int latencyTolerance;
+
+	private BulkheadConfig(Map<String, String> params) {
+		this.maxConcurrent = (int) HttpClientConfig.getLong(params, MAX_CONCURRENT, 0);
+		this.maxQueue = Math.max(0, (int) HttpClientConfig.getLong(params, MAX_QUEUE, 100));
+		this.queueTimeoutMs = Math.max(0, HttpClientConfig.getLong(params, QUEUE_TIMEOUT_MS, 1000));
+		this.adaptive = params != null && "true".equalsIgnoreCase(params.get(ADAPTIVE));
+		this.minConcurrent = Math.max(1,
+				Math.min(maxConcurrent, (int) HttpClientConfig.getLong(params, MIN_CONCURRENT, 1)));
+		this.latencyTolerance = Math.max(100, (int) HttpClientConfig.getLong(params, LATENCY_TOLERANCE, 200));
+	}
+
+	public static BulkheadConfig fromInitParams(Map<String, String> initParams) {
+		return new BulkheadConfig(initParams);
+	}
+
+	public static BulkheadConfig defaults() {
+		return new BulkheadConfig(null);
+	}
+
+	public boolean isEnabled() {
+		return maxConcurrent > 0;
+	}
+}
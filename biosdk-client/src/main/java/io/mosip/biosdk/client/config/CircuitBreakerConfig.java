@@ -0,0 +1,63 @@
+package io.mosip.biosdk.client.config;
+
+import java.util.Map;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Settings of the per endpoint circuit breaker, read from the
+ * {@code initParams} passed to {@code init}. The breaker opens when, over the
+ * last {@code window-size} calls to an endpoint, the share of failed or slow
+ * calls reaches the threshold. Rates are in percent.
+ *
+ * <pre>
+ * biosdk.client.circuit-breaker.failure-rate-threshold   -> 0 (breaker disabled)
+ * biosdk.client.circuit-breaker.slow-call-rate-threshold -> 100
+ * biosdk.client.circuit-breaker.slow-call-duration-ms    -> 60000
+ * biosdk.client.circuit-breaker.window-size              -> 50
+ * biosdk.client.circuit-breaker.minimum-calls            -> 20
+ * biosdk.client.circuit-breaker.wait-duration-open-ms    -> 30000
+ * biosdk.client.circuit-breaker.half-open-calls          -> 3
+ * </pre>
+ */
+@Getter
+@ToString
+public class CircuitBreakerConfig {
+
+	public static final String CIRCUIT_BREAKER_PARAM_PREFIX = "biosdk.client.circuit-breaker.";
+
+	public static final String FAILURE_RATE_THRESHOLD = CIRCUIT_BREAKER_PARAM_PREFIX + "failure-rate-threshold";
+	public static final String SLOW_CALL_RATE_THRESHOLD = CIRCUIT_BREAKER_PARAM_PREFIX + "slow-call-rate-threshold";
+	public static final String SLOW_CALL_DURATION_MS = CIRCUIT_BREAKER_PARAM_PREFIX + "slow-call-duration-ms";
+	public static final String WINDOW_SIZE = CIRCUIT_BREAKER_PARAM_PREFIX + "window-size";
+	public static final String MINIMUM_CALLS = CIRCUIT_BREAKER_PARAM_PREFIX + "minimum-calls";
+	public static final String WAIT_DURATION_OPEN_MS = CIRCUIT_BREAKER_PARAM_PREFIX + "wait-duration-open-ms";
+	public static final String HALF_OPEN_CALLS = CIRCUIT_BREAKER_PARAM_PREFIX + "half-open-calls";
+
+	private final int failureRateThreshold;
+	private final int slowCallRateThreshold;
+	private final long slowCallDurationMs;
+	private final int windowSize;
+	private final int minimumCalls;
+	private final long waitDurationOpenMs;
+	private final int halfOpenCalls;
+
+	private CircuitBreakerConfig(Map<String, String> params) {
+		this.failureRateThreshold = (int) HttpClientConfig.getLong(params, FAILURE_RATE_THRESHOLD, 0);
+		this.slowCallRateThreshold = (int) HttpClientConfig.getLong(params, SLOW_CALL_RATE_THRESHOLD, 100);
+		this.slowCallDurationMs = HttpClientConfig.getLong(params, SLOW_CALL_DURATION_MS, 60000);
+		this.windowSize = Math.max(1, (int) HttpClientConfig.getLong(params, WINDOW_SIZE, 50));
+		this.minimumCalls = Math.max(1, (int) HttpClientConfig.getLong(params, MINIMUM_CALLS, 20));
+		this.waitDurationOpenMs = HttpClientConfig.getLong(params, WAIT_DURATION_OPEN_MS, 30000);
+		this.halfOpenCalls = Math.max(1, (int) HttpClientConfig.getLong(params, HALF_OPEN_CALLS, 3));
+	}
+
+	public static CircuitBreakerConfig fromInitParams(Map<String, String> initParams) {
+		return new CircuitBreakerConfig(initParams);
+	}
+
+	public boolean isEnabled() {
+		return failureRateThreshold > 0;
+	}
+}
@@ -0,0 +1,60 @@
+package io.mosip.biosdk.client.config;
+
+import java.util.Map;
+
+import io.mosip.biosdk.client.utils.Compression;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Settings of the compression of request and response bodies, read from the
+ * {@code initParams} passed to {@code init}. Requests are compressed only
+ * when the biometric data they carry (the BDBs of the sample and gallery)
+ * adds up to at least the threshold, so small calls skip the CPU cost. The
+ * SDK service must accept the chosen {@code Content-Encoding}.
+ * <p>
+ * Compressed responses are negotiated with {@code Accept-Encoding}: gzip and
+ * deflate, and zstd when zstd-jni is on the classpath.
+ *
+ * <pre>
+ * biosdk.client.compression.request-encoding  -> none (or gzip, zstd)
+ * biosdk.client.compression.min-request-bytes -> 65536
+ * biosdk.client.compression.level             -> -1 (codec default)
+ * biosdk.client.compression.response          -> true
+ * </pre>
+ */
+@Getter
+@ToString
+public class CompressionConfig {
+
+	public static final String COMPRESSION_PARAM_PREFIX = "biosdk.client.compression.";
+
+	public static final String REQUEST_ENCODING = COMPRESSION_PARAM_PREFIX + "request-encoding";
+	public static final String MIN_REQUEST_BYTES = COMPRESSION_PARAM_PREFIX + "min-request-bytes";
+	public static final String LEVEL = COMPRESSION_PARAM_PREFIX + "level";
+	public static final String RESPONSE = COMPRESSION_PARAM_PREFIX + "response";
+
+	private final Compression.Encoding requestEncoding;
+	private final long minRequestBytes;
+	private final int level;
+	private final boolean responseCompression;
+
+	private CompressionConfig(Map<String, String> params) {
+		this.requestEncoding = Compression.Encoding.fromParam(params == null ? null : params.get(REQUEST_ENCODING));
+		this.minRequestBytes = HttpClientConfig.getLong(params, MIN_REQUEST_BYTES, 65536);
+		this.level = (int) HttpClientConfig.getLong(params, LEVEL, -1);
+		this.responseCompression = params == null || !"false".equalsIgnoreCase(params.get(RESPONSE));
+	}
+
+	public static CompressionConfig fromInitParams(Map<String, String> initParams) {
+		return new CompressionConfig(initParams);
+	}
+
+	public static CompressionConfig defaults() {
+		return new CompressionConfig(null);
+	}
+
+	public boolean isRequestCompressionEnabled() {
+		return requestEncoding != Compression.Encoding.NONE;
+	}
+}
@@ -0,0 +1,67 @@
+package io.mosip.biosdk.client.config;
+
+import java.util.Map;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Settings of the per-modality fan-out of multi-modal {@code match},
+ * {@code extractTemplate} and {@code checkQuality} calls, read from the
+ * {@code initParams} passed to {@code init}. When enabled, a request for
+ * several modalities is split into parts which are sent concurrently, each
+ * to the SDK service configured for its modality, and the results are merged.
+ *
+ * <pre>
+ * biosdk.client.fan-out.mode -> none (or service, modality)
+ * </pre>
+ */
+@Getter
+@ToString
+public class FanOutConfig {
+
+	public static final String FAN_OUT_PARAM_PREFIX = "biosdk.client.fan-out.";
+
+	public static final String MODE = FAN_OUT_PARAM_PREFIX + "mode";
+
+	public enum Mode {
+		/** Send the whole request to the SDK service of the first modality. */
+		NONE,
+		/**
+		 * One part per SDK service url; modalities served by the same service
+		 * stay in one request.
+		 */
+		SERVICE,
+		/** One part per modality, even when they are served by the same service. */
+		MODALITY;
+
+		public static Mode fromParam(String value) {
+			if (value != null) {
+				for (Mode mode : values()) {
+					if (mode.name().equalsIgnoreCase(value.trim())) {
+						return mode;
+					}
+				}
+			}
+			return NONE;
+		}
+	}
+
+	private final Mode mode;
+
+	private FanOutConfig(Map<String, String> params) {
+		this.mode = Mode.fromParam(params == null ? null : params.get(MODE));
+	}
+
+	public static FanOutConfig fromInitParams(Map<String, String> initParams) {
+		return new FanOutConfig(initParams);
+	}
+
+	public static FanOutConfig defaults() {
+		return new FanOutConfig(null);
+	}
+
+	public boolean isEnabled() {
+		return mode != Mode.NONE;
+	}
+}
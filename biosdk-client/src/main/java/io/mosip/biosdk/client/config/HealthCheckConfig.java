@@ -0,0 +1,66 @@
+package io.mosip.biosdk.client.config;
+
+import java.util.Map;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Settings of the active health checks of the SDK service endpoints, read from
+ * the {@code initParams} passed to {@code init}. When enabled, every endpoint
+ * is probed with a {@code GET} of the given path at the given interval; any
+ * response below 500 counts as up. An endpoint is taken out of routing after
+ * the given number of failed probes in a row and put back by the next
+ * successful one.
+ * <p>
+ * After each successful probe, at least the given number of connections to
+ * the endpoint are opened in the pool ahead of the requests. Keep the interval
+ * below {@code biosdk.client.http.idle-eviction-ms} for them to stay open.
+ *
+ * <pre>
+ * biosdk.client.health.interval-ms          -> 0 (health checks disabled)
+ * biosdk.client.health.timeout-ms           -> 2000
+ * biosdk.client.health.path                 -> /
+ * biosdk.client.health.failure-threshold    -> 2
+ * biosdk.client.health.min-warm-connections -> 0
+ * </pre>
+ */
+@Getter
+@ToString
+public class HealthCheckConfig {
+
+	public static final String HEALTH_PARAM_PREFIX = "biosdk.client.health.";
+
+	public static final String INTERVAL_MS = HEALTH_PARAM_PREFIX + "interval-ms";
+	public static final String TIMEOUT_MS = HEALTH_PARAM_PREFIX + "timeout-ms";
+	public static final String PATH = HEALTH_PARAM_PREFIX + "path";
+	public static final String FAILURE_THRESHOLD = HEALTH_PARAM_PREFIX + "failure-threshold";
+	public static final String MIN_WARM_CONNECTIONS = HEALTH_PARAM_PREFIX + "min-warm-connections";
+
+	private final long intervalMs;
+	private final long timeoutMs;
+	private final String path;
+	private final int failureThreshold;
+	private final int minWarmConnections;
+
+	private HealthCheckConfig(Map<String, String> params) {
+		this.intervalMs = HttpClientConfig.getLong(params, INTERVAL_MS, 0);
+		this.timeoutMs = Math.max(1, HttpClientConfig.getLong(params, TIMEOUT_MS, 2000));
+		String configuredPath = params == null ? null : params.get(PATH);
+		this.path = configuredPath == null || configuredPath.isBlank() ? "/" : configuredPath.trim();
+		this.failureThreshold = Math.max(1, (int) HttpClientConfig.getLong(params, FAILURE_THRESHOLD, 2));
+		this.minWarmConnections = Math.max(0, (int) HttpClientConfig.getLong(params, MIN_WARM_CONNECTIONS, 0));
+	}
+
+	public static HealthCheckConfig fromInitParams(Map<String, String> initParams) {
+		return new HealthCheckConfig(initParams);
+	}
+
+	public static HealthCheckConfig defaults() {
+		return new HealthCheckConfig(null);
+	}
+
+	public boolean isEnabled() {
+		return intervalMs > 0;
+	}
+}
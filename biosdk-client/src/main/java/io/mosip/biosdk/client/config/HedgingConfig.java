@@ -0,0 +1,51 @@
+package io.mosip.biosdk.client.config;
+
+import java.util.Map;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Settings of hedged requests, read from the {@code initParams} passed to
+ * {@code init}. When a request to a replica has not completed within the given
+ * latency percentile of the operation, a duplicate is sent to another replica
+ * and the first successful answer is used.
+ *
+ * <pre>
+ * biosdk.client.hedge.percentile   -> 0 (hedging disabled), e.g. 95
+ * biosdk.client.hedge.min-delay-ms -> 50
+ * biosdk.client.hedge.min-samples  -> 20
+ * </pre>
+ */
+@Getter
+@ToString
+public class HedgingConfig {
+
+	public static final String HEDGE_PARAM_PREFIX = "biosdk.client.hedge.";
+
+	public static final String PERCENTILE = HEDGE_PARAM_PREFIX + "percentile";
+	public static final String MIN_DELAY_MS = HEDGE_PARAM_PREFIX + "min-delay-ms";
+	public static final String MIN_SAMPLES = HEDGE_PARAM_PREFIX + "min-samples";
+
+	private final int percentile;
+	private final long minDelayMs;
+	private final int minSamples;
+
+	private HedgingConfig(Map<String, String> params) {
+		this.percentile = (int) Math.min(99, HttpClientConfig.getLong(params, PERCENTILE, 0));
+		this.minDelayMs = HttpClientConfig.getLong(params, MIN_DELAY_MS, 50);
+		this.minSamples = Math.max(1, (int) HttpClientConfig.getLong(params, MIN_SAMPLES, 20));
+	}
+
+	public static HedgingConfig fromInitParams(Map<String, String> initParams) {
+		return new HedgingConfig(initParams);
+	}
+
+	public static HedgingConfig defaults() {
+		return new HedgingConfig(null);
+	}
+
+	public boolean isEnabled() {
+		return percentile > 0;
+	}
+}
@@ -0,0 +1,90 @@
+package io.mosip.biosdk.client.config;
+
+import java.util.Map;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Connection pool and timeout settings of the HTTP transport used to reach the
+ * Bio-SDK services. Values are read from the {@code initParams} passed to
+ * {@code init}, falling back to the defaults below when a key is absent or not
+ * a valid number.
+ *
+ * <pre>
+ * biosdk.client.http.max-total-connections       -> 200
+ * biosdk.client.http.max-connections-per-route   -> 50
+ * biosdk.client.http.connect-timeout-ms          -> 10000
+ * biosdk.client.http.read-timeout-ms             -> 120000
+ * biosdk.client.http.connection-request-timeout-ms -> 30000
+ * biosdk.client.http.keep-alive-ms               -> 60000
+ * biosdk.client.http.idle-eviction-ms            -> 30000
+ * biosdk.client.http.validate-after-inactivity-ms -> 2000
+ * biosdk.client.http.connection-ttl-ms           -> 0 (unlimited)
+ * biosdk.client.http.request-buffer-bytes        -> 65536
+ * </pre>
+ */
+@Getter
+@ToString
+public class HttpClientConfig {
+
+	public static final String HTTP_PARAM_PREFIX = "biosdk.client.http.";
+
+	public static final String MAX_TOTAL_CONNECTIONS = HTTP_PARAM_PREFIX + "max-total-connections";
+	public static final String MAX_CONNECTIONS_PER_ROUTE = HTTP_PARAM_PREFIX + "max-connections-per-route";
+	public static final String CONNECT_TIMEOUT_MS = HTTP_PARAM_PREFIX + "connect-timeout-ms";
+	public static final String READ_TIMEOUT_MS = HTTP_PARAM_PREFIX + "read-timeout-ms";
+	public static final String CONNECTION_REQUEST_TIMEOUT_MS = HTTP_PARAM_PREFIX + "connection-request-timeout-ms";
+	public static final String KEEP_ALIVE_MS = HTTP_PARAM_PREFIX + "keep-alive-ms";
+	public static final String IDLE_EVICTION_MS = HTTP_PARAM_PREFIX + "idle-eviction-ms";
+	public static final String VALIDATE_AFTER_INACTIVITY_MS = HTTP_PARAM_PREFIX + "validate-after-inactivity-ms";
+	public static final String CONNECTION_TTL_MS = HTTP_PARAM_PREFIX + "connection-ttl-ms";
+	public static final String REQUEST_BUFFER_BYTES = HTTP_PARAM_PREFIX + "request-buffer-bytes";
+
+	private final int maxTotalConnections;
+	private final int maxConnectionsPerRoute;
+	private final long connectTimeoutMs;
+	private final long readTimeoutMs;
+	private final long connectionRequestTimeoutMs;
+	private final long keepAliveMs;
+	private final long idleEvictionMs;
+	private final long validateAfterInactivityMs;
+	private final long connectionTtlMs;
+	private final int requestBufferBytes;
+
+	private HttpClientConfig(Map<String, String> params) {
+		this.maxTotalConnections = (int) getLong(params, MAX_TOTAL_CONNECTIONS, 200);
+		this.maxConnectionsPerRoute = (int) getLong(params, MAX_CONNECTIONS_PER_ROUTE, 50);
+		this.connectTimeoutMs = getLong(params, CONNECT_TIMEOUT_MS, 10000);
+		this.readTimeoutMs = getLong(params, READ_TIMEOUT_MS, 120000);
+		this.connectionRequestTimeoutMs = getLong(params, CONNECTION_REQUEST_TIMEOUT_MS, 30000);
+		this.keepAliveMs = getLong(params, KEEP_ALIVE_MS, 60000);
+		this.idleEvictionMs = getLong(params, IDLE_EVICTION_MS, 30000);
+		this.validateAfterInactivityMs = getLong(params, VALIDATE_AFTER_INACTIVITY_MS, 2000);
+		this.connectionTtlMs = getLong(params, CONNECTION_TTL_MS, 0);
+		this.requestBufferBytes = (int) getLong(params, REQUEST_BUFFER_BYTES, 65536);
+	}
+
+	public static HttpClientConfig fromInitParams(Map<String, String> initParams) {
+		return new HttpClientConfig(initParams);
+	}
+
+	public static HttpClientConfig defaults() {
+		return new HttpClientConfig(null);
+	}
+
+	static long getLong(Map<String, String> params, String key, long defaultValue) {
+		if (params == null) {
+			return defaultValue;
+		}
+		String value = params.get(key);
+		if (value == null || value.isBlank()) {
+			return defaultValue;
+		}
+		try {
+			return Long.parseLong(value.trim());
+		} catch (NumberFormatException e) {
+			return defaultValue;
+		}
+	}
+}
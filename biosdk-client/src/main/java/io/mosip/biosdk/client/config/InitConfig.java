@@ -0,0 +1,58 @@
+package io.mosip.biosdk.client.config;
+
+import java.util.Map;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Settings of the {@code /init} calls made by {@code init}, read from the
+ * {@code initParams} passed to it. The SDK services are always initialized
+ * in parallel.
+ * <p>
+ * In {@code eager} mode {@code init} waits for all of them, bounded only by
+ * {@code biosdk.client.timeout.init-ms} if set, and fails as soon as any fails
+ * or that timeout passes. In {@code background} mode it waits at most the
+ * startup wait, 0 to return at once, and returns with the services ready by
+ * then; the others keep being initialized in the background, retried at the
+ * given interval. Requests for a service that is
+ * not ready wait up to the request wait for it, then fail with status 503.
+ *
+ * <pre>
+ * biosdk.client.init.mode              -> eager (or background)
+ * biosdk.client.init.startup-wait-ms   -> 10000 (background mode only)
+ * biosdk.client.init.retry-interval-ms -> 5000
+ * biosdk.client.init.request-wait-ms   -> 0 (fail fast)
+ * </pre>
+ */
+@Getter
+@ToString
+public class InitConfig {
+
+	public static final String INIT_PARAM_PREFIX = "biosdk.client.init.";
+
+	public static final String MODE = INIT_PARAM_PREFIX + "mode";
+	public static final String STARTUP_WAIT_MS = INIT_PARAM_PREFIX + "startup-wait-ms";
+	public static final String RETRY_INTERVAL_MS = INIT_PARAM_PREFIX + "retry-interval-ms";
+	public static final String REQUEST_WAIT_MS = INIT_PARAM_PREFIX + "request-wait-ms";
+
+	private final boolean background;
+	private final long startupWaitMs;
+	private final long retryIntervalMs;
+	private final long requestWaitMs;
+
+	private InitConfig(Map<String, String> params) {
+		this.background = params != null && "background".equalsIgnoreCase(params.get(MODE));
+		this.startupWaitMs = HttpClientConfig.getLong(params, STARTUP_WAIT_MS, 10000);
+		this.retryIntervalMs = Math.max(1, HttpClientConfig.getLong(params, RETRY_INTERVAL_MS, 5000));
+		this.requestWaitMs = HttpClientConfig.getLong(params, REQUEST_WAIT_MS, 0);
+	}
+
+	public static InitConfig fromInitParams(Map<String, String> initParams) {
+		return new InitConfig(initParams);
+	}
+
+	public static InitConfig defaults() {
+		return new InitConfig(null);
+	}
+}
@@ -0,0 +1,44 @@
+package io.mosip.biosdk.client.config;
+
+import java.util.Map;
+
+import io.mosip.biosdk.client.routing.SdkEndpointGroup;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Settings of the client side load balancing between replicas of a Bio-SDK
+ * service, read from the {@code initParams} passed to {@code init}. Replicas
+ * are configured as a comma separated list in the {@code format.url.<name>}
+ * value.
+ *
+ * <pre>
+ * biosdk.client.lb.policy              -> p2c (or least-outstanding)
+ * biosdk.client.lb.failure-cooldown-ms -> 10000
+ * </pre>
+ */
+@Getter
+@ToString
+public class LoadBalancerConfig {
+
+	public static final String LB_PARAM_PREFIX = "biosdk.client.lb.";
+
+	public static final String POLICY = LB_PARAM_PREFIX + "policy";
+	public static final String FAILURE_COOLDOWN_MS = LB_PARAM_PREFIX + "failure-cooldown-ms";
+
+	private final SdkEndpointGroup.Policy policy;
+	private final long failureCooldownMs;
+
+	private LoadBalancerConfig(Map<String, String> params) {
+		this.policy = SdkEndpointGroup.Policy.fromParam(params == null ? null : params.get(POLICY));
+		this.failureCooldownMs = HttpClientConfig.getLong(params, FAILURE_COOLDOWN_MS, 10000);
+	}
+
+	public static LoadBalancerConfig fromInitParams(Map<String, String> initParams) {
+		return new LoadBalancerConfig(initParams);
+	}
+
+	public static LoadBalancerConfig defaults() {
+		return new LoadBalancerConfig(null);
+	}
+}
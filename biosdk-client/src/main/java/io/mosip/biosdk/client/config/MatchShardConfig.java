@@ -0,0 +1,53 @@
+package io.mosip.biosdk.client.config;
+
+import java.util.Map;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Settings of the sharded 1:N match, read from the {@code initParams} passed to
+ * {@code init}. When enabled, a gallery larger than the shard size is split
+ * into chunks which are matched concurrently and merged back in gallery order.
+ * The streaming match always splits the gallery, into chunks of the stream
+ * chunk size.
+ *
+ * <pre>
+ * biosdk.client.match.shard-size        -> 0 (sharding disabled)
+ * biosdk.client.match.parallelism       -> 4
+ * biosdk.client.match.stream-chunk-size -> the shard size, or 100 if not set
+ * </pre>
+ */
+@Getter
+@ToString
+public class MatchShardConfig {
+
+	public static final String MATCH_PARAM_PREFIX = "biosdk.client.match.";
+
+	public static final String SHARD_SIZE = MATCH_PARAM_PREFIX + "shard-size";
+	public static final String PARALLELISM = MATCH_PARAM_PREFIX + "parallelism";
+	public static final String STREAM_CHUNK_SIZE = MATCH_PARAM_PREFIX + "stream-chunk-size";
+
+	private final int shardSize;
+	private final int parallelism;
+	private final int streamChunkSize;
+
+	private MatchShardConfig(Map<String, String> params) {
+		this.shardSize = (int) HttpClientConfig.getLong(params, SHARD_SIZE, 0);
+		this.parallelism = Math.max(1, (int) HttpClientConfig.getLong(params, PARALLELISM, 4));
+		this.streamChunkSize = Math.max(1,
+				(int) HttpClientConfig.getLong(params, STREAM_CHUNK_SIZE, shardSize > 0 ? shardSize : 100));
+	}
+
+	public static MatchShardConfig fromInitParams(Map<String, String> initParams) {
+		return new MatchShardConfig(initParams);
+	}
+
+	public static MatchShardConfig defaults() {
+		return new MatchShardConfig(null);
+	}
+
+	public boolean isEnabled() {
+		return shardSize > 0;
+	}
+}
@@ -0,0 +1,84 @@
+package io.mosip.biosdk.client.config;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Retry settings of the idempotent SDK operations, read from the
+ * {@code initParams} passed to {@code init}. Backoff between attempts is
+ * exponential with full jitter. Retries are limited by a token bucket: each
+ * request adds {@code budget-percent} hundredths of a token, each retry takes
+ * one, and the bucket holds at most {@code budget-max-tokens}; so retries stay
+ * within that share of the traffic while a service is down.
+ *
+ * <pre>
+ * biosdk.client.retry.max-attempts          -> 1 (no retry)
+ * biosdk.client.retry.initial-backoff-ms    -> 100
+ * biosdk.client.retry.max-backoff-ms        -> 2000
+ * biosdk.client.retry.budget-percent        -> 20
+ * biosdk.client.retry.budget-max-tokens     -> 10
+ * biosdk.client.retry.retryable-statuses    -> 408,429,502,503,504
+ * biosdk.client.retry.retryable-error-codes -> (none)
+ * </pre>
+ */
+@Getter
+@ToString
+public class RetryConfig {
+
+	public static final String RETRY_PARAM_PREFIX = "biosdk.client.retry.";
+
+	public static final String MAX_ATTEMPTS = RETRY_PARAM_PREFIX + "max-attempts";
+	public static final String INITIAL_BACKOFF_MS = RETRY_PARAM_PREFIX + "initial-backoff-ms";
+	public static final String MAX_BACKOFF_MS = RETRY_PARAM_PREFIX + "max-backoff-ms";
+	public static final String BUDGET_PERCENT = RETRY_PARAM_PREFIX + "budget-percent";
+	public static final String BUDGET_MAX_TOKENS = RETRY_PARAM_PREFIX + "budget-max-tokens";
+	public static final String RETRYABLE_STATUSES = RETRY_PARAM_PREFIX + "retryable-statuses";
+	public static final String RETRYABLE_ERROR_CODES = RETRY_PARAM_PREFIX + "retryable-error-codes";
+
+	private static final String DEFAULT_RETRYABLE_STATUSES = "408,429,502,503,504";
+
+	private final int maxAttempts;
+	private final long initialBackoffMs;
+	private final long maxBackoffMs;
+	private final int budgetPercent;
+	private final int budgetMaxTokens;
+	private final Set<Integer> retryableStatuses;
+	private final Set<String> retryableErrorCodes;
+
+	private RetryConfig(Map<String, String> params) {
+		this.maxAttempts = Math.max(1, (int) HttpClientConfig.getLong(params, MAX_ATTEMPTS, 1));
+		this.initialBackoffMs = HttpClientConfig.getLong(params, INITIAL_BACKOFF_MS, 100);
+		this.maxBackoffMs = HttpClientConfig.getLong(params, MAX_BACKOFF_MS, 2000);
+		this.budgetPercent = (int) HttpClientConfig.getLong(params, BUDGET_PERCENT, 20);
+		this.budgetMaxTokens = (int) HttpClientConfig.getLong(params, BUDGET_MAX_TOKENS, 10);
+		this.retryableStatuses = getList(params, RETRYABLE_STATUSES, DEFAULT_RETRYABLE_STATUSES).stream()
+				.filter(value -> value.matches("\\d+")).map(Integer::valueOf).collect(Collectors.toSet());
+		this.retryableErrorCodes = getList(params, RETRYABLE_ERROR_CODES, "");
+	}
+
+	public static RetryConfig fromInitParams(Map<String, String> initParams) {
+		return new RetryConfig(initParams);
+	}
+
+	public static RetryConfig defaults() {
+		return new RetryConfig(null);
+	}
+
+	public boolean isEnabled() {
+		return maxAttempts > 1;
+	}
+
+	private static Set<String> getList(Map<String, String> params, String key, String defaultValue) {
+		String value = params != null ? params.get(key) : null;
+		if (value == null) {
+			value = defaultValue;
+		}
+		return Arrays.stream(value.split(",")).map(String::trim).filter(item -> !item.isEmpty())
+				.collect(Collectors.toSet());
+	}
+}
@@ -0,0 +1,40 @@
+package io.mosip.biosdk.client.config;
+
+import java.util.Map;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Settings of the coalescing of identical concurrent {@code checkQuality} and
+ * {@code extractTemplate} calls, read from the {@code initParams} passed to
+ * {@code init}. When enabled, a call arriving while an identical one (same
+ * operation, sample content, modalities and flags) is in flight waits for
+ * that call's result instead of sending its own SDK request.
+ *
+ * <pre>
+ * biosdk.client.single-flight.enabled -> false
+ * </pre>
+ */
+@Getter
+@ToString
+public class SingleFlightConfig {
+
+	public static final String SINGLE_FLIGHT_PARAM_PREFIX = "biosdk.client.single-flight.";
+
+	public static final String ENABLED = SINGLE_FLIGHT_PARAM_PREFIX + "enabled";
+
+	private final boolean enabled;
+
+	private SingleFlightConfig(Map<String, String> params) {
+		this.enabled = params != null && "true".equalsIgnoreCase(params.get(ENABLED));
+	}
+
+	public static SingleFlightConfig fromInitParams(Map<String, String> initParams) {
+		return new SingleFlightConfig(initParams);
+	}
+
+	public static SingleFlightConfig defaults() {
+		return new SingleFlightConfig(null);
+	}
+}
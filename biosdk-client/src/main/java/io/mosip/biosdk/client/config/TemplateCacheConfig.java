@@ -0,0 +1,41 @@
+package io.mosip.biosdk.client.config;
+
+import java.util.Map;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Settings of the client side template extraction cache, read from the
+ * {@code initParams} passed to {@code init}.
+ *
+ * <pre>
+ * biosdk.client.cache.template.max-bytes -> 0 (cache disabled)
+ * biosdk.client.cache.template.ttl-ms    -> 0 (no expiry)
+ * </pre>
+ */
+@Getter
+@ToString
+public class TemplateCacheConfig {
+
+	public static final String TEMPLATE_CACHE_PARAM_PREFIX = "biosdk.client.cache.template.";
+
+	public static final String MAX_BYTES = TEMPLATE_CACHE_PARAM_PREFIX + "max-bytes";
+	public static final String TTL_MS = TEMPLATE_CACHE_PARAM_PREFIX + "ttl-ms";
+
+	private final long maxBytes;
+	private final long ttlMs;
+
+	private TemplateCacheConfig(Map<String, String> params) {
+		this.maxBytes = HttpClientConfig.getLong(params, MAX_BYTES, 0);
+		this.ttlMs = HttpClientConfig.getLong(params, TTL_MS, 0);
+	}
+
+	public static TemplateCacheConfig fromInitParams(Map<String, String> initParams) {
+		return new TemplateCacheConfig(initParams);
+	}
+
+	public boolean isEnabled() {
+		return maxBytes > 0;
+	}
+}
@@ -0,0 +1,83 @@
+package io.mosip.biosdk.client.config;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.ToString;
+
+/**
+ * Default time budget of each SDK operation, read from the {@code initParams}
+ * passed to {@code init}. The budget covers the whole call including retries
+ * and response decoding; a per call budget may be given with the
+ * {@value #TIMEOUT_FLAG} flag, in which case the shorter of the two applies.
+ * The flag is not forwarded to the SDK service.
+ *
+ * <pre>
+ * biosdk.client.timeout.init-ms             -> 0 (no deadline)
+ * biosdk.client.timeout.check-quality-ms    -> 0
+ * biosdk.client.timeout.match-ms            -> 0
+ * biosdk.client.timeout.extract-template-ms -> 0
+ * biosdk.client.timeout.segment-ms          -> 0
+ * biosdk.client.timeout.convert-format-ms   -> 0
+ * </pre>
+ */
+@ToString
+public class TimeoutConfig {
+
+	public static final String TIMEOUT_PARAM_PREFIX = "biosdk.client.timeout.";
+
+	public static final String TIMEOUT_PARAM_SUFFIX = "-ms";
+
+	/** Flag carrying the time budget of a single call, in milliseconds. */
+	public static final String TIMEOUT_FLAG = "biosdk.client.timeout-ms";
+
+	private static final List<String> OPERATIONS = List.of("init", "check-quality", "match", "extract-template",
+			"segment", "convert-format");
+
+	private final Map<String, Long> timeoutsMs = new HashMap<>();
+
+	private TimeoutConfig(Map<String, String> params) {
+		for (String operation : OPERATIONS) {
+			timeoutsMs.put(operation,
+					HttpClientConfig.getLong(params, TIMEOUT_PARAM_PREFIX + operation + TIMEOUT_PARAM_SUFFIX, 0));
+		}
+	}
+
+	public static TimeoutConfig fromInitParams(Map<String, String> initParams) {
+		return new TimeoutConfig(initParams);
+	}
+
+	public static TimeoutConfig defaults() {
+		return new TimeoutConfig(null);
+	}
+
+	/**
+	 * @param operation the operation name, i.e. its service path without the
+	 *                  leading slash
+	 * @return the default timeout of the operation, 0 if there is none
+	 */
+	public long getTimeoutMs(String operation) {
+		return timeoutsMs.getOrDefault(operation, 0L);
+	}
+
+	/**
+	 * @return the per call timeout given in the flags, 0 if there is none
+	 */
+	public static long getTimeoutMs(Map<String, String> flags) {
+		return HttpClientConfig.getLong(flags, TIMEOUT_FLAG, 0);
+	}
+
+	/**
+	 * @return the flags to send to the SDK service: those given, less the per
+	 *         call timeout, which reaches the service as a header
+	 */
+	public static Map<String, String> withoutTimeoutFlag(Map<String, String> flags) {
+		if (flags == null || !flags.containsKey(TIMEOUT_FLAG)) {
+			return flags;
+		}
+		Map<String, String> serviceFlags = new HashMap<>(flags);
+		serviceFlags.remove(TIMEOUT_FLAG);
+		return serviceFlags;
+	}
+}
@@ -0,0 +1,63 @@
+package io.mosip.biosdk.client.config;
+
+import java.net.http.HttpClient;
+import java.util.Map;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Selection of the HTTP transport used to reach the Bio-SDK services, read
+ * from the {@code initParams} passed to {@code init}. The transport is one of
+ * {@code rest-template} (Spring {@code RestTemplate} over the pooled Apache
+ * HttpClient, one request per connection at a time), {@code jdk} (the JDK
+ * {@link HttpClient}, multiplexing requests over HTTP/2 when the service
+ * supports it) or the class name of an
+ * {@link io.mosip.biosdk.client.transport.SdkTransport} implementation.
+ *
+ * <pre>
+ * biosdk.client.transport              -> rest-template (or jdk, class name)
+ * biosdk.client.transport.http-version -> HTTP_2 (or HTTP_1_1; jdk only)
+ * </pre>
+ */
+@Getter
+@ToString
+public class TransportConfig {
+
+	public static final String TRANSPORT = "biosdk.client.transport";
+
+	public static final String HTTP_VERSION = TRANSPORT + ".http-version";
+
+	public static final String REST_TEMPLATE = "rest-template";
+
+	public static final String JDK = "jdk";
+
+	private final String name;
+
+	private final HttpClient.Version httpVersion;
+
+	private TransportConfig(Map<String, String> params) {
+		String value = params != null ? params.get(TRANSPORT) : null;
+		this.name = value == null || value.isBlank() ? REST_TEMPLATE : value.trim();
+		this.httpVersion = getHttpVersion(params != null ? params.get(HTTP_VERSION) : null);
+	}
+
+	public static TransportConfig fromInitParams(Map<String, String> initParams) {
+		return new TransportConfig(initParams);
+	}
+
+	public static TransportConfig defaults() {
+		return new TransportConfig(null);
+	}
+
+	private static HttpClient.Version getHttpVersion(String value) {
+		if (value != null) {
+			for (HttpClient.Version version : HttpClient.Version.values()) {
+				if (version.name().equalsIgnoreCase(value.trim())) {
+					return version;
+				}
+			}
+		}
+		return HttpClient.Version.HTTP_2;
+	}
+}
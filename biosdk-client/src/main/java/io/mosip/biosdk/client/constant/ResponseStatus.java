@@ -6,7 +6,10 @@ public enum ResponseStatus {
 	MISSING_INPUT(402, "Missing Input Parameter - %s"),
 	QUALITY_CHECK_FAILED(403, "Quality check of Biometric data failed"),
 	POOR_DATA_QUALITY(406, "Data provided is of poor quality"),
-	UNKNOWN_ERROR(500, "UNKNOWN_ERROR");
+	TOO_MANY_REQUESTS(429, "Too many requests to Bio-SDK service - %s"),
+	UNKNOWN_ERROR(500, "UNKNOWN_ERROR"),
+	SERVICE_UNAVAILABLE(503, "Bio-SDK service unavailable - %s"),
+	DEADLINE_EXCEEDED(504, "Deadline exceeded - %s");
 	
 	ResponseStatus(int statusCode, String statusMessage) {
 		this.statusCode = statusCode;
@@ -0,0 +1,23 @@
+package io.mosip.biosdk.client.exception;
+
+import java.util.List;
+
+import io.mosip.biosdk.client.dto.ErrorDto;
+
+/**
+ * Thrown when the Bio-SDK service answers with errors in the response
+ * envelope; keeps the errors so callers can act on their codes.
+ */
+public class SdkServiceErrorException extends BioSdkClientException {
+
+	private final List<ErrorDto> errors;
+
+	public SdkServiceErrorException(String errorCode, String errorMessage, List<ErrorDto> errors) {
+		super(errorCode, errorMessage);
+		this.errors = errors;
+	}
+
+	public List<ErrorDto> getErrors() {
+		return errors;
+	}
+}
@@ -3,27 +3,70 @@ package io.mosip.biosdk.client.impl.spec_1_0;
 import static io.mosip.biosdk.client.constant.AppConstants.LOGGER_IDTYPE;
 import static io.mosip.biosdk.client.constant.AppConstants.LOGGER_SESSIONID;
 
+import java.io.IOException;
 import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
-import org.json.simple.JSONObject;
-import org.json.simple.parser.JSONParser;
-import org.json.simple.parser.ParseException;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.MediaType;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestClientException;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.reflect.TypeToken;
 
+import io.mosip.biosdk.client.cache.SingleFlight;
+import io.mosip.biosdk.client.cache.TemplateCache;
+import io.mosip.biosdk.client.config.BatchConfig;
+import io.mosip.biosdk.client.config.BufferPoolConfig;
+import io.mosip.biosdk.client.config.BulkheadConfig;
+import io.mosip.biosdk.client.config.CircuitBreakerConfig;
+import io.mosip.biosdk.client.config.CompressionConfig;
+import io.mosip.biosdk.client.config.FanOutConfig;
+import io.mosip.biosdk.client.config.HealthCheckConfig;
+import io.mosip.biosdk.client.config.HedgingConfig;
+import io.mosip.biosdk.client.config.HttpClientConfig;
+import io.mosip.biosdk.client.config.InitConfig;
+import io.mosip.biosdk.client.config.LoadBalancerConfig;
 import io.mosip.biosdk.client.config.LoggerConfig;
+import io.mosip.biosdk.client.config.MatchShardConfig;
+import io.mosip.biosdk.client.config.RetryConfig;
+import io.mosip.biosdk.client.config.SingleFlightConfig;
+import io.mosip.biosdk.client.config.TemplateCacheConfig;
+import io.mosip.biosdk.client.config.TimeoutConfig;
+import io.mosip.biosdk.client.config.TransportConfig;
 import io.mosip.biosdk.client.constant.ResponseStatus;
 import io.mosip.biosdk.client.dto.CheckQualityRequestDto;
 import io.mosip.biosdk.client.dto.ConvertFormatRequestDto;
@@ -31,11 +74,39 @@ import io.mosip.biosdk.client.dto.ErrorDto;
 import io.mosip.biosdk.client.dto.ExtractTemplateRequestDto;
 import io.mosip.biosdk.client.dto.InitRequestDto;
 import io.mosip.biosdk.client.dto.MatchRequestDto;
-import io.mosip.biosdk.client.dto.RequestDto;
+import io.mosip.biosdk.client.dto.ResponseDto;
 import io.mosip.biosdk.client.dto.SegmentRequestDto;
 import io.mosip.biosdk.client.exception.BioSdkClientException;
-import io.mosip.biosdk.client.utils.Util;
+import io.mosip.biosdk.client.exception.SdkServiceErrorException;
+import io.mosip.biosdk.client.metrics.BioSdkMetrics;
+import io.mosip.biosdk.client.metrics.BufferPoolStats;
+import io.mosip.biosdk.client.metrics.ConnectionPoolStats;
+import io.mosip.biosdk.client.metrics.ExchangeStats;
+import io.mosip.biosdk.client.metrics.MicrometerBioSdkMetrics;
+import io.mosip.biosdk.client.metrics.SimpleBioSdkMetrics;
+import io.mosip.biosdk.client.resilience.Bulkhead;
+import io.mosip.biosdk.client.resilience.CircuitBreaker;
+import io.mosip.biosdk.client.resilience.Deadline;
+import io.mosip.biosdk.client.resilience.HedgedCall;
+import io.mosip.biosdk.client.resilience.LatencyTracker;
+import io.mosip.biosdk.client.resilience.RetryPolicy;
+import io.mosip.biosdk.client.routing.HealthChecker;
+import io.mosip.biosdk.client.routing.LocalSdk;
+import io.mosip.biosdk.client.routing.SdkEndpoint;
+import io.mosip.biosdk.client.routing.SdkEndpointGroup;
+import io.mosip.biosdk.client.transport.JdkHttpTransport;
+import io.mosip.biosdk.client.transport.RestTemplateTransport;
+import io.mosip.biosdk.client.transport.SdkTransport;
+import io.mosip.biosdk.client.utils.Base64ByteArrayTypeAdapter;
+import io.mosip.biosdk.client.utils.BufferPool;
+import io.mosip.biosdk.client.utils.Compression;
+import io.mosip.biosdk.client.utils.ContentHash;
+import io.mosip.biosdk.client.utils.ResponseAggregator;
+import io.mosip.biosdk.client.utils.ResponseDtoTypeAdapterFactory;
+import io.mosip.biosdk.client.utils.StreamingRequestBody;
 import io.mosip.kernel.biometrics.constant.BiometricType;
+import io.mosip.kernel.biometrics.constant.Match;
+import io.mosip.kernel.biometrics.entities.BIR;
 import io.mosip.kernel.biometrics.entities.BiometricRecord;
 import io.mosip.kernel.biometrics.model.MatchDecision;
 import io.mosip.kernel.biometrics.model.QualityCheck;
@@ -54,7 +125,7 @@ import io.mosip.kernel.core.logger.spi.Logger;
  * 
  */
 @SuppressWarnings({ "java:S101" })
-public class Client_V_1_0 implements IBioApiV2 {
+public class Client_V_1_0 implements IBioApiV2, AutoCloseable {
 	private static Logger logger = LoggerConfig.logConfig(Client_V_1_0.class);
 
 	private static final String FORMAT_SUFFIX = ".format";
@@ -67,32 +138,456 @@ public class Client_V_1_0 implements IBioApiV2 {
 
 	private static final String VERSION = "1.0";
 
+	private static final String BINARY_ENCODING_PARAM = "biosdk.client.binary-encoding";
+
+	private static final String BINARY_ENCODING_BASE64 = "base64";
+
+	private static final String BINARY_ENCODING_HEADER = "X-BioSDK-Binary-Encoding";
+
+	private static final String TIMEOUT_HEADER = "X-BioSDK-Timeout-Ms";
+
+	private static final String METRICS_PARAM = "biosdk.client.metrics";
+
+	private static final int LATENCY_SAMPLES = 1024;
+
 	private static final String TAG_HTTP_URL = "HTTP url: ";
 	private static final String TAG_HTTP_STATUS = "HTTP status: ";
-	private static final String TAG_ERRORS = "errors";
-	private static final String TAG_RESPONSE = "response";
-	private static final String TAG_STATUS_CODE = "statusCode";
-	private static final String TAG_STATUS_MESSAGE = "statusMessage";
 
 	private Gson gson;
 
-	private Type errorDtoListType;
+	private Map<String, String> requestHeaders;
+
+	private Type sdkInfoResponseType;
+
+	private Type qualityCheckResponseType;
+
+	private Type matchDecisionsResponseType;
+
+	private Type biometricRecordResponseType;
+
+	private Type biometricRecordType;
+
+	private Type templateResponseType;
+
+	private Type qualityCheckType;
 
 	private Map<String, String> sdkUrlsMap;
 
+	private Map<String, SdkEndpointGroup> sdkEndpointGroups;
+
+	/** SDKs running in this JVM, by the {@code local:} url routing to them. */
+	private Map<String, LocalSdk> localSdks = Map.of();
+
+	private LoadBalancerConfig loadBalancerConfig = LoadBalancerConfig.defaults();
+
+	private HedgingConfig hedgingConfig = HedgingConfig.defaults();
+
+	private TimeoutConfig timeoutConfig = TimeoutConfig.defaults();
+
+	private RetryPolicy retryPolicy = new RetryPolicy(RetryConfig.defaults());
+
+	private volatile BioSdkMetrics metrics = new SimpleBioSdkMetrics();
+
+	/** Bound to the metrics, the same object each time so that shared metrics count this client once. */
+	private final Supplier<ConnectionPoolStats> connectionPoolStatsSource = this::getConnectionPoolStats;
+
+	private final Supplier<BufferPoolStats> bufferPoolStatsSource = this::getBufferPoolStats;
+
+	private final Map<String, LatencyTracker> latencyTrackers = new ConcurrentHashMap<>();
+
+	private SdkTransport transport;
+
+	private HttpClientConfig httpClientConfig = HttpClientConfig.defaults();
+
+	private BufferPool bufferPool;
+
+	private CompressionConfig compressionConfig = CompressionConfig.defaults();
+
+	private MatchShardConfig matchShardConfig = MatchShardConfig.defaults();
+
+	private FanOutConfig fanOutConfig = FanOutConfig.defaults();
+
+	private InitConfig initConfig = InitConfig.defaults();
+
+	/** Incremented by each {@code init}, to stop the background retries of the previous one. */
+	private final AtomicLong initGeneration = new AtomicLong();
+
+	private HealthCheckConfig healthCheckConfig = HealthCheckConfig.defaults();
+
+	private HealthChecker healthChecker;
+
+	private BatchConfig batchConfig = BatchConfig.defaults();
+
+	private TemplateCache templateCache;
+
+	private SingleFlight singleFlight;
+
+	private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
 	public Client_V_1_0() {
-		gson = new GsonBuilder().serializeNulls().create();
-		errorDtoListType = new TypeToken<List<ErrorDto>>() {
-		}.getType();
+		gson = createGson(false);
+		sdkInfoResponseType = responseDtoType(SDKInfo.class);
+		qualityCheckResponseType = responseDtoType(responseType(QualityCheck.class));
+		matchDecisionsResponseType = responseDtoType(responseType(MatchDecision[].class));
+		biometricRecordResponseType = responseDtoType(responseType(BiometricRecord.class));
+		biometricRecordType = responseDtoType(BiometricRecord.class);
+		templateResponseType = responseType(BiometricRecord.class);
+		qualityCheckType = responseType(QualityCheck.class);
+	}
+
+	/**
+	 * Creates the Gson used for request and response payloads. In compact mode
+	 * binary fields of the BIR tree are written as base64 strings; responses are
+	 * decoded in either form.
+	 */
+	static Gson createGson(boolean compactBinary) {
+		return createGson(compactBinary, null);
+	}
+
+	/**
+	 * @param bufferPool pool to read binary fields sent as number arrays into,
+	 *                   or {@code null}
+	 */
+	static Gson createGson(boolean compactBinary, BufferPool bufferPool) {
+		GsonBuilder gsonBuilder = new GsonBuilder().serializeNulls();
+		gsonBuilder.registerTypeAdapter(byte[].class, new Base64ByteArrayTypeAdapter(compactBinary, bufferPool));
+		gsonBuilder.registerTypeAdapterFactory(new ResponseDtoTypeAdapterFactory());
+		return gsonBuilder.create();
+	}
+
+	static Type responseDtoType(Type payloadType) {
+		return TypeToken.getParameterized(ResponseDto.class, payloadType).getType();
+	}
+
+	static Type responseType(Type payloadType) {
+		return TypeToken.getParameterized(Response.class, payloadType).getType();
 	}
 
 	@Override
 	public SDKInfo init(Map<String, String> initParams) {
 		sdkUrlsMap = getSdkUrls(initParams);
-		List<SDKInfo> sdkInfos = sdkUrlsMap.values().stream().map(sdkUrl -> initForSdkUrl(initParams, sdkUrl)).toList();
+		boolean compactBinary = BINARY_ENCODING_BASE64.equalsIgnoreCase(initParams.get(BINARY_ENCODING_PARAM));
+		requestHeaders = compactBinary ? Map.of(BINARY_ENCODING_HEADER, BINARY_ENCODING_BASE64) : null;
+		SdkTransport previousTransport = transport;
+		httpClientConfig = HttpClientConfig.fromInitParams(initParams);
+		BufferPoolConfig bufferPoolConfig = BufferPoolConfig.fromInitParams(initParams);
+		bufferPool = bufferPoolConfig.isEnabled()
+				? new BufferPool(httpClientConfig.getRequestBufferBytes(), bufferPoolConfig.getMaxBuffers())
+				: null;
+		gson = createGson(compactBinary, bufferPool);
+		compressionConfig = CompressionConfig.fromInitParams(initParams);
+		if (compressionConfig.getRequestEncoding() == Compression.Encoding.ZSTD && !Compression.isZstdAvailable()) {
+			logger.warn(LOGGER_SESSIONID, LOGGER_IDTYPE, CompressionConfig.REQUEST_ENCODING,
+					"zstd-jni is not on the classpath, requests will be sent uncompressed");
+		}
+		transport = createTransport(TransportConfig.fromInitParams(initParams), httpClientConfig, compressionConfig);
+		if (previousTransport != null) {
+			// Requests in flight on it complete before its connections are released
+			previousTransport.close();
+		}
+		if (initParams.containsKey(METRICS_PARAM)) {
+			setMetrics(createMetrics(initParams.get(METRICS_PARAM)));
+		} else {
+			metrics.bindConnectionPool(connectionPoolStatsSource);
+			metrics.bindBufferPool(bufferPoolStatsSource);
+		}
+		matchShardConfig = MatchShardConfig.fromInitParams(initParams);
+		fanOutConfig = FanOutConfig.fromInitParams(initParams);
+		batchConfig = BatchConfig.fromInitParams(initParams);
+		TemplateCacheConfig templateCacheConfig = TemplateCacheConfig.fromInitParams(initParams);
+		templateCache = templateCacheConfig.isEnabled()
+				? new TemplateCache(templateCacheConfig.getMaxBytes(), templateCacheConfig.getTtlMs())
+				: null;
+		singleFlight = SingleFlightConfig.fromInitParams(initParams).isEnabled() ? new SingleFlight() : null;
+		loadBalancerConfig = LoadBalancerConfig.fromInitParams(initParams);
+		hedgingConfig = HedgingConfig.fromInitParams(initParams);
+		timeoutConfig = TimeoutConfig.fromInitParams(initParams);
+		retryPolicy = new RetryPolicy(RetryConfig.fromInitParams(initParams));
+		latencyTrackers.clear();
+		initConfig = InitConfig.fromInitParams(initParams);
+		localSdks = loadLocalSdks(sdkUrlsMap);
+		sdkEndpointGroups = getSdkEndpointGroups(sdkUrlsMap, CircuitBreakerConfig.fromInitParams(initParams),
+				BulkheadConfig.fromInitParams(initParams));
+		List<SdkEndpoint> sdkEndpoints = sdkEndpointGroups.values().stream()
+				.flatMap(group -> group.getEndpoints().stream()).distinct().toList();
+		startHealthChecks(HealthCheckConfig.fromInitParams(initParams), sdkEndpoints);
+		List<SDKInfo> localSdkInfos = new ArrayList<>();
+		for (LocalSdk localSdk : localSdks.values()) {
+			localSdkInfos.add(initLocalSdk(initParams, localSdk));
+		}
+		return initEndpoints(initParams, sdkEndpoints, initConfig, localSdkInfos);
+	}
+
+	/**
+	 * Creates the SDKs named by the {@code local:} urls; the other urls are
+	 * left to SDK services.
+	 */
+	private static Map<String, LocalSdk> loadLocalSdks(Map<String, String> sdkUrls) {
+		Map<String, LocalSdk> sdks = new HashMap<>();
+		for (String sdkServiceUrl : sdkUrls.values()) {
+			if (LocalSdk.isLocal(sdkServiceUrl) && !sdks.containsKey(sdkServiceUrl)) {
+				sdks.put(sdkServiceUrl, LocalSdk.load(sdkServiceUrl));
+			}
+		}
+		return sdks;
+	}
+
+	/**
+	 * Initializes an SDK running in this JVM. Unlike a service, it is not
+	 * retried in the background: a failure fails {@code init}.
+	 */
+	private SDKInfo initLocalSdk(Map<String, String> initParams, LocalSdk localSdk) {
+		try {
+			InitRequestDto initRequestDto = new InitRequestDto();
+			initRequestDto.setInitParams(initParams);
+			ResponseDto<SDKInfo> responseDto = callLocalSdk(localSdk, "/init", initRequestDto,
+					getDeadline("init", null));
+			return responseDto.getResponse();
+		} catch (BioSdkClientException e) {
+			throw e;
+		} catch (Exception e) {
+			logger.error(LOGGER_SESSIONID, LOGGER_IDTYPE, "init", e);
+			throw new BioSdkClientException(ResponseStatus.UNKNOWN_ERROR.getStatusCode() + "",
+					e.getLocalizedMessage(), e);
+		}
+	}
+
+	/**
+	 * Replaces the health checks of the previous {@code init}, if any. Started
+	 * before the {@code /init} calls, so that each endpoint is probed and its
+	 * connections warmed as soon as it is ready.
+	 */
+	private void startHealthChecks(HealthCheckConfig config, List<SdkEndpoint> sdkEndpoints) {
+		if (healthChecker != null) {
+			healthChecker.close();
+			healthChecker = null;
+		}
+		healthCheckConfig = config;
+		if (config.isEnabled()) {
+			healthChecker = new HealthChecker(config, this::probe, this::warmConnections, executor);
+			healthChecker.start(sdkEndpoints);
+		}
+	}
+
+	/**
+	 * Health check of an endpoint: any HTTP response below 500 to a
+	 * {@code GET} of the configured path means the service is up.
+	 */
+	private boolean probe(SdkEndpoint sdkEndpoint, long timeoutMillis) {
+		return transport.probe(sdkEndpoint.getUrl() + healthCheckConfig.getPath(), Deadline.after(timeoutMillis)) < 500;
+	}
+
+	private void warmConnections(SdkEndpoint sdkEndpoint, int connections, long timeoutMillis) throws IOException {
+		transport.warmConnections(sdkEndpoint.getUrl(), connections, timeoutMillis);
+	}
+
+	/**
+	 * Calls {@code /init} on all endpoints in parallel. In eager mode all calls
+	 * share the init deadline, if any, and {@code init} fails, cancelling the
+	 * calls still running, as soon as one fails or the deadline passes. In
+	 * background mode this waits up to the startup wait and returns the info of
+	 * the endpoints ready by then, while the others keep being retried.
+	 */
+	private SDKInfo initEndpoints(Map<String, String> initParams, List<SdkEndpoint> sdkEndpoints,
+			InitConfig config, List<SDKInfo> localSdkInfos) {
+		long generation = initGeneration.incrementAndGet();
+		Deadline deadline = getDeadline("init", null);
+		CompletionService<SDKInfo> completionService = new ExecutorCompletionService<>(executor);
+		List<Future<SDKInfo>> futures = sdkEndpoints.stream()
+				.map(sdkEndpoint -> completionService.submit(
+						() -> config.isBackground() ? initInBackground(initParams, sdkEndpoint, generation, config)
+								: initForSdkUrl(initParams, sdkEndpoint, deadline)))
+				.toList();
+		// The startup wait applies to background mode only, eager mode waits as long as the init deadline allows
+		long waitUntil = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(0, config.getStartupWaitMs()));
+		try {
+			for (int done = 0; done < futures.size(); done++) {
+				long waitNanos = config.isBackground() ? waitUntil - System.nanoTime()
+						: TimeUnit.MILLISECONDS.toNanos(deadline.remainingMillis());
+				Future<SDKInfo> future = completionService.poll(waitNanos, TimeUnit.NANOSECONDS);
+				if (future == null) {
+					List<SdkEndpoint> pending = sdkEndpoints.stream().filter(sdkEndpoint -> !sdkEndpoint.isReady())
+							.toList();
+					if (!config.isBackground()) {
+						futures.forEach(f -> f.cancel(true));
+						throw new BioSdkClientException(ResponseStatus.DEADLINE_EXCEEDED.getStatusCode() + "",
+								String.format(ResponseStatus.DEADLINE_EXCEEDED.getStatusMessage(),
+										"init, not ready after " + timeoutConfig.getTimeoutMs("init") + " ms: "
+												+ pending));
+					}
+					logger.warn(LOGGER_SESSIONID, LOGGER_IDTYPE, "init", "Not ready after "
+							+ config.getStartupWaitMs() + " ms, initializing in background: " + pending);
+					break;
+				}
+				future.get();
+			}
+		} catch (ExecutionException e) {
+			// One failure fails init, so the others need not be waited for
+			futures.forEach(future -> future.cancel(true));
+			if (e.getCause() instanceof BioSdkClientException bioSdkClientException) {
+				throw bioSdkClientException;
+			}
+			throw new BioSdkClientException(ResponseStatus.UNKNOWN_ERROR.getStatusCode() + "",
+					e.getCause().getLocalizedMessage(), e.getCause());
+		} catch (InterruptedException e) {
+			futures.forEach(future -> future.cancel(true));
+			Thread.currentThread().interrupt();
+			throw new BioSdkClientException(ResponseStatus.UNKNOWN_ERROR.getStatusCode() + "", "init interrupted", e);
+		}
+		List<SDKInfo> sdkInfos = new ArrayList<>(localSdkInfos);
+		futures.stream().filter(future -> future.state() == Future.State.SUCCESS).map(Future::resultNow)
+				.filter(Objects::nonNull).forEach(sdkInfos::add);
 		return getAggregatedSdkInfo(sdkInfos);
 	}
 
+	/**
+	 * Retries {@code /init} on the endpoint at the configured interval until it
+	 * succeeds or the client is initialized again.
+	 */
+	private SDKInfo initInBackground(Map<String, String> initParams, SdkEndpoint sdkEndpoint, long generation,
+			InitConfig config) {
+		while (true) {
+			try {
+				return initForSdkUrl(initParams, sdkEndpoint, getDeadline("init", null));
+			} catch (BioSdkClientException e) {
+				if (initGeneration.get() != generation) {
+					throw e;
+				}
+				logger.warn(LOGGER_SESSIONID, LOGGER_IDTYPE, "init", "Retrying init of " + sdkEndpoint + " in "
+						+ config.getRetryIntervalMs() + " ms: " + e.getLocalizedMessage());
+				try {
+					Thread.sleep(config.getRetryIntervalMs());
+				} catch (InterruptedException interruptedException) {
+					Thread.currentThread().interrupt();
+					throw e;
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return true once every configured SDK service endpoint is initialized,
+	 *         e.g. for a readiness probe
+	 */
+	public boolean isReady() {
+		Map<String, SdkEndpointGroup> endpointGroups = sdkEndpointGroups;
+		return endpointGroups != null && endpointGroups.values().stream()
+				.allMatch(group -> group.getEndpoints().stream().allMatch(SdkEndpoint::isReady));
+	}
+
+	/**
+	 * Stops the health checks and the background {@code init} retries, and
+	 * releases the connections once the requests in flight have completed.
+	 * Asynchronous calls already submitted run to completion; the client is not
+	 * to be used afterwards.
+	 */
+	@Override
+	public void close() {
+		initGeneration.incrementAndGet();
+		if (healthChecker != null) {
+			healthChecker.close();
+			healthChecker = null;
+		}
+		SdkTransport currentTransport = transport;
+		if (currentTransport != null) {
+			currentTransport.close();
+		}
+		executor.shutdown();
+	}
+
+	/**
+	 * Creates the metrics named by the {@value #METRICS_PARAM} init param:
+	 * {@code simple} (in memory, the default), {@code micrometer} (Micrometer's
+	 * global registry) or {@code none}.
+	 */
+	private static BioSdkMetrics createMetrics(String name) {
+		if ("none".equalsIgnoreCase(name)) {
+			return BioSdkMetrics.NOOP;
+		}
+		if ("micrometer".equalsIgnoreCase(name)) {
+			try {
+				Class.forName("io.micrometer.core.instrument.MeterRegistry");
+				return MicrometerBioSdkMetrics.global();
+			} catch (ClassNotFoundException e) {
+				logger.warn(LOGGER_SESSIONID, LOGGER_IDTYPE, METRICS_PARAM,
+						"Micrometer is not on the classpath, using simple metrics");
+			}
+		}
+		return new SimpleBioSdkMetrics();
+	}
+
+	/**
+	 * Creates the transport named by the {@value TransportConfig#TRANSPORT} init
+	 * param: {@code rest-template} (the default), {@code jdk} or the class name
+	 * of an {@link SdkTransport} implementation.
+	 */
+	private static SdkTransport createTransport(TransportConfig transportConfig, HttpClientConfig httpClientConfig,
+			CompressionConfig compressionConfig) {
+		String name = transportConfig.getName();
+		if (TransportConfig.JDK.equalsIgnoreCase(name)) {
+			return new JdkHttpTransport(httpClientConfig, compressionConfig, transportConfig.getHttpVersion());
+		}
+		if (!TransportConfig.REST_TEMPLATE.equalsIgnoreCase(name)) {
+			try {
+				return Class.forName(name).asSubclass(SdkTransport.class)
+						.getConstructor(HttpClientConfig.class, CompressionConfig.class)
+						.newInstance(httpClientConfig, compressionConfig);
+			} catch (ReflectiveOperationException | ClassCastException e) {
+				logger.warn(LOGGER_SESSIONID, LOGGER_IDTYPE, TransportConfig.TRANSPORT,
+						"Could not create transport " + name + ", using rest-template: " + e);
+			}
+		}
+		return new RestTemplateTransport(httpClientConfig, compressionConfig);
+	}
+
+	private ConnectionPoolStats getConnectionPoolStats() {
+		SdkTransport currentTransport = transport;
+		return currentTransport != null ? currentTransport.getConnectionPoolStats() : null;
+	}
+
+	/**
+	 * Replaces the metrics the SDK requests are reported to, e.g. with a
+	 * {@link MicrometerBioSdkMetrics} bound to the application's registry.
+	 */
+	public void setMetrics(BioSdkMetrics metrics) {
+		metrics.bindConnectionPool(connectionPoolStatsSource);
+		metrics.bindBufferPool(bufferPoolStatsSource);
+		this.metrics = metrics;
+	}
+
+	/**
+	 * @return the metrics the SDK requests are reported to; a
+	 *         {@link SimpleBioSdkMetrics} unless configured otherwise
+	 */
+	public BioSdkMetrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * Creates the replica groups for the configured SDK service urls. Each url
+	 * value may list several replicas separated by comma; a replica listed for
+	 * more than one format is tracked as a single endpoint, with its own circuit
+	 * breaker if enabled. Each group gets its own bulkhead if enabled. The
+	 * {@code local:} urls get no group.
+	 */
+	private Map<String, SdkEndpointGroup> getSdkEndpointGroups(Map<String, String> sdkUrls,
+			CircuitBreakerConfig circuitBreakerConfig, BulkheadConfig bulkheadConfig) {
+		Map<String, SdkEndpoint> endpointsByUrl = new HashMap<>();
+		Map<String, SdkEndpointGroup> endpointGroups = new HashMap<>();
+		for (String sdkServiceUrl : sdkUrls.values()) {
+			if (!endpointGroups.containsKey(sdkServiceUrl) && !LocalSdk.isLocal(sdkServiceUrl)) {
+				List<SdkEndpoint> endpoints = Arrays.stream(sdkServiceUrl.split(",")).map(String::trim)
+						.filter(url -> !url.isEmpty()).distinct()
+						.map(url -> endpointsByUrl.computeIfAbsent(url, key -> new SdkEndpoint(key,
+								circuitBreakerConfig.isEnabled() ? new CircuitBreaker(circuitBreakerConfig) : null)))
+						.toList();
+				endpointGroups.put(sdkServiceUrl, new SdkEndpointGroup(endpoints, loadBalancerConfig.getPolicy(),
+						bulkheadConfig.isEnabled() ? new Bulkhead(sdkServiceUrl, bulkheadConfig) : null));
+			}
+		}
+		return endpointGroups;
+	}
+
 	private SDKInfo getAggregatedSdkInfo(List<SDKInfo> sdkInfos) {
 		SDKInfo sdkInfo;
 		if (!sdkInfos.isEmpty()) {
@@ -130,38 +625,19 @@ public class Client_V_1_0 implements IBioApiV2 {
 		}
 	}
 
-	private SDKInfo initForSdkUrl(Map<String, String> initParams, String sdkServiceUrl) {
+	private SDKInfo initForSdkUrl(Map<String, String> initParams, SdkEndpoint sdkEndpoint, Deadline deadline) {
 		SDKInfo sdkInfo = null;
 		try {
 			InitRequestDto initRequestDto = new InitRequestDto();
 			initRequestDto.setInitParams(initParams);
 
-			RequestDto requestDto = generateNewRequestDto(initRequestDto);
-			logger.debug(LOGGER_SESSIONID, LOGGER_IDTYPE, TAG_HTTP_URL, sdkServiceUrl + "/init");
-			ResponseEntity<?> responseEntity = Util.restRequest(sdkServiceUrl + "/init", HttpMethod.POST,
-					MediaType.APPLICATION_JSON, requestDto, null, String.class);
-			if (!responseEntity.getStatusCode().is2xxSuccessful()) {
-				logger.debug(LOGGER_SESSIONID, LOGGER_IDTYPE, TAG_HTTP_STATUS,
-						responseEntity.getStatusCode().toString());
-				throw new BioSdkClientException(ResponseStatus.UNKNOWN_ERROR + "",
-						TAG_HTTP_STATUS + responseEntity.getStatusCode().toString());
-			}
-			if (responseEntity.getBody() != null) {
-				Object responseBodyObject = responseEntity.getBody();
-				String responseBody = responseBodyObject != null ? responseBodyObject.toString() : "";
-				JSONParser parser = new JSONParser();
-				JSONObject js = (JSONObject) parser.parse(responseBody);
-
-				/* Error handler */
-				errorHandler(js.get(TAG_ERRORS) != null ? gson.fromJson(js.get(TAG_ERRORS).toString(), errorDtoListType)
-						: null);
-
-				sdkInfo = gson.fromJson(js.get(TAG_RESPONSE).toString(), SDKInfo.class);
-			} else
-				throw new BioSdkClientException(ResponseStatus.UNKNOWN_ERROR + "", "Response is null");
+			ResponseDto<SDKInfo> responseDto = sendRequest(sdkEndpoint, "/init", initRequestDto,
+					sdkInfoResponseType, deadline);
+			sdkInfo = responseDto.getResponse();
+			sdkEndpoint.markReady();
 		} catch (Exception e) {
 			logger.error(LOGGER_SESSIONID, LOGGER_IDTYPE, TAG_HTTP_URL, e);
-			throw new BioSdkClientException(ResponseStatus.UNKNOWN_ERROR + "", e.getLocalizedMessage(), e);
+			throw toClientException(e);
 		}
 		return sdkInfo;
 	}
@@ -190,7 +666,7 @@ public class Client_V_1_0 implements IBioApiV2 {
 		return sdkUrls;
 	}
 
-	private String getSdkServiceUrl(BiometricType modality, Map<String, String> flags) {
+	String getSdkServiceUrl(BiometricType modality, Map<String, String> flags) {
 		if (modality != null) {
 			String key = modality.name() + FORMAT_SUFFIX;
 			if (flags != null) {
@@ -220,40 +696,47 @@ public class Client_V_1_0 implements IBioApiV2 {
 	@Override
 	public Response<QualityCheck> checkQuality(BiometricRecord sample, List<BiometricType> modalitiesToCheck,
 			Map<String, String> flags) {
+		SingleFlight flight = singleFlight;
+		if (flight == null) {
+			return sendCheckQuality(sample, modalitiesToCheck, flags);
+		}
+		return flight.execute(ContentHash.of("check-quality", null, sample, modalitiesToCheck, flags),
+				"check-quality", getDeadline("check-quality", flags),
+				() -> sendCheckQuality(sample, modalitiesToCheck, flags),
+				response -> toJsonBytes(response, qualityCheckType), json -> fromJsonBytes(json, qualityCheckType));
+	}
+
+	private Response<QualityCheck> sendCheckQuality(BiometricRecord sample, List<BiometricType> modalitiesToCheck,
+			Map<String, String> flags) {
 		Response<QualityCheck> response = new Response<>();
 		response.setStatusCode(200);
 		QualityCheck qualityCheck = null;
 		try {
+			Deadline deadline = getDeadline("check-quality", flags);
+			List<List<BiometricType>> parts = getFanOutParts(modalitiesToCheck, flags);
+			if (!parts.isEmpty()) {
+				return fanOut("check-quality", parts, part -> {
+					CheckQualityRequestDto partRequestDto = new CheckQualityRequestDto();
+					partRequestDto.setSample(getSegmentsOf(sample, part));
+					partRequestDto.setModalitiesToCheck(part);
+					partRequestDto.setFlags(TimeoutConfig.withoutTimeoutFlag(flags));
+					ResponseDto<Response<QualityCheck>> responseDto = sendRequest(
+							getSdkServiceUrl(part.get(0), flags), "/check-quality", partRequestDto,
+							qualityCheckResponseType, deadline);
+					return responseDto.getResponse();
+				}, Client_V_1_0::mergeQualityChecks, deadline);
+			}
 			CheckQualityRequestDto checkQualityRequestDto = new CheckQualityRequestDto();
 			checkQualityRequestDto.setSample(sample);
 			checkQualityRequestDto.setModalitiesToCheck(modalitiesToCheck);
-			checkQualityRequestDto.setFlags(flags);
-			RequestDto requestDto = generateNewRequestDto(checkQualityRequestDto);
-			String url = getSdkServiceUrl(modalitiesToCheck.get(0), flags) + "/check-quality";
-			logger.debug(LOGGER_SESSIONID, LOGGER_IDTYPE, TAG_HTTP_URL, url);
-			ResponseEntity<?> responseEntity = Util.restRequest(url, HttpMethod.POST, MediaType.APPLICATION_JSON,
-					requestDto, null, String.class);
-			if (!responseEntity.getStatusCode().is2xxSuccessful()) {
-				logger.debug(LOGGER_SESSIONID, LOGGER_IDTYPE, TAG_HTTP_STATUS,
-						responseEntity.getStatusCode().toString());
-				throw new BioSdkClientException(ResponseStatus.UNKNOWN_ERROR.getStatusCode() + "",
-						TAG_HTTP_STATUS + responseEntity.getStatusCode().toString());
-			}
-			Object responseBodyObject = responseEntity.getBody();
-			String responseBody = responseBodyObject != null ? responseBodyObject.toString() : "";
-			JSONParser parser = new JSONParser();
-			JSONObject js = (JSONObject) parser.parse(responseBody);
-			JSONObject responseJson = (JSONObject) ((JSONObject) js.get(TAG_RESPONSE)).get(TAG_RESPONSE);
-
-			/* Error handler */
-			errorHandler(
-					js.get(TAG_ERRORS) != null ? gson.fromJson(js.get(TAG_ERRORS).toString(), errorDtoListType) : null);
-
-			qualityCheck = gson.fromJson(responseJson.toString(), QualityCheck.class);
+			checkQualityRequestDto.setFlags(TimeoutConfig.withoutTimeoutFlag(flags));
+			String sdkServiceUrl = getSdkServiceUrl(modalitiesToCheck.get(0), flags);
+			ResponseDto<Response<QualityCheck>> responseDto = sendRequest(sdkServiceUrl, "/check-quality",
+					checkQualityRequestDto, qualityCheckResponseType, deadline);
+			qualityCheck = responseDto.getResponse().getResponse();
 		} catch (Exception e) {
 			logger.error(LOGGER_SESSIONID, LOGGER_IDTYPE, "checkQuality", e);
-			throw new BioSdkClientException(ResponseStatus.UNKNOWN_ERROR.getStatusCode() + "", e.getLocalizedMessage(),
-					e);
+			throw toClientException(e);
 		}
 		response.setResponse(qualityCheck);
 		return response;
@@ -262,82 +745,374 @@ public class Client_V_1_0 implements IBioApiV2 {
 	@Override
 	public Response<MatchDecision[]> match(BiometricRecord sample, BiometricRecord[] gallery,
 			List<BiometricType> modalitiesToMatch, Map<String, String> flags) {
-		Response<MatchDecision[]> response = new Response<>();
 		try {
+			Deadline deadline = getDeadline("match", flags);
+			List<List<BiometricType>> parts = getFanOutParts(modalitiesToMatch, flags);
+			if (!parts.isEmpty()) {
+				return fanOut("match", parts, part -> {
+					MatchRequestDto partRequestDto = new MatchRequestDto();
+					partRequestDto.setSample(getSegmentsOf(sample, part));
+					partRequestDto.setGallery(gallery == null ? null
+							: Arrays.stream(gallery).map(record -> getSegmentsOf(record, part))
+									.toArray(BiometricRecord[]::new));
+					partRequestDto.setModalitiesToMatch(part);
+					partRequestDto.setFlags(TimeoutConfig.withoutTimeoutFlag(flags));
+					return match(getSdkServiceUrl(part.get(0), flags), partRequestDto, deadline);
+				}, Client_V_1_0::mergeMatchDecisions, deadline);
+			}
 			MatchRequestDto matchRequestDto = new MatchRequestDto();
 			matchRequestDto.setSample(sample);
 			matchRequestDto.setGallery(gallery);
 			matchRequestDto.setModalitiesToMatch(modalitiesToMatch);
-			matchRequestDto.setFlags(flags);
-
-			RequestDto requestDto = generateNewRequestDto(matchRequestDto);
-			String url = getSdkServiceUrl(modalitiesToMatch.get(0), flags) + "/match";
-			logger.debug(LOGGER_SESSIONID, LOGGER_IDTYPE, TAG_HTTP_URL, url);
-			ResponseEntity<?> responseEntity = Util.restRequest(url, HttpMethod.POST, MediaType.APPLICATION_JSON,
-					requestDto, null, String.class);
-			if (!responseEntity.getStatusCode().is2xxSuccessful()) {
-				logger.debug(LOGGER_SESSIONID, LOGGER_IDTYPE, TAG_HTTP_STATUS,
-						responseEntity.getStatusCode().toString());
-				throw new BioSdkClientException(ResponseStatus.UNKNOWN_ERROR + "",
-						TAG_HTTP_STATUS + responseEntity.getStatusCode().toString());
-			}
-			Object responseBodyObject = responseEntity.getBody();
-			String responseBody = responseBodyObject != null ? responseBodyObject.toString() : "";
-			JSONParser parser = new JSONParser();
-			JSONObject js = (JSONObject) parser.parse(responseBody);
-
-			/* Error handler */
-			errorHandler(
-					js.get(TAG_ERRORS) != null ? gson.fromJson(js.get(TAG_ERRORS).toString(), errorDtoListType) : null);
-
-			JSONObject jsonResponse = (JSONObject) parser.parse(js.get(TAG_RESPONSE).toString());
-			response.setStatusCode(
-					jsonResponse.get(TAG_STATUS_CODE) != null ? ((Long) jsonResponse.get(TAG_STATUS_CODE)).intValue()
-							: null);
-			response.setStatusMessage(
-					jsonResponse.get(TAG_STATUS_MESSAGE) != null ? jsonResponse.get(TAG_STATUS_MESSAGE).toString()
-							: "");
-			response.setResponse(gson.fromJson(
-					jsonResponse.get(TAG_RESPONSE) != null ? jsonResponse.get(TAG_RESPONSE).toString() : null,
-					MatchDecision[].class));
+			matchRequestDto.setFlags(TimeoutConfig.withoutTimeoutFlag(flags));
+			return match(getSdkServiceUrl(modalitiesToMatch.get(0), flags), matchRequestDto, deadline);
 		} catch (Exception e) {
 			logger.error(LOGGER_SESSIONID, LOGGER_IDTYPE, "match", e);
-			throw new BioSdkClientException(ResponseStatus.UNKNOWN_ERROR.getStatusCode() + "", e.getLocalizedMessage(),
-					e);
+			throw toClientException(e);
 		}
+	}
+
+	/**
+	 * Matches against the gallery, split into shards of the configured size
+	 * matched concurrently when it is larger. Shards still to be sent when the
+	 * deadline passes are not sent.
+	 */
+	private Response<MatchDecision[]> match(String sdkServiceUrl, MatchRequestDto matchRequestDto, Deadline deadline)
+			throws InterruptedException {
+		BiometricRecord[] gallery = matchRequestDto.getGallery();
+		if (matchShardConfig.isEnabled() && gallery != null && gallery.length > matchShardConfig.getShardSize()) {
+			return streamMatch(sdkServiceUrl, matchRequestDto, matchShardConfig.getShardSize(), 0, null, deadline);
+		}
+		Response<MatchDecision[]> response = new Response<>();
+		ResponseDto<Response<MatchDecision[]>> responseDto = sendRequest(sdkServiceUrl, "/match", matchRequestDto,
+				matchDecisionsResponseType, deadline);
+		convertAndSetResponseObject(response, responseDto);
 		return response;
 	}
 
+	/**
+	 * Streaming variant of
+	 * {@link #match(BiometricRecord, BiometricRecord[], List, Map)} for 1:N
+	 * searches such as deduplication. The gallery is split into chunks of the
+	 * configured stream chunk size, sent in gallery order with the configured
+	 * parallelism, and the decisions of each chunk are handed to the listener,
+	 * on the calling thread, as soon as it completes. With {@code maxMatches}
+	 * set, once that many gallery records matched for any modality the chunks
+	 * not yet sent are skipped and those in flight are cancelled. The
+	 * modalities are not fanned out.
+	 *
+	 * @param maxMatches matches to stop after, 0 to match the whole gallery
+	 * @param listener   receives the decisions of each chunk, indexed within the
+	 *                   whole gallery; may be null
+	 * @return the decisions received in gallery order, when stopped early only
+	 *         those of the chunks completed by then
+	 */
+	public Response<MatchDecision[]> matchStreaming(BiometricRecord sample, BiometricRecord[] gallery,
+			List<BiometricType> modalitiesToMatch, Map<String, String> flags, int maxMatches,
+			Consumer<MatchDecision[]> listener) {
+		try {
+			Deadline deadline = getDeadline("match", flags);
+			MatchRequestDto matchRequestDto = new MatchRequestDto();
+			matchRequestDto.setSample(sample);
+			matchRequestDto.setGallery(gallery);
+			matchRequestDto.setModalitiesToMatch(modalitiesToMatch);
+			matchRequestDto.setFlags(TimeoutConfig.withoutTimeoutFlag(flags));
+			return streamMatch(getSdkServiceUrl(modalitiesToMatch.get(0), flags), matchRequestDto,
+					matchShardConfig.getStreamChunkSize(), maxMatches, listener, deadline);
+		} catch (Exception e) {
+			logger.error(LOGGER_SESSIONID, LOGGER_IDTYPE, "matchStreaming", e);
+			throw toClientException(e);
+		}
+	}
+
+	/**
+	 * Keeps up to the configured parallelism of gallery chunks in flight,
+	 * sending the next one as each completes, until the gallery is done or
+	 * enough matches were found, and merges the decisions back in gallery
+	 * order. A failed chunk fails the whole match, cancelling the others, as its
+	 * records may have held the match looked for; non-success status codes of
+	 * the chunks are aggregated.
+	 *
+	 * @param maxMatches matches to stop after, 0 for none
+	 */
+	private Response<MatchDecision[]> streamMatch(String sdkServiceUrl, MatchRequestDto matchRequestDto,
+			int chunkSize, int maxMatches, Consumer<MatchDecision[]> listener, Deadline deadline)
+			throws InterruptedException {
+		BiometricRecord[] gallery = matchRequestDto.getGallery() != null ? matchRequestDto.getGallery()
+				: new BiometricRecord[0];
+		CompletionService<ResponseDto<Response<MatchDecision[]>>> completionService = new ExecutorCompletionService<>(
+				executor);
+		Map<Future<ResponseDto<Response<MatchDecision[]>>>, Integer> inFlight = new HashMap<>();
+		ResponseAggregator<MatchDecision[]> chunkResponses = new ResponseAggregator<>();
+		int nextOffset = 0;
+		int matches = 0;
+		try {
+			while (maxMatches <= 0 || matches < maxMatches) {
+				while (nextOffset < gallery.length && inFlight.size() < matchShardConfig.getParallelism()) {
+					MatchRequestDto chunkRequestDto = new MatchRequestDto();
+					chunkRequestDto.setSample(matchRequestDto.getSample());
+					chunkRequestDto.setGallery(
+							Arrays.copyOfRange(gallery, nextOffset, Math.min(nextOffset + chunkSize, gallery.length)));
+					chunkRequestDto.setModalitiesToMatch(matchRequestDto.getModalitiesToMatch());
+					chunkRequestDto.setFlags(matchRequestDto.getFlags());
+					inFlight.put(completionService.submit(() -> sendRequest(sdkServiceUrl, "/match", chunkRequestDto,
+							matchDecisionsResponseType, deadline)), nextOffset);
+					nextOffset += chunkSize;
+				}
+				if (inFlight.isEmpty()) {
+					break;
+				}
+				Future<ResponseDto<Response<MatchDecision[]>>> future = completionService
+						.poll(deadline.remainingMillis(), TimeUnit.MILLISECONDS);
+				if (future == null) {
+					throw Deadline.exceeded("match");
+				}
+				int offset = inFlight.remove(future);
+				String chunk = "Gallery records " + offset + " to "
+						+ (Math.min(offset + chunkSize, gallery.length) - 1);
+				Response<MatchDecision[]> chunkResponse;
+				try {
+					chunkResponse = future.get().getResponse();
+				} catch (ExecutionException e) {
+					throw ResponseAggregator.failure(chunk, e.getCause());
+				}
+				chunkResponses.add(chunk, chunkResponse);
+				MatchDecision[] chunkDecisions = chunkResponse.getResponse();
+				if (chunkDecisions != null) {
+					for (MatchDecision matchDecision : chunkDecisions) {
+						matchDecision.setGalleryIndex(matchDecision.getGalleryIndex() + offset);
+						if (isMatched(matchDecision)) {
+							matches++;
+						}
+					}
+					if (listener != null) {
+						listener.accept(chunkDecisions);
+					}
+				}
+			}
+		} finally {
+			inFlight.keySet().forEach(future -> future.cancel(true));
+		}
+
+		return chunkResponses.toResponse(chunkResponses.getResults().stream().flatMap(Arrays::stream)
+				.sorted(Comparator.comparingInt(MatchDecision::getGalleryIndex)).toArray(MatchDecision[]::new));
+	}
+
+	private static boolean isMatched(MatchDecision matchDecision) {
+		return matchDecision.getDecisions() != null && matchDecision.getDecisions().values().stream()
+				.anyMatch(decision -> decision != null && decision.getMatch() == Match.MATCHED);
+	}
+
 	@Override
 	public Response<BiometricRecord> extractTemplate(BiometricRecord sample, List<BiometricType> modalitiesToExtract,
 			Map<String, String> flags) {
-		Response<BiometricRecord> response = new Response<>();
+		SingleFlight flight = singleFlight;
+		if (flight == null) {
+			return sendExtractTemplate(sample, modalitiesToExtract, flags);
+		}
+		return flight.execute(ContentHash.of("extract-template", null, sample, modalitiesToExtract, flags),
+				"extract-template", getDeadline("extract-template", flags),
+				() -> sendExtractTemplate(sample, modalitiesToExtract, flags),
+				response -> toJsonBytes(response, templateResponseType),
+				json -> fromJsonBytes(json, templateResponseType));
+	}
+
+	private Response<BiometricRecord> sendExtractTemplate(BiometricRecord sample,
+			List<BiometricType> modalitiesToExtract, Map<String, String> flags) {
 		try {
+			Deadline deadline = getDeadline("extract-template", flags);
+			List<List<BiometricType>> parts = getFanOutParts(modalitiesToExtract, flags);
+			if (!parts.isEmpty()) {
+				return fanOut("extract-template", parts, part -> {
+					ExtractTemplateRequestDto partRequestDto = new ExtractTemplateRequestDto();
+					partRequestDto.setSample(getSegmentsOf(sample, part));
+					partRequestDto.setModalitiesToExtract(part);
+					partRequestDto.setFlags(TimeoutConfig.withoutTimeoutFlag(flags));
+					return extractTemplate(getSdkServiceUrl(part, flags), partRequestDto, deadline);
+				}, Client_V_1_0::mergeBiometricRecords, deadline);
+			}
 			ExtractTemplateRequestDto extractTemplateRequestDto = new ExtractTemplateRequestDto();
 			extractTemplateRequestDto.setSample(sample);
 			extractTemplateRequestDto.setModalitiesToExtract(modalitiesToExtract);
-			extractTemplateRequestDto.setFlags(flags);
-
-			RequestDto requestDto = generateNewRequestDto(extractTemplateRequestDto);
-			String url = getSdkServiceUrl(modalitiesToExtract, flags) + "/extract-template";
-			logger.debug(LOGGER_SESSIONID, LOGGER_IDTYPE, TAG_HTTP_URL, url);
-			ResponseEntity<?> responseEntity = Util.restRequest(url, HttpMethod.POST, MediaType.APPLICATION_JSON,
-					requestDto, null, String.class);
-			if (!responseEntity.getStatusCode().is2xxSuccessful()) {
-				logger.debug(LOGGER_SESSIONID, LOGGER_IDTYPE, TAG_HTTP_STATUS,
-						responseEntity.getStatusCode().toString());
-				throw new BioSdkClientException(ResponseStatus.UNKNOWN_ERROR.getStatusCode() + "",
-						TAG_HTTP_STATUS + responseEntity.getStatusCode().toString());
-			}
-			convertAndSetResponseObject(response, responseEntity);
+			extractTemplateRequestDto.setFlags(TimeoutConfig.withoutTimeoutFlag(flags));
+			return extractTemplate(getSdkServiceUrl(modalitiesToExtract, flags), extractTemplateRequestDto, deadline);
 		} catch (Exception e) {
 			logger.error(LOGGER_SESSIONID, LOGGER_IDTYPE, "extractTemplate", e);
-			throw new BioSdkClientException(ResponseStatus.UNKNOWN_ERROR.getStatusCode() + "", e.getLocalizedMessage(),
-					e);
+			throw toClientException(e);
+		}
+	}
+
+	/**
+	 * Extracts the template through the cache, if enabled. The cache key covers
+	 * the request as sent, so each part of a fan-out is cached on its own.
+	 */
+	private Response<BiometricRecord> extractTemplate(String sdkServiceUrl,
+			ExtractTemplateRequestDto extractTemplateRequestDto, Deadline deadline) {
+		TemplateCache cache = templateCache;
+		String cacheKey = cache != null
+				? ContentHash.of("extract-template", sdkServiceUrl, extractTemplateRequestDto.getSample(),
+						extractTemplateRequestDto.getModalitiesToExtract(), extractTemplateRequestDto.getFlags())
+				: null;
+		byte[] cachedResponse = cacheKey != null ? cache.get(cacheKey) : null;
+		if (cachedResponse != null) {
+			return fromJsonBytes(cachedResponse, templateResponseType);
+		}
+
+		Response<BiometricRecord> response = new Response<>();
+		ResponseDto<Response<BiometricRecord>> responseDto = sendRequest(sdkServiceUrl, "/extract-template",
+				extractTemplateRequestDto, biometricRecordResponseType, deadline);
+		convertAndSetResponseObject(response, responseDto);
+		if (cacheKey != null
+				&& Integer.valueOf(ResponseStatus.SUCCESS.getStatusCode()).equals(response.getStatusCode())) {
+			cache.put(cacheKey, toJsonBytes(response, templateResponseType));
 		}
 		return response;
 	}
 
+	/**
+	 * Groups the modalities of a multi-modal request into the parts of a
+	 * fan-out: one per SDK service url, or one per modality, as configured.
+	 *
+	 * @return the parts, or an empty list when the request is to be sent as a
+	 *         whole
+	 */
+	private List<List<BiometricType>> getFanOutParts(List<BiometricType> modalities, Map<String, String> flags) {
+		FanOutConfig config = fanOutConfig;
+		if (!config.isEnabled() || modalities == null || modalities.size() < 2
+				|| modalities.stream().anyMatch(Objects::isNull)) {
+			return List.of();
+		}
+		Map<String, List<BiometricType>> parts = new LinkedHashMap<>();
+		for (BiometricType modality : new LinkedHashSet<>(modalities)) {
+			String key = config.getMode() == FanOutConfig.Mode.MODALITY ? modality.name()
+					: getSdkServiceUrl(modality, flags);
+			parts.computeIfAbsent(key, k -> new ArrayList<>()).add(modality);
+		}
+		return parts.size() > 1 ? new ArrayList<>(parts.values()) : List.of();
+	}
+
+	/**
+	 * Sends the parts of a fan-out concurrently and merges their results.
+	 * Non-success status codes of the parts are aggregated; a failed part fails
+	 * the whole call, cancelling the others, as does the deadline passing.
+	 */
+	private <T> Response<T> fanOut(String operation, List<List<BiometricType>> parts, FanOutCall<T> call,
+			Function<List<T>, T> merge, Deadline deadline) throws InterruptedException {
+		CompletionService<Response<T>> completionService = new ExecutorCompletionService<>(executor);
+		List<Future<Response<T>>> futures = parts.stream()
+				.map(part -> completionService.submit(() -> call.apply(part))).toList();
+		try {
+			// Waited for in completion order, so that a failure is seen first
+			for (int done = 0; done < futures.size(); done++) {
+				Future<Response<T>> future = completionService.poll(deadline.remainingMillis(), TimeUnit.MILLISECONDS);
+				if (future == null) {
+					throw Deadline.exceeded(operation);
+				}
+				try {
+					future.get();
+				} catch (ExecutionException e) {
+					throw ResponseAggregator.failure("Modalities " + parts.get(futures.indexOf(future)),
+							e.getCause());
+				}
+			}
+		} finally {
+			futures.forEach(future -> future.cancel(true));
+		}
+		ResponseAggregator<T> partResponses = new ResponseAggregator<>();
+		for (int i = 0; i < futures.size(); i++) {
+			partResponses.add("Modalities " + parts.get(i), futures.get(i).resultNow());
+		}
+		List<T> results = partResponses.getResults();
+		return partResponses.toResponse(results.isEmpty() ? null : merge.apply(results));
+	}
+
+	/**
+	 * One part of a fan-out, sent for the given modalities.
+	 */
+	@FunctionalInterface
+	private interface FanOutCall<T> {
+		Response<T> apply(List<BiometricType> modalities) throws Exception;
+	}
+
+	/**
+	 * @return a copy of the record holding only the segments of the given
+	 *         modalities; segments without a type are kept in every part
+	 */
+	private static BiometricRecord getSegmentsOf(BiometricRecord biometricRecord, List<BiometricType> modalities) {
+		if (biometricRecord == null || biometricRecord.getSegments() == null) {
+			return biometricRecord;
+		}
+		BiometricRecord part = new BiometricRecord();
+		part.setVersion(biometricRecord.getVersion());
+		part.setCbeffversion(biometricRecord.getCbeffversion());
+		part.setBirInfo(biometricRecord.getBirInfo());
+		part.setOthers(biometricRecord.getOthers());
+		part.setSegments(biometricRecord.getSegments().stream().filter(bir -> bir == null || bir.getBdbInfo() == null
+				|| bir.getBdbInfo().getType() == null || bir.getBdbInfo().getType().isEmpty()
+				|| bir.getBdbInfo().getType().stream().anyMatch(modalities::contains))
+				.collect(Collectors.toCollection(ArrayList::new)));
+		return part;
+	}
+
+	/**
+	 * Merges the decisions of the parts per gallery index.
+	 */
+	private static MatchDecision[] mergeMatchDecisions(List<MatchDecision[]> partDecisions) {
+		Map<Integer, MatchDecision> decisions = new TreeMap<>();
+		for (MatchDecision[] part : partDecisions) {
+			for (MatchDecision partDecision : part) {
+				MatchDecision decision = decisions.computeIfAbsent(partDecision.getGalleryIndex(), index -> {
+					MatchDecision merged = new MatchDecision(index);
+					merged.setDecisions(new EnumMap<>(BiometricType.class));
+					merged.setAnalyticsInfo(new HashMap<>());
+					return merged;
+				});
+				if (partDecision.getDecisions() != null) {
+					decision.getDecisions().putAll(partDecision.getDecisions());
+				}
+				if (partDecision.getAnalyticsInfo() != null) {
+					decision.getAnalyticsInfo().putAll(partDecision.getAnalyticsInfo());
+				}
+			}
+		}
+		return decisions.values().toArray(new MatchDecision[0]);
+	}
+
+	private static QualityCheck mergeQualityChecks(List<QualityCheck> partQualityChecks) {
+		QualityCheck qualityCheck = new QualityCheck();
+		qualityCheck.setScores(new EnumMap<>(BiometricType.class));
+		qualityCheck.setAnalyticsInfo(new HashMap<>());
+		for (QualityCheck part : partQualityChecks) {
+			if (part.getScores() != null) {
+				qualityCheck.getScores().putAll(part.getScores());
+			}
+			if (part.getAnalyticsInfo() != null) {
+				qualityCheck.getAnalyticsInfo().putAll(part.getAnalyticsInfo());
+			}
+		}
+		return qualityCheck;
+	}
+
+	/**
+	 * Concatenates the segments of the parts; the other fields are taken from
+	 * the first part.
+	 */
+	private static BiometricRecord mergeBiometricRecords(List<BiometricRecord> partRecords) {
+		BiometricRecord first = partRecords.get(0);
+		BiometricRecord biometricRecord = new BiometricRecord();
+		biometricRecord.setVersion(first.getVersion());
+		biometricRecord.setCbeffversion(first.getCbeffversion());
+		biometricRecord.setBirInfo(first.getBirInfo());
+		biometricRecord.setOthers(first.getOthers());
+		biometricRecord.setSegments(new ArrayList<>());
+		for (BiometricRecord part : partRecords) {
+			if (part.getSegments() != null) {
+				biometricRecord.getSegments().addAll(part.getSegments());
+			}
+		}
+		return biometricRecord;
+	}
+
 	private String getSdkServiceUrl(List<BiometricType> modalitiesToExtract, Map<String, String> flags) {
 		if (modalitiesToExtract != null && !modalitiesToExtract.isEmpty()) {
 			return getSdkServiceUrl(modalitiesToExtract.get(0), flags);
@@ -364,50 +1139,20 @@ public class Client_V_1_0 implements IBioApiV2 {
 			SegmentRequestDto segmentRequestDto = new SegmentRequestDto();
 			segmentRequestDto.setSample(biometricRecord);
 			segmentRequestDto.setModalitiesToSegment(modalitiesToSegment);
-			segmentRequestDto.setFlags(flags);
+			segmentRequestDto.setFlags(TimeoutConfig.withoutTimeoutFlag(flags));
 
-			RequestDto requestDto = generateNewRequestDto(segmentRequestDto);
-			String url = getSdkServiceUrl(modalitiesToSegment.get(0), flags) + "/segment";
-			logger.debug(LOGGER_SESSIONID, LOGGER_IDTYPE, TAG_HTTP_URL, url);
-			ResponseEntity<?> responseEntity = Util.restRequest(url, HttpMethod.POST, MediaType.APPLICATION_JSON,
-					requestDto, null, String.class);
-			if (!responseEntity.getStatusCode().is2xxSuccessful()) {
-				logger.debug(LOGGER_SESSIONID, LOGGER_IDTYPE, TAG_HTTP_STATUS,
-						responseEntity.getStatusCode().toString());
-				throw new BioSdkClientException(ResponseStatus.UNKNOWN_ERROR.getStatusCode() + "",
-						TAG_HTTP_STATUS + responseEntity.getStatusCode().toString());
-			}
-			convertAndSetResponseObject(response, responseEntity);
+			Deadline deadline = getDeadline("segment", flags);
+			String sdkServiceUrl = getSdkServiceUrl(modalitiesToSegment.get(0), flags);
+			ResponseDto<Response<BiometricRecord>> responseDto = sendRequest(sdkServiceUrl, "/segment",
+					segmentRequestDto, biometricRecordResponseType, deadline);
+			convertAndSetResponseObject(response, responseDto);
 		} catch (Exception e) {
 			logger.error(LOGGER_SESSIONID, LOGGER_IDTYPE, "segment", e);
-			throw new BioSdkClientException(ResponseStatus.UNKNOWN_ERROR.getStatusCode() + "", e.getLocalizedMessage(),
-					e);
+			throw toClientException(e);
 		}
 		return response;
 	}
 
-	private void convertAndSetResponseObject(Response<BiometricRecord> response, ResponseEntity<?> responseEntity)
-			throws ParseException {
-		Object responseBodyObject = responseEntity.getBody();
-		String responseBody = responseBodyObject != null ? responseBodyObject.toString() : "";
-		JSONParser parser = new JSONParser();
-		JSONObject js = (JSONObject) parser.parse(responseBody);
-
-		/* Error handler */
-		errorHandler(
-				js.get(TAG_ERRORS) != null ? gson.fromJson(js.get(TAG_ERRORS).toString(), errorDtoListType) : null);
-
-		JSONObject jsonResponse = (JSONObject) parser.parse(js.get(TAG_RESPONSE).toString());
-		response.setStatusCode(
-				jsonResponse.get(TAG_STATUS_CODE) != null ? ((Long) jsonResponse.get(TAG_STATUS_CODE)).intValue()
-						: null);
-		response.setStatusMessage(
-				jsonResponse.get(TAG_STATUS_MESSAGE) != null ? jsonResponse.get(TAG_STATUS_MESSAGE).toString() : "");
-		response.setResponse(
-				gson.fromJson(jsonResponse.get(TAG_RESPONSE) != null ? jsonResponse.get(TAG_RESPONSE).toString() : null,
-						BiometricRecord.class));
-	}
-
 	/**
 	 * This method is deprecated and will be removed in future versions.
 	 *
@@ -429,31 +1174,22 @@ public class Client_V_1_0 implements IBioApiV2 {
 			convertFormatRequestDto.setTargetParams(targetParams);
 			convertFormatRequestDto.setModalitiesToConvert(modalitiesToConvert);
 
-			RequestDto requestDto = generateNewRequestDto(convertFormatRequestDto);
-			String url = getDefaultSdkServiceUrl() + "/convert-format";
-			logger.debug(LOGGER_SESSIONID, LOGGER_IDTYPE, TAG_HTTP_URL, url);
-			ResponseEntity<?> responseEntity = Util.restRequest(url, HttpMethod.POST, MediaType.APPLICATION_JSON,
-					requestDto, null, String.class);
-			if (!responseEntity.getStatusCode().is2xxSuccessful()) {
-				logger.debug(LOGGER_SESSIONID, LOGGER_IDTYPE, TAG_HTTP_STATUS,
-						responseEntity.getStatusCode().toString());
-				throw new BioSdkClientException(ResponseStatus.UNKNOWN_ERROR.getStatusCode() + "",
-						TAG_HTTP_STATUS + responseEntity.getStatusCode().toString());
-			}
-			Object responseBodyObject = responseEntity.getBody();
-			String responseBody = responseBodyObject != null ? responseBodyObject.toString() : "";
-			JSONParser parser = new JSONParser();
-			JSONObject js = (JSONObject) parser.parse(responseBody);
-
-			/* Error handler */
-			errorHandler(
-					js.get(TAG_ERRORS) != null ? gson.fromJson(js.get(TAG_ERRORS).toString(), errorDtoListType) : null);
-
-			resBiometricRecord = gson.fromJson(js.get(TAG_RESPONSE).toString(), BiometricRecord.class);
+			String sdkServiceUrl = getDefaultSdkServiceUrl();
+			Deadline deadline = getDeadline("convert-format", null);
+			LocalSdk localSdk = localSdks.get(sdkServiceUrl);
+			if (localSdk != null) {
+				// An SDK in this JVM is called through convertFormatV2, the record alone is returned here
+				ResponseDto<Response<BiometricRecord>> responseDto = callLocalSdk(localSdk, "/convert-format",
+						convertFormatRequestDto, deadline);
+				resBiometricRecord = responseDto.getResponse().getResponse();
+			} else {
+				ResponseDto<BiometricRecord> responseDto = sendRequest(sdkServiceUrl, "/convert-format",
+						convertFormatRequestDto, biometricRecordType, deadline);
+				resBiometricRecord = responseDto.getResponse();
+			}
 		} catch (Exception e) {
 			logger.error(LOGGER_SESSIONID, LOGGER_IDTYPE, "convertFormat", e);
-			throw new BioSdkClientException(ResponseStatus.UNKNOWN_ERROR.getStatusCode() + "", e.getLocalizedMessage(),
-					e);
+			throw toClientException(e);
 		}
 		return resBiometricRecord;
 	}
@@ -472,56 +1208,584 @@ public class Client_V_1_0 implements IBioApiV2 {
 			convertFormatRequestDto.setTargetParams(targetParams);
 			convertFormatRequestDto.setModalitiesToConvert(modalitiesToConvert);
 
-			RequestDto requestDto = generateNewRequestDto(convertFormatRequestDto);
-			String url = getDefaultSdkServiceUrl() + "/convert-format";
-			logger.debug(LOGGER_SESSIONID, LOGGER_IDTYPE, TAG_HTTP_URL, url);
-			ResponseEntity<?> responseEntity = Util.restRequest(url, HttpMethod.POST, MediaType.APPLICATION_JSON,
-					requestDto, null, String.class);
-			if (!responseEntity.getStatusCode().is2xxSuccessful()) {
-				logger.debug(LOGGER_SESSIONID, LOGGER_IDTYPE, TAG_HTTP_STATUS,
-						responseEntity.getStatusCode().toString());
-				throw new BioSdkClientException(ResponseStatus.UNKNOWN_ERROR.getStatusCode() + "",
-						TAG_HTTP_STATUS + responseEntity.getStatusCode().toString());
-			}
-			Object responseBodyObject = responseEntity.getBody();
-			String responseBody = responseBodyObject != null ? responseBodyObject.toString() : "";
-			convertAndSetResponseObject(response, responseBody, BiometricRecord.class);
+			String sdkServiceUrl = getDefaultSdkServiceUrl();
+			ResponseDto<Response<BiometricRecord>> responseDto = sendRequest(sdkServiceUrl, "/convert-format",
+					convertFormatRequestDto, biometricRecordResponseType, getDeadline("convert-format", null));
+			convertAndSetResponseObject(response, responseDto);
 		} catch (Exception e) {
 			logger.error(LOGGER_SESSIONID, LOGGER_IDTYPE, "convertFormatV2", e);
-			throw new BioSdkClientException(ResponseStatus.UNKNOWN_ERROR.getStatusCode() + "", e.getLocalizedMessage(),
-					e);
+			throw toClientException(e);
 		}
 		return response;
 	}
 
-	private <T> void convertAndSetResponseObject(Response<T> response, String responseBody, Class<T> clazz)
-			throws ParseException {
-		JSONParser parser = new JSONParser();
-		JSONObject js = (JSONObject) parser.parse(responseBody);
+	/**
+	 * Asynchronous variant of
+	 * {@link #checkQuality(BiometricRecord, List, Map)}. The call runs on a
+	 * virtual thread, so the caller's thread is not held for the network round
+	 * trip.
+	 */
+	public CompletableFuture<Response<QualityCheck>> checkQualityAsync(BiometricRecord sample,
+			List<BiometricType> modalitiesToCheck, Map<String, String> flags) {
+		return CompletableFuture.supplyAsync(() -> checkQuality(sample, modalitiesToCheck, flags), executor);
+	}
 
-		/* Error handler */
-		errorHandler(
-				js.get(TAG_ERRORS) != null ? gson.fromJson(js.get(TAG_ERRORS).toString(), errorDtoListType) : null);
+	/**
+	 * Asynchronous variant of
+	 * {@link #match(BiometricRecord, BiometricRecord[], List, Map)}.
+	 */
+	public CompletableFuture<Response<MatchDecision[]>> matchAsync(BiometricRecord sample, BiometricRecord[] gallery,
+			List<BiometricType> modalitiesToMatch, Map<String, String> flags) {
+		return CompletableFuture.supplyAsync(() -> match(sample, gallery, modalitiesToMatch, flags), executor);
+	}
+
+	/**
+	 * Asynchronous variant of
+	 * {@link #extractTemplate(BiometricRecord, List, Map)}.
+	 */
+	public CompletableFuture<Response<BiometricRecord>> extractTemplateAsync(BiometricRecord sample,
+			List<BiometricType> modalitiesToExtract, Map<String, String> flags) {
+		return CompletableFuture.supplyAsync(() -> extractTemplate(sample, modalitiesToExtract, flags), executor);
+	}
+
+	/**
+	 * Asynchronous variant of {@link #segment(BiometricRecord, List, Map)}.
+	 */
+	public CompletableFuture<Response<BiometricRecord>> segmentAsync(BiometricRecord biometricRecord,
+			List<BiometricType> modalitiesToSegment, Map<String, String> flags) {
+		return CompletableFuture.supplyAsync(() -> segment(biometricRecord, modalitiesToSegment, flags), executor);
+	}
+
+	/**
+	 * Asynchronous variant of
+	 * {@link #convertFormatV2(BiometricRecord, String, String, Map, Map, List)}.
+	 */
+	public CompletableFuture<Response<BiometricRecord>> convertFormatV2Async(BiometricRecord sample,
+			String sourceFormat, String targetFormat, Map<String, String> sourceParams,
+			Map<String, String> targetParams, List<BiometricType> modalitiesToConvert) {
+		return CompletableFuture.supplyAsync(() -> convertFormatV2(sample, sourceFormat, targetFormat, sourceParams,
+				targetParams, modalitiesToConvert), executor);
+	}
+
+	/**
+	 * Returns the hit/miss statistics of the template extraction cache, or
+	 * {@code null} if the cache is not enabled.
+	 */
+	public TemplateCache.Stats getTemplateCacheStats() {
+		TemplateCache cache = templateCache;
+		return cache != null ? cache.getStats() : null;
+	}
+
+	/**
+	 * Returns the statistics of the coalescing of identical concurrent calls, or
+	 * {@code null} if it is not enabled.
+	 */
+	public SingleFlight.Stats getSingleFlightStats() {
+		SingleFlight flight = singleFlight;
+		return flight != null ? flight.getStats() : null;
+	}
+
+	/**
+	 * Returns the statistics of the pool of payload buffers, or {@code null} if
+	 * pooling is not enabled.
+	 */
+	public BufferPoolStats getBufferPoolStats() {
+		BufferPool pool = bufferPool;
+		return pool != null ? pool.getStats() : null;
+	}
+
+	/**
+	 * Returns the statistics of the bulkhead of each configured SDK service url,
+	 * empty if bulkheads are not enabled.
+	 */
+	public Map<String, Bulkhead.Stats> getBulkheadStats() {
+		Map<String, Bulkhead.Stats> stats = new TreeMap<>();
+		Map<String, SdkEndpointGroup> endpointGroups = sdkEndpointGroups;
+		if (endpointGroups != null) {
+			endpointGroups.forEach((sdkServiceUrl, group) -> {
+				if (group.getBulkhead() != null) {
+					stats.put(sdkServiceUrl, group.getBulkhead().getStats());
+				}
+			});
+		}
+		return stats;
+	}
+
+	/**
+	 * JSON form of a response, from which {@link #fromJsonBytes(byte[], Type)}
+	 * restores copies for callers that would otherwise share it.
+	 */
+	private byte[] toJsonBytes(Object value, Type type) {
+		return gson.toJson(value, type).getBytes(StandardCharsets.UTF_8);
+	}
+
+	private <T> T fromJsonBytes(byte[] json, Type type) {
+		return gson.fromJson(new String(json, StandardCharsets.UTF_8), type);
+	}
+
+	/**
+	 * Checks the quality of each of the given samples, keeping up to
+	 * {@code biosdk.client.batch.concurrency} requests in flight. The returned
+	 * list has one response per sample, in the same order. A failed sample does
+	 * not fail the batch; its response carries the error status and message.
+	 */
+	public List<Response<QualityCheck>> checkQualityBatch(List<BiometricRecord> samples,
+			List<BiometricType> modalitiesToCheck, Map<String, String> flags) {
+		return runBatch(samples, sample -> checkQuality(sample, modalitiesToCheck, flags));
+	}
+
+	/**
+	 * Extracts templates from each of the given samples, keeping up to
+	 * {@code biosdk.client.batch.concurrency} requests in flight. The returned
+	 * list has one response per sample, in the same order. A failed sample does
+	 * not fail the batch; its response carries the error status and message.
+	 */
+	public List<Response<BiometricRecord>> extractTemplateBatch(List<BiometricRecord> samples,
+			List<BiometricType> modalitiesToExtract, Map<String, String> flags) {
+		return runBatch(samples, sample -> extractTemplate(sample, modalitiesToExtract, flags));
+	}
+
+	/**
+	 * Keeps up to the configured concurrency of samples in flight, submitting
+	 * the next one as each completes, so that a large batch does not start a
+	 * thread per sample up front.
+	 */
+	private <T> List<Response<T>> runBatch(List<BiometricRecord> samples,
+			Function<BiometricRecord, Response<T>> operation) {
+		CompletionService<Response<T>> completionService = new ExecutorCompletionService<>(executor);
+		Map<Future<Response<T>>, Integer> inFlight = new HashMap<>();
+		List<Response<T>> responses = new ArrayList<>(Collections.<Response<T>>nCopies(samples.size(), null));
+		int concurrency = batchConfig.getConcurrency();
+		int next = 0;
+		try {
+			while (next < samples.size() || !inFlight.isEmpty()) {
+				while (next < samples.size() && inFlight.size() < concurrency) {
+					BiometricRecord sample = samples.get(next);
+					inFlight.put(completionService.submit(() -> operation.apply(sample)), next);
+					next++;
+				}
+				Future<Response<T>> future = completionService.take();
+				int index = inFlight.remove(future);
+				try {
+					responses.set(index, future.get());
+				} catch (ExecutionException e) {
+					responses.set(index, errorResponse(e.getCause()));
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new BioSdkClientException(ResponseStatus.UNKNOWN_ERROR.getStatusCode() + "", "Batch interrupted", e);
+		} finally {
+			inFlight.keySet().forEach(future -> future.cancel(true));
+		}
+		return responses;
+	}
+
+	/**
+	 * Wraps the failure of an operation. A failure the client already gave a
+	 * specific status, such as a request shed by a bulkhead, an open circuit
+	 * breaker or an expired deadline, keeps it, so that callers can tell them
+	 * apart and react.
+	 */
+	private static BioSdkClientException toClientException(Exception e) {
+		String unknownError = String.valueOf(ResponseStatus.UNKNOWN_ERROR.getStatusCode());
+		if (e instanceof BioSdkClientException bioSdkClientException
+				&& !unknownError.equals(bioSdkClientException.getErrorCode())) {
+			return bioSdkClientException;
+		}
+		return new BioSdkClientException(ResponseStatus.UNKNOWN_ERROR.getStatusCode() + "", e.getLocalizedMessage(), e);
+	}
+
+	private static <T> Response<T> errorResponse(Throwable throwable) {
+		Response<T> response = new Response<>();
+		response.setStatusCode(getStatusCode(throwable));
+		response.setStatusMessage(throwable.getLocalizedMessage());
+		return response;
+	}
+
+	private static int getStatusCode(Throwable throwable) {
+		if (throwable instanceof BioSdkClientException bioSdkClientException) {
+			try {
+				return Integer.parseInt(bioSdkClientException.getErrorCode());
+			} catch (NumberFormatException e) {
+				// keep the unknown error status
+			}
+		} else if (throwable instanceof HttpStatusCodeException httpStatusCodeException) {
+			return httpStatusCodeException.getStatusCode().value();
+		}
+		return ResponseStatus.UNKNOWN_ERROR.getStatusCode();
+	}
+
+	<T> void convertAndSetResponseObject(Response<T> response, ResponseDto<Response<T>> responseDto) {
+		Response<T> sdkResponse = responseDto.getResponse();
+		response.setStatusCode(sdkResponse.getStatusCode());
+		response.setStatusMessage(sdkResponse.getStatusMessage() != null ? sdkResponse.getStatusMessage() : "");
+		response.setResponse(sdkResponse.getResponse());
+	}
+
+	/**
+	 * Posts the request to one of the replicas configured for the given SDK
+	 * service url, retrying transient failures as per the {@link RetryPolicy}.
+	 * Only the idempotent SDK operations are sent this way. A retry is not
+	 * attempted if its backoff would outlast the deadline or the retry budget is
+	 * spent, nor for a cancelled request. A {@code local:} url is called in this JVM instead.
+	 */
+	private <T> ResponseDto<T> sendRequest(String sdkServiceUrl, String path, Object request,
+			Type responseDtoType, Deadline deadline) {
+		LocalSdk localSdk = localSdks.get(sdkServiceUrl);
+		if (localSdk != null) {
+			return callLocalSdk(localSdk, path, request, deadline);
+		}
+		return sendWithRetries(sdkServiceUrl, path, request, responseDtoType, deadline);
+	}
+
+	/**
+	 * Calls an SDK running in this JVM with the request objects as they are, and
+	 * wraps its result in a response envelope as if it came from a service. The
+	 * call is recorded in the metrics like a request; it is not retried, hedged
+	 * or limited by a bulkhead, and cannot be aborted once started.
+	 */
+	@SuppressWarnings("unchecked")
+	private <T> ResponseDto<T> callLocalSdk(LocalSdk localSdk, String path, Object request, Deadline deadline) {
+		deadline.check(path);
+		String operation = path.substring(1);
+		BioSdkMetrics requestMetrics = metrics;
+		int statusCode = ResponseStatus.UNKNOWN_ERROR.getStatusCode();
+		long startTime = System.nanoTime();
+		requestMetrics.requestStarted(operation, localSdk.getUrl());
+		try {
+			Object result = localSdk.call(request);
+			statusCode = result instanceof Response<?> sdkResponse && sdkResponse.getStatusCode() != null
+					? sdkResponse.getStatusCode()
+					: ResponseStatus.SUCCESS.getStatusCode();
+			ResponseDto<T> responseDto = new ResponseDto<>();
+			responseDto.setVersion(VERSION);
+			responseDto.setResponse((T) result);
+			return responseDto;
+		} catch (RuntimeException e) {
+			statusCode = getStatusCode(e);
+			throw e;
+		} finally {
+			requestMetrics.requestFinished(operation, localSdk.getUrl(), System.nanoTime() - startTime, statusCode,
+					null);
+		}
+	}
+
+	/**
+	 * @return true for failures that suggest the SDK service cannot keep up:
+	 *         those worth a retry, and deadlines exceeded
+	 */
+	private boolean isOverload(RuntimeException e) {
+		return retryPolicy.isRetryable(e) || (e instanceof BioSdkClientException bioSdkClientException
+				&& String.valueOf(ResponseStatus.DEADLINE_EXCEEDED.getStatusCode())
+						.equals(bioSdkClientException.getErrorCode()));
+	}
+
+	private <T> ResponseDto<T> sendWithRetries(String sdkServiceUrl, String path, Object request,
+			Type responseDtoType, Deadline deadline) {
+		RetryPolicy policy = retryPolicy;
+		policy.onCall();
+		for (int attempt = 1;; attempt++) {
+			try {
+				return sendAttempt(sdkServiceUrl, path, request, responseDtoType, deadline);
+			} catch (RuntimeException e) {
+				if (attempt >= policy.getMaxAttempts() || Thread.currentThread().isInterrupted()
+						|| !policy.isRetryable(e)) {
+					// Cancelled requests fail with I/O errors, which are not to be retried
+					throw e;
+				}
+				long backoff = policy.getBackoffMillis(attempt);
+				if (backoff >= deadline.remainingMillis() || !policy.tryAcquireRetry()) {
+					throw e;
+				}
+				logger.info(LOGGER_SESSIONID, LOGGER_IDTYPE, path,
+						"Attempt " + attempt + " failed, retrying in " + backoff + "ms: " + e.getMessage());
+				try {
+					Thread.sleep(backoff);
+				} catch (InterruptedException ie) {
+					Thread.currentThread().interrupt();
+					throw e;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Sends one attempt of the request through the bulkhead of the SDK service
+	 * url, if enabled. The permit is held for the attempt only, not during the
+	 * backoff before a retry, and only the attempt is timed for the adaptive
+	 * limit.
+	 */
+	private <T> ResponseDto<T> sendAttempt(String sdkServiceUrl, String path, Object request,
+			Type responseDtoType, Deadline deadline) {
+		Bulkhead bulkhead = sdkEndpointGroups.get(sdkServiceUrl).getBulkhead();
+		if (bulkhead == null) {
+			return sendHedgedRequest(sdkServiceUrl, path, request, responseDtoType, deadline);
+		}
+		bulkhead.acquire(path, deadline);
+		long startTime = System.nanoTime();
+		boolean overloaded = false;
+		try {
+			return sendHedgedRequest(sdkServiceUrl, path, request, responseDtoType, deadline);
+		} catch (RuntimeException e) {
+			// A request cancelled by the caller, e.g. a chunk of a match stopped early, says nothing about load
+			overloaded = !Thread.currentThread().isInterrupted() && isOverload(e);
+			throw e;
+		} finally {
+			bulkhead.release(System.nanoTime() - startTime, overloaded);
+		}
+	}
+
+	/**
+	 * Sends one attempt of the request. With hedging enabled, a duplicate is
+	 * sent to another replica when the first has not answered within the
+	 * configured latency percentile of the operation.
+	 */
+	private <T> ResponseDto<T> sendHedgedRequest(String sdkServiceUrl, String path, Object request,
+			Type responseDtoType, Deadline deadline) {
+		SdkEndpointGroup endpointGroup = sdkEndpointGroups.get(sdkServiceUrl);
+		awaitReady(endpointGroup, deadline);
+		SdkEndpoint.Permit permit = endpointGroup.select();
+		long hedgeDelay = getHedgeDelay(endpointGroup, path);
+		if (hedgeDelay < 0 || hedgeDelay >= deadline.remainingMillis()) {
+			return sendRequest(permit, path, request, responseDtoType, deadline);
+		}
+		return HedgedCall.execute(executor,
+				endpointPermit -> sendRequest(endpointPermit, path, request, responseDtoType, deadline), permit,
+				() -> endpointGroup.selectOther(permit.endpoint()), hedgeDelay);
+	}
+
+	/**
+	 * Waits, up to the configured request wait, for a replica of the group to
+	 * be initialized. Selecting a replica fails right after if none is.
+	 */
+	private void awaitReady(SdkEndpointGroup endpointGroup, Deadline deadline) {
+		if (endpointGroup.isReady()) {
+			return;
+		}
+		long waitMillis = initConfig.getRequestWaitMs();
+		if (deadline.isBounded()) {
+			waitMillis = Math.min(waitMillis, deadline.remainingMillis());
+		}
+		try {
+			endpointGroup.awaitReady(waitMillis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * @return the deadline of an operation: the per call timeout given in the
+	 *         flags or the configured default of the operation, whichever is
+	 *         shorter
+	 */
+	private Deadline getDeadline(String operation, Map<String, String> flags) {
+		return Deadline.after(timeoutConfig.getTimeoutMs(operation))
+				.min(Deadline.after(TimeoutConfig.getTimeoutMs(flags)));
+	}
+
+	/**
+	 * @return the time after which a request should be hedged, -1 if it should
+	 *         not be
+	 */
+	private long getHedgeDelay(SdkEndpointGroup endpointGroup, String path) {
+		if (!hedgingConfig.isEnabled() || endpointGroup.getEndpoints().size() < 2) {
+			return -1;
+		}
+		LatencyTracker latencyTracker = latencyTrackers.get(path);
+		if (latencyTracker == null || latencyTracker.getCount() < hedgingConfig.getMinSamples()) {
+			return -1;
+		}
+		return Math.max(hedgingConfig.getMinDelayMs(), latencyTracker.getPercentile());
+	}
+
+	private void recordLatency(String path, long latencyMillis) {
+		if (hedgingConfig.isEnabled()) {
+			latencyTrackers.computeIfAbsent(path,
+					key -> new LatencyTracker(LATENCY_SAMPLES, hedgingConfig.getPercentile())).record(latencyMillis);
+		}
+	}
+
+	/**
+	 * Posts the request to the SDK service endpoint it was started on and
+	 * decodes the response envelope, including the typed payload, in a single
+	 * pass. An endpoint that cannot be reached or answers with an HTTP error is
+	 * kept out of routing for the configured cool-down, and the outcome is
+	 * recorded by its circuit breaker.
+	 * <p>
+	 * The exchange is bounded by the deadline, whose remaining time is also
+	 * sent to the service, and is not attempted at all once it has passed.
+	 */
+	private <T> ResponseDto<T> sendRequest(SdkEndpoint.Permit permit, String path, Object request,
+			Type responseDtoType, Deadline deadline) {
+		SdkEndpoint endpoint = permit.endpoint();
+		String operation = path.substring(1);
+		BioSdkMetrics requestMetrics = metrics;
+		ExchangeStats exchangeStats = new ExchangeStats();
+		int statusCode = ResponseStatus.UNKNOWN_ERROR.getStatusCode();
+		long startTime = System.nanoTime();
+		requestMetrics.requestStarted(operation, endpoint.getUrl());
+		try {
+			ResponseDto<T> responseDto = exchange(permit, path, request, responseDtoType, deadline, exchangeStats);
+			statusCode = responseDto.getResponse() instanceof Response<?> sdkResponse
+					&& sdkResponse.getStatusCode() != null ? sdkResponse.getStatusCode()
+							: ResponseStatus.SUCCESS.getStatusCode();
+			return responseDto;
+		} catch (RuntimeException e) {
+			statusCode = getStatusCode(e);
+			throw e;
+		} finally {
+			requestMetrics.requestFinished(operation, endpoint.getUrl(), System.nanoTime() - startTime, statusCode,
+					exchangeStats);
+		}
+	}
+
+	/**
+	 * Ends the request of the permit on its endpoint in any case, recording the
+	 * outcome, if any, with the endpoint.
+	 */
+	private <T> ResponseDto<T> exchange(SdkEndpoint.Permit permit, String path, Object request,
+			Type responseDtoType, Deadline deadline, ExchangeStats exchangeStats) {
+		SdkEndpoint endpoint = permit.endpoint();
+		ResponseEntity<ResponseDto<T>> responseEntity;
+		boolean marked = false;
+		long startTime = System.currentTimeMillis();
+		try {
+			deadline.check(path);
+			String url = endpoint.getUrl() + path;
+			Compression.Encoding requestEncoding = getRequestEncoding(request);
+			StreamingHttpOutputMessage.Body requestBody = generateNewRequestDto(request);
+			if (requestEncoding != Compression.Encoding.NONE) {
+				requestBody = Compression.compress(requestBody, requestEncoding, compressionConfig.getLevel(),
+						httpClientConfig.getRequestBufferBytes());
+			}
+			logger.debug(LOGGER_SESSIONID, LOGGER_IDTYPE, TAG_HTTP_URL, url);
+			responseEntity = transport.post(url, requestBody, getRequestHeaders(deadline, requestEncoding), gson,
+					responseDtoType, deadline, exchangeStats);
+			long latency = System.currentTimeMillis() - startTime;
+			endpoint.markSucceeded(latency);
+			marked = true;
+			recordLatency(path, latency);
+		} catch (RestClientException e) {
+			if (deadline.isExpired()) {
+				// Ran out of time given by the caller; counted against the endpoint only if it was slow by then
+				endpoint.markDeadlineExceeded(permit.probeRound(), System.currentTimeMillis() - startTime);
+				marked = true;
+				throw Deadline.exceeded(path);
+			}
+			// A hedged request cancelled in favour of a faster replica is not a failure
+			if (!Thread.currentThread().isInterrupted() && isEndpointFailure(e)) {
+				endpoint.markFailed(loadBalancerConfig.getFailureCooldownMs(), System.currentTimeMillis() - startTime);
+				marked = true;
+			}
+			throw e;
+		} finally {
+			endpoint.requestFinished();
+			if (!marked) {
+				endpoint.markAbandoned(permit.probeRound());
+			}
+		}
+		if (!responseEntity.getStatusCode().is2xxSuccessful()) {
+			logger.debug(LOGGER_SESSIONID, LOGGER_IDTYPE, TAG_HTTP_STATUS, responseEntity.getStatusCode().toString());
+			throw new BioSdkClientException(ResponseStatus.UNKNOWN_ERROR.getStatusCode() + "",
+					TAG_HTTP_STATUS + responseEntity.getStatusCode().toString());
+		}
+		ResponseDto<T> responseDto = responseEntity.getBody();
+		if (responseDto == null) {
+			throw new BioSdkClientException(ResponseStatus.UNKNOWN_ERROR.getStatusCode() + "", "Response is null");
+		}
 
 		/* Error handler */
-		errorHandler(
-				js.get(TAG_ERRORS) != null ? gson.fromJson(js.get(TAG_ERRORS).toString(), errorDtoListType) : null);
+		errorHandler(responseDto.getErrors());
+		return responseDto;
+	}
+
+	/**
+	 * @return false for errors caused by the request rather than the endpoint,
+	 *         i.e. client errors other than request timeout and too many
+	 *         requests, which must not take a healthy replica out of routing
+	 */
+	private static boolean isEndpointFailure(RestClientException e) {
+		if (e instanceof HttpClientErrorException httpClientErrorException) {
+			int status = httpClientErrorException.getStatusCode().value();
+			return status == HttpStatus.REQUEST_TIMEOUT.value() || status == HttpStatus.TOO_MANY_REQUESTS.value();
+		}
+		return true;
+	}
 
-		JSONObject jsonResponse = (JSONObject) parser.parse(js.get(TAG_RESPONSE).toString());
-		response.setStatusCode(
-				jsonResponse.get(TAG_STATUS_CODE) != null ? ((Long) jsonResponse.get(TAG_STATUS_CODE)).intValue()
-						: null);
-		response.setStatusMessage(
-				jsonResponse.get(TAG_STATUS_MESSAGE) != null ? jsonResponse.get(TAG_STATUS_MESSAGE).toString() : "");
-		response.setResponse(gson.fromJson(
-				jsonResponse.get(TAG_RESPONSE) != null ? jsonResponse.get(TAG_RESPONSE).toString() : null, clazz));
+	private Map<String, String> getRequestHeaders(Deadline deadline, Compression.Encoding contentEncoding) {
+		if (!deadline.isBounded() && contentEncoding == Compression.Encoding.NONE) {
+			return requestHeaders;
+		}
+		Map<String, String> headers = requestHeaders != null ? new HashMap<>(requestHeaders) : new HashMap<>();
+		if (deadline.isBounded()) {
+			headers.put(TIMEOUT_HEADER, String.valueOf(Math.max(0, deadline.remainingMillis())));
+		}
+		if (contentEncoding != Compression.Encoding.NONE) {
+			headers.put(Compression.CONTENT_ENCODING_HEADER, contentEncoding.getContentCoding());
+		}
+		return headers;
 	}
 
-	private RequestDto generateNewRequestDto(Object body) {
-		RequestDto requestDto = new RequestDto();
-		requestDto.setVersion(VERSION);
-		requestDto.setRequest(Util.base64Encode(gson.toJson(body)));
-		return requestDto;
+	/**
+	 * @return the encoding to compress the request with, none when disabled,
+	 *         unavailable or when the request carries less biometric data than
+	 *         the threshold
+	 */
+	private Compression.Encoding getRequestEncoding(Object request) {
+		Compression.Encoding encoding = compressionConfig.getRequestEncoding();
+		if (encoding == Compression.Encoding.NONE
+				|| (encoding == Compression.Encoding.ZSTD && !Compression.isZstdAvailable())
+				|| getBdbBytes(request) < compressionConfig.getMinRequestBytes()) {
+			return Compression.Encoding.NONE;
+		}
+		return encoding;
+	}
+
+	private static long getBdbBytes(Object request) {
+		return switch (request) {
+		case MatchRequestDto matchRequest -> {
+			long bytes = getBdbBytes(matchRequest.getSample());
+			if (matchRequest.getGallery() != null) {
+				for (BiometricRecord biometricRecord : matchRequest.getGallery()) {
+					bytes += getBdbBytes(biometricRecord);
+				}
+			}
+			yield bytes;
+		}
+		case CheckQualityRequestDto checkQualityRequest -> getBdbBytes(checkQualityRequest.getSample());
+		case ExtractTemplateRequestDto extractTemplateRequest -> getBdbBytes(extractTemplateRequest.getSample());
+		case SegmentRequestDto segmentRequest -> getBdbBytes(segmentRequest.getSample());
+		case ConvertFormatRequestDto convertFormatRequest -> getBdbBytes(convertFormatRequest.getSample());
+		default -> 0;
+		};
+	}
+
+	private static long getBdbBytes(BiometricRecord biometricRecord) {
+		long bytes = 0;
+		if (biometricRecord != null && biometricRecord.getSegments() != null) {
+			for (BIR bir : biometricRecord.getSegments()) {
+				bytes += getBdbBytes(bir);
+			}
+		}
+		return bytes;
+	}
+
+	private static long getBdbBytes(BIR bir) {
+		if (bir == null) {
+			return 0;
+		}
+		long bytes = bir.getBdb() != null ? bir.getBdb().length : 0;
+		if (bir.getBirs() != null) {
+			for (BIR child : bir.getBirs()) {
+				bytes += getBdbBytes(child);
+			}
+		}
+		return bytes;
+	}
+
+	StreamingRequestBody generateNewRequestDto(Object body) {
+		return new StreamingRequestBody(gson, VERSION, body, httpClientConfig.getRequestBufferBytes(), bufferPool);
 	}
 
 	private void errorHandler(List<ErrorDto> errors) {
@@ -537,8 +1801,8 @@ public class Client_V_1_0 implements IBioApiV2 {
 			}
 		}
 		if (errorMessages.length() > 0) {
-			throw new BioSdkClientException(ResponseStatus.UNKNOWN_ERROR.getStatusCode() + "",
-					errorMessages.toString());
+			throw new SdkServiceErrorException(ResponseStatus.UNKNOWN_ERROR.getStatusCode() + "",
+					errorMessages.toString(), errors);
 		}
 	}
 }
\ No newline at end of file
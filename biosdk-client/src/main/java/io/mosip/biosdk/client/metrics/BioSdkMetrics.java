@@ -0,0 +1,69 @@
+package io.mosip.biosdk.client.metrics;
+
+import java.util.function.Supplier;
+
+/**
+ * Receives measurements of the requests sent to the Bio-SDK services. Each
+ * request is identified by the SDK operation (its service path without the
+ * leading slash, e.g. {@code match}) and the url of the SDK service replica it
+ * was sent to.
+ * <p>
+ * {@link SimpleBioSdkMetrics} keeps them in memory without any dependency;
+ * {@link MicrometerBioSdkMetrics} publishes them to a Micrometer registry.
+ * Implementations are called on the request path and must be thread safe and
+ * cheap.
+ */
+public interface BioSdkMetrics {
+
+	/** Discards all measurements. */
+	BioSdkMetrics NOOP = new BioSdkMetrics() {
+		@Override
+		public void requestStarted(String operation, String sdkUrl) {
+			// Nothing to record
+		}
+
+		@Override
+		public void requestFinished(String operation, String sdkUrl, long durationNanos, int statusCode,
+				ExchangeStats exchangeStats) {
+			// Nothing to record
+		}
+
+		@Override
+		public void bindConnectionPool(Supplier<ConnectionPoolStats> connectionPoolStats) {
+			// Nothing to record
+		}
+
+		@Override
+		public void bindBufferPool(Supplier<BufferPoolStats> bufferPoolStats) {
+			// Nothing to record
+		}
+	};
+
+	void requestStarted(String operation, String sdkUrl);
+
+	/**
+	 * @param durationNanos total time of the request, including encoding and
+	 *                      decoding
+	 * @param statusCode    {@link io.mosip.biosdk.client.constant.ResponseStatus}
+	 *                      code returned by the SDK, or of the error which
+	 *                      failed the request
+	 * @param exchangeStats payload sizes and encoding times of the request
+	 */
+	void requestFinished(String operation, String sdkUrl, long durationNanos, int statusCode,
+			ExchangeStats exchangeStats);
+
+	/**
+	 * Adds a source of HTTP connection pool statistics, one per client, so that
+	 * metrics shared by several clients report all their pools. Binding the
+	 * same supplier again, e.g. when the client is initialized again, counts it
+	 * once.
+	 */
+	void bindConnectionPool(Supplier<ConnectionPoolStats> connectionPoolStats);
+
+	/**
+	 * Adds a source of payload buffer pool statistics, the same way as
+	 * {@link #bindConnectionPool(Supplier)}. The supplier returns null while
+	 * pooling is disabled.
+	 */
+	void bindBufferPool(Supplier<BufferPoolStats> bufferPoolStats);
+}
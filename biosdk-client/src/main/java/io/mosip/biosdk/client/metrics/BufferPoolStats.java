@@ -0,0 +1,13 @@
+package io.mosip.biosdk.client.metrics;
+
+/**
+ * Point in time state of the pool of reusable payload buffers.
+ *
+ * @param pooled      idle buffers kept for reuse
+ * @param maxPooled   maximum number of idle buffers kept
+ * @param bufferBytes size of each buffer
+ * @param hits        buffers handed out from the pool so far
+ * @param misses      buffers allocated so far because the pool was empty
+ */
+public record BufferPoolStats(int pooled, int maxPooled, int bufferBytes, long hits, long misses) {
+}
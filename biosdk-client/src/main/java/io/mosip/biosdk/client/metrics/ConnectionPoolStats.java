@@ -0,0 +1,12 @@
+package io.mosip.biosdk.client.metrics;
+
+/**
+ * Point in time state of the HTTP connection pool.
+ *
+ * @param leased    connections currently used by requests
+ * @param pending   requests waiting for a connection
+ * @param available idle connections kept alive
+ * @param max       maximum number of connections
+ */
+public record ConnectionPoolStats(int leased, int pending, int available, int max) {
+}
@@ -0,0 +1,112 @@
+package io.mosip.biosdk.client.metrics;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.springframework.http.StreamingHttpOutputMessage;
+
+/**
+ * Sizes and encoding times of one HTTP exchange, filled in while the request
+ * is written and the response is read. As the request body is streamed, the
+ * encoding time includes writing it to the connection.
+ * <p>
+ * The request fields may be written by the thread of a transport writing the
+ * body and read by the caller's thread, so the fields are volatile; each one
+ * has a single writer at a time.
+ */
+public class ExchangeStats {
+
+	private volatile long requestBytes;
+
+	private volatile long encodeNanos;
+
+	private volatile long responseBytes;
+
+	private volatile long decodeNanos;
+
+	public long getRequestBytes() {
+		return requestBytes;
+	}
+
+	public long getEncodeNanos() {
+		return encodeNanos;
+	}
+
+	public long getResponseBytes() {
+		return responseBytes;
+	}
+
+	public long getDecodeNanos() {
+		return decodeNanos;
+	}
+
+	/**
+	 * @return the body, measuring the bytes and time it takes to write it
+	 */
+	public StreamingHttpOutputMessage.Body measure(StreamingHttpOutputMessage.Body body) {
+		return outputStream -> {
+			long startTime = System.nanoTime();
+			CountingOutputStream countingOutputStream = new CountingOutputStream(outputStream);
+			try {
+				body.writeTo(countingOutputStream);
+			} finally {
+				requestBytes += countingOutputStream.count;
+				encodeNanos += System.nanoTime() - startTime;
+			}
+		};
+	}
+
+	/**
+	 * Wraps the response stream to count the bytes read from it. The time
+	 * spent decoding is to be added with {@link #addDecodeNanos(long)}.
+	 */
+	public InputStream measure(InputStream inputStream) {
+		return new FilterInputStream(inputStream) {
+			@Override
+			public int read() throws IOException {
+				int value = super.read();
+				if (value >= 0) {
+					responseBytes++;
+				}
+				return value;
+			}
+
+			@Override
+			public int read(byte[] b, int off, int len) throws IOException {
+				int count = super.read(b, off, len);
+				if (count > 0) {
+					responseBytes += count;
+				}
+				return count;
+			}
+		};
+	}
+
+	public void addDecodeNanos(long nanos) {
+		decodeNanos += nanos;
+	}
+
+	private static class CountingOutputStream extends FilterOutputStream {
+
+		private long count;
+
+		CountingOutputStream(OutputStream out) {
+			super(out);
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			out.write(b);
+			count++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			out.write(b, off, len);
+			count += len;
+		}
+	}
+}
@@ -0,0 +1,211 @@
+package io.mosip.biosdk.client.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * {@link BioSdkMetrics} publishing to a Micrometer {@link MeterRegistry}.
+ * Micrometer is an optional dependency; this class is only loaded when it is
+ * selected.
+ * <p>
+ * There is one instance per registry, shared by all clients publishing to it,
+ * as Micrometer keeps the meters first registered under a name and tags. The
+ * pool gauges report the sum over the pools of these clients; the buffer
+ * lease counters keep counting what pools of clients gone or initialized
+ * again had counted.
+ *
+ * <pre>
+ * biosdk.client.requests           timer, tags operation, sdk.url, status
+ * biosdk.client.requests.in-flight gauge, tags operation, sdk.url
+ * biosdk.client.request.size       summary in bytes, tags operation, sdk.url
+ * biosdk.client.response.size      summary in bytes, tags operation, sdk.url
+ * biosdk.client.request.encode     timer, tags operation, sdk.url
+ * biosdk.client.response.decode    timer, tags operation, sdk.url
+ * biosdk.client.pool.connections   gauge, tag state (leased, pending, available, max)
+ * biosdk.client.pool.buffers       gauge, tag state (pooled, max)
+ * biosdk.client.pool.buffer.leases counter, tag result (hit, miss)
+ * </pre>
+ */
+public class MicrometerBioSdkMetrics implements BioSdkMetrics {
+
+	private static final String OPERATION = "operation";
+
+	private static final String SDK_URL = "sdk.url";
+
+	private static final Map<MeterRegistry, MicrometerBioSdkMetrics> INSTANCES = new ConcurrentHashMap<>();
+
+	private final MeterRegistry registry;
+
+	private final Map<Tags, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+	/** Meters of each tag set, built once rather than looked up in the registry on every request. */
+	private final Map<Tags, Timer> requestTimers = new ConcurrentHashMap<>();
+
+	private final Map<Tags, ExchangeMeters> exchangeMeters = new ConcurrentHashMap<>();
+
+	private final PoolStatsSources<ConnectionPoolStats> connectionPools = new PoolStatsSources<>();
+
+	private final PoolStatsSources<BufferPoolStats> bufferPools = new PoolStatsSources<>();
+
+	/** Held here as function counters only keep a weak reference to them. */
+	private final List<PoolCounter> bufferLeaseCounters = new ArrayList<>();
+
+	private MicrometerBioSdkMetrics(MeterRegistry registry) {
+		this.registry = registry;
+		bindPoolGauge("leased", ConnectionPoolStats::leased);
+		bindPoolGauge("pending", ConnectionPoolStats::pending);
+		bindPoolGauge("available", ConnectionPoolStats::available);
+		bindPoolGauge("max", ConnectionPoolStats::max);
+		bindBufferGauge("pooled", BufferPoolStats::pooled);
+		bindBufferGauge("max", BufferPoolStats::maxPooled);
+		bindBufferCounter("hit", BufferPoolStats::hits);
+		bindBufferCounter("miss", BufferPoolStats::misses);
+	}
+
+	/**
+	 * @return the metrics published to the given registry
+	 */
+	public static MicrometerBioSdkMetrics of(MeterRegistry registry) {
+		return INSTANCES.computeIfAbsent(registry, MicrometerBioSdkMetrics::new);
+	}
+
+	/**
+	 * @return the metrics published to Micrometer's global registry
+	 */
+	public static MicrometerBioSdkMetrics global() {
+		return of(Metrics.globalRegistry);
+	}
+
+	@Override
+	public void requestStarted(String operation, String sdkUrl) {
+		getInFlight(Tags.of(OPERATION, operation, SDK_URL, sdkUrl)).incrementAndGet();
+	}
+
+	@Override
+	public void requestFinished(String operation, String sdkUrl, long durationNanos, int statusCode,
+			ExchangeStats exchangeStats) {
+		Tags tags = Tags.of(OPERATION, operation, SDK_URL, sdkUrl);
+		getInFlight(tags).decrementAndGet();
+		requestTimers.computeIfAbsent(tags.and("status", String.valueOf(statusCode)),
+				key -> Timer.builder("biosdk.client.requests").tags(key).publishPercentileHistogram()
+						.register(registry))
+				.record(durationNanos, TimeUnit.NANOSECONDS);
+		if (exchangeStats != null) {
+			ExchangeMeters meters = exchangeMeters.computeIfAbsent(tags, this::createExchangeMeters);
+			meters.requestSize().record(exchangeStats.getRequestBytes());
+			meters.responseSize().record(exchangeStats.getResponseBytes());
+			meters.encode().record(exchangeStats.getEncodeNanos(), TimeUnit.NANOSECONDS);
+			meters.decode().record(exchangeStats.getDecodeNanos(), TimeUnit.NANOSECONDS);
+		}
+	}
+
+	private ExchangeMeters createExchangeMeters(Tags tags) {
+		return new ExchangeMeters(
+				DistributionSummary.builder("biosdk.client.request.size").baseUnit("bytes").tags(tags)
+						.register(registry),
+				DistributionSummary.builder("biosdk.client.response.size").baseUnit("bytes").tags(tags)
+						.register(registry),
+				Timer.builder("biosdk.client.request.encode").tags(tags).register(registry),
+				Timer.builder("biosdk.client.response.decode").tags(tags).register(registry));
+	}
+
+	/**
+	 * Adds the connection pool of a client to the ones reported. Binding the
+	 * same supplier again, e.g. when the client is initialized again, counts it
+	 * once.
+	 */
+	@Override
+	public void bindConnectionPool(Supplier<ConnectionPoolStats> connectionPoolStats) {
+		connectionPools.add(connectionPoolStats);
+	}
+
+	/**
+	 * Adds the buffer pool of a client to the ones reported, counting the same
+	 * supplier once.
+	 */
+	@Override
+	public void bindBufferPool(Supplier<BufferPoolStats> bufferPoolStats) {
+		bufferPools.add(bufferPoolStats);
+	}
+
+	private AtomicInteger getInFlight(Tags tags) {
+		return inFlight.computeIfAbsent(tags, key -> {
+			AtomicInteger requests = new AtomicInteger();
+			Gauge.builder("biosdk.client.requests.in-flight", requests, AtomicInteger::get).tags(key)
+					.strongReference(true).register(registry);
+			return requests;
+		});
+	}
+
+	private void bindPoolGauge(String state, ToIntFunction<ConnectionPoolStats> value) {
+		Gauge.builder("biosdk.client.pool.connections", connectionPools, pools -> {
+			List<ConnectionPoolStats> stats = pools.current();
+			return stats.isEmpty() ? Double.NaN : stats.stream().mapToInt(value).sum();
+		}).tag("state", state).strongReference(true).register(registry);
+	}
+
+	private void bindBufferGauge(String state, ToIntFunction<BufferPoolStats> value) {
+		Gauge.builder("biosdk.client.pool.buffers", bufferPools, pools -> {
+			List<BufferPoolStats> stats = pools.current();
+			return stats.isEmpty() ? Double.NaN : stats.stream().mapToInt(value).sum();
+		}).tag("state", state).strongReference(true).register(registry);
+	}
+
+	private void bindBufferCounter(String result, ToLongFunction<BufferPoolStats> value) {
+		PoolCounter counter = new PoolCounter(bufferPools, value);
+		bufferLeaseCounters.add(counter);
+		FunctionCounter.builder("biosdk.client.pool.buffer.leases", counter, PoolCounter::read).tag("result", result)
+				.register(registry);
+	}
+
+	private record ExchangeMeters(DistributionSummary requestSize, DistributionSummary responseSize, Timer encode,
+			Timer decode) {
+	}
+
+	/**
+	 * Running total of a counter of the buffer pools bound, which does not go
+	 * down when a pool is replaced on init or dropped with its client: the
+	 * increase of each pool since it was last read is added to it.
+	 */
+	private static class PoolCounter {
+
+		private final PoolStatsSources<BufferPoolStats> pools;
+
+		private final ToLongFunction<BufferPoolStats> value;
+
+		private final Map<Supplier<BufferPoolStats>, Long> lastValues = new WeakHashMap<>();
+
+		private long total;
+
+		PoolCounter(PoolStatsSources<BufferPoolStats> pools, ToLongFunction<BufferPoolStats> value) {
+			this.pools = pools;
+			this.value = value;
+		}
+
+		synchronized double read() {
+			pools.forEach((supplier, stats) -> {
+				long current = value.applyAsLong(stats);
+				Long last = lastValues.put(supplier, current);
+				// Lower than last read: a new pool, counting from zero
+				total += last == null || current < last ? current : current - last;
+			});
+			return total;
+		}
+	}
+}
@@ -0,0 +1,50 @@
+package io.mosip.biosdk.client.metrics;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * The pool statistics suppliers bound to a {@link BioSdkMetrics}, one per
+ * client. The same supplier is counted once, and is dropped once its client
+ * is garbage collected.
+ */
+class PoolStatsSources<T> {
+
+	private final Set<Supplier<T>> suppliers = Collections
+			.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+	void add(Supplier<T> supplier) {
+		suppliers.add(supplier);
+	}
+
+	/**
+	 * @return the statistics of the pools bound, leaving out disabled ones
+	 */
+	List<T> current() {
+		return snapshot().stream().map(Supplier::get).filter(Objects::nonNull).toList();
+	}
+
+	/**
+	 * Hands the statistics of each pool bound, leaving out disabled ones, to
+	 * the action along with its supplier.
+	 */
+	void forEach(BiConsumer<Supplier<T>, T> action) {
+		for (Supplier<T> supplier : snapshot()) {
+			T stats = supplier.get();
+			if (stats != null) {
+				action.accept(supplier, stats);
+			}
+		}
+	}
+
+	private List<Supplier<T>> snapshot() {
+		synchronized (suppliers) {
+			return List.copyOf(suppliers);
+		}
+	}
+}
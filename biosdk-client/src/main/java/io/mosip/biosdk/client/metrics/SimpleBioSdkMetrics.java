@@ -0,0 +1,185 @@
+package io.mosip.biosdk.client.metrics;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Default {@link BioSdkMetrics}, keeping the measurements in memory without any
+ * dependency. Latencies go into a fixed set of buckets, which is enough to
+ * read percentiles to the bucket's precision; {@link #getSnapshot()} returns
+ * the current values per operation and SDK url.
+ */
+public class SimpleBioSdkMetrics implements BioSdkMetrics {
+
+	/** Upper bounds of the latency buckets in milliseconds. */
+	static final long[] LATENCY_BUCKETS_MS = { 1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000, 10000, 30000,
+			60000, 120000, Long.MAX_VALUE };
+
+	private final Map<Key, OperationMetrics> operationMetrics = new ConcurrentHashMap<>();
+
+	private final PoolStatsSources<ConnectionPoolStats> connectionPools = new PoolStatsSources<>();
+
+	private final PoolStatsSources<BufferPoolStats> bufferPools = new PoolStatsSources<>();
+
+	@Override
+	public void requestStarted(String operation, String sdkUrl) {
+		getOperationMetrics(operation, sdkUrl).inFlight.incrementAndGet();
+	}
+
+	@Override
+	public void requestFinished(String operation, String sdkUrl, long durationNanos, int statusCode,
+			ExchangeStats exchangeStats) {
+		OperationMetrics metrics = getOperationMetrics(operation, sdkUrl);
+		metrics.inFlight.decrementAndGet();
+		long durationMillis = TimeUnit.NANOSECONDS.toMillis(durationNanos);
+		int bucket = 0;
+		while (durationMillis > LATENCY_BUCKETS_MS[bucket]) {
+			bucket++;
+		}
+		metrics.latencyBuckets.incrementAndGet(bucket);
+		metrics.count.increment();
+		metrics.totalNanos.add(durationNanos);
+		metrics.maxNanos.accumulateAndGet(durationNanos, Math::max);
+		metrics.statusCounts.computeIfAbsent(statusCode, key -> new LongAdder()).increment();
+		if (exchangeStats != null) {
+			metrics.requestBytes.add(exchangeStats.getRequestBytes());
+			metrics.responseBytes.add(exchangeStats.getResponseBytes());
+			metrics.encodeNanos.add(exchangeStats.getEncodeNanos());
+			metrics.decodeNanos.add(exchangeStats.getDecodeNanos());
+		}
+	}
+
+	/**
+	 * Adds the connection pool of a client to the ones reported, counting the
+	 * same supplier once.
+	 */
+	@Override
+	public void bindConnectionPool(Supplier<ConnectionPoolStats> connectionPoolStats) {
+		connectionPools.add(connectionPoolStats);
+	}
+
+	/**
+	 * @return the current connection pool statistics summed over the pools
+	 *         bound, null if there are none
+	 */
+	public ConnectionPoolStats getConnectionPoolStats() {
+		List<ConnectionPoolStats> stats = connectionPools.current();
+		if (stats.isEmpty()) {
+			return null;
+		}
+		return new ConnectionPoolStats(stats.stream().mapToInt(ConnectionPoolStats::leased).sum(),
+				stats.stream().mapToInt(ConnectionPoolStats::pending).sum(),
+				stats.stream().mapToInt(ConnectionPoolStats::available).sum(),
+				stats.stream().mapToInt(ConnectionPoolStats::max).sum());
+	}
+
+	/**
+	 * Adds the buffer pool of a client to the ones reported, counting the same
+	 * supplier once.
+	 */
+	@Override
+	public void bindBufferPool(Supplier<BufferPoolStats> bufferPoolStats) {
+		bufferPools.add(bufferPoolStats);
+	}
+
+	/**
+	 * @return the current payload buffer pool statistics summed over the pools
+	 *         bound, with the size of the largest buffers; null if there are
+	 *         none
+	 */
+	public BufferPoolStats getBufferPoolStats() {
+		List<BufferPoolStats> stats = bufferPools.current();
+		if (stats.isEmpty()) {
+			return null;
+		}
+		return new BufferPoolStats(stats.stream().mapToInt(BufferPoolStats::pooled).sum(),
+				stats.stream().mapToInt(BufferPoolStats::maxPooled).sum(),
+				stats.stream().mapToInt(BufferPoolStats::bufferBytes).max().getAsInt(),
+				stats.stream().mapToLong(BufferPoolStats::hits).sum(),
+				stats.stream().mapToLong(BufferPoolStats::misses).sum());
+	}
+
+	public List<OperationSnapshot> getSnapshot() {
+		return operationMetrics.entrySet().stream().map(entry -> entry.getValue().snapshot(entry.getKey())).toList();
+	}
+
+	private OperationMetrics getOperationMetrics(String operation, String sdkUrl) {
+		return operationMetrics.computeIfAbsent(new Key(operation, sdkUrl), key -> new OperationMetrics());
+	}
+
+	private record Key(String operation, String sdkUrl) {
+	}
+
+	private static class OperationMetrics {
+		private final AtomicInteger inFlight = new AtomicInteger();
+		private final AtomicLongArray latencyBuckets = new AtomicLongArray(LATENCY_BUCKETS_MS.length);
+		private final LongAdder count = new LongAdder();
+		private final LongAdder totalNanos = new LongAdder();
+		private final AtomicLong maxNanos = new AtomicLong();
+		private final Map<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+		private final LongAdder requestBytes = new LongAdder();
+		private final LongAdder responseBytes = new LongAdder();
+		private final LongAdder encodeNanos = new LongAdder();
+		private final LongAdder decodeNanos = new LongAdder();
+
+		private OperationSnapshot snapshot(Key key) {
+			long[] buckets = new long[latencyBuckets.length()];
+			for (int i = 0; i < buckets.length; i++) {
+				buckets[i] = latencyBuckets.get(i);
+			}
+			Map<Integer, Long> statuses = new HashMap<>();
+			statusCounts.forEach((status, counter) -> statuses.put(status, counter.sum()));
+			return new OperationSnapshot(key.operation(), key.sdkUrl(), inFlight.get(), count.sum(),
+					totalNanos.sum(), maxNanos.get(), buckets, Map.copyOf(statuses), requestBytes.sum(),
+					responseBytes.sum(), encodeNanos.sum(), decodeNanos.sum());
+		}
+	}
+
+	/**
+	 * Measurements of one operation against one SDK url. Times are in
+	 * nanoseconds unless the name says otherwise.
+	 *
+	 * @param latencyBuckets request counts per latency bucket; the bounds are
+	 *                       given by {@link #getLatencyBucketsMs()}
+	 * @param statusCounts   request counts per status code
+	 */
+	public record OperationSnapshot(String operation, String sdkUrl, int inFlight, long count, long totalNanos,
+			long maxNanos, long[] latencyBuckets, Map<Integer, Long> statusCounts, long requestBytes,
+			long responseBytes, long encodeNanos, long decodeNanos) {
+
+		public static long[] getLatencyBucketsMs() {
+			return Arrays.copyOf(LATENCY_BUCKETS_MS, LATENCY_BUCKETS_MS.length);
+		}
+
+		/**
+		 * @return the upper bound, in milliseconds, of the bucket holding the
+		 *         given percentile of the latencies; -1 if nothing was recorded
+		 */
+		public long latencyPercentileMs(double percentile) {
+			long rank = (long) Math.ceil(percentile / 100 * count);
+			long seen = 0;
+			for (int i = 0; i < latencyBuckets.length; i++) {
+				seen += latencyBuckets[i];
+				if (seen >= rank && seen > 0) {
+					return i == latencyBuckets.length - 1 ? TimeUnit.NANOSECONDS.toMillis(maxNanos)
+							: LATENCY_BUCKETS_MS[i];
+				}
+			}
+			return -1;
+		}
+
+		public long errorCount() {
+			return statusCounts.entrySet().stream().filter(entry -> entry.getKey() != 200)
+					.mapToLong(Map.Entry::getValue).sum();
+		}
+	}
+}
@@ -0,0 +1,184 @@
+package io.mosip.biosdk.client.resilience;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import io.mosip.biosdk.client.config.BulkheadConfig;
+import io.mosip.biosdk.client.constant.ResponseStatus;
+import io.mosip.biosdk.client.exception.BioSdkClientException;
+
+/**
+ * Limit of the requests in flight to one SDK service, with a bounded queue
+ * for the requests over it. Queued requests are let through in about arrival
+ * order as permits are released; a request finding the queue full, or still
+ * queued when the queue timeout passes, is rejected with status
+ * {@link ResponseStatus#TOO_MANY_REQUESTS}.
+ * <p>
+ * When adaptive, the limit follows the latency and errors of the completed
+ * requests (additive increase, multiplicative decrease), between the
+ * configured minimum and maximum. It is revised once per round of as many
+ * completed requests as the limit, so that a single slow request does not
+ * move it.
+ */
+public class Bulkhead {
+
+	/** Share of the limit kept when a request signals overload. */
+	private static final double BACKOFF_RATIO = 0.9;
+
+	/** Requests after which the lowest latency seen is forgotten, to follow changes of the service. */
+	private static final int MIN_LATENCY_WINDOW = 1000;
+
+	private final String name;
+
+	private final BulkheadConfig config;
+
+	private final ReentrantLock lock = new ReentrantLock();
+
+	private final Condition permitReleased = lock.newCondition();
+
+	private double limit;
+
+	private int inFlight;
+
+	private int queued;
+
+	private long rejected;
+
+	private long minLatencyNanos = Long.MAX_VALUE;
+
+	private int latencySamples;
+
+	private int roundSamples;
+
+	private long roundLatencyNanos;
+
+	private boolean roundOverloaded;
+
+	private boolean roundSaturated;
+
+	public Bulkhead(String name, BulkheadConfig config) {
+		this.name = name;
+		this.config = config;
+		this.limit = config.getMaxConcurrent();
+	}
+
+	/**
+	 * Takes a permit, waiting in the queue if there is none, at most until the
+	 * queue timeout or the deadline passes. Each permit taken has to be given
+	 * back with {@link #release(long, boolean)}.
+	 *
+	 * @throws BioSdkClientException with status
+	 *                               {@link ResponseStatus#TOO_MANY_REQUESTS} if
+	 *                               rejected, or
+	 *                               {@link ResponseStatus#DEADLINE_EXCEEDED} if
+	 *                               the deadline passed while queued
+	 */
+	public void acquire(String operation, Deadline deadline) {
+		lock.lock();
+		try {
+			if (queued == 0 && inFlight < (int) limit) {
+				inFlight++;
+				return;
+			}
+			if (queued >= config.getMaxQueue()) {
+				throw reject("queue full");
+			}
+			boolean deadlineFirst = deadline.remainingMillis() < config.getQueueTimeoutMs();
+			long waitNanos = TimeUnit.MILLISECONDS
+					.toNanos(Math.min(config.getQueueTimeoutMs(), deadline.remainingMillis()));
+			queued++;
+			try {
+				while (inFlight >= (int) limit) {
+					if (waitNanos <= 0) {
+						if (deadlineFirst) {
+							throw Deadline.exceeded(operation);
+						}
+						throw reject("queue timeout of " + config.getQueueTimeoutMs() + " ms");
+					}
+					waitNanos = permitReleased.awaitNanos(waitNanos);
+				}
+				inFlight++;
+			} finally {
+				queued--;
+			}
+			if (queued > 0 && inFlight < (int) limit) {
+				// The limit grew meanwhile; let the next one through as well
+				permitReleased.signal();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new BioSdkClientException(ResponseStatus.UNKNOWN_ERROR.getStatusCode() + "",
+					operation + " interrupted", e);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Gives back a permit.
+	 *
+	 * @param latencyNanos time the request took
+	 * @param overloaded   whether the request failed in a way that suggests
+	 *                     the SDK service is overloaded
+	 */
+	public void release(long latencyNanos, boolean overloaded) {
+		lock.lock();
+		try {
+			inFlight--;
+			if (config.isAdaptive()) {
+				adapt(latencyNanos, overloaded);
+			}
+			permitReleased.signal();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void adapt(long latencyNanos, boolean overloaded) {
+		if (++latencySamples >= MIN_LATENCY_WINDOW) {
+			latencySamples = 0;
+			minLatencyNanos = Long.MAX_VALUE;
+		}
+		minLatencyNanos = Math.min(minLatencyNanos, latencyNanos);
+		roundSamples++;
+		roundLatencyNanos += latencyNanos;
+		roundOverloaded |= overloaded;
+		roundSaturated |= inFlight + 1 >= (int) limit;
+		if (roundSamples < (int) limit) {
+			return;
+		}
+		long averageLatencyNanos = roundLatencyNanos / roundSamples;
+		if (roundOverloaded || averageLatencyNanos * 100 / config.getLatencyTolerance() > minLatencyNanos) {
+			limit = Math.max(config.getMinConcurrent(), limit * BACKOFF_RATIO);
+		} else if (roundSaturated) {
+			// Raised only when the limit was reached, i.e. when it held requests back
+			limit = Math.min(config.getMaxConcurrent(), limit + 1);
+		}
+		roundSamples = 0;
+		roundLatencyNanos = 0;
+		roundOverloaded = false;
+		roundSaturated = false;
+	}
+
+	private BioSdkClientException reject(String reason) {
+		rejected++;
+		return new BioSdkClientException(ResponseStatus.TOO_MANY_REQUESTS.getStatusCode() + "",
+				String.format(ResponseStatus.TOO_MANY_REQUESTS.getStatusMessage(), reason + " for " + name));
+	}
+
+	public Stats getStats() {
+		lock.lock();
+		try {
+			return new Stats((int) limit, inFlight, queued, rejected);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Point-in-time statistics of a bulkhead.
+	 */
+	public record Stats(int limit, int inFlight, int queued, long rejected) {
+	}
+}
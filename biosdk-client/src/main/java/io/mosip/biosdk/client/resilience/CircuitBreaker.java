@@ -0,0 +1,177 @@
+package io.mosip.biosdk.client.resilience;
+
+import io.mosip.biosdk.client.config.CircuitBreakerConfig;
+
+/**
+ * Count based circuit breaker for one Bio-SDK endpoint.
+ * <p>
+ * While {@link State#CLOSED}, the outcome of the last calls is kept in a ring
+ * buffer; once the failure rate or the slow call rate reaches its threshold
+ * the breaker opens and calls are rejected for the configured wait duration.
+ * It then lets a few probe calls through ({@link State#HALF_OPEN}): if all of
+ * them succeed in time the breaker closes, otherwise it opens again. A probe
+ * that ends without an outcome, e.g. cancelled, gives its slot back to the
+ * next call. A call cut short by the caller's deadline counts as failed and
+ * slow once it ran for the slow call duration.
+ */
+public class CircuitBreaker {
+
+	public enum State {
+		CLOSED, OPEN, HALF_OPEN
+	}
+
+	/** Returned by {@link #tryAcquirePermission()} when the call is rejected. */
+	public static final int NOT_PERMITTED = -2;
+
+	private final CircuitBreakerConfig config;
+
+	private final boolean[] failedCalls;
+
+	private final boolean[] slowCalls;
+
+	private int index;
+
+	private int recordedCalls;
+
+	private int failedCount;
+
+	private int slowCount;
+
+	private State state = State.CLOSED;
+
+	private long openedAt;
+
+	private int halfOpenStarted;
+
+	private int halfOpenSucceeded;
+
+	/** Counts the half-open periods, so that a late probe does not count in a later one. */
+	private int halfOpenRound;
+
+	public CircuitBreaker(CircuitBreakerConfig config) {
+		this.config = config;
+		this.failedCalls = new boolean[config.getWindowSize()];
+		this.slowCalls = new boolean[config.getWindowSize()];
+	}
+
+	public synchronized State getState() {
+		updateState();
+		return state;
+	}
+
+	public synchronized boolean isCallPermitted() {
+		updateState();
+		return state == State.CLOSED || (state == State.HALF_OPEN && halfOpenStarted < config.getHalfOpenCalls());
+	}
+
+	/**
+	 * Checks whether a call may start and, while half-open, takes a probe slot
+	 * for it in the same step, so that concurrent calls cannot exceed the
+	 * probes allowed.
+	 *
+	 * @return the half-open period the call probes, to be passed to
+	 *         {@link #onCallAbandoned(int)}, -1 if it is not a probe, or
+	 *         {@link #NOT_PERMITTED} if the call must not start
+	 */
+	public synchronized int tryAcquirePermission() {
+		updateState();
+		if (state == State.CLOSED) {
+			return -1;
+		}
+		if (state == State.HALF_OPEN && halfOpenStarted < config.getHalfOpenCalls()) {
+			halfOpenStarted++;
+			return halfOpenRound;
+		}
+		return NOT_PERMITTED;
+	}
+
+	/**
+	 * Records a call that ended without an outcome telling whether the endpoint
+	 * works, releasing its probe slot if it was one.
+	 *
+	 * @param probeRound what {@link #tryAcquirePermission()} returned for the
+	 *                   call
+	 */
+	public synchronized void onCallAbandoned(int probeRound) {
+		if (state == State.HALF_OPEN && probeRound == halfOpenRound && halfOpenStarted > 0) {
+			halfOpenStarted--;
+		}
+	}
+
+	/**
+	 * Records a call given up when the caller's deadline passed. An endpoint
+	 * that stalled past the slow call duration is what the breaker is for, so
+	 * such a call counts as failed and slow; a shorter one says nothing about
+	 * the endpoint and is abandoned.
+	 */
+	public synchronized void onDeadlineExceeded(int probeRound, long durationMillis) {
+		if (durationMillis >= config.getSlowCallDurationMs()) {
+			onError(durationMillis);
+		} else {
+			onCallAbandoned(probeRound);
+		}
+	}
+
+	public synchronized void onSuccess(long durationMillis) {
+		boolean slow = durationMillis >= config.getSlowCallDurationMs();
+		if (state == State.HALF_OPEN) {
+			if (slow) {
+				open();
+			} else if (++halfOpenSucceeded >= config.getHalfOpenCalls()) {
+				close();
+			}
+		} else if (state == State.CLOSED) {
+			record(false, slow);
+		}
+	}
+
+	public synchronized void onError(long durationMillis) {
+		if (state == State.HALF_OPEN) {
+			open();
+		} else if (state == State.CLOSED) {
+			record(true, durationMillis >= config.getSlowCallDurationMs());
+		}
+	}
+
+	private void record(boolean failed, boolean slow) {
+		if (recordedCalls == failedCalls.length) {
+			failedCount -= failedCalls[index] ? 1 : 0;
+			slowCount -= slowCalls[index] ? 1 : 0;
+		} else {
+			recordedCalls++;
+		}
+		failedCalls[index] = failed;
+		slowCalls[index] = slow;
+		failedCount += failed ? 1 : 0;
+		slowCount += slow ? 1 : 0;
+		index = (index + 1) % failedCalls.length;
+
+		if (recordedCalls >= config.getMinimumCalls()
+				&& (failedCount * 100 >= config.getFailureRateThreshold() * recordedCalls
+						|| slowCount * 100 >= config.getSlowCallRateThreshold() * recordedCalls)) {
+			open();
+		}
+	}
+
+	private void updateState() {
+		if (state == State.OPEN && System.currentTimeMillis() - openedAt >= config.getWaitDurationOpenMs()) {
+			state = State.HALF_OPEN;
+			halfOpenRound++;
+			halfOpenStarted = 0;
+			halfOpenSucceeded = 0;
+		}
+	}
+
+	private void open() {
+		state = State.OPEN;
+		openedAt = System.currentTimeMillis();
+	}
+
+	private void close() {
+		state = State.CLOSED;
+		index = 0;
+		recordedCalls = 0;
+		failedCount = 0;
+		slowCount = 0;
+	}
+}
@@ -0,0 +1,90 @@
+package io.mosip.biosdk.client.resilience;
+
+import java.util.concurrent.TimeUnit;
+
+import io.mosip.biosdk.client.constant.ResponseStatus;
+import io.mosip.biosdk.client.exception.BioSdkClientException;
+
+/**
+ * Point in time by which a call has to complete. It is measured on the
+ * monotonic clock, so it is not affected by wall clock changes, and is passed
+ * down to every request made on behalf of the call.
+ */
+public final class Deadline {
+
+	/** No deadline; the HTTP client timeouts alone apply. */
+	public static final Deadline NONE = new Deadline(false, 0);
+
+	private final boolean bounded;
+
+	private final long expiresAtNanos;
+
+	private Deadline(boolean bounded, long expiresAtNanos) {
+		this.bounded = bounded;
+		this.expiresAtNanos = expiresAtNanos;
+	}
+
+	/**
+	 * @return a deadline the given time from now, {@link #NONE} if the timeout
+	 *         is not positive
+	 */
+	public static Deadline after(long timeoutMillis) {
+		if (timeoutMillis <= 0) {
+			return NONE;
+		}
+		return new Deadline(true, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis));
+	}
+
+	public boolean isBounded() {
+		return bounded;
+	}
+
+	/**
+	 * @return the time left in milliseconds, zero or less once expired,
+	 *         {@link Long#MAX_VALUE} if unbounded
+	 */
+	public long remainingMillis() {
+		if (!bounded) {
+			return Long.MAX_VALUE;
+		}
+		return TimeUnit.NANOSECONDS.toMillis(expiresAtNanos - System.nanoTime());
+	}
+
+	public boolean isExpired() {
+		return bounded && expiresAtNanos - System.nanoTime() <= 0;
+	}
+
+	/**
+	 * @return the earlier of this and the given deadline
+	 */
+	public Deadline min(Deadline other) {
+		if (!other.bounded) {
+			return this;
+		}
+		if (!bounded) {
+			return other;
+		}
+		return expiresAtNanos - other.expiresAtNanos <= 0 ? this : other;
+	}
+
+	/**
+	 * @throws BioSdkClientException with status
+	 *                               {@link ResponseStatus#DEADLINE_EXCEEDED} if
+	 *                               the deadline has passed
+	 */
+	public void check(String operation) {
+		if (isExpired()) {
+			throw exceeded(operation);
+		}
+	}
+
+	public static BioSdkClientException exceeded(String operation) {
+		return new BioSdkClientException(ResponseStatus.DEADLINE_EXCEEDED.getStatusCode() + "",
+				String.format(ResponseStatus.DEADLINE_EXCEEDED.getStatusMessage(), operation));
+	}
+
+	@Override
+	public String toString() {
+		return bounded ? remainingMillis() + "ms" : "none";
+	}
+}
@@ -0,0 +1,108 @@
+package io.mosip.biosdk.client.resilience;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import io.mosip.biosdk.client.constant.ResponseStatus;
+import io.mosip.biosdk.client.exception.BioSdkClientException;
+import io.mosip.biosdk.client.routing.SdkEndpoint;
+
+/**
+ * Runs a call against a primary endpoint and, if it has not completed within
+ * the hedge delay, a duplicate against a second endpoint. The first successful
+ * result wins and the other call is cancelled. Each call is given the permit of
+ * the request started on its endpoint; the permit of a call cancelled before
+ * it ran is released here.
+ */
+public class HedgedCall {
+
+	private HedgedCall() {
+		throw new IllegalStateException("HedgedCall class");
+	}
+
+	public static <T> T execute(ExecutorService executor, Function<SdkEndpoint.Permit, T> call,
+			SdkEndpoint.Permit primary, Supplier<SdkEndpoint.Permit> hedgePermitSupplier, long hedgeDelayMillis) {
+		ExecutorCompletionService<T> completionService = new ExecutorCompletionService<>(executor);
+		List<Future<T>> futures = new ArrayList<>(2);
+		List<Attempt> attempts = new ArrayList<>(2);
+		try {
+			futures.add(submit(completionService, call, primary, attempts));
+			Future<T> completed = completionService.poll(hedgeDelayMillis, TimeUnit.MILLISECONDS);
+			if (completed != null) {
+				return getResult(completed);
+			}
+			SdkEndpoint.Permit hedgePermit = hedgePermitSupplier.get();
+			if (hedgePermit != null) {
+				futures.add(submit(completionService, call, hedgePermit, attempts));
+			}
+			RuntimeException failure = null;
+			for (int pending = futures.size(); pending > 0; pending--) {
+				try {
+					return getResult(completionService.take());
+				} catch (RuntimeException e) {
+					failure = e;
+				}
+			}
+			throw failure;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new BioSdkClientException(ResponseStatus.UNKNOWN_ERROR.getStatusCode() + "", "Request interrupted",
+					e);
+		} finally {
+			futures.forEach(future -> future.cancel(true));
+			attempts.forEach(Attempt::releaseIfNotStarted);
+		}
+	}
+
+	private static <T> Future<T> submit(ExecutorCompletionService<T> completionService,
+			Function<SdkEndpoint.Permit, T> call, SdkEndpoint.Permit permit, List<Attempt> attempts) {
+		Attempt attempt = new Attempt(permit);
+		attempts.add(attempt);
+		return completionService.submit(() -> attempt.start() ? call.apply(permit) : null);
+	}
+
+	/**
+	 * A call of the hedge, started at most once: either by the executor or,
+	 * when cancelled before that, by releasing its permit.
+	 */
+	private static final class Attempt {
+
+		private final SdkEndpoint.Permit permit;
+
+		private final AtomicBoolean started = new AtomicBoolean();
+
+		private Attempt(SdkEndpoint.Permit permit) {
+			this.permit = permit;
+		}
+
+		private boolean start() {
+			return started.compareAndSet(false, true);
+		}
+
+		private void releaseIfNotStarted() {
+			if (start()) {
+				permit.release();
+			}
+		}
+	}
+
+	private static <T> T getResult(Future<T> future) throws InterruptedException {
+		try {
+			return future.get();
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			throw new BioSdkClientException(ResponseStatus.UNKNOWN_ERROR.getStatusCode() + "",
+					e.getCause().getLocalizedMessage(), e.getCause());
+		}
+	}
+}
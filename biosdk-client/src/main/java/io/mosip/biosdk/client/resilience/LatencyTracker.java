@@ -0,0 +1,55 @@
+package io.mosip.biosdk.client.resilience;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the latencies of the most recent calls of an operation and answers
+ * percentile queries over them. The percentile is recomputed every few samples
+ * rather than on every query, as it is read on every request.
+ */
+public class LatencyTracker {
+
+	private static final int RECOMPUTE_INTERVAL = 32;
+
+	private final long[] samples;
+
+	private final int percentile;
+
+	private int index;
+
+	private int count;
+
+	private long recordedSinceRecompute;
+
+	private volatile long cachedPercentile = -1;
+
+	public LatencyTracker(int capacity, int percentile) {
+		this.samples = new long[capacity];
+		this.percentile = percentile;
+	}
+
+	public synchronized void record(long latencyMillis) {
+		samples[index] = latencyMillis;
+		index = (index + 1) % samples.length;
+		if (count < samples.length) {
+			count++;
+		}
+		if (++recordedSinceRecompute >= RECOMPUTE_INTERVAL || cachedPercentile < 0) {
+			recordedSinceRecompute = 0;
+			long[] sorted = Arrays.copyOf(samples, count);
+			Arrays.sort(sorted);
+			cachedPercentile = sorted[Math.min(count - 1, (int) Math.ceil(percentile / 100.0 * count) - 1)];
+		}
+	}
+
+	public synchronized int getCount() {
+		return count;
+	}
+
+	/**
+	 * @return the tracked percentile in milliseconds, -1 if nothing was recorded
+	 */
+	public long getPercentile() {
+		return cachedPercentile;
+	}
+}
@@ -0,0 +1,83 @@
+package io.mosip.biosdk.client.resilience;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+
+import io.mosip.biosdk.client.config.RetryConfig;
+import io.mosip.biosdk.client.dto.ErrorDto;
+import io.mosip.biosdk.client.exception.SdkServiceErrorException;
+
+/**
+ * Decides whether a failed SDK call is retried and how long to wait before
+ * the next attempt.
+ * <p>
+ * I/O errors (connection refused or reset, timeouts) and the configured HTTP
+ * statuses are retryable, as are errors reported by the service whose codes
+ * are configured as retryable. Everything else, including an expired deadline
+ * or an open circuit breaker, is terminal.
+ */
+public class RetryPolicy {
+
+	private static final long TOKEN = 100;
+
+	private final RetryConfig config;
+
+	/** Retry budget, in hundredths of a token. */
+	private final AtomicLong budget;
+
+	public RetryPolicy(RetryConfig config) {
+		this.config = config;
+		this.budget = new AtomicLong(config.getBudgetMaxTokens() * TOKEN);
+	}
+
+	public int getMaxAttempts() {
+		return config.getMaxAttempts();
+	}
+
+	public boolean isRetryable(Throwable throwable) {
+		if (throwable instanceof ResourceAccessException) {
+			return true;
+		}
+		if (throwable instanceof HttpStatusCodeException httpStatusCodeException) {
+			return config.getRetryableStatuses().contains(httpStatusCodeException.getStatusCode().value());
+		}
+		if (throwable instanceof SdkServiceErrorException sdkServiceErrorException) {
+			List<ErrorDto> errors = sdkServiceErrorException.getErrors();
+			return errors != null && !errors.isEmpty() && errors.stream()
+					.allMatch(error -> error != null && config.getRetryableErrorCodes().contains(error.getCode()));
+		}
+		return false;
+	}
+
+	/**
+	 * @param attempt the attempt that failed, starting from 1
+	 * @return a random backoff between zero and the exponential backoff of the
+	 *         attempt, capped by the configured maximum
+	 */
+	public long getBackoffMillis(int attempt) {
+		long backoff = config.getInitialBackoffMs() << Math.min(attempt - 1, 30);
+		if (backoff <= 0 || backoff > config.getMaxBackoffMs()) {
+			backoff = config.getMaxBackoffMs();
+		}
+		return ThreadLocalRandom.current().nextLong(backoff + 1);
+	}
+
+	/**
+	 * Credits the retry budget for a new call.
+	 */
+	public void onCall() {
+		long max = config.getBudgetMaxTokens() * TOKEN;
+		budget.getAndUpdate(tokens -> Math.min(max, tokens + config.getBudgetPercent()));
+	}
+
+	/**
+	 * @return true if the budget allows another retry, which is then charged
+	 */
+	public boolean tryAcquireRetry() {
+		return budget.getAndUpdate(tokens -> tokens >= TOKEN ? tokens - TOKEN : tokens) >= TOKEN;
+	}
+}
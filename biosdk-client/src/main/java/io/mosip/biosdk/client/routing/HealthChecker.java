@@ -0,0 +1,155 @@
+package io.mosip.biosdk.client.routing;
+
+import static io.mosip.biosdk.client.constant.AppConstants.LOGGER_IDTYPE;
+import static io.mosip.biosdk.client.constant.AppConstants.LOGGER_SESSIONID;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.mosip.biosdk.client.config.HealthCheckConfig;
+import io.mosip.biosdk.client.config.LoggerConfig;
+import io.mosip.kernel.core.logger.spi.Logger;
+
+/**
+ * Probes SDK endpoints in the background at the configured interval, marking
+ * them healthy or unhealthy for routing, and keeps connections to the healthy
+ * ones open ahead of the requests. An endpoint is probed once it is ready, the
+ * first time right away, so that its connections are warm before the first
+ * requests are routed to it.
+ */
+public class HealthChecker implements AutoCloseable {
+
+	private static final Logger logger = LoggerConfig.logConfig(HealthChecker.class);
+
+	private static final String TAG = "healthCheck";
+
+	/** Checks whether an endpoint is up. */
+	@FunctionalInterface
+	public interface Probe {
+		boolean isUp(SdkEndpoint endpoint, long timeoutMillis) throws Exception;
+	}
+
+	/** Opens connections to an endpoint until the pool holds the given number. */
+	@FunctionalInterface
+	public interface Warmer {
+		void warm(SdkEndpoint endpoint, int connections, long timeoutMillis) throws Exception;
+	}
+
+	private final HealthCheckConfig config;
+
+	private final Probe probe;
+
+	private final Warmer warmer;
+
+	private final Executor executor;
+
+	private final ScheduledThreadPoolExecutor scheduler;
+
+	/** Failed probes in a row per endpoint. */
+	private final Map<SdkEndpoint, AtomicInteger> failures = new ConcurrentHashMap<>();
+
+	private final Set<SdkEndpoint> probing = ConcurrentHashMap.newKeySet();
+
+	private volatile boolean closed;
+
+	/**
+	 * @param executor runs the probes, which block on I/O; the scheduler thread
+	 *                 only triggers them
+	 */
+	public HealthChecker(HealthCheckConfig config, Probe probe, Warmer warmer, Executor executor) {
+		this.config = config;
+		this.probe = probe;
+		this.warmer = warmer;
+		this.executor = executor;
+		this.scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+			Thread thread = new Thread(runnable, "biosdk-client-health");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	public void start(List<SdkEndpoint> endpoints) {
+		long interval = config.getIntervalMs();
+		for (SdkEndpoint endpoint : endpoints) {
+			failures.put(endpoint, new AtomicInteger());
+			endpoint.getReadyFuture().thenRun(() -> submit(endpoint));
+			// Spread over the interval, so that the endpoints are not all probed at once
+			long initialDelay = interval + ThreadLocalRandom.current().nextLong(interval);
+			scheduler.scheduleWithFixedDelay(() -> submit(endpoint), initialDelay, interval, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	private void submit(SdkEndpoint endpoint) {
+		// A probe still running, e.g. waiting for its timeout, is not overtaken
+		if (closed || !endpoint.isReady() || !probing.add(endpoint)) {
+			return;
+		}
+		try {
+			executor.execute(() -> {
+				try {
+					check(endpoint);
+				} finally {
+					probing.remove(endpoint);
+				}
+			});
+		} catch (RuntimeException e) {
+			probing.remove(endpoint);
+			throw e;
+		}
+	}
+
+	private void check(SdkEndpoint endpoint) {
+		boolean up;
+		String reason = "";
+		try {
+			up = probe.isUp(endpoint, config.getTimeoutMs());
+		} catch (Exception e) {
+			up = false;
+			reason = ": " + e.getLocalizedMessage();
+		}
+		if (closed) {
+			return;
+		}
+		AtomicInteger failureCount = failures.get(endpoint);
+		if (up) {
+			failureCount.set(0);
+			if (!endpoint.isHealthy()) {
+				logger.info(LOGGER_SESSIONID, LOGGER_IDTYPE, TAG, endpoint + " is up again");
+			}
+			endpoint.markHealthy();
+			warm(endpoint);
+		} else if (failureCount.incrementAndGet() >= config.getFailureThreshold() && endpoint.isHealthy()) {
+			endpoint.markUnhealthy();
+			logger.warn(LOGGER_SESSIONID, LOGGER_IDTYPE, TAG,
+					endpoint + " is down after " + failureCount.get() + " failed health checks" + reason);
+		}
+	}
+
+	private void warm(SdkEndpoint endpoint) {
+		if (config.getMinWarmConnections() <= 0) {
+			return;
+		}
+		try {
+			warmer.warm(endpoint, config.getMinWarmConnections(), config.getTimeoutMs());
+		} catch (Exception e) {
+			logger.warn(LOGGER_SESSIONID, LOGGER_IDTYPE, TAG,
+					"Could not open connections to " + endpoint + ": " + e.getLocalizedMessage());
+		}
+	}
+
+	/**
+	 * Stops the probes; the health marks of the endpoints are left as they are.
+	 */
+	@Override
+	public void close() {
+		closed = true;
+		scheduler.shutdownNow();
+	}
+}
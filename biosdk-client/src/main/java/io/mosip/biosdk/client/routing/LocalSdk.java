@@ -0,0 +1,116 @@
+package io.mosip.biosdk.client.routing;
+
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+import io.mosip.biosdk.client.constant.ResponseStatus;
+import io.mosip.biosdk.client.dto.CheckQualityRequestDto;
+import io.mosip.biosdk.client.dto.ConvertFormatRequestDto;
+import io.mosip.biosdk.client.dto.ExtractTemplateRequestDto;
+import io.mosip.biosdk.client.dto.InitRequestDto;
+import io.mosip.biosdk.client.dto.MatchRequestDto;
+import io.mosip.biosdk.client.dto.SegmentRequestDto;
+import io.mosip.biosdk.client.exception.BioSdkClientException;
+import io.mosip.kernel.biometrics.spi.IBioApiV2;
+
+/**
+ * A Bio-SDK implementation running in this JVM, which a format url of the
+ * form {@code local:<id>} routes to instead of an SDK service. Requests are
+ * handed to it as they are, without serialization or HTTP.
+ * <p>
+ * The id is the class name of an {@link IBioApiV2} implementation with a
+ * public no-argument constructor, or the class name or simple name of one
+ * registered for {@link ServiceLoader}. An empty id takes the first one
+ * registered.
+ */
+public class LocalSdk {
+
+	public static final String URL_PREFIX = "local:";
+
+	private final String url;
+
+	private final IBioApiV2 sdk;
+
+	public LocalSdk(String url, IBioApiV2 sdk) {
+		this.url = url;
+		this.sdk = sdk;
+	}
+
+	public static boolean isLocal(String sdkServiceUrl) {
+		return sdkServiceUrl != null
+				&& sdkServiceUrl.trim().regionMatches(true, 0, URL_PREFIX, 0, URL_PREFIX.length());
+	}
+
+	/**
+	 * Creates the implementation the url names.
+	 *
+	 * @throws BioSdkClientException if there is none or it cannot be created
+	 */
+	public static LocalSdk load(String sdkServiceUrl) {
+		String id = sdkServiceUrl.trim().substring(URL_PREFIX.length()).trim();
+		try {
+			if (!id.isEmpty()) {
+				Class<?> type = getClass(id);
+				if (type != null) {
+					return new LocalSdk(sdkServiceUrl,
+							type.asSubclass(IBioApiV2.class).getConstructor().newInstance());
+				}
+			}
+			for (ServiceLoader.Provider<IBioApiV2> provider : ServiceLoader.load(IBioApiV2.class).stream()
+					.toList()) {
+				Class<?> type = provider.type();
+				if (id.isEmpty() || type.getName().equals(id) || type.getSimpleName().equals(id)) {
+					return new LocalSdk(sdkServiceUrl, provider.get());
+				}
+			}
+		} catch (ReflectiveOperationException | RuntimeException | ServiceConfigurationError e) {
+			throw new BioSdkClientException(ResponseStatus.UNKNOWN_ERROR.getStatusCode() + "",
+					"Could not create the SDK for " + sdkServiceUrl + ": " + e, e);
+		}
+		throw new BioSdkClientException(ResponseStatus.UNKNOWN_ERROR.getStatusCode() + "",
+				"No " + IBioApiV2.class.getSimpleName() + " implementation found for " + sdkServiceUrl);
+	}
+
+	private static Class<?> getClass(String name) {
+		try {
+			return Class.forName(name);
+		} catch (ClassNotFoundException e) {
+			return null;
+		}
+	}
+
+	public String getUrl() {
+		return url;
+	}
+
+	/**
+	 * Calls the SDK method the request is for.
+	 *
+	 * @return what the SDK method returned: the {@code SDKInfo} for init, the
+	 *         {@code Response} for the other operations
+	 */
+	public Object call(Object request) {
+		return switch (request) {
+		case InitRequestDto initRequest -> sdk.init(initRequest.getInitParams());
+		case MatchRequestDto matchRequest -> sdk.match(matchRequest.getSample(), matchRequest.getGallery(),
+				matchRequest.getModalitiesToMatch(), matchRequest.getFlags());
+		case CheckQualityRequestDto checkQualityRequest -> sdk.checkQuality(checkQualityRequest.getSample(),
+				checkQualityRequest.getModalitiesToCheck(), checkQualityRequest.getFlags());
+		case ExtractTemplateRequestDto extractTemplateRequest -> sdk.extractTemplate(
+				extractTemplateRequest.getSample(), extractTemplateRequest.getModalitiesToExtract(),
+				extractTemplateRequest.getFlags());
+		case SegmentRequestDto segmentRequest -> sdk.segment(segmentRequest.getSample(),
+				segmentRequest.getModalitiesToSegment(), segmentRequest.getFlags());
+		case ConvertFormatRequestDto convertFormatRequest -> sdk.convertFormatV2(convertFormatRequest.getSample(),
+				convertFormatRequest.getSourceFormat(), convertFormatRequest.getTargetFormat(),
+				convertFormatRequest.getSourceParams(), convertFormatRequest.getTargetParams(),
+				convertFormatRequest.getModalitiesToConvert());
+		default -> throw new IllegalArgumentException("Unsupported request " + request.getClass().getName());
+		};
+	}
+
+	@Override
+	public String toString() {
+		return url;
+	}
+}
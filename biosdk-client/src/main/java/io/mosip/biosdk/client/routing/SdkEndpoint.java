@@ -0,0 +1,187 @@
+package io.mosip.biosdk.client.routing;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.mosip.biosdk.client.resilience.CircuitBreaker;
+
+/**
+ * A single Bio-SDK service instance, tracking the requests currently in flight
+ * to it and whether it is temporarily excluded from routing after a failure.
+ * An optional {@link CircuitBreaker} rejects calls outright while the instance
+ * keeps failing. An instance is not routed to until its {@code /init} call
+ * has succeeded. Active health checks, if enabled, mark it healthy or not.
+ */
+public class SdkEndpoint {
+
+	private final String url;
+
+	private final AtomicInteger outstandingRequests = new AtomicInteger();
+
+	private final CircuitBreaker circuitBreaker;
+
+	private volatile long unavailableUntil;
+
+	private volatile boolean healthy = true;
+
+	private final CompletableFuture<Void> ready = new CompletableFuture<>();
+
+	public SdkEndpoint(String url) {
+		this(url, null);
+	}
+
+	public SdkEndpoint(String url, CircuitBreaker circuitBreaker) {
+		this.url = url;
+		this.circuitBreaker = circuitBreaker;
+	}
+
+	public String getUrl() {
+		return url;
+	}
+
+	public int getOutstandingRequests() {
+		return outstandingRequests.get();
+	}
+
+	public CircuitBreaker getCircuitBreaker() {
+		return circuitBreaker;
+	}
+
+	/**
+	 * Starts a request if the circuit breaker permits it, taking its probe slot
+	 * in the same step while the breaker is half-open. The request is to be
+	 * ended with {@link #requestFinished()}.
+	 *
+	 * @return the permit of the request, null if the breaker rejects it
+	 */
+	public Permit tryRequestStarted() {
+		int probeRound = circuitBreaker != null ? circuitBreaker.tryAcquirePermission() : -1;
+		if (probeRound == CircuitBreaker.NOT_PERMITTED) {
+			return null;
+		}
+		outstandingRequests.incrementAndGet();
+		return new Permit(this, probeRound);
+	}
+
+	public void requestFinished() {
+		outstandingRequests.decrementAndGet();
+	}
+
+	/**
+	 * @return false while the circuit breaker of this endpoint is open; the
+	 *         request is only permitted by {@link #tryRequestStarted()}
+	 */
+	public boolean isCallPermitted() {
+		return circuitBreaker == null || circuitBreaker.isCallPermitted();
+	}
+
+	/**
+	 * @return true once {@link #markReady()} was called
+	 */
+	public boolean isReady() {
+		return ready.isDone();
+	}
+
+	/**
+	 * Marks the endpoint as initialized, releasing the requests waiting for it.
+	 */
+	public void markReady() {
+		ready.complete(null);
+	}
+
+	/**
+	 * @return a future completed once the endpoint is ready
+	 */
+	public CompletableFuture<Void> getReadyFuture() {
+		return ready;
+	}
+
+	/**
+	 * @return false while the health checks find this endpoint down
+	 */
+	public boolean isHealthy() {
+		return healthy;
+	}
+
+	/**
+	 * Marks the endpoint up after a successful health check, also ending the
+	 * exclusion from routing of a previous failure.
+	 */
+	public void markHealthy() {
+		healthy = true;
+		if (unavailableUntil != 0) {
+			unavailableUntil = 0;
+		}
+	}
+
+	public void markUnhealthy() {
+		healthy = false;
+	}
+
+	public boolean isAvailable() {
+		return System.currentTimeMillis() >= unavailableUntil;
+	}
+
+	/**
+	 * Excludes this endpoint from routing for the given time, unless it is the
+	 * only choice left.
+	 */
+	public void markFailed(long cooldownMillis, long durationMillis) {
+		unavailableUntil = System.currentTimeMillis() + cooldownMillis;
+		if (circuitBreaker != null) {
+			circuitBreaker.onError(durationMillis);
+		}
+	}
+
+	public void markSucceeded(long durationMillis) {
+		if (unavailableUntil != 0) {
+			unavailableUntil = 0;
+		}
+		if (circuitBreaker != null) {
+			circuitBreaker.onSuccess(durationMillis);
+		}
+	}
+
+	/**
+	 * Records a request that ended neither marked failed nor succeeded, giving
+	 * back its circuit breaker probe slot if it had one.
+	 */
+	public void markAbandoned(int probeRound) {
+		if (circuitBreaker != null) {
+			circuitBreaker.onCallAbandoned(probeRound);
+		}
+	}
+
+	/**
+	 * Records a request given up when the caller's deadline passed, which
+	 * counts against the circuit breaker only if it was slow by then. The
+	 * endpoint is not excluded from routing for it.
+	 */
+	public void markDeadlineExceeded(int probeRound, long durationMillis) {
+		if (circuitBreaker != null) {
+			circuitBreaker.onDeadlineExceeded(probeRound, durationMillis);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return url;
+	}
+
+	/**
+	 * A request started on an endpoint by {@link #tryRequestStarted()}.
+	 *
+	 * @param probeRound the circuit breaker probe the request is, to be passed
+	 *                   to {@link SdkEndpoint#markAbandoned(int)}, -1 if none
+	 */
+	public record Permit(SdkEndpoint endpoint, int probeRound) {
+
+		/**
+		 * Ends a request that was never sent, giving back what it took.
+		 */
+		public void release() {
+			endpoint.requestFinished();
+			endpoint.markAbandoned(probeRound);
+		}
+	}
+}
@@ -0,0 +1,181 @@
+package io.mosip.biosdk.client.routing;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import io.mosip.biosdk.client.constant.ResponseStatus;
+import io.mosip.biosdk.client.exception.BioSdkClientException;
+import io.mosip.biosdk.client.resilience.Bulkhead;
+
+/**
+ * Replicas of the Bio-SDK service configured for one format. A replica is
+ * picked for each request as per the {@link Policy}; replicas that recently
+ * failed or fail their health checks are skipped while any other replica is
+ * available. Replicas not yet
+ * initialized or whose circuit breaker is open are never picked. An optional
+ * {@link Bulkhead} limits the requests in flight to the group as a whole.
+ */
+public class SdkEndpointGroup {
+
+	public enum Policy {
+		/** Pick the replica with the fewest requests in flight. */
+		LEAST_OUTSTANDING,
+		/**
+		 * Pick two replicas at random and use the one with fewer requests in
+		 * flight.
+		 */
+		POWER_OF_TWO_CHOICES;
+
+		public static Policy fromParam(String value) {
+			if (value != null && (value.equalsIgnoreCase("least-outstanding")
+					|| value.equalsIgnoreCase(LEAST_OUTSTANDING.name()))) {
+				return LEAST_OUTSTANDING;
+			}
+			return POWER_OF_TWO_CHOICES;
+		}
+	}
+
+	private final List<SdkEndpoint> endpoints;
+
+	private final Policy policy;
+
+	private final Bulkhead bulkhead;
+
+	public SdkEndpointGroup(List<SdkEndpoint> endpoints, Policy policy) {
+		this(endpoints, policy, null);
+	}
+
+	public SdkEndpointGroup(List<SdkEndpoint> endpoints, Policy policy, Bulkhead bulkhead) {
+		if (endpoints.isEmpty()) {
+			throw new IllegalArgumentException("No sdk service url in group");
+		}
+		this.endpoints = List.copyOf(endpoints);
+		this.policy = policy;
+		this.bulkhead = bulkhead;
+	}
+
+	public List<SdkEndpoint> getEndpoints() {
+		return endpoints;
+	}
+
+	/**
+	 * @return the bulkhead of the group, null if disabled
+	 */
+	public Bulkhead getBulkhead() {
+		return bulkhead;
+	}
+
+	/**
+	 * Picks a replica and starts the request on it, so that its circuit breaker
+	 * permission is taken in the same step as the replica is checked.
+	 *
+	 * @return the permit of the request, to be ended on the replica
+	 * @throws BioSdkClientException with status
+	 *                               {@link ResponseStatus#SERVICE_UNAVAILABLE}
+	 *                               when no replica is initialized yet or the
+	 *                               circuit breakers of all replicas are open
+	 */
+	public SdkEndpoint.Permit select() {
+		SdkEndpoint.Permit permit = select(null);
+		if (permit == null) {
+			String reason = isReady() ? "circuit open for " : "not initialized yet: ";
+			throw new BioSdkClientException(ResponseStatus.SERVICE_UNAVAILABLE.getStatusCode() + "",
+					String.format(ResponseStatus.SERVICE_UNAVAILABLE.getStatusMessage(), reason + this));
+		}
+		return permit;
+	}
+
+	/**
+	 * @return true once at least one replica is initialized
+	 */
+	public boolean isReady() {
+		return endpoints.stream().anyMatch(SdkEndpoint::isReady);
+	}
+
+	/**
+	 * Waits until at least one replica is initialized.
+	 *
+	 * @return false if none was within the given time
+	 */
+	public boolean awaitReady(long timeoutMillis) throws InterruptedException {
+		if (isReady()) {
+			return true;
+		}
+		if (timeoutMillis <= 0) {
+			return false;
+		}
+		CompletableFuture<?>[] readyFutures = endpoints.stream().map(SdkEndpoint::getReadyFuture)
+				.toArray(CompletableFuture[]::new);
+		try {
+			CompletableFuture.anyOf(readyFutures).get(timeoutMillis, TimeUnit.MILLISECONDS);
+			return true;
+		} catch (ExecutionException | TimeoutException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Picks a replica other than the given one and starts the request on it,
+	 * e.g. to send a hedged request.
+	 *
+	 * @return null if there is no other replica that can be called
+	 */
+	public SdkEndpoint.Permit selectOther(SdkEndpoint excluded) {
+		return select(excluded);
+	}
+
+	private SdkEndpoint.Permit select(SdkEndpoint excluded) {
+		List<SdkEndpoint> permitted = endpoints.stream()
+				.filter(endpoint -> endpoint != excluded && endpoint.isReady() && endpoint.isCallPermitted())
+				.collect(Collectors.toCollection(ArrayList::new));
+		while (!permitted.isEmpty()) {
+			SdkEndpoint endpoint = pick(permitted);
+			SdkEndpoint.Permit permit = endpoint.tryRequestStarted();
+			if (permit != null) {
+				return permit;
+			}
+			// Its breaker opened or its probe slots were taken since it was checked
+			permitted.remove(endpoint);
+		}
+		return null;
+	}
+
+	private SdkEndpoint pick(List<SdkEndpoint> permitted) {
+		if (permitted.size() == 1) {
+			return permitted.get(0);
+		}
+		List<SdkEndpoint> candidates = permitted.stream()
+				.filter(endpoint -> endpoint.isAvailable() && endpoint.isHealthy()).toList();
+		if (candidates.isEmpty()) {
+			// Everything failed recently or is down; keep trying rather than failing outright
+			candidates = permitted;
+		}
+		if (candidates.size() == 1) {
+			return candidates.get(0);
+		}
+		if (policy == Policy.LEAST_OUTSTANDING) {
+			return candidates.stream().min(Comparator.comparingInt(SdkEndpoint::getOutstandingRequests)).orElseThrow();
+		}
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		int first = random.nextInt(candidates.size());
+		int second = random.nextInt(candidates.size() - 1);
+		if (second >= first) {
+			second++;
+		}
+		SdkEndpoint a = candidates.get(first);
+		SdkEndpoint b = candidates.get(second);
+		return a.getOutstandingRequests() <= b.getOutstandingRequests() ? a : b;
+	}
+
+	@Override
+	public String toString() {
+		return endpoints.toString();
+	}
+}
@@ -0,0 +1,267 @@
+package io.mosip.biosdk.client.transport;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hc.client5.http.entity.InputStreamFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.UnknownHttpStatusCodeException;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+
+import io.mosip.biosdk.client.config.CompressionConfig;
+import io.mosip.biosdk.client.config.HttpClientConfig;
+import io.mosip.biosdk.client.config.TransportConfig;
+import io.mosip.biosdk.client.metrics.ConnectionPoolStats;
+import io.mosip.biosdk.client.metrics.ExchangeStats;
+import io.mosip.biosdk.client.resilience.Deadline;
+import io.mosip.biosdk.client.utils.Compression;
+import io.mosip.biosdk.client.utils.Util;
+
+/**
+ * {@link SdkTransport} over the JDK {@link HttpClient}. With HTTP/2, the
+ * default, requests to a service that supports it (h2c over plain HTTP, or
+ * negotiated through ALPN over TLS) are multiplexed as concurrent streams over
+ * a single connection per service, so that a slow {@code match} does not hold
+ * a connection that others wait for; other services are served over HTTP/1.1.
+ * <p>
+ * Request bodies are streamed through a publisher that writes them on a
+ * virtual thread as the connection asks for data. The read timeout applies to
+ * the response headers; the deadline, when bounded, to the whole exchange.
+ */
+public class JdkHttpTransport implements SdkTransport {
+
+	private static final String ACCEPT_ENCODING_HEADER = "Accept-Encoding";
+
+	private static final ScheduledThreadPoolExecutor ABORT_SCHEDULER;
+
+	static {
+		ABORT_SCHEDULER = new ScheduledThreadPoolExecutor(1, runnable -> {
+			Thread thread = new Thread(runnable, "biosdk-client-jdk-deadline");
+			thread.setDaemon(true);
+			return thread;
+		});
+		ABORT_SCHEDULER.setRemoveOnCancelPolicy(true);
+	}
+
+	private final HttpClientConfig config;
+
+	private final Map<String, InputStreamFactory> contentDecoders;
+
+	/** Writes the request bodies, each on a virtual thread of its own. */
+	private final Executor bodyWriter = runnable -> Thread.ofVirtual().name("biosdk-client-request-body")
+			.start(runnable);
+
+	private final HttpClient httpClient;
+
+	public JdkHttpTransport(HttpClientConfig config, CompressionConfig compressionConfig) {
+		this(config, compressionConfig, TransportConfig.defaults().getHttpVersion());
+	}
+
+	public JdkHttpTransport(HttpClientConfig config, CompressionConfig compressionConfig,
+			HttpClient.Version httpVersion) {
+		this.config = config;
+		this.contentDecoders = compressionConfig.isResponseCompression() ? Compression.getContentDecoders()
+				: Map.of();
+		this.httpClient = HttpClient.newBuilder().version(httpVersion)
+				.connectTimeout(Duration.ofMillis(config.getConnectTimeoutMs())).build();
+	}
+
+	@Override
+	public <T> ResponseEntity<T> post(String url, StreamingHttpOutputMessage.Body body, Map<String, String> headers,
+			Gson gson, Type responseType, Deadline deadline, ExchangeStats exchangeStats) {
+		Util.debugRequest(body);
+		StreamingHttpOutputMessage.Body requestBody = exchangeStats != null ? exchangeStats.measure(body) : body;
+		HttpRequest.Builder request = newRequest(url, deadline, config.getReadTimeoutMs())
+				.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+				.header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+				.POST(HttpRequest.BodyPublishers.fromPublisher(
+						new OutputStreamPublisher(requestBody, config.getRequestBufferBytes(), bodyWriter)));
+		if (!contentDecoders.isEmpty()) {
+			request.header(ACCEPT_ENCODING_HEADER, String.join(", ", contentDecoders.keySet()));
+		}
+		if (headers != null) {
+			headers.forEach(request::header);
+		}
+		try {
+			HttpResponse<InputStream> response = send(url, request.build(),
+					HttpResponse.BodyHandlers.ofInputStream());
+			// Closing the stream aborts the exchange, also when blocked reading
+			ScheduledFuture<?> abort = deadline.isBounded()
+					? ABORT_SCHEDULER.schedule(() -> closeQuietly(response.body()), untilExpired(deadline),
+							TimeUnit.MILLISECONDS)
+					: null;
+			try (InputStream wireStream = response.body();
+					InputStream responseStream = decode(response, wireStream)) {
+				ResponseEntity<T> responseEntity = read(response, responseStream, gson, responseType, exchangeStats);
+				Util.debugResponse(gson, responseEntity);
+				return responseEntity;
+			} catch (IOException e) {
+				throw new ResourceAccessException(
+						"I/O error on POST request for \"" + url + "\": " + e.getMessage(), e);
+			} finally {
+				if (abort != null) {
+					abort.cancel(false);
+				}
+			}
+		} catch (RestClientException e) {
+			Util.logRequestError(url, e);
+			throw e;
+		}
+	}
+
+	private <T> ResponseEntity<T> read(HttpResponse<InputStream> response, InputStream responseStream, Gson gson,
+			Type responseType, ExchangeStats exchangeStats) throws IOException {
+		HttpStatusCode statusCode = HttpStatusCode.valueOf(response.statusCode());
+		HttpHeaders headers = new HttpHeaders();
+		response.headers().map().forEach(headers::addAll);
+		if (statusCode.isError() || statusCode.value() >= 600) {
+			throw toException(statusCode, headers, responseStream.readAllBytes());
+		}
+		if (!statusCode.is2xxSuccessful()) {
+			return ResponseEntity.status(statusCode).headers(headers).build();
+		}
+		T responseBody;
+		long startTime = System.nanoTime();
+		InputStream in = exchangeStats != null ? exchangeStats.measure(responseStream) : responseStream;
+		try (JsonReader reader = new JsonReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+			responseBody = gson.fromJson(reader, responseType);
+		} finally {
+			if (exchangeStats != null) {
+				exchangeStats.addDecodeNanos(System.nanoTime() - startTime);
+			}
+		}
+		return ResponseEntity.status(statusCode).headers(headers).body(responseBody);
+	}
+
+	/**
+	 * @return the same exception {@code RestTemplate} throws for the status
+	 */
+	private static RestClientException toException(HttpStatusCode statusCode, HttpHeaders headers, byte[] body) {
+		HttpStatus status = HttpStatus.resolve(statusCode.value());
+		String statusText = status != null ? status.getReasonPhrase() : "";
+		if (statusCode.is4xxClientError()) {
+			return HttpClientErrorException.create(statusCode, statusText, headers, body, StandardCharsets.UTF_8);
+		}
+		if (statusCode.is5xxServerError()) {
+			return HttpServerErrorException.create(statusCode, statusText, headers, body, StandardCharsets.UTF_8);
+		}
+		return new UnknownHttpStatusCodeException(statusCode.value(), statusText, headers, body,
+				StandardCharsets.UTF_8);
+	}
+
+	private InputStream decode(HttpResponse<InputStream> response, InputStream body) throws IOException {
+		String contentCoding = response.headers().firstValue(HttpHeaders.CONTENT_ENCODING).orElse("identity").trim()
+				.toLowerCase(Locale.ROOT);
+		if (contentCoding.isEmpty() || contentCoding.equals("identity")) {
+			return body;
+		}
+		InputStreamFactory decoder = contentDecoders.get(contentCoding);
+		if (decoder == null) {
+			throw new IOException("Unsupported Content-Encoding: " + contentCoding);
+		}
+		return decoder.create(body);
+	}
+
+	@Override
+	public int probe(String url, Deadline deadline) {
+		HttpRequest request = newRequest(url, deadline, Long.MAX_VALUE).GET().build();
+		return send(url, request, HttpResponse.BodyHandlers.discarding()).statusCode();
+	}
+
+	/**
+	 * Opens the connection with a {@code GET} of the url, which also upgrades
+	 * it to HTTP/2 where supported; all requests to the service share it then.
+	 * Over HTTP/1.1 only the one connection is opened.
+	 */
+	@Override
+	public int warmConnections(String url, int count, long timeoutMillis) throws IOException {
+		if (count <= 0) {
+			return 0;
+		}
+		try {
+			probe(url, Deadline.after(timeoutMillis));
+		} catch (ResourceAccessException e) {
+			throw new IOException("Could not connect to " + url, e);
+		}
+		return 1;
+	}
+
+	private HttpRequest.Builder newRequest(String url, Deadline deadline, long timeoutMillis) {
+		long timeout = deadline.isBounded() ? Math.min(untilExpired(deadline), timeoutMillis) : timeoutMillis;
+		HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url));
+		if (timeout != Long.MAX_VALUE) {
+			request.timeout(Duration.ofMillis(timeout));
+		}
+		return request;
+	}
+
+	/**
+	 * Sends the request, mapping failures to the exceptions {@code RestTemplate}
+	 * throws. Interrupting the calling thread cancels the exchange.
+	 */
+	private <T> HttpResponse<T> send(String url, HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler) {
+		try {
+			return httpClient.send(request, bodyHandler);
+		} catch (IOException e) {
+			throw new ResourceAccessException(
+					"I/O error on " + request.method() + " request for \"" + url + "\": " + e.getMessage(), e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ResourceAccessException("Interrupted " + request.method() + " request for \"" + url + "\"");
+		}
+	}
+
+	/**
+	 * @return the time left rounded up, so that a timeout set to it does not
+	 *         fire before the deadline has passed
+	 */
+	private static long untilExpired(Deadline deadline) {
+		return Math.max(0, deadline.remainingMillis()) + 1;
+	}
+
+	private static void closeQuietly(InputStream body) {
+		try {
+			body.close();
+		} catch (IOException e) {
+			// Aborting anyway
+		}
+	}
+
+	/**
+	 * The JDK client does not expose its connections.
+	 */
+	@Override
+	public ConnectionPoolStats getConnectionPoolStats() {
+		return null;
+	}
+
+	@Override
+	public void close() {
+		httpClient.shutdown();
+	}
+}
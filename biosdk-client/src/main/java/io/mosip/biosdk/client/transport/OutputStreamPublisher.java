@@ -0,0 +1,163 @@
+package io.mosip.biosdk.client.transport;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.http.StreamingHttpOutputMessage;
+
+/**
+ * Publishes what a streaming body writes as a sequence of buffers, for the
+ * JDK {@link java.net.http.HttpClient}. The body is written on a thread of
+ * the given executor, which waits whenever the subscriber has no demand, so
+ * at most one chunk is held in memory beyond what the HTTP client has asked
+ * for. Each subscription writes the body anew.
+ */
+class OutputStreamPublisher implements Flow.Publisher<ByteBuffer> {
+
+	private final StreamingHttpOutputMessage.Body body;
+
+	private final int chunkSize;
+
+	private final Executor executor;
+
+	OutputStreamPublisher(StreamingHttpOutputMessage.Body body, int chunkSize, Executor executor) {
+		this.body = body;
+		this.chunkSize = chunkSize;
+		this.executor = executor;
+	}
+
+	@Override
+	public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+		BodySubscription subscription = new BodySubscription(subscriber);
+		subscriber.onSubscribe(subscription);
+		executor.execute(subscription::write);
+	}
+
+	private class BodySubscription extends OutputStream implements Flow.Subscription {
+
+		private final Flow.Subscriber<? super ByteBuffer> subscriber;
+
+		private final ReentrantLock lock = new ReentrantLock();
+
+		private final Condition demanded = lock.newCondition();
+
+		private long demand;
+
+		private boolean cancelled;
+
+		private byte[] chunk = new byte[chunkSize];
+
+		private int count;
+
+		BodySubscription(Flow.Subscriber<? super ByteBuffer> subscriber) {
+			this.subscriber = subscriber;
+		}
+
+		@Override
+		public void request(long n) {
+			lock.lock();
+			try {
+				if (n <= 0) {
+					cancelled = true;
+					subscriber.onError(new IllegalArgumentException("Non-positive request: " + n));
+				} else {
+					demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+				}
+				demanded.signal();
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		@Override
+		public void cancel() {
+			lock.lock();
+			try {
+				cancelled = true;
+				demanded.signal();
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		void write() {
+			try {
+				body.writeTo(this);
+				emit();
+				if (!isCancelled()) {
+					subscriber.onComplete();
+				}
+			} catch (Throwable e) {
+				if (!isCancelled()) {
+					subscriber.onError(e);
+				}
+			}
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			if (count == chunk.length) {
+				emit();
+			}
+			chunk[count++] = (byte) b;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			while (len > 0) {
+				if (count == chunk.length) {
+					emit();
+				}
+				int copied = Math.min(len, chunk.length - count);
+				System.arraycopy(b, off, chunk, count, copied);
+				count += copied;
+				off += copied;
+				len -= copied;
+			}
+		}
+
+		/**
+		 * Hands the current chunk over once the subscriber asks for one. The chunk
+		 * is not reused afterwards, as the HTTP client may still hold on to it.
+		 */
+		private void emit() throws IOException {
+			if (count == 0) {
+				return;
+			}
+			lock.lock();
+			try {
+				while (demand == 0 && !cancelled) {
+					demanded.await();
+				}
+				if (cancelled) {
+					throw new IOException("Request body cancelled");
+				}
+				demand--;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("Interrupted writing the request body");
+			} finally {
+				lock.unlock();
+			}
+			ByteBuffer buffer = ByteBuffer.wrap(chunk, 0, count);
+			chunk = new byte[chunkSize];
+			count = 0;
+			subscriber.onNext(buffer);
+		}
+
+		private boolean isCancelled() {
+			lock.lock();
+			try {
+				return cancelled;
+			} finally {
+				lock.unlock();
+			}
+		}
+	}
+}
@@ -0,0 +1,113 @@
+package io.mosip.biosdk.client.transport;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import com.google.gson.Gson;
+
+import io.mosip.biosdk.client.config.CompressionConfig;
+import io.mosip.biosdk.client.config.HttpClientConfig;
+import io.mosip.biosdk.client.metrics.ConnectionPoolStats;
+import io.mosip.biosdk.client.metrics.ExchangeStats;
+import io.mosip.biosdk.client.resilience.Deadline;
+import io.mosip.biosdk.client.utils.Util;
+
+/**
+ * {@link SdkTransport} over a Spring {@link RestTemplate} backed by the pooled,
+ * keep-alive Apache HttpClient: HTTP/1.1, with one request in flight per
+ * connection. This is the default transport.
+ * <p>
+ * Closing the transport shuts the connection pool down once the requests in
+ * flight have completed; requests started after it fail as an I/O error.
+ */
+public class RestTemplateTransport implements SdkTransport {
+
+	private final RestTemplate restTemplate;
+
+	/** Requests in flight, plus one until closed; the pool is shut down on reaching zero. */
+	private final AtomicInteger references = new AtomicInteger(1);
+
+	private final AtomicBoolean closed = new AtomicBoolean();
+
+	public RestTemplateTransport(HttpClientConfig config, CompressionConfig compressionConfig) {
+		this.restTemplate = Util.createRestTemplate(config, compressionConfig);
+	}
+
+	public RestTemplate getRestTemplate() {
+		return restTemplate;
+	}
+
+	@Override
+	public <T> ResponseEntity<T> post(String url, StreamingHttpOutputMessage.Body body, Map<String, String> headers,
+			Gson gson, Type responseType, Deadline deadline, ExchangeStats exchangeStats) {
+		acquire(url);
+		try {
+			return Util.restRequest(restTemplate, url, HttpMethod.POST, MediaType.APPLICATION_JSON, body, headers,
+					gson, responseType, deadline, exchangeStats);
+		} finally {
+			release();
+		}
+	}
+
+	@Override
+	public int probe(String url, Deadline deadline) {
+		acquire(url);
+		try {
+			return Util.probe(restTemplate, url, deadline);
+		} finally {
+			release();
+		}
+	}
+
+	@Override
+	public int warmConnections(String url, int count, long timeoutMillis) throws IOException {
+		acquire(url);
+		try {
+			return Util.warmConnections(restTemplate, url, count, timeoutMillis);
+		} finally {
+			release();
+		}
+	}
+
+	@Override
+	public ConnectionPoolStats getConnectionPoolStats() {
+		return Util.getConnectionPoolStats(restTemplate);
+	}
+
+	/**
+	 * Shuts the connection pool down once the requests in flight have
+	 * completed, right away if there are none.
+	 */
+	@Override
+	public void close() {
+		if (closed.compareAndSet(false, true)) {
+			release();
+		}
+	}
+
+	private void acquire(String url) {
+		int count;
+		do {
+			count = references.get();
+			if (count == 0) {
+				throw new ResourceAccessException("Transport closed, request to \"" + url + "\" not sent");
+			}
+		} while (!references.compareAndSet(count, count + 1));
+	}
+
+	private void release() {
+		if (references.decrementAndGet() == 0) {
+			Util.closeRestTemplate(restTemplate);
+		}
+	}
+}
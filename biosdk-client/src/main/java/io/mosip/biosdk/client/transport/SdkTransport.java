@@ -0,0 +1,69 @@
+package io.mosip.biosdk.client.transport;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.StreamingHttpOutputMessage;
+
+import com.google.gson.Gson;
+
+import io.mosip.biosdk.client.metrics.ConnectionPoolStats;
+import io.mosip.biosdk.client.metrics.ExchangeStats;
+import io.mosip.biosdk.client.resilience.Deadline;
+
+/**
+ * HTTP transport the requests to the Bio-SDK services are sent through.
+ * <p>
+ * Implementations report failures the way {@code RestTemplate} does, so that
+ * retries, circuit breakers and bulkheads classify them alike: I/O errors and
+ * timeouts as {@link org.springframework.web.client.ResourceAccessException},
+ * 4xx and 5xx responses as
+ * {@link org.springframework.web.client.HttpStatusCodeException}. A public
+ * constructor taking an {@link io.mosip.biosdk.client.config.HttpClientConfig}
+ * and an {@link io.mosip.biosdk.client.config.CompressionConfig} lets an
+ * implementation be selected by its class name.
+ */
+public interface SdkTransport extends AutoCloseable {
+
+	/**
+	 * Posts the body, written straight to the request stream, and binds the
+	 * response body to the given type by Gson in a single pass over the
+	 * response stream. The whole exchange is bounded by the deadline.
+	 *
+	 * @param exchangeStats records the payload sizes and the time spent writing
+	 *                      the request and decoding the response, if not null
+	 */
+	<T> ResponseEntity<T> post(String url, StreamingHttpOutputMessage.Body body, Map<String, String> headers,
+			Gson gson, Type responseType, Deadline deadline, ExchangeStats exchangeStats);
+
+	/**
+	 * Sends a {@code GET} without body to the url, bounded by the given deadline.
+	 *
+	 * @return the status of the response, whether successful or not
+	 */
+	int probe(String url, Deadline deadline);
+
+	/**
+	 * Opens connections to the host of the url ahead of the requests, up to the
+	 * given number where the transport keeps one connection per request in
+	 * flight.
+	 *
+	 * @return the number of connections opened
+	 * @throws IOException if a connection could not be opened in time
+	 */
+	int warmConnections(String url, int count, long timeoutMillis) throws IOException;
+
+	/**
+	 * @return the connection pool statistics, null if the transport does not
+	 *         expose them
+	 */
+	ConnectionPoolStats getConnectionPoolStats();
+
+	/**
+	 * Releases the connections; requests in flight are let to complete.
+	 */
+	@Override
+	void close();
+}
@@ -0,0 +1,126 @@
+package io.mosip.biosdk.client.utils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Gson adapter for {@code byte[]} values (BDB, SB etc.). In compact mode they
+ * are written as base64 strings instead of JSON arrays of numbers, which are
+ * 4-5 times the raw size; otherwise they are written as number arrays, the
+ * same as Gson's default.
+ * <p>
+ * Reading accepts both forms, so responses from SDK services that still send
+ * number arrays are decoded as before. Number arrays are read into chunks,
+ * borrowed from a {@link BufferPool} if given, and copied once into an array
+ * of the exact size, rather than into a growing buffer that is copied each
+ * time it fills up.
+ */
+public class Base64ByteArrayTypeAdapter extends TypeAdapter<byte[]> {
+
+	/** Size of the first chunk, enough for small fields without using the pool. */
+	private static final int FIRST_CHUNK_BYTES = 256;
+
+	private final boolean writeBase64;
+
+	private final BufferPool bufferPool;
+
+	public Base64ByteArrayTypeAdapter(boolean writeBase64) {
+		this(writeBase64, null);
+	}
+
+	/**
+	 * @param bufferPool pool to borrow the chunks of number arrays from, or
+	 *                   {@code null} to allocate them
+	 */
+	public Base64ByteArrayTypeAdapter(boolean writeBase64, BufferPool bufferPool) {
+		this.writeBase64 = writeBase64;
+		this.bufferPool = bufferPool;
+	}
+
+	@Override
+	public void write(JsonWriter out, byte[] value) throws IOException {
+		if (value == null) {
+			out.nullValue();
+		} else if (writeBase64) {
+			out.value(Base64.getEncoder().encodeToString(value));
+		} else {
+			out.beginArray();
+			for (byte b : value) {
+				out.value(b);
+			}
+			out.endArray();
+		}
+	}
+
+	@Override
+	public byte[] read(JsonReader in) throws IOException {
+		JsonToken token = in.peek();
+		switch (token) {
+		case NULL:
+			in.nextNull();
+			return null;
+		case STRING:
+			return decode(in.nextString());
+		case BEGIN_ARRAY:
+			return readArray(in);
+		default:
+			throw new IOException("Expected base64 string or array for byte[] but was " + token);
+		}
+	}
+
+	private byte[] readArray(JsonReader in) throws IOException {
+		byte[] chunk = new byte[FIRST_CHUNK_BYTES];
+		List<byte[]> fullChunks = null;
+		int count = 0;
+		int total = 0;
+		try {
+			in.beginArray();
+			while (in.hasNext()) {
+				if (count == chunk.length) {
+					if (fullChunks == null) {
+						fullChunks = new ArrayList<>();
+					}
+					fullChunks.add(chunk);
+					chunk = bufferPool != null ? bufferPool.acquire() : new byte[Math.max(chunk.length, total) * 2];
+					count = 0;
+				}
+				chunk[count++] = (byte) in.nextInt();
+				total++;
+			}
+			in.endArray();
+			if (fullChunks == null) {
+				return Arrays.copyOf(chunk, count);
+			}
+			byte[] value = new byte[total];
+			int offset = 0;
+			for (byte[] fullChunk : fullChunks) {
+				System.arraycopy(fullChunk, 0, value, offset, fullChunk.length);
+				offset += fullChunk.length;
+			}
+			System.arraycopy(chunk, 0, value, offset, count);
+			return value;
+		} finally {
+			if (bufferPool != null) {
+				bufferPool.release(chunk);
+				if (fullChunks != null) {
+					fullChunks.forEach(bufferPool::release);
+				}
+			}
+		}
+	}
+
+	private static byte[] decode(String value) {
+		if (value.indexOf('-') >= 0 || value.indexOf('_') >= 0) {
+			return Base64.getUrlDecoder().decode(value);
+		}
+		return Base64.getDecoder().decode(value);
+	}
+}
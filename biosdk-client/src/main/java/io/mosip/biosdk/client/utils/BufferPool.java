@@ -0,0 +1,58 @@
+package io.mosip.biosdk.client.utils;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.mosip.biosdk.client.metrics.BufferPoolStats;
+
+/**
+ * Bounded pool of equally sized byte buffers, reused across requests for
+ * encoding request bodies and decoding binary fields of responses instead of
+ * allocating new ones for each. When the pool is empty a new buffer is
+ * allocated (a miss); buffers given back to a full pool are left to the
+ * garbage collector.
+ */
+public class BufferPool {
+
+	private final int bufferSize;
+
+	private final ArrayBlockingQueue<byte[]> buffers;
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	public BufferPool(int bufferSize, int maxBuffers) {
+		this.bufferSize = bufferSize;
+		this.buffers = new ArrayBlockingQueue<>(maxBuffers);
+	}
+
+	public int getBufferSize() {
+		return bufferSize;
+	}
+
+	/**
+	 * @return a buffer of {@link #getBufferSize()} bytes, to be given back with
+	 *         {@link #release(byte[])} once no longer used
+	 */
+	public byte[] acquire() {
+		byte[] buffer = buffers.poll();
+		if (buffer != null) {
+			hits.increment();
+			return buffer;
+		}
+		misses.increment();
+		return new byte[bufferSize];
+	}
+
+	public void release(byte[] buffer) {
+		if (buffer != null && buffer.length == bufferSize) {
+			buffers.offer(buffer);
+		}
+	}
+
+	public BufferPoolStats getStats() {
+		return new BufferPoolStats(buffers.size(), buffers.size() + buffers.remainingCapacity(), bufferSize,
+				hits.sum(), misses.sum());
+	}
+}
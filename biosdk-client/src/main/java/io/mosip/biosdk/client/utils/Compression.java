@@ -0,0 +1,171 @@
+package io.mosip.biosdk.client.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.hc.client5.http.entity.DeflateInputStreamFactory;
+import org.apache.hc.client5.http.entity.GZIPInputStreamFactory;
+import org.apache.hc.client5.http.entity.InputStreamFactory;
+import org.springframework.http.StreamingHttpOutputMessage;
+
+import com.github.luben.zstd.ZstdInputStream;
+import com.github.luben.zstd.ZstdOutputStream;
+
+/**
+ * Content codings of the request and response bodies. gzip comes with the
+ * JDK; zstd needs {@code com.github.luben:zstd-jni} on the classpath, which
+ * is an optional dependency of this library.
+ */
+public class Compression {
+
+	public static final String CONTENT_ENCODING_HEADER = "Content-Encoding";
+
+	public enum Encoding {
+		NONE(null), GZIP("gzip"), ZSTD("zstd");
+
+		private final String contentCoding;
+
+		Encoding(String contentCoding) {
+			this.contentCoding = contentCoding;
+		}
+
+		/**
+		 * @return the {@code Content-Encoding} header value, null for none
+		 */
+		public String getContentCoding() {
+			return contentCoding;
+		}
+
+		public static Encoding fromParam(String value) {
+			if (value != null) {
+				for (Encoding encoding : values()) {
+					if (encoding.name().equalsIgnoreCase(value.trim())) {
+						return encoding;
+					}
+				}
+			}
+			return NONE;
+		}
+	}
+
+	private static final boolean ZSTD_AVAILABLE = isClassPresent("com.github.luben.zstd.ZstdOutputStream");
+
+	private Compression() {
+		throw new IllegalStateException("Compression class");
+	}
+
+	public static boolean isZstdAvailable() {
+		return ZSTD_AVAILABLE;
+	}
+
+	/**
+	 * Wraps a request body so that it is compressed while being written.
+	 *
+	 * @param level the compression level, negative for the codec's default
+	 */
+	public static CompressedRequestBody compress(StreamingHttpOutputMessage.Body body, Encoding encoding, int level,
+			int bufferSize) {
+		return new CompressedRequestBody(body, encoding, level, bufferSize);
+	}
+
+	/**
+	 * @return the decoders of the response content codings to accept, in order
+	 *         of preference; zstd is included when available
+	 */
+	public static LinkedHashMap<String, InputStreamFactory> getContentDecoders() {
+		LinkedHashMap<String, InputStreamFactory> decoders = new LinkedHashMap<>();
+		if (ZSTD_AVAILABLE) {
+			decoders.put(Encoding.ZSTD.getContentCoding(), Zstd::input);
+		}
+		decoders.put("gzip", GZIPInputStreamFactory.getInstance());
+		decoders.put("x-gzip", GZIPInputStreamFactory.getInstance());
+		decoders.put("deflate", DeflateInputStreamFactory.getInstance());
+		return decoders;
+	}
+
+	private static boolean isClassPresent(String className) {
+		try {
+			Class.forName(className, false, Compression.class.getClassLoader());
+			return true;
+		} catch (ClassNotFoundException | LinkageError e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Request body compressed with the given encoding on the fly, so the
+	 * compressed form is never held in memory as a whole either.
+	 */
+	public static class CompressedRequestBody implements StreamingHttpOutputMessage.Body {
+
+		private final StreamingHttpOutputMessage.Body body;
+
+		private final Encoding encoding;
+
+		private final int level;
+
+		private final int bufferSize;
+
+		private CompressedRequestBody(StreamingHttpOutputMessage.Body body, Encoding encoding, int level,
+				int bufferSize) {
+			this.body = body;
+			this.encoding = encoding;
+			this.level = level;
+			this.bufferSize = bufferSize;
+		}
+
+		/**
+		 * @return the uncompressed body
+		 */
+		public StreamingHttpOutputMessage.Body getBody() {
+			return body;
+		}
+
+		public Encoding getEncoding() {
+			return encoding;
+		}
+
+		@Override
+		public void writeTo(OutputStream outputStream) throws IOException {
+			// Closing the compressing stream writes its trailer and frees the
+			// native codec memory, but must leave the request stream open.
+			try (OutputStream out = open(new NonClosingOutputStream(outputStream))) {
+				body.writeTo(out);
+			}
+		}
+
+		private OutputStream open(OutputStream outputStream) throws IOException {
+			return switch (encoding) {
+			case GZIP -> new GZIPOutputStream(outputStream, bufferSize) {
+				{
+					def.setLevel(level < 0 ? Deflater.DEFAULT_COMPRESSION : level);
+				}
+			};
+			case ZSTD -> Zstd.output(outputStream, level);
+			case NONE -> outputStream;
+			};
+		}
+	}
+
+	/**
+	 * Keeps the zstd-jni classes from being loaded unless zstd is used.
+	 */
+	private static class Zstd {
+
+		static OutputStream output(OutputStream outputStream, int level) throws IOException {
+			ZstdOutputStream out = new ZstdOutputStream(outputStream);
+			if (level >= 0) {
+				out.setLevel(level);
+			}
+			return out;
+		}
+
+		static InputStream input(InputStream inputStream) throws IOException {
+			return new ZstdInputStream(inputStream);
+		}
+	}
+}
@@ -0,0 +1,158 @@
+package io.mosip.biosdk.client.utils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+import io.mosip.biosdk.client.config.TimeoutConfig;
+import io.mosip.kernel.biometrics.constant.BiometricType;
+import io.mosip.kernel.biometrics.entities.BDBInfo;
+import io.mosip.kernel.biometrics.entities.BIR;
+import io.mosip.kernel.biometrics.entities.BIRInfo;
+import io.mosip.kernel.biometrics.entities.BiometricRecord;
+import io.mosip.kernel.biometrics.entities.RegistryIDType;
+
+/**
+ * Builds content-addressed keys for SDK requests: a SHA-256 digest over the
+ * operation, the target SDK service, the sample, the requested modalities and
+ * the flags. The sample is digested with its record and segment information
+ * and other entries, and for each segment the BDB bytes with their labels
+ * (type, subtype, format, level and purpose) and the security block with its
+ * format, since an SDK may base its result on any of them or copy them into
+ * it. Two requests with equal keys are expected to produce the same SDK
+ * result.
+ */
+public class ContentHash {
+
+	private ContentHash() {
+		throw new IllegalStateException("ContentHash class");
+	}
+
+	public static String of(String operation, String sdkServiceUrl, BiometricRecord sample,
+			List<BiometricType> modalities, Map<String, String> flags) {
+		MessageDigest digest = newDigest();
+		update(digest, operation);
+		update(digest, sdkServiceUrl);
+		if (sample != null) {
+			update(digest, sample.getBirInfo());
+			update(digest, sample.getOthers());
+			if (sample.getSegments() != null) {
+				for (BIR bir : sample.getSegments()) {
+					update(digest, bir);
+				}
+			}
+		}
+		if (modalities != null) {
+			for (BiometricType modality : modalities) {
+				update(digest, modality == null ? null : modality.name());
+			}
+		}
+		if (flags != null) {
+			// Sorted so that the key does not depend on the map's iteration order
+			for (Map.Entry<String, String> flag : new TreeMap<>(flags).entrySet()) {
+				if (flag.getKey().equals(TimeoutConfig.TIMEOUT_FLAG)) {
+					// Does not affect the result
+					continue;
+				}
+				update(digest, flag.getKey());
+				update(digest, flag.getValue());
+			}
+		}
+		return HexFormat.of().formatHex(digest.digest());
+	}
+
+	private static void update(MessageDigest digest, BIR bir) {
+		if (bir == null) {
+			update(digest, (byte[]) null);
+			return;
+		}
+		update(digest, bir.getBirInfo());
+		update(digest, bir.getBdbInfo());
+		update(digest, bir.getBdb());
+		update(digest, bir.getSb());
+		RegistryIDType sbFormat = bir.getSbInfo() == null ? null : bir.getSbInfo().getFormat();
+		update(digest, sbFormat == null ? null : sbFormat.getOrganization());
+		update(digest, sbFormat == null ? null : sbFormat.getType());
+		update(digest, bir.getOthers());
+		if (bir.getBirs() != null) {
+			for (BIR child : bir.getBirs()) {
+				update(digest, child);
+			}
+		}
+	}
+
+	/**
+	 * The segment labels the SDK copies into or bases its response on, so that
+	 * equal bytes labelled differently do not share a key.
+	 */
+	private static void update(MessageDigest digest, BDBInfo bdbInfo) {
+		if (bdbInfo == null) {
+			update(digest, (byte[]) null);
+			return;
+		}
+		update(digest, bdbInfo.getType() == null ? null
+				: bdbInfo.getType().stream().map(type -> type == null ? "" : type.name()).toList().toString());
+		update(digest, bdbInfo.getSubtype() == null ? null : bdbInfo.getSubtype().toString());
+		RegistryIDType format = bdbInfo.getFormat();
+		update(digest, format == null ? null : format.getOrganization());
+		update(digest, format == null ? null : format.getType());
+		update(digest, bdbInfo.getLevel() == null ? null : bdbInfo.getLevel().name());
+		update(digest, bdbInfo.getPurpose() == null ? null : bdbInfo.getPurpose().name());
+	}
+
+	private static void update(MessageDigest digest, BIRInfo birInfo) {
+		if (birInfo == null) {
+			update(digest, (byte[]) null);
+			return;
+		}
+		update(digest, birInfo.getCreator());
+		update(digest, birInfo.getIndex());
+		update(digest, birInfo.getPayload());
+		update(digest, Objects.toString(birInfo.getIntegrity(), null));
+		update(digest, Objects.toString(birInfo.getCreationDate(), null));
+		update(digest, Objects.toString(birInfo.getNotValidBefore(), null));
+		update(digest, Objects.toString(birInfo.getNotValidAfter(), null));
+	}
+
+	private static void update(MessageDigest digest, Map<String, String> others) {
+		if (others == null) {
+			update(digest, (byte[]) null);
+			return;
+		}
+		update(digest, String.valueOf(others.size()));
+		// Sorted so that the key does not depend on the map's iteration order
+		Map<String, String> sortedOthers = new TreeMap<>(Comparator.nullsFirst(Comparator.<String>naturalOrder()));
+		sortedOthers.putAll(others);
+		for (Map.Entry<String, String> other : sortedOthers.entrySet()) {
+			update(digest, other.getKey());
+			update(digest, other.getValue());
+		}
+	}
+
+	private static void update(MessageDigest digest, String value) {
+		update(digest, value == null ? null : value.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static void update(MessageDigest digest, byte[] value) {
+		// Length prefix keeps adjacent fields from running into each other
+		digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(value == null ? -1 : value.length).array());
+		if (value != null) {
+			digest.update(value);
+		}
+	}
+
+	private static MessageDigest newDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,130 @@
+package io.mosip.biosdk.client.utils;
+
+import java.net.URI;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.apache.hc.client5.http.classic.HttpClient;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.concurrent.Cancellable;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import io.mosip.biosdk.client.config.HttpClientConfig;
+import io.mosip.biosdk.client.resilience.Deadline;
+
+/**
+ * Request factory which bounds the requests made within
+ * {@link #execute(Deadline, Supplier)} by the given deadline. The connect,
+ * connection lease and read timeouts are cut down to the time left, and the
+ * exchange is aborted when the deadline passes, so writing the request body
+ * and reading the response cannot outlive it either.
+ */
+public class DeadlineHttpRequestFactory extends HttpComponentsClientHttpRequestFactory {
+
+	private static final ThreadLocal<DeadlineScope> CURRENT_SCOPE = new ThreadLocal<>();
+
+	private static final ScheduledThreadPoolExecutor ABORT_SCHEDULER;
+
+	static {
+		ABORT_SCHEDULER = new ScheduledThreadPoolExecutor(1, runnable -> {
+			Thread thread = new Thread(runnable, "biosdk-client-deadline");
+			thread.setDaemon(true);
+			return thread;
+		});
+		ABORT_SCHEDULER.setRemoveOnCancelPolicy(true);
+	}
+
+	private final RequestConfig defaultRequestConfig;
+
+	private final HttpClientConfig config;
+
+	private final PoolingHttpClientConnectionManager connectionManager;
+
+	public DeadlineHttpRequestFactory(HttpClient httpClient, RequestConfig defaultRequestConfig,
+			HttpClientConfig config, PoolingHttpClientConnectionManager connectionManager) {
+		super(httpClient);
+		this.defaultRequestConfig = defaultRequestConfig;
+		this.config = config;
+		this.connectionManager = connectionManager;
+	}
+
+	public PoolingHttpClientConnectionManager getConnectionManager() {
+		return connectionManager;
+	}
+
+	public HttpClientConfig getConfig() {
+		return config;
+	}
+
+	/**
+	 * Runs the call with the given deadline applied to the requests it creates
+	 * through this factory on the current thread.
+	 */
+	public static <T> T execute(Deadline deadline, Supplier<T> call) {
+		if (!deadline.isBounded()) {
+			return call.get();
+		}
+		DeadlineScope previousScope = CURRENT_SCOPE.get();
+		DeadlineScope scope = new DeadlineScope(deadline);
+		CURRENT_SCOPE.set(scope);
+		try {
+			return call.get();
+		} finally {
+			if (scope.abort != null) {
+				scope.abort.cancel(false);
+			}
+			if (previousScope != null) {
+				CURRENT_SCOPE.set(previousScope);
+			} else {
+				CURRENT_SCOPE.remove();
+			}
+		}
+	}
+
+	@Override
+	@SuppressWarnings("deprecation")
+	protected HttpContext createHttpContext(HttpMethod httpMethod, URI uri) {
+		DeadlineScope scope = CURRENT_SCOPE.get();
+		if (scope == null) {
+			return super.createHttpContext(httpMethod, uri);
+		}
+		long remaining = Math.max(1, scope.deadline.remainingMillis());
+		RequestConfig requestConfig = RequestConfig.copy(defaultRequestConfig)
+				.setConnectionRequestTimeout(Timeout.ofMilliseconds(
+						Math.min(remaining, config.getConnectionRequestTimeoutMs())))
+				.setConnectTimeout(Timeout.ofMilliseconds(Math.min(remaining, config.getConnectTimeoutMs())))
+				.setResponseTimeout(Timeout.ofMilliseconds(Math.min(remaining, config.getReadTimeoutMs())))
+				.build();
+		HttpClientContext context = HttpClientContext.create();
+		context.setRequestConfig(requestConfig);
+		return context;
+	}
+
+	@Override
+	protected void postProcessHttpRequest(ClassicHttpRequest request) {
+		DeadlineScope scope = CURRENT_SCOPE.get();
+		if (scope != null && request instanceof Cancellable cancellable) {
+			scope.abort = ABORT_SCHEDULER.schedule(cancellable::cancel, Math.max(0, scope.deadline.remainingMillis()),
+					TimeUnit.MILLISECONDS);
+		}
+	}
+
+	private static class DeadlineScope {
+
+		private final Deadline deadline;
+
+		private ScheduledFuture<?> abort;
+
+		DeadlineScope(Deadline deadline) {
+			this.deadline = deadline;
+		}
+	}
+}
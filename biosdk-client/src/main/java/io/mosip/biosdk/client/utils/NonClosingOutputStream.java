@@ -0,0 +1,26 @@
+package io.mosip.biosdk.client.utils;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Lets an encoding stream be closed to finish its output without closing the
+ * stream it writes to.
+ */
+class NonClosingOutputStream extends FilterOutputStream {
+
+	NonClosingOutputStream(OutputStream out) {
+		super(out);
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		out.write(b, off, len);
+	}
+
+	@Override
+	public void close() throws IOException {
+		flush();
+	}
+}
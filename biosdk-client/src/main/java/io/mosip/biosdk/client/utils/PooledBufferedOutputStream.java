@@ -0,0 +1,75 @@
+package io.mosip.biosdk.client.utils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Buffered output stream with a buffer borrowed from a {@link BufferPool}.
+ * Closing it flushes the buffer and gives it back, but leaves the stream it
+ * writes to open.
+ */
+class PooledBufferedOutputStream extends OutputStream {
+
+	private final OutputStream out;
+
+	private final BufferPool bufferPool;
+
+	private byte[] buffer;
+
+	private int count;
+
+	PooledBufferedOutputStream(OutputStream out, BufferPool bufferPool) {
+		this.out = out;
+		this.bufferPool = bufferPool;
+		this.buffer = bufferPool.acquire();
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		if (count == buffer.length) {
+			flushBuffer();
+		}
+		buffer[count++] = (byte) b;
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		if (len >= buffer.length) {
+			// Larger than the buffer; no point in copying it
+			flushBuffer();
+			out.write(b, off, len);
+			return;
+		}
+		if (len > buffer.length - count) {
+			flushBuffer();
+		}
+		System.arraycopy(b, off, buffer, count, len);
+		count += len;
+	}
+
+	@Override
+	public void flush() throws IOException {
+		flushBuffer();
+		out.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (buffer == null) {
+			return;
+		}
+		try {
+			flush();
+		} finally {
+			bufferPool.release(buffer);
+			buffer = null;
+		}
+	}
+
+	private void flushBuffer() throws IOException {
+		if (count > 0) {
+			out.write(buffer, 0, count);
+			count = 0;
+		}
+	}
+}
@@ -0,0 +1,82 @@
+package io.mosip.biosdk.client.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.mosip.biosdk.client.constant.ResponseStatus;
+import io.mosip.biosdk.client.exception.BioSdkClientException;
+import io.mosip.kernel.biometrics.model.Response;
+
+/**
+ * Combines the responses of the parts a call was split into, such as the
+ * gallery chunks of a match or the modalities of a fan-out. The status is the
+ * first non-success status of a part, with the messages of all failed parts;
+ * otherwise the message of the first part.
+ */
+public class ResponseAggregator<T> {
+
+	private final List<T> results = new ArrayList<>();
+
+	private int statusCode = ResponseStatus.SUCCESS.getStatusCode();
+
+	private String statusMessage;
+
+	private final StringBuilder failedStatusMessages = new StringBuilder();
+
+	/**
+	 * @param part names the part in the status message
+	 */
+	public void add(String part, Response<T> response) {
+		Integer partStatusCode = response.getStatusCode();
+		if (partStatusCode != null && partStatusCode != ResponseStatus.SUCCESS.getStatusCode()) {
+			if (failedStatusMessages.length() == 0) {
+				statusCode = partStatusCode;
+			}
+			failedStatusMessages.append(part).append(": ").append(response.getStatusMessage())
+					.append(System.lineSeparator());
+		} else if (statusMessage == null) {
+			statusMessage = response.getStatusMessage();
+		}
+		if (response.getResponse() != null) {
+			results.add(response.getResponse());
+		}
+	}
+
+	/**
+	 * @return the results of the parts added, in the order added, leaving out
+	 *         parts without one
+	 */
+	public List<T> getResults() {
+		return results;
+	}
+
+	/**
+	 * @return the combined response, holding the given result
+	 */
+	public <R> Response<R> toResponse(R result) {
+		Response<R> response = new Response<>();
+		response.setStatusCode(statusCode);
+		if (failedStatusMessages.length() > 0) {
+			response.setStatusMessage(failedStatusMessages.toString());
+		} else {
+			response.setStatusMessage(statusMessage != null ? statusMessage : "");
+		}
+		response.setResponse(result);
+		return response;
+	}
+
+	/**
+	 * @return the failure of the whole call for the failure of a part, keeping
+	 *         a specific status of the part such as an exceeded deadline
+	 */
+	public static BioSdkClientException failure(String part, Throwable cause) {
+		String errorCode = ResponseStatus.UNKNOWN_ERROR.getStatusCode() + "";
+		String errorText = cause.getLocalizedMessage();
+		if (cause instanceof BioSdkClientException bioSdkClientException
+				&& bioSdkClientException.getErrorCode() != null) {
+			errorCode = bioSdkClientException.getErrorCode();
+			errorText = bioSdkClientException.getErrorText();
+		}
+		return new BioSdkClientException(errorCode, part + ": " + errorText, cause);
+	}
+}
@@ -0,0 +1,159 @@
+package io.mosip.biosdk.client.utils;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import io.mosip.biosdk.client.dto.ErrorDto;
+import io.mosip.biosdk.client.dto.ResponseDto;
+
+/**
+ * Gson factory reading the {@link ResponseDto} envelope of the SDK services so
+ * that its {@code errors} are not lost to a payload that does not bind.
+ * <p>
+ * An error envelope may carry a {@code response} of another shape than the
+ * one of a success, a message for instance. The payload is skipped if the
+ * errors came first; otherwise, if it fails to bind, the rest of it is skipped
+ * and the envelope is returned without it when it has errors, so that they
+ * are reported as sent by the service. Without errors, the binding failure is
+ * thrown. Writing is left to Gson.
+ */
+public class ResponseDtoTypeAdapterFactory implements TypeAdapterFactory {
+
+	private static final TypeToken<List<ErrorDto>> ERRORS_TYPE = new TypeToken<>() {
+	};
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+		if (type.getRawType() != ResponseDto.class) {
+			return null;
+		}
+		Type payloadType = type.getType() instanceof ParameterizedType parameterizedType
+				? parameterizedType.getActualTypeArguments()[0]
+				: Object.class;
+		return (TypeAdapter<T>) new ResponseDtoTypeAdapter<>(
+				(TypeAdapter<ResponseDto<Object>>) gson.getDelegateAdapter(this, type),
+				(TypeAdapter<Object>) gson.getAdapter(TypeToken.get(payloadType)), gson.getAdapter(String.class),
+				gson.getAdapter(ERRORS_TYPE));
+	}
+
+	private static class ResponseDtoTypeAdapter<P> extends TypeAdapter<ResponseDto<P>> {
+
+		private final TypeAdapter<ResponseDto<P>> delegate;
+
+		private final TypeAdapter<P> payloadAdapter;
+
+		private final TypeAdapter<String> stringAdapter;
+
+		private final TypeAdapter<List<ErrorDto>> errorsAdapter;
+
+		ResponseDtoTypeAdapter(TypeAdapter<ResponseDto<P>> delegate, TypeAdapter<P> payloadAdapter,
+				TypeAdapter<String> stringAdapter, TypeAdapter<List<ErrorDto>> errorsAdapter) {
+			this.delegate = delegate;
+			this.payloadAdapter = payloadAdapter;
+			this.stringAdapter = stringAdapter;
+			this.errorsAdapter = errorsAdapter;
+		}
+
+		@Override
+		public void write(JsonWriter out, ResponseDto<P> value) throws IOException {
+			delegate.write(out, value);
+		}
+
+		@Override
+		public ResponseDto<P> read(JsonReader in) throws IOException {
+			if (in.peek() == JsonToken.NULL) {
+				in.nextNull();
+				return null;
+			}
+			ResponseDto<P> responseDto = new ResponseDto<>();
+			Exception payloadFailure = null;
+			in.beginObject();
+			while (in.hasNext()) {
+				switch (in.nextName()) {
+				case "version" -> responseDto.setVersion(stringAdapter.read(in));
+				case "responsetime" -> responseDto.setResponsetime(stringAdapter.read(in));
+				case "errors" -> responseDto.setErrors(errorsAdapter.read(in));
+				case "response" -> {
+					if (hasErrors(responseDto)) {
+						in.skipValue();
+					} else {
+						payloadFailure = readPayload(in, responseDto);
+					}
+				}
+				default -> in.skipValue();
+				}
+			}
+			in.endObject();
+			if (payloadFailure != null) {
+				if (hasErrors(responseDto)) {
+					responseDto.setResponse(null);
+				} else if (payloadFailure instanceof IOException ioException) {
+					throw ioException;
+				} else {
+					throw (RuntimeException) payloadFailure;
+				}
+			}
+			return responseDto;
+		}
+
+		/**
+		 * Binds the payload, or skips what is left of it if it does not bind.
+		 *
+		 * @return the binding failure, null if bound
+		 * @throws IOException the binding failure, if the rest of the payload
+		 *                     cannot be skipped either
+		 */
+		private Exception readPayload(JsonReader in, ResponseDto<P> responseDto) throws IOException {
+			String payloadPath = in.getPath();
+			try {
+				responseDto.setResponse(payloadAdapter.read(in));
+				return null;
+			} catch (IOException | JsonParseException | IllegalStateException | NumberFormatException e) {
+				try {
+					skipRest(in, payloadPath);
+				} catch (IOException | RuntimeException skipFailure) {
+					e.addSuppressed(skipFailure);
+					throw e;
+				}
+				return e;
+			}
+		}
+
+		/**
+		 * Moves the reader past the payload at the given path, however far into
+		 * it the failed binding got.
+		 */
+		private static void skipRest(JsonReader in, String payloadPath) throws IOException {
+			while (!in.getPath().equals(payloadPath)) {
+				switch (in.peek()) {
+				case END_OBJECT -> in.endObject();
+				case END_ARRAY -> in.endArray();
+				case NAME -> in.nextName();
+				default -> in.skipValue();
+				}
+			}
+			JsonToken token = in.peek();
+			if (token != JsonToken.NAME && token != JsonToken.END_OBJECT) {
+				// Failed before reading anything
+				in.skipValue();
+			}
+		}
+
+		private static boolean hasErrors(ResponseDto<?> responseDto) {
+			List<ErrorDto> errors = responseDto.getErrors();
+			return errors != null && errors.stream().anyMatch(error -> error != null);
+		}
+	}
+}
@@ -0,0 +1,91 @@
+package io.mosip.biosdk.client.utils;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.springframework.http.StreamingHttpOutputMessage;
+
+import com.google.gson.Gson;
+
+/**
+ * Request body in the {@link io.mosip.biosdk.client.dto.RequestDto} envelope
+ * format ({@code {"version": "...", "request": "<base64 of JSON>"}}) which is
+ * written straight to the HTTP request stream.
+ * <p>
+ * The request object is serialized by Gson into a base64 encoding stream, so
+ * neither the JSON nor its base64 form is ever held in memory as a whole. Peak
+ * memory per call is bounded by the buffer size instead of the payload size.
+ * The body can be written any number of times, which allows the same instance
+ * to be re-sent. Given a {@link BufferPool}, the buffer is borrowed from it
+ * for each write instead of being allocated.
+ */
+public class StreamingRequestBody implements StreamingHttpOutputMessage.Body {
+
+	private final Gson gson;
+
+	private final String version;
+
+	private final Object request;
+
+	private final int bufferSize;
+
+	private final BufferPool bufferPool;
+
+	public StreamingRequestBody(Gson gson, String version, Object request, int bufferSize) {
+		this(gson, version, request, bufferSize, null);
+	}
+
+	/**
+	 * @param bufferPool pool to borrow the buffer from, or {@code null} to
+	 *                   allocate one of {@code bufferSize} bytes per write
+	 */
+	public StreamingRequestBody(Gson gson, String version, Object request, int bufferSize, BufferPool bufferPool) {
+		this.gson = gson;
+		this.version = version;
+		this.request = request;
+		this.bufferSize = bufferSize;
+		this.bufferPool = bufferPool;
+	}
+
+	public Object getRequest() {
+		return request;
+	}
+
+	@Override
+	public void writeTo(OutputStream outputStream) throws IOException {
+		// Closing gives a pooled buffer back, but leaves the request stream open
+		try (OutputStream out = bufferPool != null ? new PooledBufferedOutputStream(outputStream, bufferPool)
+				: new BufferedOutputStream(new NonClosingOutputStream(outputStream), bufferSize)) {
+			out.write("{\"version\":".getBytes(StandardCharsets.UTF_8));
+			out.write(gson.toJson(version).getBytes(StandardCharsets.UTF_8));
+			out.write(",\"request\":\"".getBytes(StandardCharsets.UTF_8));
+			// Closing the writer flushes the base64 padding, but must leave the
+			// envelope stream open for the closing characters.
+			try (Writer writer = new OutputStreamWriter(Base64.getEncoder().wrap(new NonClosingOutputStream(out)),
+					StandardCharsets.UTF_8)) {
+				gson.toJson(request, writer);
+			}
+			out.write("\"}".getBytes(StandardCharsets.UTF_8));
+		}
+	}
+
+	/**
+	 * Returns the request encoded the same way as {@link #writeTo(OutputStream)}.
+	 * Meant for debug logging only, as it materializes the whole body.
+	 */
+	public String encodeToString() {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try {
+			writeTo(out);
+		} catch (IOException e) {
+			return "<" + e.getMessage() + ">";
+		}
+		return out.toString(StandardCharsets.UTF_8);
+	}
+}
@@ -3,49 +3,235 @@ package io.mosip.biosdk.client.utils;
 import static io.mosip.biosdk.client.constant.AppConstants.LOGGER_IDTYPE;
 import static io.mosip.biosdk.client.constant.AppConstants.LOGGER_SESSIONID;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.DefaultSchemePortResolver;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.client5.http.routing.RoutingSupport;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.http.URIScheme;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.http.converter.json.GsonHttpMessageConverter;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestClientResponseException;
 import org.springframework.web.client.RestTemplate;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.stream.JsonReader;
 
+import io.mosip.biosdk.client.config.CompressionConfig;
+import io.mosip.biosdk.client.config.HttpClientConfig;
 import io.mosip.biosdk.client.config.LoggerConfig;
+import io.mosip.biosdk.client.metrics.ConnectionPoolStats;
+import io.mosip.biosdk.client.metrics.ExchangeStats;
+import io.mosip.biosdk.client.resilience.Deadline;
 import io.mosip.kernel.core.logger.spi.Logger;
 
 public class Util {
 
+	private static Logger utilLogger = LoggerConfig.logConfig(Util.class);
+
 	private static final GsonHttpMessageConverter MESSAGE_CONVERTER;
 
-	private static final RestTemplate REST_TEMPLATE;
+	/**
+	 * Used by the overloads without a {@link RestTemplate} only, so created on
+	 * their first call rather than with the class.
+	 */
+	private static volatile RestTemplate defaultRestTemplate;
 
 	static {
 		MESSAGE_CONVERTER = new GsonHttpMessageConverter();
-		REST_TEMPLATE = new RestTemplate();
-		REST_TEMPLATE.getMessageConverters().add(MESSAGE_CONVERTER);
 	}
 
 	public static final String DEBUG_REQUEST_RESPONSE = System.getenv("mosip_biosdk_request_response_debug");
 
-	private static Logger utilLogger = LoggerConfig.logConfig(Util.class);
-
 	private Util() {
 		throw new IllegalStateException("Util class");
 	}
 
+	/**
+	 * Creates a {@link RestTemplate} backed by a pooled, keep-alive Apache
+	 * HttpClient configured as per the given settings.
+	 */
+	public static RestTemplate createRestTemplate(HttpClientConfig config) {
+		return createRestTemplate(config, CompressionConfig.defaults());
+	}
+
+	/**
+	 * Same as above, also negotiating compressed responses as per the given
+	 * compression settings.
+	 */
+	public static RestTemplate createRestTemplate(HttpClientConfig config, CompressionConfig compressionConfig) {
+		RestTemplate restTemplate = new RestTemplate(createRequestFactory(config, compressionConfig));
+		restTemplate.getMessageConverters().add(MESSAGE_CONVERTER);
+		return restTemplate;
+	}
+
+	private static ClientHttpRequestFactory createRequestFactory(HttpClientConfig config,
+			CompressionConfig compressionConfig) {
+		ConnectionConfig connectionConfig = ConnectionConfig.custom()
+				.setConnectTimeout(Timeout.ofMilliseconds(config.getConnectTimeoutMs()))
+				.setSocketTimeout(Timeout.ofMilliseconds(config.getReadTimeoutMs()))
+				.setValidateAfterInactivity(TimeValue.ofMilliseconds(config.getValidateAfterInactivityMs()))
+				.setTimeToLive(config.getConnectionTtlMs() > 0 ? TimeValue.ofMilliseconds(config.getConnectionTtlMs())
+						: TimeValue.NEG_ONE_MILLISECOND)
+				.build();
+		PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+				.setMaxConnTotal(config.getMaxTotalConnections())
+				.setMaxConnPerRoute(config.getMaxConnectionsPerRoute())
+				.setDefaultConnectionConfig(connectionConfig).build();
+		RequestConfig requestConfig = RequestConfig.custom()
+				.setConnectionRequestTimeout(Timeout.ofMilliseconds(config.getConnectionRequestTimeoutMs()))
+				.setResponseTimeout(Timeout.ofMilliseconds(config.getReadTimeoutMs()))
+				.setConnectionKeepAlive(TimeValue.ofMilliseconds(config.getKeepAliveMs())).build();
+		HttpClientBuilder httpClientBuilder = HttpClients.custom().setConnectionManager(connectionManager)
+				.setDefaultRequestConfig(requestConfig).evictExpiredConnections()
+				.evictIdleConnections(TimeValue.of(config.getIdleEvictionMs(), TimeUnit.MILLISECONDS));
+		if (compressionConfig.isResponseCompression()) {
+			// Sets Accept-Encoding and decodes the response transparently
+			httpClientBuilder.setContentDecoderRegistry(Compression.getContentDecoders());
+		} else {
+			httpClientBuilder.disableContentCompression();
+		}
+		CloseableHttpClient httpClient = httpClientBuilder.build();
+		utilLogger.info(LOGGER_SESSIONID, LOGGER_IDTYPE, "HTTP client config: ", config.toString());
+		return new DeadlineHttpRequestFactory(httpClient, requestConfig, config, connectionManager);
+	}
+
+	/**
+	 * Releases the pooled connections held by a {@link RestTemplate} created
+	 * through {@link #createRestTemplate(HttpClientConfig)}.
+	 */
+	public static void closeRestTemplate(RestTemplate restTemplate) {
+		if (restTemplate != null && restTemplate != defaultRestTemplate
+				&& restTemplate.getRequestFactory() instanceof HttpComponentsClientHttpRequestFactory factory) {
+			try {
+				factory.destroy();
+			} catch (Exception e) {
+				utilLogger.error(LOGGER_SESSIONID, LOGGER_IDTYPE, "closeRestTemplate", e);
+			}
+		}
+	}
+
+	/**
+	 * @return the connection pool statistics of a {@link RestTemplate} created
+	 *         through {@link #createRestTemplate(HttpClientConfig)}, null for
+	 *         any other
+	 */
+	public static ConnectionPoolStats getConnectionPoolStats(RestTemplate restTemplate) {
+		if (restTemplate != null && restTemplate.getRequestFactory() instanceof DeadlineHttpRequestFactory factory) {
+			PoolStats stats = factory.getConnectionManager().getTotalStats();
+			return new ConnectionPoolStats(stats.getLeased(), stats.getPending(), stats.getAvailable(),
+					stats.getMax());
+		}
+		return null;
+	}
+
+	/**
+	 * Sends a {@code GET} without body to the url, bounded by the given deadline.
+	 *
+	 * @return the status of the response, whether successful or not
+	 */
+	public static int probe(RestTemplate restTemplate, String url, Deadline deadline) {
+		try {
+			return DeadlineHttpRequestFactory.execute(deadline, () -> restTemplate.execute(url, HttpMethod.GET, null,
+					clientResponse -> clientResponse.getStatusCode().value()));
+		} catch (RestClientResponseException e) {
+			return e.getStatusCode().value();
+		}
+	}
+
+	/**
+	 * Makes sure the connection pool of the {@link RestTemplate} holds at least
+	 * the given number of open connections to the host of the url, up to the
+	 * per route limit, so that requests do not wait for TCP and TLS handshakes.
+	 * Connections are leased all at once, the closed ones connected and all of
+	 * them released back to the pool.
+	 *
+	 * @return the number of connections opened
+	 * @throws IOException if a connection could not be opened in time
+	 */
+	public static int warmConnections(RestTemplate restTemplate, String url, int count, long timeoutMillis)
+			throws IOException {
+		if (count <= 0 || restTemplate == null
+				|| !(restTemplate.getRequestFactory() instanceof DeadlineHttpRequestFactory factory)) {
+			return 0;
+		}
+		PoolingHttpClientConnectionManager connectionManager = factory.getConnectionManager();
+		// Same route as the one planned for requests, so that they find these connections
+		HttpHost target = RoutingSupport.normalize(HttpHost.create(URI.create(url)),
+				DefaultSchemePortResolver.INSTANCE);
+		HttpRoute route = new HttpRoute(target, null, URIScheme.HTTPS.same(target.getSchemeName()));
+		Timeout timeout = Timeout.ofMilliseconds(timeoutMillis);
+		TimeValue keepAlive = TimeValue.ofMilliseconds(factory.getConfig().getKeepAliveMs());
+		List<ConnectionEndpoint> endpoints = new ArrayList<>();
+		int opened = 0;
+		try {
+			for (int i = Math.min(count, connectionManager.getDefaultMaxPerRoute()); i > 0; i--) {
+				ConnectionEndpoint endpoint = connectionManager.lease("warm-" + i, route, timeout, null).get(timeout);
+				endpoints.add(endpoint);
+				if (!endpoint.isConnected()) {
+					connectionManager.connect(endpoint, timeout, HttpClientContext.create());
+					opened++;
+				}
+			}
+		} catch (ExecutionException | TimeoutException e) {
+			throw new IOException("Could not lease a connection to " + target, e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted warming connections to " + target);
+		} finally {
+			// Closed endpoints are discarded by the pool, open ones kept for reuse
+			endpoints.forEach(endpoint -> connectionManager.release(endpoint, null, keepAlive));
+		}
+		return opened;
+	}
+
 	@SuppressWarnings({ "java:S1452" })
 	public static ResponseEntity<?> restRequest(String url, HttpMethod httpMethodType, MediaType mediaType, Object body,
 			Map<String, String> headersMap, Class<?> responseClass) {
+		return restRequest(getRestTemplate(), url, httpMethodType, mediaType, body, headersMap, responseClass);
+	}
+
+	@SuppressWarnings({ "java:S1452" })
+	public static ResponseEntity<?> restRequest(RestTemplate restTemplate, String url, HttpMethod httpMethodType,
+			MediaType mediaType, Object body, Map<String, String> headersMap, Class<?> responseClass) {
 		ResponseEntity<?> response = null;
-		RestTemplate restTemplate = getRestTemplate();
 
 		try {
 			HttpHeaders headers = new HttpHeaders();
@@ -74,15 +260,138 @@ public class Util {
 				utilLogger.debug(LOGGER_SESSIONID, LOGGER_IDTYPE, "Response: ", responseBody);
 			}
 		} catch (RestClientException ex) {
-			ex.printStackTrace();
-			throw new RestClientException("rest call failed");
+			// Rethrown as is, so that callers can tell I/O errors and HTTP statuses apart
+			utilLogger.error(LOGGER_SESSIONID, LOGGER_IDTYPE, "restRequest", url + " - " + ex.getMessage());
+			throw ex;
+		}
+		return response;
+
+	}
+
+	/**
+	 * Sends a request whose body is written directly to the HTTP request stream
+	 * instead of being converted to a String or byte[] first. The response body
+	 * is bound to the given type by Gson in a single pass over the response
+	 * stream.
+	 */
+	public static <T> ResponseEntity<T> restRequest(RestTemplate restTemplate, String url,
+			HttpMethod httpMethodType, MediaType mediaType, StreamingHttpOutputMessage.Body body,
+			Map<String, String> headersMap, Gson gson, Type responseType) {
+		return restRequest(restTemplate, url, httpMethodType, mediaType, body, headersMap, gson, responseType,
+				Deadline.NONE);
+	}
+
+	/**
+	 * Same as above, with the whole exchange (connect, request write, response
+	 * read and decoding) bounded by the given deadline when the
+	 * {@link RestTemplate} was created through
+	 * {@link #createRestTemplate(HttpClientConfig)}.
+	 */
+	public static <T> ResponseEntity<T> restRequest(RestTemplate restTemplate, String url,
+			HttpMethod httpMethodType, MediaType mediaType, StreamingHttpOutputMessage.Body body,
+			Map<String, String> headersMap, Gson gson, Type responseType, Deadline deadline) {
+		return restRequest(restTemplate, url, httpMethodType, mediaType, body, headersMap, gson, responseType,
+				deadline, null);
+	}
+
+	/**
+	 * Same as above, also recording the payload sizes and the time spent
+	 * writing the request and decoding the response into the given stats, if
+	 * not null.
+	 */
+	public static <T> ResponseEntity<T> restRequest(RestTemplate restTemplate, String url,
+			HttpMethod httpMethodType, MediaType mediaType, StreamingHttpOutputMessage.Body body,
+			Map<String, String> headersMap, Gson gson, Type responseType, Deadline deadline,
+			ExchangeStats exchangeStats) {
+		ResponseEntity<T> response = null;
+		try {
+			debugRequest(body);
+
+			RequestCallback requestCallback = request -> {
+				request.getHeaders().setContentType(mediaType);
+				request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON));
+				if (headersMap != null) {
+					headersMap.forEach((k, v) -> request.getHeaders().add(k, v));
+				}
+				StreamingHttpOutputMessage.Body requestBody = exchangeStats != null ? exchangeStats.measure(body)
+						: body;
+				if (request instanceof StreamingHttpOutputMessage streamingRequest) {
+					streamingRequest.setBody(requestBody);
+				} else {
+					requestBody.writeTo(request.getBody());
+				}
+			};
+			ResponseExtractor<ResponseEntity<T>> responseExtractor = clientResponse -> {
+				T responseBody;
+				long startTime = System.nanoTime();
+				InputStream responseStream = exchangeStats != null ? exchangeStats.measure(clientResponse.getBody())
+						: clientResponse.getBody();
+				try (JsonReader reader = new JsonReader(
+						new InputStreamReader(responseStream, StandardCharsets.UTF_8))) {
+					responseBody = gson.fromJson(reader, responseType);
+				} finally {
+					if (exchangeStats != null) {
+						exchangeStats.addDecodeNanos(System.nanoTime() - startTime);
+					}
+				}
+				return ResponseEntity.status(clientResponse.getStatusCode()).headers(clientResponse.getHeaders())
+						.body(responseBody);
+			};
+			response = DeadlineHttpRequestFactory.execute(deadline,
+					() -> restTemplate.execute(url, httpMethodType, requestCallback, responseExtractor));
+
+			debugResponse(gson, response);
+		} catch (RestClientException ex) {
+			// Rethrown as is, so that callers can tell I/O errors and HTTP statuses apart
+			logRequestError(url, ex);
+			throw ex;
 		}
 		return response;
+	}
 
+	/**
+	 * Logs the request body, uncompressed, when request/response debugging is
+	 * enabled through the {@code mosip_biosdk_request_response_debug}
+	 * environment variable.
+	 */
+	public static void debugRequest(StreamingHttpOutputMessage.Body body) {
+		if (DEBUG_REQUEST_RESPONSE != null && DEBUG_REQUEST_RESPONSE.equalsIgnoreCase("y")) {
+			StreamingHttpOutputMessage.Body plainBody = body instanceof Compression.CompressedRequestBody compressed
+					? compressed.getBody()
+					: body;
+			utilLogger.debug(LOGGER_SESSIONID, LOGGER_IDTYPE, "Request: ",
+					plainBody instanceof StreamingRequestBody streamingBody ? streamingBody.encodeToString()
+							: String.valueOf(plainBody));
+		}
+	}
+
+	/**
+	 * Logs the decoded response body when request/response debugging is
+	 * enabled.
+	 */
+	public static void debugResponse(Gson gson, ResponseEntity<?> response) {
+		if (DEBUG_REQUEST_RESPONSE != null && DEBUG_REQUEST_RESPONSE.equalsIgnoreCase("y")) {
+			utilLogger.debug(LOGGER_SESSIONID, LOGGER_IDTYPE, "Response: ",
+					response != null ? gson.toJson(response.getBody()) : "");
+		}
+	}
+
+	public static void logRequestError(String url, Exception ex) {
+		utilLogger.error(LOGGER_SESSIONID, LOGGER_IDTYPE, "restRequest", url + " - " + ex.getMessage());
 	}
 
 	private static RestTemplate getRestTemplate() {
-		return REST_TEMPLATE;
+		RestTemplate restTemplate = defaultRestTemplate;
+		if (restTemplate == null) {
+			synchronized (Util.class) {
+				restTemplate = defaultRestTemplate;
+				if (restTemplate == null) {
+					restTemplate = createRestTemplate(HttpClientConfig.defaults());
+					defaultRestTemplate = restTemplate;
+				}
+			}
+		}
+		return restTemplate;
 	}
 
 	public static String base64Encode(String data) {
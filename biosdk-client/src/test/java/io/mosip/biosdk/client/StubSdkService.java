@@ -0,0 +1,187 @@
+package io.mosip.biosdk.client;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPInputStream;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.mosip.biosdk.client.dto.ResponseDto;
+import io.mosip.kernel.biometrics.model.Response;
+import io.mosip.kernel.biometrics.model.SDKInfo;
+
+/**
+ * SDK service for tests, listening on an ephemeral local port. Each request
+ * is gunzipped if need be, decoded from its envelope and handed to the
+ * handler of its path; what the handler returns is sent back as the response
+ * of the envelope, or as is if it is a {@link ResponseDto} or a
+ * {@link Status}. {@code /init} answers with an {@link SDKInfo} unless
+ * handled otherwise.
+ */
+public class StubSdkService implements AutoCloseable {
+
+	/**
+	 * Handles the request of one path.
+	 */
+	public interface Handler {
+
+		/**
+		 * @param request the payload of the request envelope
+		 */
+		Object handle(JsonObject request) throws Exception;
+	}
+
+	/** HTTP status without a body, for a handler to answer with. */
+	public record Status(int code) {
+	}
+
+	/** A request received, with the payload of its envelope. */
+	public record Request(String path, Headers headers, JsonObject payload) {
+	}
+
+	private static final Gson GSON = new GsonBuilder().serializeNulls().create();
+
+	private final HttpServer server;
+
+	private final ExecutorService executor = Executors.newCachedThreadPool();
+
+	private final Map<String, Handler> handlers = new ConcurrentHashMap<>();
+
+	private final Queue<Request> requests = new ConcurrentLinkedQueue<>();
+
+	public StubSdkService() throws IOException {
+		server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		server.createContext("/", this::handle);
+		server.setExecutor(executor);
+		on("/init", request -> new SDKInfo("0.9", "1.0", "MOSIP", "stub"));
+		server.start();
+	}
+
+	public String getUrl() {
+		return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+	}
+
+	public StubSdkService on(String path, Handler handler) {
+		handlers.put(path, handler);
+		return this;
+	}
+
+	/**
+	 * @return the requests received so far for the path, in arrival order
+	 */
+	public List<Request> getRequests(String path) {
+		return requests.stream().filter(request -> request.path().equals(path)).toList();
+	}
+
+	/**
+	 * @return a successful SDK response holding the result
+	 */
+	public static <T> Response<T> success(T result) {
+		Response<T> response = new Response<>();
+		response.setStatusCode(200);
+		response.setStatusMessage("OK");
+		response.setResponse(result);
+		return response;
+	}
+
+	/**
+	 * @return the BDB of the first segment of a biometric record of a request,
+	 *         sent either as a number array or as a base64 string
+	 */
+	public static byte[] firstBdb(JsonObject biometricRecord) {
+		JsonElement bdb = biometricRecord.getAsJsonArray("segments").get(0).getAsJsonObject().get("bdb");
+		if (bdb.isJsonPrimitive()) {
+			return Base64.getDecoder().decode(bdb.getAsString());
+		}
+		JsonArray array = bdb.getAsJsonArray();
+		byte[] bytes = new byte[array.size()];
+		for (int i = 0; i < bytes.length; i++) {
+			bytes[i] = array.get(i).getAsByte();
+		}
+		return bytes;
+	}
+
+	@Override
+	public void close() {
+		server.stop(0);
+		executor.shutdownNow();
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		try (exchange) {
+			String path = exchange.getRequestURI().getPath();
+			Handler handler = handlers.get(path);
+			if (handler == null) {
+				exchange.sendResponseHeaders(404, -1);
+				return;
+			}
+			JsonObject payload = readPayload(exchange);
+			requests.add(new Request(path, exchange.getRequestHeaders(), payload));
+			Object result;
+			try {
+				result = handler.handle(payload);
+			} catch (Exception e) {
+				exchange.sendResponseHeaders(500, -1);
+				return;
+			}
+			if (result instanceof Status status) {
+				exchange.sendResponseHeaders(status.code(), -1);
+				return;
+			}
+			ResponseDto<Object> responseDto;
+			if (result instanceof ResponseDto<?> dto) {
+				@SuppressWarnings("unchecked")
+				ResponseDto<Object> envelope = (ResponseDto<Object>) dto;
+				responseDto = envelope;
+			} else {
+				responseDto = new ResponseDto<>();
+				responseDto.setVersion("1.0");
+				responseDto.setResponse(result);
+				responseDto.setErrors(List.of());
+			}
+			byte[] body = GSON.toJson(responseDto).getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().set("Content-Type", "application/json");
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		}
+	}
+
+	private static JsonObject readPayload(HttpExchange exchange) throws IOException {
+		try (InputStream body = exchange.getRequestBody()) {
+			if ("GET".equals(exchange.getRequestMethod())) {
+				return new JsonObject();
+			}
+			InputStream in = "gzip".equalsIgnoreCase(exchange.getRequestHeaders().getFirst("Content-Encoding"))
+					? new GZIPInputStream(body)
+					: body;
+			JsonObject envelope = JsonParser
+					.parseReader(new InputStreamReader(in, StandardCharsets.UTF_8)).getAsJsonObject();
+			String request = envelope.get("request").getAsString();
+			return JsonParser.parseString(new String(Base64.getDecoder().decode(request), StandardCharsets.UTF_8))
+					.getAsJsonObject();
+		}
+	}
+}
@@ -0,0 +1,151 @@
+package io.mosip.biosdk.client.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.mosip.biosdk.client.constant.ResponseStatus;
+import io.mosip.biosdk.client.exception.BioSdkClientException;
+import io.mosip.biosdk.client.resilience.Deadline;
+
+public class SingleFlightTest {
+
+	private SingleFlight singleFlight;
+
+	private AtomicInteger serialized;
+
+	private final Function<StringBuilder, byte[]> serializer = result -> {
+		serialized.incrementAndGet();
+		return result.toString().getBytes(StandardCharsets.UTF_8);
+	};
+
+	private final Function<byte[], StringBuilder> deserializer = bytes -> new StringBuilder(
+			new String(bytes, StandardCharsets.UTF_8));
+
+	@Before
+	public void setUp() {
+		singleFlight = new SingleFlight();
+		serialized = new AtomicInteger();
+	}
+
+	@Test
+	public void lonelyCallIsNotSerialized() {
+		StringBuilder result = new StringBuilder("match");
+		assertSame(result, execute(Deadline.NONE, () -> result));
+		assertEquals(0, serialized.get());
+		assertEquals(new SingleFlight.Stats(1, 0, 0), singleFlight.getStats());
+	}
+
+	@Test
+	public void completedCallIsRunAnew() {
+		execute(Deadline.NONE, () -> new StringBuilder("first"));
+		assertEquals("second", execute(Deadline.NONE, () -> new StringBuilder("second")).toString());
+		assertEquals(new SingleFlight.Stats(2, 0, 0), singleFlight.getStats());
+	}
+
+	@Test
+	public void joinerGetsCopyOfTheResult() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		StringBuilder result = new StringBuilder("match");
+		CompletableFuture<StringBuilder> leader = CompletableFuture
+				.supplyAsync(() -> execute(Deadline.NONE, () -> await(release, result)));
+		awaitStats(new SingleFlight.Stats(1, 0, 1));
+		CompletableFuture<StringBuilder> joiner = CompletableFuture
+				.supplyAsync(() -> execute(Deadline.NONE, SingleFlightTest::notCalled));
+		awaitStats(new SingleFlight.Stats(1, 1, 1));
+		release.countDown();
+
+		assertSame(result, leader.get(5, TimeUnit.SECONDS));
+		StringBuilder copy = joiner.get(5, TimeUnit.SECONDS);
+		assertNotSame(result, copy);
+		assertEquals("match", copy.toString());
+		assertEquals(1, serialized.get());
+		assertEquals(new SingleFlight.Stats(1, 1, 0), singleFlight.getStats());
+	}
+
+	@Test
+	public void joinerGetsTheFailure() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		BioSdkClientException failure = new BioSdkClientException(
+				ResponseStatus.SERVICE_UNAVAILABLE.getStatusCode() + "", "down");
+		CompletableFuture<StringBuilder> leader = CompletableFuture.supplyAsync(() -> execute(Deadline.NONE, () -> {
+			await(release, null);
+			throw failure;
+		}));
+		awaitStats(new SingleFlight.Stats(1, 0, 1));
+		CompletableFuture<StringBuilder> joiner = CompletableFuture
+				.supplyAsync(() -> execute(Deadline.NONE, SingleFlightTest::notCalled));
+		awaitStats(new SingleFlight.Stats(1, 1, 1));
+		release.countDown();
+
+		assertSame(failure, cause(leader));
+		assertSame(failure, cause(joiner));
+		assertEquals(0, serialized.get());
+	}
+
+	@Test
+	public void joinerWaitIsBoundedByItsDeadline() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		CompletableFuture<StringBuilder> leader = CompletableFuture
+				.supplyAsync(() -> execute(Deadline.NONE, () -> await(release, new StringBuilder("match"))));
+		awaitStats(new SingleFlight.Stats(1, 0, 1));
+		try {
+			execute(Deadline.after(20), SingleFlightTest::notCalled);
+			fail("Joiner outlived its deadline");
+		} catch (BioSdkClientException e) {
+			assertEquals(ResponseStatus.DEADLINE_EXCEEDED.getStatusCode() + "", e.getErrorCode());
+		}
+		release.countDown();
+		assertEquals("match", leader.get(5, TimeUnit.SECONDS).toString());
+	}
+
+	private StringBuilder execute(Deadline deadline, Supplier<StringBuilder> call) {
+		return singleFlight.execute("key", "match", deadline, call, serializer, deserializer);
+	}
+
+	private static StringBuilder notCalled() {
+		throw new AssertionError("Joiner ran the call");
+	}
+
+	private static StringBuilder await(CountDownLatch latch, StringBuilder result) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		return result;
+	}
+
+	private static Throwable cause(CompletableFuture<?> future) throws Exception {
+		try {
+			future.get(5, TimeUnit.SECONDS);
+			fail("Call did not fail");
+			return null;
+		} catch (ExecutionException e) {
+			return e.getCause();
+		}
+	}
+
+	private void awaitStats(SingleFlight.Stats stats) throws InterruptedException {
+		long waitUntil = System.currentTimeMillis() + 5000;
+		while (!singleFlight.getStats().equals(stats)) {
+			if (System.currentTimeMillis() > waitUntil) {
+				fail("Expected " + stats + " but was " + singleFlight.getStats());
+			}
+			Thread.sleep(5);
+		}
+	}
+}
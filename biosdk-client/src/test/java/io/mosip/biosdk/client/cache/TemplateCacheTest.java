@@ -0,0 +1,99 @@
+package io.mosip.biosdk.client.cache;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+public class TemplateCacheTest {
+
+	@Test
+	public void returnsStoredValue() {
+		TemplateCache cache = new TemplateCache(100, 0);
+		assertNull(cache.get("a"));
+		cache.put("a", bytes(10));
+		assertArrayEquals(bytes(10), cache.get("a"));
+		assertEquals(new TemplateCache.Stats(1, 1, 0, 1, 10), cache.getStats());
+		assertEquals(0.5, cache.getStats().hitRatio(), 0);
+	}
+
+	@Test
+	public void evictsLeastRecentlyUsedOverByteBound() {
+		TemplateCache cache = new TemplateCache(100, 0);
+		cache.put("a", bytes(40));
+		cache.put("b", bytes(40));
+		cache.get("a");
+		cache.put("c", bytes(40));
+
+		assertNull(cache.get("b"));
+		assertArrayEquals(bytes(40), cache.get("a"));
+		assertArrayEquals(bytes(40), cache.get("c"));
+		TemplateCache.Stats stats = cache.getStats();
+		assertEquals(1, stats.evictions());
+		assertEquals(2, stats.entries());
+		assertEquals(80, stats.bytes());
+	}
+
+	@Test
+	public void doesNotStoreValueOverByteBound() {
+		TemplateCache cache = new TemplateCache(100, 0);
+		cache.put("a", bytes(40));
+		cache.put("b", bytes(101));
+
+		assertNull(cache.get("b"));
+		assertArrayEquals(bytes(40), cache.get("a"));
+		assertEquals(0, cache.getStats().evictions());
+	}
+
+	@Test
+	public void replacementReplacesSize() {
+		TemplateCache cache = new TemplateCache(100, 0);
+		cache.put("a", bytes(40));
+		cache.put("a", bytes(60));
+
+		assertArrayEquals(bytes(60), cache.get("a"));
+		assertEquals(1, cache.getStats().entries());
+		assertEquals(60, cache.getStats().bytes());
+	}
+
+	@Test
+	public void replacementTooLargeDropsOlderValue() {
+		TemplateCache cache = new TemplateCache(100, 0);
+		cache.put("a", bytes(40));
+		cache.put("a", bytes(101));
+
+		assertNull(cache.get("a"));
+		assertEquals(0, cache.getStats().entries());
+		assertEquals(0, cache.getStats().bytes());
+	}
+
+	@Test
+	public void entryExpiresAfterTtl() throws InterruptedException {
+		TemplateCache cache = new TemplateCache(100, 20);
+		cache.put("a", bytes(10));
+		assertArrayEquals(bytes(10), cache.get("a"));
+		Thread.sleep(50);
+
+		assertNull(cache.get("a"));
+		assertEquals(new TemplateCache.Stats(1, 1, 0, 0, 0), cache.getStats());
+	}
+
+	@Test
+	public void clearDropsEntries() {
+		TemplateCache cache = new TemplateCache(100, 0);
+		cache.put("a", bytes(10));
+		cache.clear();
+
+		assertNull(cache.get("a"));
+		assertEquals(0, cache.getStats().bytes());
+	}
+
+	private static byte[] bytes(int length) {
+		byte[] bytes = new byte[length];
+		for (int i = 0; i < length; i++) {
+			bytes[i] = (byte) (length + i);
+		}
+		return bytes;
+	}
+}
@@ -0,0 +1,105 @@
+package io.mosip.biosdk.client.impl.spec_1_0;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.mosip.biosdk.client.StubSdkService;
+import io.mosip.biosdk.client.exception.BioSdkClientException;
+import io.mosip.kernel.biometrics.constant.BiometricType;
+import io.mosip.kernel.biometrics.entities.BIR;
+import io.mosip.kernel.biometrics.entities.BiometricRecord;
+import io.mosip.kernel.biometrics.model.QualityCheck;
+import io.mosip.kernel.biometrics.model.QualityScore;
+import io.mosip.kernel.biometrics.model.Response;
+
+public class Client_V_1_0AsyncTest {
+
+	private static final List<BiometricType> FINGER = List.of(BiometricType.FINGER);
+
+	private final CountDownLatch release = new CountDownLatch(1);
+
+	private StubSdkService sdkService;
+
+	private Client_V_1_0 client;
+
+	@Before
+	public void setUp() throws IOException {
+		sdkService = new StubSdkService().on("/check-quality", request -> {
+			release.await();
+			QualityScore qualityScore = new QualityScore();
+			qualityScore.setScore(90);
+			QualityCheck qualityCheck = new QualityCheck();
+			qualityCheck.setScores(Map.of(BiometricType.FINGER, qualityScore));
+			return StubSdkService.success(qualityCheck);
+		}).on("/extract-template", request -> new StubSdkService.Status(500));
+		client = new Client_V_1_0();
+		client.init(Map.of("format.url.default", sdkService.getUrl()));
+	}
+
+	@After
+	public void tearDown() {
+		release.countDown();
+		sdkService.close();
+	}
+
+	@Test
+	public void completesOnTheClientExecutorWithoutBlockingTheCaller() throws Exception {
+		CompletableFuture<Response<QualityCheck>> future = client.checkQualityAsync(sample(1), FINGER, null);
+		CompletableFuture<Boolean> completedOnVirtualThread = future
+				.thenApply(response -> Thread.currentThread().isVirtual());
+		Thread.sleep(50);
+		assertFalse(future.isDone());
+
+		release.countDown();
+		assertTrue(completedOnVirtualThread.get(5, TimeUnit.SECONDS));
+		assertEquals(90, future.get().getResponse().getScores().get(BiometricType.FINGER).getScore(), 0);
+	}
+
+	@Test
+	public void callsRunConcurrently() throws Exception {
+		List<CompletableFuture<Response<QualityCheck>>> futures = List.of(
+				client.checkQualityAsync(sample(1), FINGER, null), client.checkQualityAsync(sample(2), FINGER, null),
+				client.checkQualityAsync(sample(3), FINGER, null));
+		long waitUntil = System.currentTimeMillis() + 5000;
+		while (sdkService.getRequests("/check-quality").size() < futures.size()) {
+			if (System.currentTimeMillis() > waitUntil) {
+				fail("Calls were not sent concurrently");
+			}
+			Thread.sleep(5);
+		}
+
+		release.countDown();
+		CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+	}
+
+	@Test
+	public void failureCompletesExceptionally() throws Exception {
+		CompletableFuture<Response<BiometricRecord>> future = client.extractTemplateAsync(sample(1), FINGER, null);
+		try {
+			future.get(5, TimeUnit.SECONDS);
+			fail("Failed call completed normally");
+		} catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof BioSdkClientException);
+		}
+	}
+
+	private static BiometricRecord sample(int bdb) {
+		BiometricRecord biometricRecord = new BiometricRecord();
+		biometricRecord.setSegments(List.of(new BIR.BIRBuilder().withBdb(new byte[] { (byte) bdb }).build()));
+		return biometricRecord;
+	}
+}
@@ -0,0 +1,114 @@
+package io.mosip.biosdk.client.impl.spec_1_0;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.gson.JsonObject;
+
+import io.mosip.biosdk.client.StubSdkService;
+import io.mosip.biosdk.client.config.BatchConfig;
+import io.mosip.biosdk.client.constant.ResponseStatus;
+import io.mosip.kernel.biometrics.constant.BiometricType;
+import io.mosip.kernel.biometrics.entities.BIR;
+import io.mosip.kernel.biometrics.entities.BiometricRecord;
+import io.mosip.kernel.biometrics.model.Response;
+
+/**
+ * Batch template extraction against an SDK service which echoes the sample
+ * back, and fails for samples with the failing BDB.
+ */
+public class Client_V_1_0BatchTest {
+
+	private static final byte FAILING_BDB = -1;
+
+	private static final List<BiometricType> FINGER = List.of(BiometricType.FINGER);
+
+	private final AtomicInteger inFlight = new AtomicInteger();
+
+	private final AtomicInteger maxInFlight = new AtomicInteger();
+
+	private StubSdkService sdkService;
+
+	private Client_V_1_0 client;
+
+	@Before
+	public void setUp() throws IOException {
+		sdkService = new StubSdkService().on("/extract-template", this::extractTemplate);
+		client = new Client_V_1_0();
+		client.init(Map.of("format.url.default", sdkService.getUrl(), BatchConfig.CONCURRENCY, "2"));
+	}
+
+	@After
+	public void tearDown() {
+		sdkService.close();
+	}
+
+	@Test
+	public void responsesKeepTheOrderOfTheSamples() {
+		List<BiometricRecord> samples = IntStream.range(0, 6).mapToObj(Client_V_1_0BatchTest::sample).toList();
+
+		List<Response<BiometricRecord>> responses = client.extractTemplateBatch(samples, FINGER, null);
+
+		assertEquals(samples.size(), responses.size());
+		for (int i = 0; i < samples.size(); i++) {
+			assertEquals(ResponseStatus.SUCCESS.getStatusCode(), (int) responses.get(i).getStatusCode());
+			assertArrayEquals(new byte[] { (byte) i },
+					responses.get(i).getResponse().getSegments().get(0).getBdb());
+		}
+	}
+
+	@Test
+	public void failedSampleDoesNotFailTheBatch() {
+		List<BiometricRecord> samples = List.of(sample(0), sample(FAILING_BDB), sample(2));
+
+		List<Response<BiometricRecord>> responses = client.extractTemplateBatch(samples, FINGER, null);
+
+		assertEquals(ResponseStatus.SUCCESS.getStatusCode(), (int) responses.get(0).getStatusCode());
+		assertEquals(ResponseStatus.UNKNOWN_ERROR.getStatusCode(), (int) responses.get(1).getStatusCode());
+		assertNull(responses.get(1).getResponse());
+		assertEquals(ResponseStatus.SUCCESS.getStatusCode(), (int) responses.get(2).getStatusCode());
+		assertArrayEquals(new byte[] { 2 }, responses.get(2).getResponse().getSegments().get(0).getBdb());
+	}
+
+	@Test
+	public void requestsInFlightAreBoundedByTheConcurrency() {
+		List<BiometricRecord> samples = IntStream.range(0, 8).mapToObj(Client_V_1_0BatchTest::sample).toList();
+
+		client.extractTemplateBatch(samples, FINGER, null);
+
+		assertEquals(samples.size(), sdkService.getRequests("/extract-template").size());
+		assertTrue("Max in flight " + maxInFlight.get(), maxInFlight.get() <= 2);
+	}
+
+	private Object extractTemplate(JsonObject request) throws InterruptedException {
+		maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+		try {
+			Thread.sleep(20);
+			byte[] bdb = StubSdkService.firstBdb(request.getAsJsonObject("sample"));
+			if (bdb[0] == FAILING_BDB) {
+				return new StubSdkService.Status(500);
+			}
+			return StubSdkService.success(sample(bdb[0]));
+		} finally {
+			inFlight.decrementAndGet();
+		}
+	}
+
+	private static BiometricRecord sample(int bdb) {
+		BiometricRecord biometricRecord = new BiometricRecord();
+		biometricRecord.setSegments(List.of(new BIR.BIRBuilder().withBdb(new byte[] { (byte) bdb }).build()));
+		return biometricRecord;
+	}
+}
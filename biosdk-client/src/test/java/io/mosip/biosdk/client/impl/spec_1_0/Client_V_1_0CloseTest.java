@@ -0,0 +1,111 @@
+package io.mosip.biosdk.client.impl.spec_1_0;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BooleanSupplier;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.mosip.biosdk.client.StubSdkService;
+import io.mosip.biosdk.client.config.HealthCheckConfig;
+import io.mosip.kernel.biometrics.constant.BiometricType;
+import io.mosip.kernel.biometrics.entities.BIR;
+import io.mosip.kernel.biometrics.entities.BiometricRecord;
+import io.mosip.kernel.biometrics.model.QualityCheck;
+import io.mosip.kernel.biometrics.model.Response;
+
+/**
+ * Closing a client against an SDK service probed every 10 ms.
+ */
+public class Client_V_1_0CloseTest {
+
+	private static final String HEALTH_THREAD_NAME = "biosdk-client-health";
+
+	private final CountDownLatch qualityCheckReceived = new CountDownLatch(1);
+
+	private final CountDownLatch qualityCheckRelease = new CountDownLatch(1);
+
+	private StubSdkService sdkService;
+
+	@Before
+	public void setUp() throws IOException {
+		sdkService = new StubSdkService().on("/", request -> "up").on("/check-quality", request -> {
+			qualityCheckReceived.countDown();
+			qualityCheckRelease.await();
+			return StubSdkService.success(new QualityCheck());
+		});
+	}
+
+	@After
+	public void tearDown() {
+		qualityCheckRelease.countDown();
+		sdkService.close();
+	}
+
+	@Test
+	public void closeStopsTheHealthChecks() throws InterruptedException {
+		Client_V_1_0 client = client();
+		await(() -> sdkService.getRequests("/").size() >= 2);
+		assertTrue(isHealthThreadAlive());
+
+		client.close();
+
+		await(() -> !isHealthThreadAlive());
+		int probesAfterClose = sdkService.getRequests("/").size();
+		Thread.sleep(100);
+		assertEquals(probesAfterClose, sdkService.getRequests("/").size());
+	}
+
+	@Test
+	public void callInFlightCompletesAfterClose()
+			throws InterruptedException, ExecutionException, TimeoutException {
+		Client_V_1_0 client = client();
+		CompletableFuture<Response<QualityCheck>> inFlight = client.checkQualityAsync(sample(),
+				List.of(BiometricType.FINGER), null);
+		assertTrue(qualityCheckReceived.await(5, TimeUnit.SECONDS));
+
+		client.close();
+		qualityCheckRelease.countDown();
+
+		assertEquals(200, (int) inFlight.get(5, TimeUnit.SECONDS).getStatusCode());
+	}
+
+	private Client_V_1_0 client() {
+		Client_V_1_0 client = new Client_V_1_0();
+		client.init(Map.of("format.url.default", sdkService.getUrl(), HealthCheckConfig.INTERVAL_MS, "10"));
+		return client;
+	}
+
+	private static boolean isHealthThreadAlive() {
+		return Thread.getAllStackTraces().keySet().stream()
+				.anyMatch(thread -> thread.getName().equals(HEALTH_THREAD_NAME) && thread.isAlive());
+	}
+
+	private static void await(BooleanSupplier condition) throws InterruptedException {
+		long waitUntil = System.currentTimeMillis() + 5000;
+		while (!condition.getAsBoolean()) {
+			if (System.currentTimeMillis() > waitUntil) {
+				fail("Condition not met in time");
+			}
+			Thread.sleep(5);
+		}
+	}
+
+	private static BiometricRecord sample() {
+		BiometricRecord biometricRecord = new BiometricRecord();
+		biometricRecord.setSegments(List.of(new BIR.BIRBuilder().withBdb(new byte[] { 1 }).build()));
+		return biometricRecord;
+	}
+}
@@ -0,0 +1,134 @@
+package io.mosip.biosdk.client.impl.spec_1_0;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.mosip.biosdk.client.StubSdkService;
+import io.mosip.biosdk.client.config.CompressionConfig;
+import io.mosip.kernel.biometrics.constant.BiometricType;
+import io.mosip.kernel.biometrics.entities.BIR;
+import io.mosip.kernel.biometrics.entities.BiometricRecord;
+import io.mosip.kernel.biometrics.model.MatchDecision;
+import io.mosip.kernel.biometrics.model.QualityCheck;
+
+/**
+ * Request compression above the BDB size threshold, and response compression
+ * negotiation, against an SDK service which accepts gzip requests.
+ */
+public class Client_V_1_0CompressionTest {
+
+	private static final List<BiometricType> FINGER = List.of(BiometricType.FINGER);
+
+	private StubSdkService sdkService;
+
+	@Before
+	public void setUp() throws IOException {
+		sdkService = new StubSdkService()
+				.on("/check-quality", request -> StubSdkService.success(new QualityCheck()))
+				.on("/match", request -> StubSdkService.success(IntStream
+						.range(0, request.getAsJsonArray("gallery").size()).mapToObj(MatchDecision::new)
+						.toArray(MatchDecision[]::new)));
+	}
+
+	@After
+	public void tearDown() {
+		sdkService.close();
+	}
+
+	@Test
+	public void requestUnderThresholdIsSentUncompressed() {
+		Client_V_1_0 client = client(Map.of(CompressionConfig.REQUEST_ENCODING, "gzip",
+				CompressionConfig.MIN_REQUEST_BYTES, "100"));
+
+		client.checkQuality(record(99), FINGER, null);
+
+		assertNull(lastRequest("/check-quality").headers().getFirst("Content-Encoding"));
+	}
+
+	@Test
+	public void requestAtThresholdIsGzipped() {
+		Client_V_1_0 client = client(Map.of(CompressionConfig.REQUEST_ENCODING, "gzip",
+				CompressionConfig.MIN_REQUEST_BYTES, "100"));
+
+		client.checkQuality(record(100), FINGER, null);
+
+		StubSdkService.Request request = lastRequest("/check-quality");
+		assertEquals("gzip", request.headers().getFirst("Content-Encoding"));
+		assertArrayEquals(bdb(100), StubSdkService.firstBdb(request.payload().getAsJsonObject("sample")));
+	}
+
+	@Test
+	public void thresholdCountsTheGallery() {
+		Client_V_1_0 client = client(Map.of(CompressionConfig.REQUEST_ENCODING, "gzip",
+				CompressionConfig.MIN_REQUEST_BYTES, "100"));
+		BiometricRecord[] gallery = new BiometricRecord[10];
+		Arrays.fill(gallery, record(10));
+
+		client.match(record(10), gallery, FINGER, null);
+
+		StubSdkService.Request request = lastRequest("/match");
+		assertEquals("gzip", request.headers().getFirst("Content-Encoding"));
+		assertEquals(10, request.payload().getAsJsonArray("gallery").size());
+	}
+
+	@Test
+	public void requestCompressionIsOffByDefault() {
+		Client_V_1_0 client = client(Map.of());
+
+		client.checkQuality(record(100_000), FINGER, null);
+
+		assertNull(lastRequest("/check-quality").headers().getFirst("Content-Encoding"));
+	}
+
+	@Test
+	public void compressedResponsesAreAskedFor() {
+		client(Map.of()).checkQuality(record(1), FINGER, null);
+		String acceptEncoding = lastRequest("/check-quality").headers().getFirst("Accept-Encoding");
+		assertTrue(acceptEncoding, acceptEncoding != null && acceptEncoding.contains("gzip"));
+
+		client(Map.of(CompressionConfig.RESPONSE, "false")).checkQuality(record(1), FINGER, null);
+		acceptEncoding = lastRequest("/check-quality").headers().getFirst("Accept-Encoding");
+		assertFalse(acceptEncoding, acceptEncoding != null && acceptEncoding.contains("gzip"));
+	}
+
+	private StubSdkService.Request lastRequest(String path) {
+		List<StubSdkService.Request> requests = sdkService.getRequests(path);
+		return requests.get(requests.size() - 1);
+	}
+
+	private Client_V_1_0 client(Map<String, String> params) {
+		Map<String, String> initParams = new HashMap<>(params);
+		initParams.put("format.url.default", sdkService.getUrl());
+		Client_V_1_0 client = new Client_V_1_0();
+		client.init(initParams);
+		return client;
+	}
+
+	private static BiometricRecord record(int bdbLength) {
+		BiometricRecord biometricRecord = new BiometricRecord();
+		biometricRecord.setSegments(List.of(new BIR.BIRBuilder().withBdb(bdb(bdbLength)).build()));
+		return biometricRecord;
+	}
+
+	private static byte[] bdb(int length) {
+		byte[] bdb = new byte[length];
+		for (int i = 0; i < length; i++) {
+			bdb[i] = (byte) i;
+		}
+		return bdb;
+	}
+}
@@ -0,0 +1,204 @@
+package io.mosip.biosdk.client.impl.spec_1_0;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import io.mosip.biosdk.client.StubSdkService;
+import io.mosip.biosdk.client.config.FanOutConfig;
+import io.mosip.biosdk.client.constant.ResponseStatus;
+import io.mosip.kernel.biometrics.constant.BiometricType;
+import io.mosip.kernel.biometrics.constant.Match;
+import io.mosip.kernel.biometrics.entities.BDBInfo;
+import io.mosip.kernel.biometrics.entities.BIR;
+import io.mosip.kernel.biometrics.entities.BiometricRecord;
+import io.mosip.kernel.biometrics.model.Decision;
+import io.mosip.kernel.biometrics.model.MatchDecision;
+import io.mosip.kernel.biometrics.model.QualityCheck;
+import io.mosip.kernel.biometrics.model.QualityScore;
+import io.mosip.kernel.biometrics.model.Response;
+
+/**
+ * Per-modality fan-out against SDK services which answer for the modalities
+ * of each request only: fingers match and score 80, faces do not match and
+ * score 60, and extraction returns one segment per modality holding its
+ * ordinal.
+ */
+public class Client_V_1_0FanOutTest {
+
+	private static final List<BiometricType> FINGER_AND_FACE = List.of(BiometricType.FINGER, BiometricType.FACE);
+
+	private StubSdkService sdkService;
+
+	private StubSdkService faceSdkService;
+
+	@Before
+	public void setUp() throws IOException {
+		sdkService = stubSdkService();
+		faceSdkService = stubSdkService();
+	}
+
+	@After
+	public void tearDown() {
+		sdkService.close();
+		faceSdkService.close();
+	}
+
+	@Test
+	public void matchDecisionsAreMergedPerGalleryIndex() {
+		Client_V_1_0 client = client(FanOutConfig.Mode.MODALITY);
+
+		Response<MatchDecision[]> response = client.match(record(), new BiometricRecord[] { record(), record() },
+				FINGER_AND_FACE, null);
+
+		assertEquals(ResponseStatus.SUCCESS.getStatusCode(), (int) response.getStatusCode());
+		MatchDecision[] matchDecisions = response.getResponse();
+		assertEquals(2, matchDecisions.length);
+		for (int i = 0; i < matchDecisions.length; i++) {
+			assertEquals(i, matchDecisions[i].getGalleryIndex());
+			assertEquals(Match.MATCHED, matchDecisions[i].getDecisions().get(BiometricType.FINGER).getMatch());
+			assertEquals(Match.NOT_MATCHED, matchDecisions[i].getDecisions().get(BiometricType.FACE).getMatch());
+			assertEquals(Map.of("FINGER", "part", "FACE", "part"), matchDecisions[i].getAnalyticsInfo());
+		}
+		assertEquals(List.of(List.of("FACE"), List.of("FINGER")), sentModalities(sdkService, "/match"));
+	}
+
+	@Test
+	public void qualityScoresAreMerged() {
+		Client_V_1_0 client = client(FanOutConfig.Mode.MODALITY);
+
+		Response<QualityCheck> response = client.checkQuality(record(), FINGER_AND_FACE, null);
+
+		Map<BiometricType, QualityScore> scores = response.getResponse().getScores();
+		assertEquals(2, scores.size());
+		assertEquals(80, scores.get(BiometricType.FINGER).getScore(), 0);
+		assertEquals(60, scores.get(BiometricType.FACE).getScore(), 0);
+	}
+
+	@Test
+	public void extractedSegmentsAreConcatenatedInPartOrder() {
+		Client_V_1_0 client = client(FanOutConfig.Mode.MODALITY);
+
+		Response<BiometricRecord> response = client.extractTemplate(record(), FINGER_AND_FACE, null);
+
+		List<BIR> segments = response.getResponse().getSegments();
+		assertEquals(2, segments.size());
+		assertArrayEquals(new byte[] { (byte) BiometricType.FINGER.ordinal() }, segments.get(0).getBdb());
+		assertArrayEquals(new byte[] { (byte) BiometricType.FACE.ordinal() }, segments.get(1).getBdb());
+	}
+
+	@Test
+	public void serviceModeSendsOnePartPerService() {
+		Client_V_1_0 client = client(FanOutConfig.Mode.SERVICE);
+		Map<String, String> flags = Map.of("FACE.format", "face");
+
+		client.match(record(), new BiometricRecord[] { record() },
+				List.of(BiometricType.FINGER, BiometricType.IRIS, BiometricType.FACE), flags);
+
+		assertEquals(List.of(List.of("FINGER", "IRIS")), sentModalities(sdkService, "/match"));
+		assertEquals(List.of(List.of("FACE")), sentModalities(faceSdkService, "/match"));
+		JsonArray faceSegments = faceSdkService.getRequests("/match").get(0).payload().getAsJsonObject("sample")
+				.getAsJsonArray("segments");
+		assertEquals(1, faceSegments.size());
+	}
+
+	@Test
+	public void fanOutIsOffByDefault() {
+		Client_V_1_0 client = client(FanOutConfig.Mode.NONE);
+
+		client.match(record(), new BiometricRecord[] { record() }, FINGER_AND_FACE, null);
+
+		assertEquals(List.of(List.of("FINGER", "FACE")), sentModalities(sdkService, "/match"));
+	}
+
+	/**
+	 * @return the modalities of each request sent to the path, sorted
+	 */
+	private static List<List<String>> sentModalities(StubSdkService service, String path) {
+		return service.getRequests(path).stream()
+				.map(request -> modalities(request.payload(), "modalitiesToMatch").stream().map(Enum::name).toList())
+				.sorted((a, b) -> a.toString().compareTo(b.toString())).toList();
+	}
+
+	private Client_V_1_0 client(FanOutConfig.Mode mode) {
+		Map<String, String> initParams = new HashMap<>();
+		initParams.put("format.url.default", sdkService.getUrl());
+		initParams.put("format.url.face", faceSdkService.getUrl());
+		initParams.put(FanOutConfig.MODE, mode.name());
+		Client_V_1_0 client = new Client_V_1_0();
+		client.init(initParams);
+		return client;
+	}
+
+	/**
+	 * @return a record with one finger, one iris and one face segment
+	 */
+	private static BiometricRecord record() {
+		BiometricRecord biometricRecord = new BiometricRecord();
+		List<BIR> segments = new ArrayList<>();
+		for (BiometricType modality : List.of(BiometricType.FINGER, BiometricType.IRIS, BiometricType.FACE)) {
+			segments.add(new BIR.BIRBuilder().withBdb(new byte[] { (byte) modality.ordinal() })
+					.withBdbInfo(new BDBInfo.BDBInfoBuilder().withType(List.of(modality)).build()).build());
+		}
+		biometricRecord.setSegments(segments);
+		return biometricRecord;
+	}
+
+	private static StubSdkService stubSdkService() throws IOException {
+		return new StubSdkService().on("/match", request -> {
+			List<BiometricType> modalities = modalities(request, "modalitiesToMatch");
+			int galleryLength = request.getAsJsonArray("gallery").size();
+			MatchDecision[] matchDecisions = new MatchDecision[galleryLength];
+			for (int i = 0; i < galleryLength; i++) {
+				matchDecisions[i] = new MatchDecision(i);
+				matchDecisions[i].setDecisions(new HashMap<>());
+				matchDecisions[i].setAnalyticsInfo(new HashMap<>());
+				for (BiometricType modality : modalities) {
+					Decision decision = new Decision();
+					decision.setMatch(modality == BiometricType.FACE ? Match.NOT_MATCHED : Match.MATCHED);
+					matchDecisions[i].getDecisions().put(modality, decision);
+					matchDecisions[i].getAnalyticsInfo().put(modality.name(), "part");
+				}
+			}
+			return StubSdkService.success(matchDecisions);
+		}).on("/check-quality", request -> {
+			QualityCheck qualityCheck = new QualityCheck();
+			qualityCheck.setScores(new HashMap<>());
+			for (BiometricType modality : modalities(request, "modalitiesToCheck")) {
+				QualityScore qualityScore = new QualityScore();
+				qualityScore.setScore(modality == BiometricType.FACE ? 60 : 80);
+				qualityCheck.getScores().put(modality, qualityScore);
+			}
+			return StubSdkService.success(qualityCheck);
+		}).on("/extract-template", request -> {
+			BiometricRecord template = new BiometricRecord();
+			template.setSegments(new ArrayList<>());
+			for (BiometricType modality : modalities(request, "modalitiesToExtract")) {
+				template.getSegments()
+						.add(new BIR.BIRBuilder().withBdb(new byte[] { (byte) modality.ordinal() }).build());
+			}
+			return StubSdkService.success(template);
+		});
+	}
+
+	private static List<BiometricType> modalities(JsonObject request, String member) {
+		List<BiometricType> modalities = new ArrayList<>();
+		for (JsonElement modality : request.getAsJsonArray(member)) {
+			modalities.add(BiometricType.valueOf(modality.getAsString()));
+		}
+		return modalities;
+	}
+}
@@ -0,0 +1,183 @@
+package io.mosip.biosdk.client.impl.spec_1_0;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.mosip.biosdk.client.StubSdkService;
+import io.mosip.biosdk.client.config.InitConfig;
+import io.mosip.biosdk.client.constant.ResponseStatus;
+import io.mosip.biosdk.client.exception.BioSdkClientException;
+import io.mosip.kernel.biometrics.constant.BiometricType;
+import io.mosip.kernel.biometrics.entities.BIR;
+import io.mosip.kernel.biometrics.entities.BiometricRecord;
+import io.mosip.kernel.biometrics.model.QualityCheck;
+import io.mosip.kernel.biometrics.model.SDKInfo;
+
+/**
+ * Eager and background {@code init} against two SDK services, the face one
+ * answering {@code /init} as each test sets it up.
+ */
+public class Client_V_1_0InitTest {
+
+	private static final Map<String, String> FACE_FLAGS = Map.of("FACE.format", "face");
+
+	private final CountDownLatch faceInitRelease = new CountDownLatch(1);
+
+	private StubSdkService sdkService;
+
+	private StubSdkService faceSdkService;
+
+	@Before
+	public void setUp() throws IOException {
+		sdkService = stubSdkService();
+		faceSdkService = stubSdkService();
+	}
+
+	@After
+	public void tearDown() {
+		faceInitRelease.countDown();
+		sdkService.close();
+		faceSdkService.close();
+	}
+
+	@Test
+	public void eagerInitWaitsForEveryService() {
+		faceSdkService.on("/init", request -> {
+			Thread.sleep(200);
+			return sdkInfo();
+		});
+		Client_V_1_0 client = new Client_V_1_0();
+
+		long startTime = System.currentTimeMillis();
+		client.init(initParams(Map.of()));
+
+		assertTrue(System.currentTimeMillis() - startTime >= 200);
+		assertTrue(client.isReady());
+	}
+
+	@Test
+	public void eagerInitFailsWhenAServiceFails() {
+		faceSdkService.on("/init", request -> new StubSdkService.Status(500));
+		Client_V_1_0 client = new Client_V_1_0();
+
+		try {
+			client.init(initParams(Map.of()));
+			fail("init succeeded without the face service");
+		} catch (BioSdkClientException e) {
+			assertEquals(ResponseStatus.UNKNOWN_ERROR.getStatusCode() + "", e.getErrorCode());
+			assertFalse(client.isReady());
+		}
+	}
+
+	@Test
+	public void backgroundInitReturnsAfterTheStartupWait() throws InterruptedException {
+		faceSdkService.on("/init", request -> {
+			faceInitRelease.await();
+			return sdkInfo();
+		});
+		Client_V_1_0 client = new Client_V_1_0();
+
+		long startTime = System.currentTimeMillis();
+		client.init(initParams(Map.of(InitConfig.MODE, "background", InitConfig.STARTUP_WAIT_MS, "100")));
+
+		assertTrue(System.currentTimeMillis() - startTime < 5000);
+		assertFalse(client.isReady());
+		client.checkQuality(sample(), List.of(BiometricType.FINGER), null);
+		try {
+			client.checkQuality(sample(), List.of(BiometricType.FACE), FACE_FLAGS);
+			fail("Request sent to a service not initialized");
+		} catch (BioSdkClientException e) {
+			assertTrue(faceSdkService.getRequests("/check-quality").isEmpty());
+		}
+
+		faceInitRelease.countDown();
+		awaitReady(client);
+		client.checkQuality(sample(), List.of(BiometricType.FACE), FACE_FLAGS);
+		assertEquals(1, faceSdkService.getRequests("/check-quality").size());
+	}
+
+	@Test
+	public void backgroundInitRetriesAFailedService() throws InterruptedException {
+		AtomicInteger attempts = new AtomicInteger();
+		faceSdkService.on("/init",
+				request -> attempts.incrementAndGet() < 3 ? new StubSdkService.Status(500) : sdkInfo());
+		Client_V_1_0 client = new Client_V_1_0();
+
+		client.init(initParams(Map.of(InitConfig.MODE, "background", InitConfig.STARTUP_WAIT_MS, "0",
+				InitConfig.RETRY_INTERVAL_MS, "20")));
+
+		awaitReady(client);
+		assertEquals(3, attempts.get());
+	}
+
+	@Test
+	public void requestWaitsForTheServiceToBeReady() {
+		faceSdkService.on("/init", request -> {
+			faceInitRelease.await();
+			return sdkInfo();
+		});
+		Client_V_1_0 client = new Client_V_1_0();
+		client.init(initParams(Map.of(InitConfig.MODE, "background", InitConfig.STARTUP_WAIT_MS, "0",
+				InitConfig.REQUEST_WAIT_MS, "5000")));
+
+		new Thread(() -> {
+			sleep(100);
+			faceInitRelease.countDown();
+		}).start();
+		client.checkQuality(sample(), List.of(BiometricType.FACE), FACE_FLAGS);
+
+		assertEquals(1, faceSdkService.getRequests("/check-quality").size());
+	}
+
+	private static void awaitReady(Client_V_1_0 client) throws InterruptedException {
+		long waitUntil = System.currentTimeMillis() + 5000;
+		while (!client.isReady()) {
+			if (System.currentTimeMillis() > waitUntil) {
+				fail("Not ready in time");
+			}
+			Thread.sleep(10);
+		}
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private Map<String, String> initParams(Map<String, String> params) {
+		Map<String, String> initParams = new HashMap<>(params);
+		initParams.put("format.url.default", sdkService.getUrl());
+		initParams.put("format.url.face", faceSdkService.getUrl());
+		return initParams;
+	}
+
+	private static StubSdkService stubSdkService() throws IOException {
+		return new StubSdkService().on("/check-quality", request -> StubSdkService.success(new QualityCheck()));
+	}
+
+	private static SDKInfo sdkInfo() {
+		return new SDKInfo("0.9", "1.0", "MOSIP", "stub");
+	}
+
+	private static BiometricRecord sample() {
+		BiometricRecord biometricRecord = new BiometricRecord();
+		biometricRecord.setSegments(List.of(new BIR.BIRBuilder().withBdb(new byte[] { 1 }).build()));
+		return biometricRecord;
+	}
+}
@@ -0,0 +1,190 @@
+package io.mosip.biosdk.client.impl.spec_1_0;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.mosip.biosdk.client.StubSdkService;
+import io.mosip.biosdk.client.constant.ResponseStatus;
+import io.mosip.biosdk.client.exception.BioSdkClientException;
+import io.mosip.biosdk.client.routing.LocalSdk;
+import io.mosip.kernel.biometrics.constant.BiometricType;
+import io.mosip.kernel.biometrics.entities.BIR;
+import io.mosip.kernel.biometrics.entities.BiometricRecord;
+import io.mosip.kernel.biometrics.model.MatchDecision;
+import io.mosip.kernel.biometrics.model.QualityCheck;
+import io.mosip.kernel.biometrics.model.Response;
+import io.mosip.kernel.biometrics.model.SDKInfo;
+import io.mosip.kernel.biometrics.spi.IBioApiV2;
+
+/**
+ * Dispatch of the formats configured with a {@code local:} url to an SDK in
+ * this JVM, alongside a face format served by an SDK service.
+ */
+public class Client_V_1_0LocalSdkTest {
+
+	private static final Map<String, String> FACE_FLAGS = Map.of("FACE.format", "face");
+
+	private StubSdkService faceSdkService;
+
+	@Before
+	public void setUp() throws IOException {
+		RecordingSdk.samples.clear();
+		RecordingSdk.initParams.clear();
+		faceSdkService = new StubSdkService().on("/check-quality",
+				request -> StubSdkService.success(new QualityCheck()));
+	}
+
+	@After
+	public void tearDown() {
+		faceSdkService.close();
+	}
+
+	@Test
+	public void localFormatIsCalledInProcess() {
+		Client_V_1_0 client = client(LocalSdk.URL_PREFIX + RecordingSdk.class.getName());
+		BiometricRecord sample = sample();
+
+		Response<BiometricRecord> response = client.extractTemplate(sample, List.of(BiometricType.FINGER), null);
+
+		assertEquals(1, RecordingSdk.initParams.size());
+		// Handed over as is, not serialized
+		assertSame(sample, RecordingSdk.samples.peek());
+		assertSame(sample, response.getResponse());
+		assertTrue(faceSdkService.getRequests("/extract-template").isEmpty());
+	}
+
+	@Test
+	public void otherFormatsStillGoToTheirService() {
+		Client_V_1_0 client = client(LocalSdk.URL_PREFIX + RecordingSdk.class.getName());
+
+		client.checkQuality(sample(), List.of(BiometricType.FACE), FACE_FLAGS);
+
+		assertTrue(RecordingSdk.samples.isEmpty());
+		assertEquals(1, faceSdkService.getRequests("/check-quality").size());
+	}
+
+	@Test
+	public void failureOfTheLocalSdkFailsTheCall() {
+		Client_V_1_0 client = client(LocalSdk.URL_PREFIX + RecordingSdk.class.getName());
+
+		try {
+			client.match(sample(), new BiometricRecord[] { sample() }, List.of(BiometricType.FINGER), null);
+			fail("Failed match succeeded");
+		} catch (BioSdkClientException e) {
+			assertEquals(ResponseStatus.UNKNOWN_ERROR.getStatusCode() + "", e.getErrorCode());
+		}
+	}
+
+	@Test
+	public void unknownLocalSdkFailsInit() {
+		try {
+			client(LocalSdk.URL_PREFIX + "io.mosip.biosdk.client.NoSuchSdk");
+			fail("init succeeded without the SDK");
+		} catch (BioSdkClientException e) {
+			assertEquals(ResponseStatus.UNKNOWN_ERROR.getStatusCode() + "", e.getErrorCode());
+		}
+	}
+
+	@Test
+	public void localUrlIsRecognized() {
+		assertTrue(LocalSdk.isLocal("local:" + RecordingSdk.class.getName()));
+		assertTrue(LocalSdk.isLocal(" LOCAL:"));
+		assertFalse(LocalSdk.isLocal("http://localhost:9099"));
+		assertFalse(LocalSdk.isLocal(null));
+	}
+
+	private Client_V_1_0 client(String defaultUrl) {
+		Map<String, String> initParams = new HashMap<>();
+		initParams.put("format.url.default", defaultUrl);
+		initParams.put("format.url.face", faceSdkService.getUrl());
+		Client_V_1_0 client = new Client_V_1_0();
+		client.init(initParams);
+		return client;
+	}
+
+	private static BiometricRecord sample() {
+		BiometricRecord biometricRecord = new BiometricRecord();
+		biometricRecord.setSegments(List.of(new BIR.BIRBuilder().withBdb(new byte[] { 1 }).build()));
+		return biometricRecord;
+	}
+
+	/**
+	 * Records the calls it gets; extraction returns the sample itself, and
+	 * match fails.
+	 */
+	public static class RecordingSdk implements IBioApiV2 {
+
+		static final Queue<Map<String, String>> initParams = new ConcurrentLinkedQueue<>();
+
+		static final Queue<BiometricRecord> samples = new ConcurrentLinkedQueue<>();
+
+		@Override
+		public SDKInfo init(Map<String, String> initParams) {
+			RecordingSdk.initParams.add(initParams);
+			return new SDKInfo("0.9", "1.0", "MOSIP", "local");
+		}
+
+		@Override
+		public Response<MatchDecision[]> match(BiometricRecord sample, BiometricRecord[] gallery,
+				List<BiometricType> modalitiesToMatch, Map<String, String> flags) {
+			samples.add(sample);
+			throw new IllegalStateException("match failed");
+		}
+
+		@Override
+		public Response<QualityCheck> checkQuality(BiometricRecord sample, List<BiometricType> modalitiesToCheck,
+				Map<String, String> flags) {
+			samples.add(sample);
+			return response(new QualityCheck());
+		}
+
+		@Override
+		public Response<BiometricRecord> extractTemplate(BiometricRecord sample,
+				List<BiometricType> modalitiesToExtract, Map<String, String> flags) {
+			samples.add(sample);
+			return response(sample);
+		}
+
+		@Override
+		public Response<BiometricRecord> segment(BiometricRecord sample, List<BiometricType> modalitiesToSegment,
+				Map<String, String> flags) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Deprecated(since = "1.2.0.1", forRemoval = true)
+		@Override
+		public BiometricRecord convertFormat(BiometricRecord sample, String sourceFormat, String targetFormat,
+				Map<String, String> sourceParams, Map<String, String> targetParams,
+				List<BiometricType> modalitiesToConvert) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Response<BiometricRecord> convertFormatV2(BiometricRecord sample, String sourceFormat,
+				String targetFormat, Map<String, String> sourceParams, Map<String, String> targetParams,
+				List<BiometricType> modalitiesToConvert) {
+			throw new UnsupportedOperationException();
+		}
+
+		private static <T> Response<T> response(T result) {
+			Response<T> response = new Response<>();
+			response.setStatusCode(ResponseStatus.SUCCESS.getStatusCode());
+			response.setResponse(result);
+			return response;
+		}
+	}
+}
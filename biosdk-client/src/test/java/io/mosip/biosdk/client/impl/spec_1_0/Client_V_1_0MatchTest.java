@@ -0,0 +1,225 @@
+package io.mosip.biosdk.client.impl.spec_1_0;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import io.mosip.biosdk.client.StubSdkService;
+import io.mosip.biosdk.client.config.MatchShardConfig;
+import io.mosip.biosdk.client.constant.ResponseStatus;
+import io.mosip.biosdk.client.dto.ErrorDto;
+import io.mosip.biosdk.client.dto.ResponseDto;
+import io.mosip.biosdk.client.exception.BioSdkClientException;
+import io.mosip.biosdk.client.exception.SdkServiceErrorException;
+import io.mosip.kernel.biometrics.constant.BiometricType;
+import io.mosip.kernel.biometrics.constant.Match;
+import io.mosip.kernel.biometrics.entities.BIR;
+import io.mosip.kernel.biometrics.entities.BiometricRecord;
+import io.mosip.kernel.biometrics.model.Decision;
+import io.mosip.kernel.biometrics.model.MatchDecision;
+import io.mosip.kernel.biometrics.model.Response;
+
+/**
+ * Sharded and streaming 1:N match against an SDK service which matches the gallery records
+ * whose BDB equals the sample's, and fails for records with the failing BDB.
+ */
+public class Client_V_1_0MatchTest {
+
+	private static final byte[] SAMPLE_BDB = { 1 };
+
+	private static final byte[] OTHER_BDB = { 0 };
+
+	private static final byte[] FAILING_BDB = { 2 };
+
+	private static final List<BiometricType> FINGER = List.of(BiometricType.FINGER);
+
+	private StubSdkService sdkService;
+
+	@Before
+	public void setUp() throws IOException {
+		sdkService = new StubSdkService().on("/match", Client_V_1_0MatchTest::match);
+	}
+
+	@After
+	public void tearDown() {
+		sdkService.close();
+	}
+
+	@Test
+	public void smallGalleryIsMatchedAtOnce() {
+		Client_V_1_0 client = client(Map.of(MatchShardConfig.SHARD_SIZE, "10"));
+
+		Response<MatchDecision[]> response = client.match(record(SAMPLE_BDB), gallery(10, 3), FINGER, null);
+
+		assertEquals(List.of(10), galleryLengths());
+		assertMatched(response.getResponse(), 10, 3);
+	}
+
+	@Test
+	public void shardedMatchRebasesGalleryIndexes() {
+		Client_V_1_0 client = client(Map.of(MatchShardConfig.SHARD_SIZE, "10", MatchShardConfig.PARALLELISM, "3"));
+
+		Response<MatchDecision[]> response = client.match(record(SAMPLE_BDB), gallery(35, 3, 17, 32), FINGER, null);
+
+		assertEquals(ResponseStatus.SUCCESS.getStatusCode(), (int) response.getStatusCode());
+		assertEquals(List.of(5, 10, 10, 10), galleryLengths());
+		assertMatched(response.getResponse(), 35, 3, 17, 32);
+	}
+
+	@Test
+	public void failedShardFailsTheMatch() {
+		Client_V_1_0 client = client(Map.of(MatchShardConfig.SHARD_SIZE, "10", MatchShardConfig.PARALLELISM, "3"));
+		BiometricRecord[] gallery = gallery(35, 3);
+		gallery[24] = record(FAILING_BDB);
+
+		try {
+			client.match(record(SAMPLE_BDB), gallery, FINGER, null);
+			fail("Match succeeded without the decisions of a shard");
+		} catch (BioSdkClientException e) {
+			assertEquals(ResponseStatus.UNKNOWN_ERROR.getStatusCode() + "", e.getErrorCode());
+		}
+	}
+
+	@Test
+	public void errorEnvelopeFailsTheMatchWithTheServiceErrors() {
+		sdkService.on("/match", request -> {
+			ResponseDto<Object> responseDto = new ResponseDto<>();
+			responseDto.setVersion("1.0");
+			// Not the shape of a successful response
+			responseDto.setResponse("Invalid gallery");
+			responseDto.setErrors(List.of(new ErrorDto("BIO_SDK_001", "Invalid gallery")));
+			return responseDto;
+		});
+		Client_V_1_0 client = client(Map.of());
+
+		try {
+			client.match(record(SAMPLE_BDB), gallery(3), FINGER, null);
+			fail("Match succeeded with an error envelope");
+		} catch (BioSdkClientException e) {
+			assertTrue(e.getCause() instanceof SdkServiceErrorException);
+			assertEquals("BIO_SDK_001", ((SdkServiceErrorException) e.getCause()).getErrors().get(0).getCode());
+		}
+	}
+
+	@Test
+	public void streamingMatchHandsRebasedChunksToListener() {
+		Client_V_1_0 client = client(
+				Map.of(MatchShardConfig.STREAM_CHUNK_SIZE, "10", MatchShardConfig.PARALLELISM, "2"));
+		List<MatchDecision[]> chunks = new CopyOnWriteArrayList<>();
+
+		Response<MatchDecision[]> response = client.matchStreaming(record(SAMPLE_BDB), gallery(25, 12, 24), FINGER,
+				null, 0, chunks::add);
+
+		assertEquals(3, chunks.size());
+		int[] firstIndexes = chunks.stream().mapToInt(chunk -> chunk[0].getGalleryIndex()).sorted().toArray();
+		assertArrayEquals(new int[] { 0, 10, 20 }, firstIndexes);
+		assertMatched(response.getResponse(), 25, 12, 24);
+	}
+
+	@Test
+	public void streamingMatchStopsAfterMaxMatches() {
+		Client_V_1_0 client = client(
+				Map.of(MatchShardConfig.STREAM_CHUNK_SIZE, "10", MatchShardConfig.PARALLELISM, "1"));
+		List<MatchDecision[]> chunks = new CopyOnWriteArrayList<>();
+
+		Response<MatchDecision[]> response = client.matchStreaming(record(SAMPLE_BDB), gallery(100, 15, 95), FINGER,
+				null, 1, chunks::add);
+
+		// The chunks after the one holding the first match are not sent
+		assertEquals(List.of(10, 10), galleryLengths());
+		assertEquals(2, chunks.size());
+		assertMatched(response.getResponse(), 20, 15);
+	}
+
+	@Test
+	public void streamingMatchWithoutMatchesCoversWholeGallery() {
+		Client_V_1_0 client = client(
+				Map.of(MatchShardConfig.STREAM_CHUNK_SIZE, "10", MatchShardConfig.PARALLELISM, "4"));
+
+		Response<MatchDecision[]> response = client.matchStreaming(record(SAMPLE_BDB), gallery(95), FINGER, null, 1,
+				null);
+
+		assertEquals(10, galleryLengths().size());
+		assertMatched(response.getResponse(), 95);
+	}
+
+	/**
+	 * @return the lengths of the galleries the SDK service was sent, shortest
+	 *         first
+	 */
+	private List<Integer> galleryLengths() {
+		return sdkService.getRequests("/match").stream()
+				.map(request -> request.payload().getAsJsonArray("gallery").size()).sorted().toList();
+	}
+
+	/**
+	 * Asserts the decisions cover the gallery records from 0 in order, and only
+	 * the given ones matched.
+	 */
+	private static void assertMatched(MatchDecision[] matchDecisions, int length, int... matched) {
+		assertEquals(length, matchDecisions.length);
+		for (int i = 0; i < length; i++) {
+			int galleryIndex = matchDecisions[i].getGalleryIndex();
+			assertEquals(i, galleryIndex);
+			Match expected = Arrays.stream(matched).anyMatch(index -> index == galleryIndex) ? Match.MATCHED
+					: Match.NOT_MATCHED;
+			assertEquals("Gallery record " + i, expected,
+					matchDecisions[i].getDecisions().get(BiometricType.FINGER).getMatch());
+		}
+	}
+
+	private Client_V_1_0 client(Map<String, String> params) {
+		Map<String, String> initParams = new HashMap<>(params);
+		initParams.put("format.url.default", sdkService.getUrl());
+		Client_V_1_0 client = new Client_V_1_0();
+		client.init(initParams);
+		return client;
+	}
+
+	private static BiometricRecord[] gallery(int length, int... matched) {
+		BiometricRecord[] gallery = new BiometricRecord[length];
+		Arrays.fill(gallery, record(OTHER_BDB));
+		for (int index : matched) {
+			gallery[index] = record(SAMPLE_BDB);
+		}
+		return gallery;
+	}
+
+	private static BiometricRecord record(byte[] bdb) {
+		BiometricRecord biometricRecord = new BiometricRecord();
+		biometricRecord.setSegments(List.of(new BIR.BIRBuilder().withBdb(bdb).build()));
+		return biometricRecord;
+	}
+
+	private static Object match(JsonObject request) {
+		byte[] sampleBdb = StubSdkService.firstBdb(request.getAsJsonObject("sample"));
+		JsonArray gallery = request.getAsJsonArray("gallery");
+		MatchDecision[] matchDecisions = new MatchDecision[gallery.size()];
+		for (int i = 0; i < gallery.size(); i++) {
+			byte[] bdb = StubSdkService.firstBdb(gallery.get(i).getAsJsonObject());
+			if (Arrays.equals(FAILING_BDB, bdb)) {
+				return new StubSdkService.Status(500);
+			}
+			Decision decision = new Decision();
+			decision.setMatch(Arrays.equals(sampleBdb, bdb) ? Match.MATCHED : Match.NOT_MATCHED);
+			matchDecisions[i] = new MatchDecision(i);
+			matchDecisions[i].setDecisions(new HashMap<>(Map.of(BiometricType.FINGER, decision)));
+		}
+		return StubSdkService.success(matchDecisions);
+	}
+}
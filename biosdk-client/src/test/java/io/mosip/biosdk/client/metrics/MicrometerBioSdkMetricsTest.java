@@ -0,0 +1,68 @@
+package io.mosip.biosdk.client.metrics;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import org.junit.Test;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Pool meters of the clients sharing a registry. The suppliers are held by
+ * the test as the metrics only keep weak references to them.
+ */
+public class MicrometerBioSdkMetricsTest {
+
+	private final MeterRegistry registry = new SimpleMeterRegistry();
+
+	private final MicrometerBioSdkMetrics metrics = MicrometerBioSdkMetrics.of(registry);
+
+	private final Supplier<ConnectionPoolStats> connectionPool = () -> new ConnectionPoolStats(1, 0, 2, 10);
+
+	private final Supplier<ConnectionPoolStats> otherConnectionPool = () -> new ConnectionPoolStats(3, 1, 0, 20);
+
+	private final AtomicReference<BufferPoolStats> bufferPoolStats = new AtomicReference<>(
+			new BufferPoolStats(0, 8, 4096, 10, 2));
+
+	private final Supplier<BufferPoolStats> bufferPool = bufferPoolStats::get;
+
+	@Test
+	public void connectionPoolsOfSeveralClientsAreSummed() {
+		metrics.bindConnectionPool(connectionPool);
+		metrics.bindConnectionPool(otherConnectionPool);
+		metrics.bindConnectionPool(connectionPool);
+
+		assertEquals(4, registry.get("biosdk.client.pool.connections").tag("state", "leased").gauge().value(), 0);
+		assertEquals(30, registry.get("biosdk.client.pool.connections").tag("state", "max").gauge().value(), 0);
+	}
+
+	@Test
+	public void bufferLeasesDoNotGoDownWhenAPoolIsReplaced() {
+		metrics.bindBufferPool(bufferPool);
+		assertEquals(10, hits(), 0);
+
+		bufferPoolStats.set(new BufferPoolStats(0, 8, 4096, 15, 2));
+		assertEquals(15, hits(), 0);
+
+		// A new pool created on init counts from zero
+		bufferPoolStats.set(new BufferPoolStats(0, 8, 4096, 4, 1));
+		assertEquals(19, hits(), 0);
+	}
+
+	@Test
+	public void bufferLeasesKeepTheirCountWhilePoolingIsDisabled() {
+		metrics.bindBufferPool(bufferPool);
+		assertEquals(10, hits(), 0);
+
+		bufferPoolStats.set(null);
+
+		assertEquals(10, hits(), 0);
+	}
+
+	private double hits() {
+		return registry.get("biosdk.client.pool.buffer.leases").tag("result", "hit").functionCounter().count();
+	}
+}
@@ -0,0 +1,54 @@
+package io.mosip.biosdk.client.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.function.Supplier;
+
+import org.junit.Test;
+
+/**
+ * Pool statistics bound by several clients. The suppliers are held by the
+ * test as the metrics only keep weak references to them.
+ */
+public class SimpleBioSdkMetricsTest {
+
+	private final SimpleBioSdkMetrics metrics = new SimpleBioSdkMetrics();
+
+	private final Supplier<ConnectionPoolStats> connectionPool = () -> new ConnectionPoolStats(1, 0, 2, 10);
+
+	private final Supplier<ConnectionPoolStats> otherConnectionPool = () -> new ConnectionPoolStats(3, 1, 0, 20);
+
+	private final Supplier<BufferPoolStats> bufferPool = () -> new BufferPoolStats(2, 8, 4096, 10, 3);
+
+	private final Supplier<BufferPoolStats> largerBufferPool = () -> new BufferPoolStats(1, 8, 8192, 5, 1);
+
+	private final Supplier<BufferPoolStats> disabledBufferPool = () -> null;
+
+	@Test
+	public void connectionPoolsOfSeveralClientsAreSummed() {
+		metrics.bindConnectionPool(connectionPool);
+		metrics.bindConnectionPool(otherConnectionPool);
+		// Bound again on init
+		metrics.bindConnectionPool(connectionPool);
+
+		assertEquals(new ConnectionPoolStats(4, 1, 2, 30), metrics.getConnectionPoolStats());
+	}
+
+	@Test
+	public void disabledBufferPoolsAreLeftOut() {
+		metrics.bindBufferPool(disabledBufferPool);
+		assertNull(metrics.getBufferPoolStats());
+
+		metrics.bindBufferPool(bufferPool);
+		metrics.bindBufferPool(largerBufferPool);
+
+		assertEquals(new BufferPoolStats(3, 16, 8192, 15, 4), metrics.getBufferPoolStats());
+	}
+
+	@Test
+	public void noPoolBound() {
+		assertNull(metrics.getConnectionPoolStats());
+		assertNull(metrics.getBufferPoolStats());
+	}
+}
@@ -0,0 +1,151 @@
+package io.mosip.biosdk.client.resilience;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import io.mosip.biosdk.client.config.BulkheadConfig;
+import io.mosip.biosdk.client.constant.ResponseStatus;
+import io.mosip.biosdk.client.exception.BioSdkClientException;
+
+public class BulkheadTest {
+
+	private static final long LATENCY_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+	@Test
+	public void letsRequestsThroughUpToTheLimit() {
+		Bulkhead bulkhead = bulkhead(Map.of());
+		bulkhead.acquire("match", Deadline.NONE);
+		bulkhead.acquire("match", Deadline.NONE);
+		assertEquals(new Bulkhead.Stats(2, 2, 0, 0), bulkhead.getStats());
+		bulkhead.release(LATENCY_NANOS, false);
+		bulkhead.release(LATENCY_NANOS, false);
+		assertEquals(new Bulkhead.Stats(2, 0, 0, 0), bulkhead.getStats());
+	}
+
+	@Test
+	public void queuedRequestGoesThroughOnRelease() throws Exception {
+		Bulkhead bulkhead = bulkhead(Map.of(BulkheadConfig.QUEUE_TIMEOUT_MS, "10000"));
+		bulkhead.acquire("match", Deadline.NONE);
+		bulkhead.acquire("match", Deadline.NONE);
+		CompletableFuture<Void> queued = CompletableFuture.runAsync(() -> bulkhead.acquire("match", Deadline.NONE));
+		awaitQueued(bulkhead, 1);
+		bulkhead.release(LATENCY_NANOS, false);
+		queued.get(5, TimeUnit.SECONDS);
+		assertEquals(new Bulkhead.Stats(2, 2, 0, 0), bulkhead.getStats());
+	}
+
+	@Test
+	public void rejectsWhenQueueIsFull() throws Exception {
+		Bulkhead bulkhead = bulkhead(Map.of(BulkheadConfig.QUEUE_TIMEOUT_MS, "10000"));
+		bulkhead.acquire("match", Deadline.NONE);
+		bulkhead.acquire("match", Deadline.NONE);
+		CompletableFuture<Void> queued = CompletableFuture.runAsync(() -> bulkhead.acquire("match", Deadline.NONE));
+		awaitQueued(bulkhead, 1);
+		assertRejected(bulkhead, Deadline.NONE, ResponseStatus.TOO_MANY_REQUESTS);
+		assertEquals(1, bulkhead.getStats().rejected());
+		bulkhead.release(LATENCY_NANOS, false);
+		queued.get(5, TimeUnit.SECONDS);
+	}
+
+	@Test
+	public void rejectsAfterQueueTimeout() {
+		Bulkhead bulkhead = bulkhead(Map.of(BulkheadConfig.QUEUE_TIMEOUT_MS, "20"));
+		bulkhead.acquire("match", Deadline.NONE);
+		bulkhead.acquire("match", Deadline.NONE);
+		assertRejected(bulkhead, Deadline.NONE, ResponseStatus.TOO_MANY_REQUESTS);
+		assertEquals(new Bulkhead.Stats(2, 2, 0, 1), bulkhead.getStats());
+	}
+
+	@Test
+	public void failsWithDeadlineExceededWhenDeadlineComesFirst() {
+		Bulkhead bulkhead = bulkhead(Map.of(BulkheadConfig.QUEUE_TIMEOUT_MS, "10000"));
+		bulkhead.acquire("match", Deadline.NONE);
+		bulkhead.acquire("match", Deadline.NONE);
+		assertRejected(bulkhead, Deadline.after(20), ResponseStatus.DEADLINE_EXCEEDED);
+		assertEquals(0, bulkhead.getStats().rejected());
+	}
+
+	@Test
+	public void adaptiveLimitBacksOffOnOverloadAndGrowsWhenSaturated() {
+		Bulkhead bulkhead = bulkhead(Map.of(BulkheadConfig.MAX_CONCURRENT, "4", BulkheadConfig.ADAPTIVE, "true"));
+		// A round is as many requests as the limit; one overloaded request cuts it by a tenth
+		round(bulkhead, 4, true);
+		assertEquals(3, bulkhead.getStats().limit());
+		// A saturated round within the latency tolerance raises it by one, up to the maximum
+		round(bulkhead, 3, false);
+		assertEquals(4, bulkhead.getStats().limit());
+		round(bulkhead, 4, false);
+		assertEquals(4, bulkhead.getStats().limit());
+	}
+
+	@Test
+	public void adaptiveLimitBacksOffWhenLatencyGrows() {
+		Bulkhead bulkhead = bulkhead(Map.of(BulkheadConfig.MAX_CONCURRENT, "4", BulkheadConfig.ADAPTIVE, "true",
+				BulkheadConfig.LATENCY_TOLERANCE, "200"));
+		round(bulkhead, 4, false);
+		assertEquals(4, bulkhead.getStats().limit());
+		for (int i = 0; i < 4; i++) {
+			bulkhead.acquire("match", Deadline.NONE);
+		}
+		for (int i = 0; i < 4; i++) {
+			bulkhead.release(LATENCY_NANOS * 3, false);
+		}
+		assertEquals(3, bulkhead.getStats().limit());
+	}
+
+	@Test
+	public void adaptiveLimitStaysAboveMinimum() {
+		Bulkhead bulkhead = bulkhead(Map.of(BulkheadConfig.MAX_CONCURRENT, "2", BulkheadConfig.ADAPTIVE, "true",
+				BulkheadConfig.MIN_CONCURRENT, "2"));
+		round(bulkhead, 2, true);
+		round(bulkhead, 2, true);
+		assertEquals(2, bulkhead.getStats().limit());
+	}
+
+	/**
+	 * Takes the given number of permits at once, so that the limit is reached,
+	 * and releases them.
+	 */
+	private static void round(Bulkhead bulkhead, int requests, boolean overloaded) {
+		for (int i = 0; i < requests; i++) {
+			bulkhead.acquire("match", Deadline.NONE);
+		}
+		for (int i = 0; i < requests; i++) {
+			bulkhead.release(LATENCY_NANOS, overloaded && i == 0);
+		}
+	}
+
+	private static void assertRejected(Bulkhead bulkhead, Deadline deadline, ResponseStatus status) {
+		try {
+			bulkhead.acquire("match", deadline);
+			fail("Permit taken over the limit");
+		} catch (BioSdkClientException e) {
+			assertEquals(status.getStatusCode() + "", e.getErrorCode());
+		}
+	}
+
+	private static void awaitQueued(Bulkhead bulkhead, int queued) throws InterruptedException {
+		long waitUntil = System.currentTimeMillis() + 5000;
+		while (bulkhead.getStats().queued() < queued) {
+			if (System.currentTimeMillis() > waitUntil) {
+				fail("Request not queued");
+			}
+			Thread.sleep(5);
+		}
+	}
+
+	private static Bulkhead bulkhead(Map<String, String> params) {
+		Map<String, String> initParams = new HashMap<>();
+		initParams.put(BulkheadConfig.MAX_CONCURRENT, "2");
+		initParams.put(BulkheadConfig.MAX_QUEUE, "1");
+		initParams.putAll(params);
+		return new Bulkhead("test", BulkheadConfig.fromInitParams(initParams));
+	}
+}
@@ -0,0 +1,140 @@
+package io.mosip.biosdk.client.resilience;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.mosip.biosdk.client.config.CircuitBreakerConfig;
+
+public class CircuitBreakerTest {
+
+	private CircuitBreaker circuitBreaker;
+
+	@Before
+	public void setUp() {
+		circuitBreaker = new CircuitBreaker(CircuitBreakerConfig.fromInitParams(Map.of(
+				CircuitBreakerConfig.FAILURE_RATE_THRESHOLD, "50",
+				CircuitBreakerConfig.WINDOW_SIZE, "4",
+				CircuitBreakerConfig.MINIMUM_CALLS, "4",
+				CircuitBreakerConfig.SLOW_CALL_DURATION_MS, "1000",
+				CircuitBreakerConfig.WAIT_DURATION_OPEN_MS, "0",
+				CircuitBreakerConfig.HALF_OPEN_CALLS, "2")));
+	}
+
+	@Test
+	public void opensOnFailureRate() {
+		call(false);
+		call(false);
+		call(true);
+		assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+		call(true);
+		assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+	}
+
+	@Test
+	public void closesWhenProbesSucceed() {
+		open();
+		call(false);
+		assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+		call(false);
+		assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+	}
+
+	@Test
+	public void reopensWhenProbeFails() {
+		open();
+		int probeRound = circuitBreaker.tryAcquirePermission();
+		circuitBreaker.onError(10);
+		// The wait duration is 0, so the next half-open period starts at once
+		assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+		circuitBreaker.onCallAbandoned(probeRound);
+		circuitBreaker.tryAcquirePermission();
+		circuitBreaker.tryAcquirePermission();
+		assertFalse(circuitBreaker.isCallPermitted());
+	}
+
+	@Test
+	public void limitsProbes() {
+		open();
+		circuitBreaker.tryAcquirePermission();
+		assertTrue(circuitBreaker.isCallPermitted());
+		circuitBreaker.tryAcquirePermission();
+		assertFalse(circuitBreaker.isCallPermitted());
+	}
+
+	@Test
+	public void rejectsProbesBeyondTheLimit() {
+		open();
+		assertTrue(circuitBreaker.tryAcquirePermission() >= 0);
+		assertTrue(circuitBreaker.tryAcquirePermission() >= 0);
+		assertEquals(CircuitBreaker.NOT_PERMITTED, circuitBreaker.tryAcquirePermission());
+	}
+
+	@Test
+	public void deadlineExceededAfterSlowCallDurationCountsAsFailure() {
+		call(false);
+		call(false);
+		call(true);
+		circuitBreaker.onDeadlineExceeded(circuitBreaker.tryAcquirePermission(), 1000);
+		assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+	}
+
+	@Test
+	public void deadlineExceededBeforeSlowCallDurationIsAbandoned() {
+		call(false);
+		call(false);
+		call(true);
+		circuitBreaker.onDeadlineExceeded(circuitBreaker.tryAcquirePermission(), 999);
+		assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+		open();
+		int probeRound = circuitBreaker.tryAcquirePermission();
+		circuitBreaker.tryAcquirePermission();
+		circuitBreaker.onDeadlineExceeded(probeRound, 10);
+		assertTrue(circuitBreaker.isCallPermitted());
+	}
+
+	@Test
+	public void abandonedProbesGiveBackTheirSlots() {
+		open();
+		for (int i = 0; i < 10; i++) {
+			assertTrue(circuitBreaker.isCallPermitted());
+			circuitBreaker.onCallAbandoned(circuitBreaker.tryAcquirePermission());
+		}
+		call(false);
+		call(false);
+		assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+	}
+
+	@Test
+	public void abandonedCallsWhileClosedAreIgnored() {
+		int probeRound = circuitBreaker.tryAcquirePermission();
+		assertEquals(-1, probeRound);
+		open();
+		circuitBreaker.tryAcquirePermission();
+		circuitBreaker.tryAcquirePermission();
+		circuitBreaker.onCallAbandoned(probeRound);
+		assertFalse(circuitBreaker.isCallPermitted());
+	}
+
+	private void open() {
+		for (int i = 0; i < 4; i++) {
+			call(true);
+		}
+		assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+	}
+
+	private void call(boolean failed) {
+		assertTrue(circuitBreaker.isCallPermitted());
+		circuitBreaker.tryAcquirePermission();
+		if (failed) {
+			circuitBreaker.onError(10);
+		} else {
+			circuitBreaker.onSuccess(10);
+		}
+	}
+}
@@ -0,0 +1,74 @@
+package io.mosip.biosdk.client.resilience;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import io.mosip.biosdk.client.constant.ResponseStatus;
+import io.mosip.biosdk.client.exception.BioSdkClientException;
+
+public class DeadlineTest {
+
+	@Test
+	public void noneIsUnbounded() {
+		assertFalse(Deadline.NONE.isBounded());
+		assertFalse(Deadline.NONE.isExpired());
+		assertEquals(Long.MAX_VALUE, Deadline.NONE.remainingMillis());
+		Deadline.NONE.check("match");
+		assertEquals("none", Deadline.NONE.toString());
+	}
+
+	@Test
+	public void nonPositiveTimeoutIsUnbounded() {
+		assertSame(Deadline.NONE, Deadline.after(0));
+		assertSame(Deadline.NONE, Deadline.after(-1));
+	}
+
+	@Test
+	public void remainingTimeCountsDown() throws InterruptedException {
+		Deadline deadline = Deadline.after(10_000);
+		assertTrue(deadline.isBounded());
+		assertFalse(deadline.isExpired());
+		long remaining = deadline.remainingMillis();
+		assertTrue(remaining > 9_000 && remaining <= 10_000);
+		Thread.sleep(20);
+		assertTrue(deadline.remainingMillis() < remaining);
+		deadline.check("match");
+	}
+
+	@Test
+	public void expiresAfterTimeout() throws InterruptedException {
+		Deadline deadline = Deadline.after(10);
+		Thread.sleep(30);
+		assertTrue(deadline.isExpired());
+		assertTrue(deadline.remainingMillis() <= 0);
+		try {
+			deadline.check("match");
+			fail("Expired deadline passed the check");
+		} catch (BioSdkClientException e) {
+			assertEquals(ResponseStatus.DEADLINE_EXCEEDED.getStatusCode() + "", e.getErrorCode());
+		}
+	}
+
+	@Test
+	public void minIsTheEarlierDeadline() {
+		Deadline earlier = Deadline.after(1_000);
+		Deadline later = Deadline.after(10_000);
+		assertSame(earlier, earlier.min(later));
+		assertSame(earlier, later.min(earlier));
+		assertSame(earlier, earlier.min(Deadline.NONE));
+		assertSame(earlier, Deadline.NONE.min(earlier));
+		assertSame(Deadline.NONE, Deadline.NONE.min(Deadline.NONE));
+	}
+
+	@Test
+	public void exceededNamesTheOperation() {
+		BioSdkClientException e = Deadline.exceeded("match");
+		assertEquals(ResponseStatus.DEADLINE_EXCEEDED.getStatusCode() + "", e.getErrorCode());
+		assertEquals(String.format(ResponseStatus.DEADLINE_EXCEEDED.getStatusMessage(), "match"), e.getErrorText());
+	}
+}
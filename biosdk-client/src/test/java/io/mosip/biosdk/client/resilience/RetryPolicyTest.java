@@ -0,0 +1,120 @@
+package io.mosip.biosdk.client.resilience;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import io.mosip.biosdk.client.config.RetryConfig;
+import io.mosip.biosdk.client.constant.ResponseStatus;
+import io.mosip.biosdk.client.dto.ErrorDto;
+import io.mosip.biosdk.client.exception.BioSdkClientException;
+import io.mosip.biosdk.client.exception.SdkServiceErrorException;
+
+public class RetryPolicyTest {
+
+	@Test
+	public void ioErrorsAreRetryable() {
+		RetryPolicy retryPolicy = retryPolicy(Map.of());
+		assertTrue(retryPolicy.isRetryable(new ResourceAccessException("reset", new IOException("reset"))));
+	}
+
+	@Test
+	public void configuredStatusesAreRetryable() {
+		RetryPolicy retryPolicy = retryPolicy(Map.of());
+		assertTrue(retryPolicy.isRetryable(new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE)));
+		assertTrue(retryPolicy.isRetryable(new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS)));
+		assertFalse(retryPolicy.isRetryable(new HttpServerErrorException(HttpStatus.INTERNAL_SERVER_ERROR)));
+		assertFalse(retryPolicy.isRetryable(new HttpClientErrorException(HttpStatus.BAD_REQUEST)));
+
+		retryPolicy = retryPolicy(Map.of(RetryConfig.RETRYABLE_STATUSES, "500"));
+		assertTrue(retryPolicy.isRetryable(new HttpServerErrorException(HttpStatus.INTERNAL_SERVER_ERROR)));
+		assertFalse(retryPolicy.isRetryable(new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE)));
+	}
+
+	@Test
+	public void serviceErrorsAreRetryableOnlyIfAllCodesAre() {
+		RetryPolicy retryPolicy = retryPolicy(Map.of(RetryConfig.RETRYABLE_ERROR_CODES, "BIO-BUSY,BIO-TIMEOUT"));
+		assertTrue(retryPolicy.isRetryable(serviceError(List.of(new ErrorDto("BIO-BUSY", "busy")))));
+		assertTrue(retryPolicy.isRetryable(
+				serviceError(List.of(new ErrorDto("BIO-BUSY", "busy"), new ErrorDto("BIO-TIMEOUT", "timeout")))));
+		assertFalse(retryPolicy.isRetryable(
+				serviceError(List.of(new ErrorDto("BIO-BUSY", "busy"), new ErrorDto("BIO-INVALID", "invalid")))));
+		assertFalse(retryPolicy.isRetryable(serviceError(Arrays.asList((ErrorDto) null))));
+		assertFalse(retryPolicy.isRetryable(serviceError(List.of())));
+		assertFalse(retryPolicy.isRetryable(serviceError(null)));
+	}
+
+	@Test
+	public void clientFailuresAreTerminal() {
+		RetryPolicy retryPolicy = retryPolicy(Map.of());
+		assertFalse(retryPolicy.isRetryable(Deadline.exceeded("match")));
+		assertFalse(retryPolicy.isRetryable(
+				new BioSdkClientException(ResponseStatus.SERVICE_UNAVAILABLE.getStatusCode() + "", "circuit open")));
+		assertFalse(retryPolicy.isRetryable(new IllegalStateException()));
+	}
+
+	@Test
+	public void backoffIsJitteredUpToCappedExponential() {
+		RetryPolicy retryPolicy = retryPolicy(
+				Map.of(RetryConfig.INITIAL_BACKOFF_MS, "100", RetryConfig.MAX_BACKOFF_MS, "300"));
+		for (int i = 0; i < 100; i++) {
+			assertBetween(0, 100, retryPolicy.getBackoffMillis(1));
+			assertBetween(0, 200, retryPolicy.getBackoffMillis(2));
+			assertBetween(0, 300, retryPolicy.getBackoffMillis(3));
+			assertBetween(0, 300, retryPolicy.getBackoffMillis(64));
+		}
+	}
+
+	@Test
+	public void retriesAreBoundedByBudget() {
+		RetryPolicy retryPolicy = retryPolicy(
+				Map.of(RetryConfig.BUDGET_MAX_TOKENS, "2", RetryConfig.BUDGET_PERCENT, "50"));
+		assertTrue(retryPolicy.tryAcquireRetry());
+		assertTrue(retryPolicy.tryAcquireRetry());
+		assertFalse(retryPolicy.tryAcquireRetry());
+
+		// Each call earns half a retry
+		retryPolicy.onCall();
+		assertFalse(retryPolicy.tryAcquireRetry());
+		retryPolicy.onCall();
+		assertTrue(retryPolicy.tryAcquireRetry());
+		assertFalse(retryPolicy.tryAcquireRetry());
+	}
+
+	@Test
+	public void budgetIsCappedByMaxTokens() {
+		RetryPolicy retryPolicy = retryPolicy(
+				Map.of(RetryConfig.BUDGET_MAX_TOKENS, "2", RetryConfig.BUDGET_PERCENT, "50"));
+		for (int i = 0; i < 100; i++) {
+			retryPolicy.onCall();
+		}
+		assertTrue(retryPolicy.tryAcquireRetry());
+		assertTrue(retryPolicy.tryAcquireRetry());
+		assertFalse(retryPolicy.tryAcquireRetry());
+	}
+
+	private static void assertBetween(long min, long max, long value) {
+		assertTrue(value + " not in [" + min + ", " + max + "]", value >= min && value <= max);
+	}
+
+	private static SdkServiceErrorException serviceError(List<ErrorDto> errors) {
+		return new SdkServiceErrorException(ResponseStatus.UNKNOWN_ERROR.getStatusCode() + "", "failed", errors);
+	}
+
+	private static RetryPolicy retryPolicy(Map<String, String> params) {
+		Map<String, String> initParams = new HashMap<>(params);
+		initParams.put(RetryConfig.MAX_ATTEMPTS, "3");
+		return new RetryPolicy(RetryConfig.fromInitParams(initParams));
+	}
+}
@@ -0,0 +1,150 @@
+package io.mosip.biosdk.client.routing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.junit.After;
+import org.junit.Test;
+
+import io.mosip.biosdk.client.config.HealthCheckConfig;
+
+public class HealthCheckerTest {
+
+	private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+	private final AtomicBoolean up = new AtomicBoolean(true);
+
+	private final AtomicInteger probes = new AtomicInteger();
+
+	private final AtomicInteger warmedConnections = new AtomicInteger();
+
+	private HealthChecker healthChecker;
+
+	@After
+	public void tearDown() {
+		if (healthChecker != null) {
+			healthChecker.close();
+		}
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void readyEndpointIsProbedAndWarmedRightAway() throws InterruptedException {
+		SdkEndpoint endpoint = new SdkEndpoint("http://sdk-1");
+		start(Map.of(HealthCheckConfig.INTERVAL_MS, "60000", HealthCheckConfig.MIN_WARM_CONNECTIONS, "4"), endpoint);
+		Thread.sleep(50);
+		assertEquals(0, probes.get());
+
+		endpoint.markReady();
+
+		await(() -> warmedConnections.get() == 4);
+		assertEquals(1, probes.get());
+		assertTrue(endpoint.isHealthy());
+	}
+
+	@Test
+	public void endpointIsMarkedDownAfterFailedProbesInARow() {
+		SdkEndpoint endpoint = readyEndpoint();
+		up.set(false);
+		start(Map.of(HealthCheckConfig.INTERVAL_MS, "10", HealthCheckConfig.FAILURE_THRESHOLD, "3"), endpoint);
+
+		await(() -> !endpoint.isHealthy());
+		assertTrue(probes.get() >= 3);
+	}
+
+	@Test
+	public void endpointIsMarkedUpAgainBySuccessfulProbe() {
+		SdkEndpoint endpoint = readyEndpoint();
+		endpoint.markUnhealthy();
+		endpoint.markFailed(60_000, 0);
+		start(Map.of(HealthCheckConfig.INTERVAL_MS, "10"), endpoint);
+
+		await(endpoint::isHealthy);
+		assertTrue(endpoint.isAvailable());
+	}
+
+	@Test
+	public void failedProbesUnderTheThresholdKeepTheEndpointUp() {
+		SdkEndpoint endpoint = readyEndpoint();
+		AtomicInteger calls = new AtomicInteger();
+		healthChecker = new HealthChecker(HealthCheckConfig.fromInitParams(Map.of(HealthCheckConfig.INTERVAL_MS, "10")),
+				(sdkEndpoint, timeoutMillis) -> calls.incrementAndGet() % 2 == 0, HealthCheckerTest::noWarming,
+				executor);
+		healthChecker.start(List.of(endpoint));
+
+		await(() -> calls.get() >= 10);
+		assertTrue(endpoint.isHealthy());
+	}
+
+	@Test
+	public void closedCheckerStopsProbing() throws InterruptedException {
+		SdkEndpoint endpoint = readyEndpoint();
+		start(Map.of(HealthCheckConfig.INTERVAL_MS, "10"), endpoint);
+		await(() -> probes.get() >= 2);
+
+		healthChecker.close();
+		Thread.sleep(20);
+		int probesAfterClose = probes.get();
+		Thread.sleep(100);
+
+		assertEquals(probesAfterClose, probes.get());
+	}
+
+	@Test
+	public void failingProbeCountsAsDown() {
+		SdkEndpoint endpoint = readyEndpoint();
+		healthChecker = new HealthChecker(
+				HealthCheckConfig.fromInitParams(
+						Map.of(HealthCheckConfig.INTERVAL_MS, "10", HealthCheckConfig.FAILURE_THRESHOLD, "1")),
+				(sdkEndpoint, timeoutMillis) -> {
+					throw new IllegalStateException("connection refused");
+				}, (sdkEndpoint, connections, timeoutMillis) -> fail("Warmed a down endpoint"), executor);
+		healthChecker.start(List.of(endpoint));
+
+		await(() -> !endpoint.isHealthy());
+		assertFalse(endpoint.isHealthy());
+	}
+
+	private void start(Map<String, String> params, SdkEndpoint endpoint) {
+		healthChecker = new HealthChecker(HealthCheckConfig.fromInitParams(params), (sdkEndpoint, timeoutMillis) -> {
+			probes.incrementAndGet();
+			return up.get();
+		}, (sdkEndpoint, connections, timeoutMillis) -> warmedConnections.set(connections), executor);
+		healthChecker.start(List.of(endpoint));
+	}
+
+	private static void noWarming(SdkEndpoint endpoint, int connections, long timeoutMillis) {
+		// connections are not tracked by this test
+	}
+
+	private static SdkEndpoint readyEndpoint() {
+		SdkEndpoint endpoint = new SdkEndpoint("http://sdk-1");
+		endpoint.markReady();
+		return endpoint;
+	}
+
+	private static void await(BooleanSupplier condition) {
+		long waitUntil = System.currentTimeMillis() + 5000;
+		while (!condition.getAsBoolean()) {
+			if (System.currentTimeMillis() > waitUntil) {
+				fail("Condition not met in time");
+			}
+			try {
+				Thread.sleep(5);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				fail("Interrupted");
+			}
+		}
+	}
+}
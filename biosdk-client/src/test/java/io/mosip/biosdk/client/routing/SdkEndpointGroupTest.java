@@ -0,0 +1,85 @@
+package io.mosip.biosdk.client.routing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.mosip.biosdk.client.config.CircuitBreakerConfig;
+import io.mosip.biosdk.client.constant.ResponseStatus;
+import io.mosip.biosdk.client.exception.BioSdkClientException;
+import io.mosip.biosdk.client.resilience.CircuitBreaker;
+
+public class SdkEndpointGroupTest {
+
+	private SdkEndpoint first;
+
+	private SdkEndpoint second;
+
+	private SdkEndpointGroup group;
+
+	@Before
+	public void setUp() {
+		CircuitBreakerConfig config = CircuitBreakerConfig.fromInitParams(Map.of(
+				CircuitBreakerConfig.FAILURE_RATE_THRESHOLD, "50",
+				CircuitBreakerConfig.WINDOW_SIZE, "1",
+				CircuitBreakerConfig.MINIMUM_CALLS, "1",
+				CircuitBreakerConfig.WAIT_DURATION_OPEN_MS, "0",
+				CircuitBreakerConfig.HALF_OPEN_CALLS, "1"));
+		first = new SdkEndpoint("http://first", new CircuitBreaker(config));
+		second = new SdkEndpoint("http://second", new CircuitBreaker(config));
+		group = new SdkEndpointGroup(List.of(first, second), SdkEndpointGroup.Policy.LEAST_OUTSTANDING);
+	}
+
+	@Test
+	public void selectStartsTheRequest() {
+		first.markReady();
+		SdkEndpoint.Permit permit = group.select();
+		assertSame(first, permit.endpoint());
+		assertEquals(-1, permit.probeRound());
+		assertEquals(1, first.getOutstandingRequests());
+		permit.release();
+		assertEquals(0, first.getOutstandingRequests());
+	}
+
+	@Test
+	public void selectTakesTheOnlyProbeSlot() {
+		first.markReady();
+		open(first);
+		SdkEndpoint.Permit probe = group.select();
+		assertNotNull(probe);
+		try {
+			group.select();
+			fail("Second probe permitted");
+		} catch (BioSdkClientException e) {
+			assertEquals(ResponseStatus.SERVICE_UNAVAILABLE.getStatusCode() + "", e.getErrorCode());
+		}
+		probe.release();
+		assertSame(first, group.select().endpoint());
+	}
+
+	@Test
+	public void selectOtherSkipsReplicasWithoutProbeSlot() {
+		first.markReady();
+		second.markReady();
+		open(second);
+		SdkEndpoint.Permit probe = group.selectOther(first);
+		assertSame(second, probe.endpoint());
+		assertNull(group.selectOther(first));
+	}
+
+	private static void open(SdkEndpoint endpoint) {
+		SdkEndpoint.Permit permit = endpoint.tryRequestStarted();
+		endpoint.requestFinished();
+		endpoint.markFailed(0, 10);
+		assertEquals(CircuitBreaker.State.HALF_OPEN, endpoint.getCircuitBreaker().getState());
+		assertEquals(-1, permit.probeRound());
+	}
+}
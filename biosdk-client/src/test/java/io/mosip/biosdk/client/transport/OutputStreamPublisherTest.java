@@ -0,0 +1,234 @@
+package io.mosip.biosdk.client.transport;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.StreamingHttpOutputMessage;
+
+public class OutputStreamPublisherTest {
+
+	private ExecutorService executor;
+
+	@Before
+	public void setUp() {
+		executor = Executors.newSingleThreadExecutor();
+	}
+
+	@After
+	public void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void publishesBodyInChunks() throws InterruptedException {
+		byte[] body = bytes(1000);
+		RecordingSubscriber subscriber = new RecordingSubscriber();
+		new OutputStreamPublisher(out -> out.write(body), 64, executor).subscribe(subscriber);
+		subscriber.request(Long.MAX_VALUE);
+
+		subscriber.awaitDone();
+		assertTrue(subscriber.completed);
+		assertNull(subscriber.error);
+		assertArrayEquals(body, subscriber.received.toByteArray());
+		assertEquals(16, subscriber.chunkSizes.size());
+		assertTrue(subscriber.chunkSizes.stream().allMatch(size -> size <= 64));
+	}
+
+	@Test
+	public void publishesSingleByteWrites() throws InterruptedException {
+		byte[] body = bytes(10);
+		RecordingSubscriber subscriber = new RecordingSubscriber();
+		new OutputStreamPublisher(out -> {
+			for (byte b : body) {
+				out.write(b);
+			}
+		}, 4, executor).subscribe(subscriber);
+		subscriber.request(Long.MAX_VALUE);
+
+		subscriber.awaitDone();
+		assertArrayEquals(body, subscriber.received.toByteArray());
+		assertEquals(List.of(4, 4, 2), subscriber.chunkSizes);
+	}
+
+	@Test
+	public void waitsForDemand() throws InterruptedException {
+		byte[] body = bytes(10);
+		RecordingSubscriber subscriber = new RecordingSubscriber();
+		new OutputStreamPublisher(out -> out.write(body), 4, executor).subscribe(subscriber);
+
+		subscriber.request(1);
+		subscriber.awaitChunks(1);
+		Thread.sleep(50);
+		assertEquals(1, subscriber.chunkCount());
+		assertFalse(subscriber.completed);
+
+		subscriber.request(2);
+		subscriber.awaitDone();
+		assertTrue(subscriber.completed);
+		assertArrayEquals(body, subscriber.received.toByteArray());
+	}
+
+	@Test
+	public void cancelStopsWriting() throws InterruptedException {
+		CountDownLatch writeEnded = new CountDownLatch(1);
+		RecordingSubscriber subscriber = new RecordingSubscriber();
+		new OutputStreamPublisher(out -> {
+			try {
+				out.write(bytes(1000));
+			} finally {
+				writeEnded.countDown();
+			}
+		}, 4, executor).subscribe(subscriber);
+
+		subscriber.request(1);
+		subscriber.awaitChunks(1);
+		subscriber.subscription.cancel();
+
+		assertTrue(writeEnded.await(5, TimeUnit.SECONDS));
+		executor.shutdown();
+		assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+		assertEquals(1, subscriber.chunkCount());
+		assertFalse(subscriber.completed);
+		assertNull(subscriber.error);
+	}
+
+	@Test
+	public void nonPositiveRequestFails() throws InterruptedException {
+		RecordingSubscriber subscriber = new RecordingSubscriber();
+		new OutputStreamPublisher(out -> out.write(bytes(100)), 4, executor).subscribe(subscriber);
+		subscriber.request(0);
+
+		subscriber.awaitDone();
+		assertTrue(subscriber.error instanceof IllegalArgumentException);
+		assertFalse(subscriber.completed);
+	}
+
+	@Test
+	public void bodyFailureIsPublished() throws InterruptedException {
+		IOException failure = new IOException("broken");
+		RecordingSubscriber subscriber = new RecordingSubscriber();
+		new OutputStreamPublisher(out -> {
+			out.write(bytes(10));
+			throw failure;
+		}, 4, executor).subscribe(subscriber);
+		subscriber.request(Long.MAX_VALUE);
+
+		subscriber.awaitDone();
+		assertSame(failure, subscriber.error);
+		assertFalse(subscriber.completed);
+	}
+
+	@Test
+	public void eachSubscriptionWritesTheBodyAnew() throws InterruptedException {
+		byte[] body = bytes(100);
+		OutputStreamPublisher publisher = new OutputStreamPublisher(out -> out.write(body), 16, executor);
+		for (int i = 0; i < 2; i++) {
+			RecordingSubscriber subscriber = new RecordingSubscriber();
+			publisher.subscribe(subscriber);
+			subscriber.request(Long.MAX_VALUE);
+
+			subscriber.awaitDone();
+			assertArrayEquals(body, subscriber.received.toByteArray());
+		}
+	}
+
+	@Test
+	public void emptyBodyCompletesWithoutChunks() throws InterruptedException {
+		StreamingHttpOutputMessage.Body empty = out -> {
+		};
+		RecordingSubscriber subscriber = new RecordingSubscriber();
+		new OutputStreamPublisher(empty, 16, executor).subscribe(subscriber);
+
+		subscriber.awaitDone();
+		assertTrue(subscriber.completed);
+		assertEquals(0, subscriber.chunkCount());
+	}
+
+	private static byte[] bytes(int length) {
+		byte[] bytes = new byte[length];
+		new Random(length).nextBytes(bytes);
+		return bytes;
+	}
+
+	private static class RecordingSubscriber implements Flow.Subscriber<ByteBuffer> {
+
+		private final CountDownLatch done = new CountDownLatch(1);
+
+		private final ByteArrayOutputStream received = new ByteArrayOutputStream();
+
+		private final List<Integer> chunkSizes = new ArrayList<>();
+
+		private volatile Flow.Subscription subscription;
+
+		private volatile boolean completed;
+
+		private volatile Throwable error;
+
+		@Override
+		public void onSubscribe(Flow.Subscription subscription) {
+			this.subscription = subscription;
+		}
+
+		@Override
+		public synchronized void onNext(ByteBuffer item) {
+			chunkSizes.add(item.remaining());
+			byte[] bytes = new byte[item.remaining()];
+			item.get(bytes);
+			received.write(bytes, 0, bytes.length);
+		}
+
+		@Override
+		public void onError(Throwable throwable) {
+			error = throwable;
+			done.countDown();
+		}
+
+		@Override
+		public void onComplete() {
+			completed = true;
+			done.countDown();
+		}
+
+		void request(long n) {
+			subscription.request(n);
+		}
+
+		synchronized int chunkCount() {
+			return chunkSizes.size();
+		}
+
+		void awaitChunks(int chunks) throws InterruptedException {
+			long waitUntil = System.currentTimeMillis() + 5000;
+			while (chunkCount() < chunks) {
+				if (System.currentTimeMillis() > waitUntil) {
+					fail("No chunk published");
+				}
+				Thread.sleep(5);
+			}
+		}
+
+		void awaitDone() throws InterruptedException {
+			assertTrue("Not completed", done.await(5, TimeUnit.SECONDS));
+		}
+	}
+}
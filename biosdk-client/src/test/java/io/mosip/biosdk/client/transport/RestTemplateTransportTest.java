@@ -0,0 +1,93 @@
+package io.mosip.biosdk.client.transport;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.web.client.ResourceAccessException;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+import io.mosip.biosdk.client.StubSdkService;
+import io.mosip.biosdk.client.config.CompressionConfig;
+import io.mosip.biosdk.client.config.HttpClientConfig;
+import io.mosip.biosdk.client.dto.ResponseDto;
+import io.mosip.biosdk.client.resilience.Deadline;
+
+public class RestTemplateTransportTest {
+
+	private static final Type RESPONSE_TYPE = TypeToken.getParameterized(ResponseDto.class, String.class).getType();
+
+	private static final StreamingHttpOutputMessage.Body EMPTY_REQUEST = out -> out
+			.write(("{\"request\":\"" + Base64.getEncoder().encodeToString("{}".getBytes(StandardCharsets.UTF_8))
+					+ "\"}").getBytes(StandardCharsets.UTF_8));
+
+	private final CountDownLatch release = new CountDownLatch(1);
+
+	private final CountDownLatch received = new CountDownLatch(1);
+
+	private StubSdkService sdkService;
+
+	private RestTemplateTransport transport;
+
+	@Before
+	public void setUp() throws IOException {
+		sdkService = new StubSdkService().on("/slow", request -> {
+			received.countDown();
+			release.await();
+			return "done";
+		}).on("/fast", request -> "done");
+		transport = new RestTemplateTransport(HttpClientConfig.defaults(), CompressionConfig.defaults());
+	}
+
+	@After
+	public void tearDown() {
+		release.countDown();
+		transport.close();
+		sdkService.close();
+	}
+
+	@Test
+	public void requestInFlightCompletesAfterClose() throws Exception {
+		CompletableFuture<ResponseEntity<ResponseDto<String>>> inFlight = CompletableFuture
+				.supplyAsync(() -> post("/slow"));
+		assertTrue(received.await(5, TimeUnit.SECONDS));
+
+		transport.close();
+		release.countDown();
+
+		assertEquals("done", inFlight.get(5, TimeUnit.SECONDS).getBody().getResponse());
+	}
+
+	@Test
+	public void requestAfterCloseIsNotSent() {
+		assertEquals("done", post("/fast").getBody().getResponse());
+		transport.close();
+
+		try {
+			post("/fast");
+			fail("Request sent through a closed transport");
+		} catch (ResourceAccessException e) {
+			assertEquals(1, sdkService.getRequests("/fast").size());
+		}
+	}
+
+	private ResponseEntity<ResponseDto<String>> post(String path) {
+		return transport.post(sdkService.getUrl() + path, EMPTY_REQUEST, null, new Gson(), RESPONSE_TYPE,
+				Deadline.NONE, null);
+	}
+}
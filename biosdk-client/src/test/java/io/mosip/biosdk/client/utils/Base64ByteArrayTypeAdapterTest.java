@@ -0,0 +1,113 @@
+package io.mosip.biosdk.client.utils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+
+import io.mosip.biosdk.client.metrics.BufferPoolStats;
+
+public class Base64ByteArrayTypeAdapterTest {
+
+	@Test
+	public void writesBase64StringInCompactMode() {
+		Gson gson = gson(new Base64ByteArrayTypeAdapter(true));
+		byte[] value = { 0, 1, -1, 127, -128 };
+
+		assertEquals("\"" + Base64.getEncoder().encodeToString(value) + "\"", gson.toJson(value));
+	}
+
+	@Test
+	public void writesNumberArrayOtherwise() {
+		Gson gson = gson(new Base64ByteArrayTypeAdapter(false));
+
+		assertEquals("[0,1,-1,127,-128]", gson.toJson(new byte[] { 0, 1, -1, 127, -128 }));
+	}
+
+	@Test
+	public void readsAndWritesNull() {
+		Gson gson = gson(new Base64ByteArrayTypeAdapter(true));
+
+		assertEquals("null", gson.toJson(null, byte[].class));
+		assertNull(gson.fromJson("null", byte[].class));
+	}
+
+	@Test
+	public void readsBase64String() {
+		Gson gson = gson(new Base64ByteArrayTypeAdapter(false));
+		byte[] value = bytes(1000);
+
+		assertArrayEquals(value, gson.fromJson("\"" + Base64.getEncoder().encodeToString(value) + "\"", byte[].class));
+		assertArrayEquals(value,
+				gson.fromJson("\"" + Base64.getUrlEncoder().encodeToString(value) + "\"", byte[].class));
+	}
+
+	@Test
+	public void readsSmallNumberArray() {
+		Gson gson = gson(new Base64ByteArrayTypeAdapter(true));
+
+		assertArrayEquals(new byte[0], gson.fromJson("[]", byte[].class));
+		assertArrayEquals(new byte[] { 0, 1, -1, 127, -128 }, gson.fromJson("[0,1,-1,127,-128]", byte[].class));
+	}
+
+	@Test
+	public void readsLargeNumberArray() {
+		byte[] value = bytes(10_000);
+		String json = gson(new Base64ByteArrayTypeAdapter(false)).toJson(value);
+
+		assertArrayEquals(value, gson(new Base64ByteArrayTypeAdapter(true)).fromJson(json, byte[].class));
+	}
+
+	@Test
+	public void readsLargeNumberArrayIntoPooledChunks() {
+		BufferPool bufferPool = new BufferPool(100, 16);
+		Gson gson = gson(new Base64ByteArrayTypeAdapter(false, bufferPool));
+		byte[] value = bytes(1000);
+
+		assertArrayEquals(value, gson.fromJson(gson.toJson(value), byte[].class));
+		// 256 bytes in the first chunk, the rest in 8 pooled chunks, all given back
+		assertEquals(new BufferPoolStats(8, 16, 100, 0, 8), bufferPool.getStats());
+		assertArrayEquals(value, gson.fromJson(gson.toJson(value), byte[].class));
+		assertEquals(new BufferPoolStats(8, 16, 100, 8, 8), bufferPool.getStats());
+	}
+
+	@Test
+	public void roundTripsBothForms() {
+		byte[] value = bytes(300);
+		for (boolean writeBase64 : new boolean[] { true, false }) {
+			Gson gson = gson(new Base64ByteArrayTypeAdapter(writeBase64));
+			assertArrayEquals(value, gson.fromJson(gson.toJson(value), byte[].class));
+		}
+	}
+
+	@Test
+	public void rejectsOtherTokens() {
+		Gson gson = gson(new Base64ByteArrayTypeAdapter(true));
+		try {
+			gson.fromJson("42", byte[].class);
+			fail("Number read as byte[]");
+		} catch (JsonParseException e) {
+			assertEquals(IOException.class, e.getCause().getClass());
+		}
+	}
+
+	private static Gson gson(Base64ByteArrayTypeAdapter adapter) {
+		return new GsonBuilder().serializeNulls().registerTypeAdapter(byte[].class, adapter).create();
+	}
+
+	private static byte[] bytes(int length) {
+		byte[] bytes = new byte[length];
+		new Random(length).nextBytes(bytes);
+		return bytes;
+	}
+}
@@ -0,0 +1,60 @@
+package io.mosip.biosdk.client.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import io.mosip.biosdk.client.metrics.BufferPoolStats;
+
+public class BufferPoolTest {
+
+	@Test
+	public void emptyPoolAllocates() {
+		BufferPool bufferPool = new BufferPool(16, 2);
+
+		byte[] first = bufferPool.acquire();
+		byte[] second = bufferPool.acquire();
+
+		assertEquals(16, first.length);
+		assertNotSame(first, second);
+		assertEquals(new BufferPoolStats(0, 2, 16, 0, 2), bufferPool.getStats());
+	}
+
+	@Test
+	public void releasedBufferIsReused() {
+		BufferPool bufferPool = new BufferPool(16, 2);
+		byte[] buffer = bufferPool.acquire();
+		bufferPool.release(buffer);
+
+		assertEquals(new BufferPoolStats(1, 2, 16, 0, 1), bufferPool.getStats());
+		assertSame(buffer, bufferPool.acquire());
+		assertEquals(new BufferPoolStats(0, 2, 16, 1, 1), bufferPool.getStats());
+	}
+
+	@Test
+	public void fullPoolDropsReleasedBuffers() {
+		BufferPool bufferPool = new BufferPool(16, 2);
+		byte[][] buffers = { bufferPool.acquire(), bufferPool.acquire(), bufferPool.acquire() };
+		for (byte[] buffer : buffers) {
+			bufferPool.release(buffer);
+		}
+
+		assertEquals(new BufferPoolStats(2, 2, 16, 0, 3), bufferPool.getStats());
+		bufferPool.acquire();
+		bufferPool.acquire();
+		bufferPool.acquire();
+		assertEquals(new BufferPoolStats(0, 2, 16, 2, 4), bufferPool.getStats());
+	}
+
+	@Test
+	public void foreignBuffersAreNotPooled() {
+		BufferPool bufferPool = new BufferPool(16, 2);
+		bufferPool.release(new byte[8]);
+		bufferPool.release(null);
+
+		assertEquals(new BufferPoolStats(0, 2, 16, 0, 0), bufferPool.getStats());
+		assertEquals(16, bufferPool.acquire().length);
+	}
+}
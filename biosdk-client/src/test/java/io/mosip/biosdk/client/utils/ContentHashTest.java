@@ -0,0 +1,79 @@
+package io.mosip.biosdk.client.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import io.mosip.biosdk.client.config.TimeoutConfig;
+import io.mosip.kernel.biometrics.constant.BiometricType;
+import io.mosip.kernel.biometrics.entities.BIR;
+import io.mosip.kernel.biometrics.entities.BIRInfo;
+import io.mosip.kernel.biometrics.entities.BiometricRecord;
+
+public class ContentHashTest {
+
+	private static final List<BiometricType> FINGER = List.of(BiometricType.FINGER);
+
+	@Test
+	public void equalRequestsShareAKey() {
+		assertEquals(key(sample(), Map.of("a", "1", "b", "2")), key(sample(), Map.of("b", "2", "a", "1")));
+	}
+
+	@Test
+	public void timeoutFlagDoesNotChangeTheKey() {
+		assertEquals(key(sample(), Map.of()), key(sample(), Map.of(TimeoutConfig.TIMEOUT_FLAG, "100")));
+	}
+
+	@Test
+	public void securityBlockIsPartOfTheKey() {
+		BiometricRecord signed = sample();
+		signed.getSegments().get(0).setSb(new byte[] { 9 });
+
+		assertNotEquals(key(sample(), null), key(signed, null));
+	}
+
+	@Test
+	public void segmentOthersArePartOfTheKey() {
+		BiometricRecord withOthers = sample();
+		withOthers.getSegments().get(0).setOthers(new HashMap<>(Map.of("EXCEPTION", "true")));
+		BiometricRecord withOtherValue = sample();
+		withOtherValue.getSegments().get(0).setOthers(new HashMap<>(Map.of("EXCEPTION", "false")));
+
+		assertNotEquals(key(sample(), null), key(withOthers, null));
+		assertNotEquals(key(withOthers, null), key(withOtherValue, null));
+	}
+
+	@Test
+	public void segmentInfoIsPartOfTheKey() {
+		BiometricRecord withInfo = sample();
+		withInfo.getSegments().get(0).setBirInfo(new BIRInfo.BIRInfoBuilder().withCreator("device-1").build());
+
+		assertNotEquals(key(sample(), null), key(withInfo, null));
+	}
+
+	@Test
+	public void recordInfoAndOthersArePartOfTheKey() {
+		BiometricRecord withInfo = sample();
+		withInfo.setBirInfo(new BIRInfo.BIRInfoBuilder().withPayload(new byte[] { 1 }).build());
+		BiometricRecord withOthers = sample();
+		withOthers.setOthers(new HashMap<>(Map.of("CONVERTED", "true")));
+
+		assertNotEquals(key(sample(), null), key(withInfo, null));
+		assertNotEquals(key(sample(), null), key(withOthers, null));
+	}
+
+	private static String key(BiometricRecord sample, Map<String, String> flags) {
+		return ContentHash.of("extract-template", null, sample, FINGER, flags);
+	}
+
+	private static BiometricRecord sample() {
+		BiometricRecord biometricRecord = new BiometricRecord();
+		biometricRecord.setSegments(List.of(new BIR.BIRBuilder().withBdb(new byte[] { 1 }).build()));
+		return biometricRecord;
+	}
+}
@@ -0,0 +1,94 @@
+package io.mosip.biosdk.client.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+
+import io.mosip.biosdk.client.dto.ResponseDto;
+import io.mosip.kernel.biometrics.model.QualityCheck;
+import io.mosip.kernel.biometrics.model.Response;
+
+public class ResponseDtoTypeAdapterFactoryTest {
+
+	private static final Type QUALITY_CHECK_RESPONSE_DTO = TypeToken
+			.getParameterized(ResponseDto.class, TypeToken.getParameterized(Response.class, QualityCheck.class).getType())
+			.getType();
+
+	private final Gson gson = new GsonBuilder().registerTypeAdapterFactory(new ResponseDtoTypeAdapterFactory())
+			.create();
+
+	@Test
+	public void readsSuccessEnvelope() {
+		ResponseDto<Response<QualityCheck>> responseDto = gson.fromJson(
+				"{\"version\":\"1.0\",\"responsetime\":\"now\",\"response\":{\"statusCode\":200,\"response\":{}},"
+						+ "\"errors\":[],\"other\":[1,{\"a\":2}]}",
+				QUALITY_CHECK_RESPONSE_DTO);
+
+		assertEquals("1.0", responseDto.getVersion());
+		assertEquals("now", responseDto.getResponsetime());
+		assertEquals(200, (int) responseDto.getResponse().getStatusCode());
+		assertEquals(List.of(), responseDto.getErrors());
+	}
+
+	@Test
+	public void errorsAreKeptWhenPayloadDoesNotBind() {
+		ResponseDto<Response<QualityCheck>> responseDto = gson.fromJson(
+				"{\"version\":\"1.0\",\"response\":\"Invalid sample\","
+						+ "\"errors\":[{\"code\":\"BIO_SDK_001\",\"message\":\"Invalid sample\"}]}",
+				QUALITY_CHECK_RESPONSE_DTO);
+
+		assertNull(responseDto.getResponse());
+		assertEquals("BIO_SDK_001", responseDto.getErrors().get(0).getCode());
+	}
+
+	@Test
+	public void errorsAreKeptWhenPayloadFailsPartWayThrough() {
+		ResponseDto<Response<QualityCheck>> responseDto = gson.fromJson(
+				"{\"response\":{\"statusCode\":500,\"response\":{\"scores\":[1,2]},\"statusMessage\":\"x\"},"
+						+ "\"errors\":[{\"code\":\"BIO_SDK_002\",\"message\":\"Failed\"}],\"version\":\"1.0\"}",
+				QUALITY_CHECK_RESPONSE_DTO);
+
+		assertNull(responseDto.getResponse());
+		assertEquals("BIO_SDK_002", responseDto.getErrors().get(0).getCode());
+		assertEquals("1.0", responseDto.getVersion());
+	}
+
+	@Test
+	public void payloadIsSkippedAfterErrors() {
+		ResponseDto<Response<QualityCheck>> responseDto = gson.fromJson(
+				"{\"errors\":[{\"code\":\"BIO_SDK_001\",\"message\":\"Invalid sample\"}],\"response\":[true]}",
+				QUALITY_CHECK_RESPONSE_DTO);
+
+		assertNull(responseDto.getResponse());
+		assertEquals(1, responseDto.getErrors().size());
+	}
+
+	@Test
+	public void payloadThatDoesNotBindFailsWithoutErrors() {
+		try {
+			gson.fromJson("{\"response\":\"Invalid sample\",\"errors\":[]}", QUALITY_CHECK_RESPONSE_DTO);
+			fail("Read a payload of the wrong shape");
+		} catch (JsonParseException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void writesEnvelopeAsGsonDoes() {
+		ResponseDto<String> responseDto = new ResponseDto<>();
+		responseDto.setVersion("1.0");
+		responseDto.setResponse("ok");
+
+		assertEquals("{\"version\":\"1.0\",\"response\":\"ok\"}", gson.toJson(responseDto));
+	}
+}
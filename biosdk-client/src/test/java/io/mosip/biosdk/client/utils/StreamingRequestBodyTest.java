@@ -0,0 +1,135 @@
+package io.mosip.biosdk.client.utils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import io.mosip.biosdk.client.dto.RequestDto;
+import io.mosip.biosdk.client.metrics.BufferPoolStats;
+
+public class StreamingRequestBodyTest {
+
+	private final Gson gson = new GsonBuilder().serializeNulls()
+			.registerTypeAdapter(byte[].class, new Base64ByteArrayTypeAdapter(true)).create();
+
+	@Test
+	public void writesRequestEnvelope() throws IOException {
+		Payload payload = new Payload("Right Thumb ±", bytes(10));
+		byte[] body = write(new StreamingRequestBody(gson, "1.0", payload, 16));
+
+		assertRoundTrip(payload, body);
+	}
+
+	@Test
+	public void writesPayloadLargerThanTheBuffer() throws IOException {
+		Payload payload = new Payload("face", bytes(100_000));
+		byte[] body = write(new StreamingRequestBody(gson, "1.0", payload, 512));
+
+		assertRoundTrip(payload, body);
+	}
+
+	@Test
+	public void writesNullRequest() throws IOException {
+		byte[] body = write(new StreamingRequestBody(gson, "1.0", null, 16));
+
+		RequestDto envelope = gson.fromJson(new String(body, StandardCharsets.UTF_8), RequestDto.class);
+		assertEquals("null", new String(Base64.getDecoder().decode(envelope.getRequest()), StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void sameBodyCanBeWrittenAgain() throws IOException {
+		StreamingRequestBody requestBody = new StreamingRequestBody(gson, "1.0", new Payload("iris", bytes(5000)),
+				256);
+
+		assertArrayEquals(write(requestBody), write(requestBody));
+	}
+
+	@Test
+	public void pooledBufferIsGivenBackAndReused() throws IOException {
+		BufferPool bufferPool = new BufferPool(256, 4);
+		Payload payload = new Payload("finger", bytes(5000));
+		StreamingRequestBody requestBody = new StreamingRequestBody(gson, "1.0", payload, 256, bufferPool);
+
+		byte[] body = write(requestBody);
+		assertArrayEquals(body, write(requestBody));
+		assertRoundTrip(payload, body);
+		assertEquals(new BufferPoolStats(1, 4, 256, 1, 1), bufferPool.getStats());
+	}
+
+	@Test
+	public void leavesRequestStreamOpen() throws IOException {
+		ClosedFlagOutputStream out = new ClosedFlagOutputStream();
+		new StreamingRequestBody(gson, "1.0", new Payload("face", bytes(1000)), 64).writeTo(out);
+		new StreamingRequestBody(gson, "1.0", new Payload("face", bytes(1000)), 64, new BufferPool(64, 1))
+				.writeTo(out);
+
+		assertFalse(out.closed);
+	}
+
+	@Test
+	public void encodeToStringMatchesWrittenBody() throws IOException {
+		StreamingRequestBody requestBody = new StreamingRequestBody(gson, "1.0", new Payload("iris", bytes(100)), 16);
+
+		assertEquals(new String(write(requestBody), StandardCharsets.UTF_8), requestBody.encodeToString());
+	}
+
+	private void assertRoundTrip(Payload expected, byte[] body) {
+		RequestDto envelope = gson.fromJson(new String(body, StandardCharsets.UTF_8), RequestDto.class);
+		assertEquals("1.0", envelope.getVersion());
+		Payload actual = gson.fromJson(
+				new String(Base64.getDecoder().decode(envelope.getRequest()), StandardCharsets.UTF_8), Payload.class);
+		assertEquals(expected.name, actual.name);
+		assertArrayEquals(expected.data, actual.data);
+	}
+
+	private static byte[] write(StreamingRequestBody requestBody) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		requestBody.writeTo(out);
+		return out.toByteArray();
+	}
+
+	private static byte[] bytes(int length) {
+		byte[] bytes = new byte[length];
+		new Random(length).nextBytes(bytes);
+		return bytes;
+	}
+
+	private static class Payload {
+
+		private String name;
+
+		private byte[] data;
+
+		Payload(String name, byte[] data) {
+			this.name = name;
+			this.data = data;
+		}
+	}
+
+	private static class ClosedFlagOutputStream extends FilterOutputStream {
+
+		private boolean closed;
+
+		ClosedFlagOutputStream() {
+			super(new ByteArrayOutputStream());
+		}
+
+		@Override
+		public void close() throws IOException {
+			closed = true;
+			super.close();
+		}
+	}
+}